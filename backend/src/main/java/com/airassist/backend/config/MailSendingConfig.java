@@ -1,5 +1,6 @@
 package com.airassist.backend.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -7,14 +8,20 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.context.support.ResourceBundleMessageSource;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.thymeleaf.cache.StandardCacheManager;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
 import org.thymeleaf.templateresolver.ITemplateResolver;
 
+import java.time.Duration;
+import java.util.Locale;
 import java.util.Properties;
 
 @Configuration
 public class MailSendingConfig {
+    /* Room for every template under resources/templates */
+    private static final int TEMPLATE_CACHE_SIZE = 32;
+
     @Value("${mail.smtp.host}")
     private String smtpHost;
 
@@ -36,10 +43,19 @@ public class MailSendingConfig {
     @Value("${mail.password}")
     private String password;
 
+    @Value("${mail.smtp.pool.max-connections:2}")
+    private int maxConnections;
+
+    @Value("${mail.smtp.pool.idle-timeout:PT60S}")
+    private Duration idleTimeout;
+
+    @Value("${mail.smtp.timeout:PT10S}")
+    private Duration timeout;
+
 
     @Bean
-    public JavaMailSender getJavaMailSender() {
-        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+    public JavaMailSender getJavaMailSender(MeterRegistry meterRegistry) {
+        JavaMailSenderImpl mailSender = new PooledJavaMailSender(meterRegistry, maxConnections, idleTimeout);
         mailSender.setHost(smtpHost);
         mailSender.setPort(smtpPort);
         mailSender.setUsername(username);
@@ -50,6 +66,10 @@ public class MailSendingConfig {
         props.put("mail.smtp.auth", authEnable);
         props.put("mail.smtp.starttls.enable", startTlsEnable);
         props.put("mail.smtp.ssl.enable", sslEnable);
+        // A pooled connection that hangs would otherwise block every later send
+        props.put("mail.smtp.connectiontimeout", String.valueOf(timeout.toMillis()));
+        props.put("mail.smtp.timeout", String.valueOf(timeout.toMillis()));
+        props.put("mail.smtp.writetimeout", String.valueOf(timeout.toMillis()));
         props.put("mail.debug", "true");
 
         return mailSender;
@@ -62,6 +82,9 @@ public class MailSendingConfig {
         templateResolver.setSuffix(".html");
         templateResolver.setTemplateMode("HTML");
         templateResolver.setCharacterEncoding("UTF-8");
+        // Templates ship inside the jar, so they are parsed once and kept without expiry
+        templateResolver.setCacheable(true);
+        templateResolver.setCacheTTLMs(null);
         return templateResolver;
     }
 
@@ -70,6 +93,9 @@ public class MailSendingConfig {
         SpringTemplateEngine templateEngine = new SpringTemplateEngine();
         templateEngine.setTemplateResolver(thymeleafTemplateResolver);
         templateEngine.setTemplateEngineMessageSource(emailMessageSource());
+        StandardCacheManager cacheManager = new StandardCacheManager();
+        cacheManager.setTemplateCacheMaxSize(TEMPLATE_CACHE_SIZE);
+        templateEngine.setCacheManager(cacheManager);
         return templateEngine;
     }
 
@@ -77,6 +103,10 @@ public class MailSendingConfig {
     public ResourceBundleMessageSource emailMessageSource() {
         ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
         messageSource.setBasename("messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        // Only messages_en exists, so resolve it whatever the server's locale is
+        messageSource.setDefaultLocale(Locale.ENGLISH);
+        messageSource.setFallbackToSystemLocale(false);
         return messageSource;
     }
 
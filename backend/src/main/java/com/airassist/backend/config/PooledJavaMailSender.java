@@ -0,0 +1,206 @@
+package com.airassist.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link JavaMailSenderImpl} that keeps its authenticated SMTP connections open between sends instead of
+ * doing the TCP, STARTTLS and AUTH handshake for every email.
+ * <p>
+ * At most {@code maxConnections} connections are open at once. A send borrows the most recently used idle
+ * connection (checked with a NOOP), or opens a new one, and delivers all the messages passed to it over that
+ * connection before returning it. Connections idle for longer than {@code idleTimeout} are closed.
+ * <p>
+ * Metrics: {@code mail.smtp.connections} counts the connections borrowed, tagged {@code reused} or {@code opened},
+ * {@code mail.smtp.connections.reuse.ratio} is the share of borrows served by an open connection,
+ * {@code mail.smtp.connections.idle} is the number of idle connections and {@code mail.smtp.send.duration}
+ * times the delivery of each message.
+ */
+@Slf4j
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+
+    private final long idleTimeoutNanos;
+    private final Semaphore connectionPermits;
+    private final BlockingDeque<IdleTransport> idleTransports = new LinkedBlockingDeque<>();
+    private final Counter reusedCounter;
+    private final Counter openedCounter;
+    private final Timer sendTimer;
+
+    private record IdleTransport(Transport transport, long idleSinceNanos) {
+    }
+
+    public PooledJavaMailSender(MeterRegistry meterRegistry, int maxConnections, Duration idleTimeout) {
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.connectionPermits = new Semaphore(maxConnections);
+        this.reusedCounter = Counter.builder("mail.smtp.connections").tag("outcome", "reused").register(meterRegistry);
+        this.openedCounter = Counter.builder("mail.smtp.connections").tag("outcome", "opened").register(meterRegistry);
+        this.sendTimer = Timer.builder("mail.smtp.send.duration").register(meterRegistry);
+        Gauge.builder("mail.smtp.connections.reuse.ratio", this, PooledJavaMailSender::getReuseRatio).register(meterRegistry);
+        Gauge.builder("mail.smtp.connections.idle", idleTransports, BlockingDeque::size).register(meterRegistry);
+    }
+
+    /**
+     * Returns the share of sends that were served by an already open connection.
+     */
+    public double getReuseRatio() {
+        double reused = reusedCounter.count();
+        double total = reused + openedCounter.count();
+        return total == 0 ? 0 : reused / total;
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        Transport transport = null;
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                if (transport == null) {
+                    try {
+                        transport = borrowTransport();
+                    } catch (AuthenticationFailedException ex) {
+                        throw new MailAuthenticationException(ex);
+                    } catch (Exception ex) {
+                        if (ex instanceof InterruptedException) {
+                            Thread.currentThread().interrupt();
+                        }
+                        for (int j = i; j < mimeMessages.length; j++) {
+                            failedMessages.put(originalMessages != null ? originalMessages[j] : mimeMessages[j], ex);
+                        }
+                        throw new MailSendException("Mail server connection failed", ex, failedMessages);
+                    }
+                }
+
+                MimeMessage mimeMessage = mimeMessages[i];
+                long start = System.nanoTime();
+                try {
+                    send(transport, mimeMessage);
+                    sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                } catch (Exception ex) {
+                    failedMessages.put(originalMessages != null ? originalMessages[i] : mimeMessage, ex);
+                    // A rejected message leaves the connection usable; a dropped connection is replaced for the rest
+                    if (!transport.isConnected()) {
+                        discardTransport(transport);
+                        transport = null;
+                    }
+                }
+            }
+        } finally {
+            if (transport != null) {
+                releaseTransport(transport);
+            }
+        }
+
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    /**
+     * Closes the connections that have been idle for longer than the idle timeout.
+     */
+    @Scheduled(fixedDelayString = "${mail.smtp.pool.eviction-interval:PT30S}")
+    public void evictIdleTransports() {
+        long now = System.nanoTime();
+        IdleTransport oldest;
+        while ((oldest = idleTransports.peekLast()) != null && now - oldest.idleSinceNanos() > idleTimeoutNanos) {
+            if (idleTransports.removeLastOccurrence(oldest)) {
+                discardTransport(oldest.transport());
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        IdleTransport idle;
+        while ((idle = idleTransports.pollFirst()) != null) {
+            closeQuietly(idle.transport());
+        }
+    }
+
+    private Transport borrowTransport() throws MessagingException, InterruptedException {
+        while (true) {
+            IdleTransport idle = idleTransports.pollFirst();
+            if (idle == null) {
+                if (connectionPermits.tryAcquire()) {
+                    return openTransport();
+                }
+                // Every connection is in use: wait for one to be returned
+                idle = idleTransports.pollFirst(100, TimeUnit.MILLISECONDS);
+                if (idle == null) {
+                    continue;
+                }
+            }
+
+            // isConnected() sends a NOOP, so a connection the server dropped is not handed out
+            if (System.nanoTime() - idle.idleSinceNanos() <= idleTimeoutNanos && idle.transport().isConnected()) {
+                reusedCounter.increment();
+                return idle.transport();
+            }
+            discardTransport(idle.transport());
+        }
+    }
+
+    private Transport openTransport() throws MessagingException {
+        try {
+            Transport transport = connectTransport();
+            openedCounter.increment();
+            return transport;
+        } catch (MessagingException | RuntimeException ex) {
+            connectionPermits.release();
+            throw ex;
+        }
+    }
+
+    private void releaseTransport(Transport transport) {
+        idleTransports.offerFirst(new IdleTransport(transport, System.nanoTime()));
+    }
+
+    private void discardTransport(Transport transport) {
+        closeQuietly(transport);
+        connectionPermits.release();
+    }
+
+    private void send(Transport transport, MimeMessage mimeMessage) throws MessagingException {
+        if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+        }
+        String messageId = mimeMessage.getMessageID();
+        mimeMessage.saveChanges();
+        if (messageId != null) {
+            // Preserve explicitly specified message id, as saveChanges would replace it
+            mimeMessage.setHeader("Message-ID", messageId);
+        }
+        Address[] addresses = mimeMessage.getAllRecipients();
+        transport.sendMessage(mimeMessage, addresses != null ? addresses : new Address[0]);
+    }
+
+    private void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException ex) {
+            log.debug("Failed to close SMTP connection", ex);
+        }
+    }
+}
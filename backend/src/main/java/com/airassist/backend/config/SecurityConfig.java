@@ -1,9 +1,13 @@
 package com.airassist.backend.config;
 
 import com.airassist.backend.filters.JwtAuthFilter;
+import com.airassist.backend.filters.RateLimitFilter;
+import com.airassist.backend.ratelimit.RateLimitRule;
+import com.airassist.backend.ratelimit.RateLimitStore;
 import com.airassist.backend.repository.UserRepository;
 import com.airassist.backend.service.AuthService;
 import com.airassist.backend.service.CustomUserDetailsService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -22,6 +26,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -35,13 +40,15 @@ public class SecurityConfig {
     }
 
     @Bean
-    public UserDetailsService userDetailsService(UserRepository userRepository) {
-        return new CustomUserDetailsService(userRepository);
+    public UserDetailsService userDetailsService(UserRepository userRepository,
+                                                 @Value("${security.jwt.user-cache-ttl:30s}") Duration userCacheTtl) {
+        return new CustomUserDetailsService(userRepository, userCacheTtl);
     }
 
     @Bean
-    public JwtAuthFilter jwtAuthFilter(AuthService authService, UserDetailsService userDetailsService) {
-        return new JwtAuthFilter(authService, (CustomUserDetailsService) userDetailsService);
+    public JwtAuthFilter jwtAuthFilter(AuthService authService, UserDetailsService userDetailsService,
+                                       @Value("${security.jwt.verify-user:false}") boolean verifyUser) {
+        return new JwtAuthFilter(authService, (CustomUserDetailsService) userDetailsService, verifyUser);
     }
 
     @Bean
@@ -66,17 +73,47 @@ public class SecurityConfig {
         return source;
     }
 
+    /**
+     * Limits for the endpoints that can be called without signing in. Sign-in and password reset are also
+     * limited per IP and email address, so one IP cannot spend its whole limit on a single account. Limiting
+     * per email address alone would let anyone lock a user out.
+     */
+    private static List<RateLimitRule> rateLimitRules() {
+        return List.of(
+                RateLimitRule.perMinute("sign-in-ip", HttpMethod.POST, "/api/auth/sign-in", RateLimitRule.KeyType.IP, 20),
+                RateLimitRule.perMinute("sign-in-ip-email", HttpMethod.POST, "/api/auth/sign-in", RateLimitRule.KeyType.IP_AND_EMAIL, 5),
+                RateLimitRule.perMinute("reset-password-ip", HttpMethod.POST, "/api/auth/reset-password", RateLimitRule.KeyType.IP, 5),
+                RateLimitRule.perMinute("reset-password-ip-email", HttpMethod.POST, "/api/auth/reset-password", RateLimitRule.KeyType.IP_AND_EMAIL, 2),
+                RateLimitRule.perMinute("refresh-token-ip", HttpMethod.POST, "/api/refresh-token/**", RateLimitRule.KeyType.IP, 30),
+                RateLimitRule.perMinute("register-ip", HttpMethod.POST, "/api/auth/register", RateLimitRule.KeyType.IP, 5),
+                RateLimitRule.perMinute("create-user-ip", HttpMethod.POST, "/api/users", RateLimitRule.KeyType.IP, 5),
+                RateLimitRule.perMinute("create-case-ip", HttpMethod.POST, "/api/cases", RateLimitRule.KeyType.IP, 10),
+                RateLimitRule.perMinute("check-eligibility-ip", HttpMethod.POST, "/api/cases/check-eligibility", RateLimitRule.KeyType.IP, 30),
+                RateLimitRule.perMinute("pdf-ip", null, "/api/pdf/**", RateLimitRule.KeyType.IP, 10),
+                RateLimitRule.perMinute("airports-ip", null, "/api/airports/**", RateLimitRule.KeyType.IP, 120)
+        );
+    }
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthFilter jwtAuthFilter, AuthenticationEntryPoint customAuthenticationEntryPoint, AccessDeniedHandler customAccessDeniedHandler) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthFilter jwtAuthFilter, AuthenticationEntryPoint customAuthenticationEntryPoint, AccessDeniedHandler customAccessDeniedHandler,
+                                                   RateLimitStore rateLimitStore, @Value("${rate-limit.enabled:true}") boolean rateLimitEnabled) throws Exception {
+        if (rateLimitEnabled) {
+            // Not a bean, so it only runs inside the security chain, after CORS headers are added
+            http.addFilterBefore(new RateLimitFilter(rateLimitStore, rateLimitRules()), UsernamePasswordAuthenticationFilter.class);
+        }
         http
                 .cors((cors) -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable)
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(customAuthenticationEntryPoint).accessDeniedHandler(customAccessDeniedHandler))
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers("/api/auth/**", "/api/pdf/**", "/api/airports/**").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/refresh-token", "/api/refresh-token/revoke").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/users").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/cases").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/cases/check-eligibility").permitAll()
+                        // Metrics expose pool, outbox and cache internals; health stays available to any signed-in user
+                        .requestMatchers("/actuator/health", "/actuator/health/**").authenticated()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
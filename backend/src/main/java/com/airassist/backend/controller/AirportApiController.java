@@ -1,13 +1,21 @@
 package com.airassist.backend.controller;
 
 import com.airassist.backend.model.Airport;
+import com.airassist.backend.model.AirportPayload;
 import com.airassist.backend.service.impl.AirportApiFetchServiceImpl;
 import com.airassist.backend.service.impl.AirportApiServiceImpl;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.AllArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Controller class to handle API requests related to airports.
@@ -16,19 +24,52 @@ import java.util.List;
 @RequestMapping("/api/airports")
 @AllArgsConstructor
 public class AirportApiController {
+    private static final CacheControl AIRPORTS_CACHE_CONTROL = CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic();
+
     private final AirportApiServiceImpl airportApiService;
     private final AirportApiFetchServiceImpl airportApiFetchService;
 
     /**
-     * Fetches airport data from the external API and returns a list of airports.
+     * Returns the list of airports as JSON serialized once per refresh, gzip-compressed when the client accepts it.
+     * Responds with 304 Not Modified when the client already has the current list.
      *
-     * @return List of airports fetched from the API.
-     * @throws JsonProcessingException If there is an error processing the JSON response.
-     * @throws InterruptedException If the thread is interrupted while fetching data.
+     * @param ifNoneMatch The optional If-None-Match header.
+     * @param acceptEncoding The optional Accept-Encoding header.
+     * @return The serialized list of airports.
      */
     @GetMapping("/fetch")
-    public List<Airport> fetchAirports() throws JsonProcessingException, InterruptedException {
-        return airportApiFetchService.getAirports();
+    public ResponseEntity<byte[]> fetchAirports(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        AirportPayload payload = airportApiFetchService.getAirportPayload();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        boolean notModified = ETags.matches(ifNoneMatch, payload.getETag(), payload.getGzipETag());
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(gzip ? payload.getGzipETag() : payload.getETag())
+                .cacheControl(AIRPORTS_CACHE_CONTROL)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+        if (notModified) {
+            return response.build();
+        }
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        byte[] body = gzip ? payload.getGzipJson() : payload.getJson();
+        return response.contentType(MediaType.APPLICATION_JSON).contentLength(body.length).body(body);
+    }
+
+    /**
+     * Searches airports by IATA code, city or name prefix, ignoring case and accents.
+     *
+     * @param query The prefix typed by the user.
+     * @param limit The maximum number of results.
+     * @return The best matching airports, best first.
+     */
+    @GetMapping("/search")
+    public List<Airport> searchAirports(@RequestParam("q") String query, @RequestParam(defaultValue = "10") int limit) {
+        return airportApiFetchService.searchAirports(query, limit);
     }
 
     /**
@@ -43,4 +84,20 @@ public class AirportApiController {
     public int calculateCompensationLevel(@RequestParam String departingAirportCode, @RequestParam String destinationAirportCode) throws JsonProcessingException {
         return airportApiService.calculateCompensation(airportApiService.getDistance(departingAirportCode, destinationAirportCode));
     }
+
+    /**
+     * Checks whether an Accept-Encoding header allows a gzip response.
+     *
+     * @param acceptEncoding The Accept-Encoding header, may be null.
+     * @return True if gzip is listed without q=0.
+     */
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        return Arrays.stream(acceptEncoding.split(","))
+                .map(coding -> coding.trim().split(";"))
+                .anyMatch(parts -> parts[0].trim().equalsIgnoreCase("gzip")
+                        && Arrays.stream(parts).skip(1).map(String::trim).noneMatch(param -> param.matches("q=0(\\.0*)?")));
+    }
 }
@@ -6,6 +6,7 @@ import com.airassist.backend.dto.auth.SignInResponse;
 import com.airassist.backend.dto.user.UserDTO;
 import com.airassist.backend.dto.user.UserResponseDTO;
 import com.airassist.backend.exception.auth.InvalidPasswordException;
+import com.airassist.backend.exception.auth.PasswordHashingBusyException;
 import com.airassist.backend.exception.user.DuplicateUserException;
 import com.airassist.backend.exception.user.PasswordApiException;
 import com.airassist.backend.exception.user.UserNotFoundException;
@@ -13,7 +14,6 @@ import com.airassist.backend.mapper.UserMapper;
 import com.airassist.backend.model.User;
 import com.airassist.backend.service.AuthService;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import jakarta.mail.MessagingException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -37,9 +37,10 @@ public class AuthController {
      * @return a response entity containing the sign-in response
      * @throws UserNotFoundException if the user is not found
      * @throws InvalidPasswordException if the password is invalid
+     * @throws PasswordHashingBusyException if too many passwords are being hashed
      */
     @PostMapping("/sign-in")
-    public ResponseEntity<SignInResponse> signIn(@RequestBody SignInRequest signInRequest) throws UserNotFoundException, InvalidPasswordException {
+    public ResponseEntity<SignInResponse> signIn(@RequestBody SignInRequest signInRequest) throws UserNotFoundException, InvalidPasswordException, PasswordHashingBusyException {
         return ResponseEntity.ok(authService.signIn(signInRequest));
     }
 
@@ -49,12 +50,12 @@ public class AuthController {
      * @param userToRegister the user data transfer object containing registration details
      * @return a response entity containing the registered user's response DTO
      * @throws DuplicateUserException if a user with the same email already exists
-     * @throws MessagingException if there is an error sending the confirmation email
      * @throws JsonProcessingException if there is an error processing JSON data
      * @throws PasswordApiException if there is an error with the password API
+     * @throws PasswordHashingBusyException if too many passwords are being hashed
      */
     @PostMapping("/register")
-    public ResponseEntity<UserResponseDTO> register(@Valid @RequestBody UserDTO userToRegister) throws DuplicateUserException, MessagingException, JsonProcessingException, PasswordApiException {
+    public ResponseEntity<UserResponseDTO> register(@Valid @RequestBody UserDTO userToRegister) throws DuplicateUserException, JsonProcessingException, PasswordApiException, PasswordHashingBusyException {
         User newUser = authService.register(userToRegister);
         UserResponseDTO userResponse = userMapper.userToUserResponseDTO(newUser);
         return ResponseEntity.ok(userResponse);
@@ -65,13 +66,13 @@ public class AuthController {
      *
      * @param request the reset password request containing the user's email
      * @return a response entity indicating the success of the operation
-     * @throws MessagingException if there is an error sending the reset email
      * @throws UserNotFoundException if the user is not found
      * @throws JsonProcessingException if there is an error processing JSON data
      * @throws PasswordApiException if there is an error with the password API
+     * @throws PasswordHashingBusyException if too many passwords are being hashed
      */
     @PostMapping("/reset-password")
-    public ResponseEntity<Void> resetPassword(@Valid @RequestBody ResetPasswordRequest request) throws MessagingException, UserNotFoundException, JsonProcessingException, PasswordApiException {
+    public ResponseEntity<Void> resetPassword(@Valid @RequestBody ResetPasswordRequest request) throws UserNotFoundException, JsonProcessingException, PasswordApiException, PasswordHashingBusyException {
         authService.resetPassword(request);
         return ResponseEntity.ok().build();
     }
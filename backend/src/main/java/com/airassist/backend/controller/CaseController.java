@@ -1,19 +1,31 @@
 package com.airassist.backend.controller;
 
+import com.airassist.backend.dto.cases.CaseCursor;
 import com.airassist.backend.dto.cases.CaseDTO;
+import com.airassist.backend.dto.cases.CaseFilterDTO;
+import com.airassist.backend.dto.cases.CasePageDTO;
 import com.airassist.backend.dto.cases.CaseResponseDTO;
+import com.airassist.backend.exception.document.PdfGenerationBusyException;
 import com.airassist.backend.exception.user.UserNotFoundException;
 import com.airassist.backend.mapper.CaseMapper;
 import com.airassist.backend.mapper.CaseResponseMapper;
 import com.airassist.backend.model.Case;
 import com.airassist.backend.model.enums.Statuses;
+import com.airassist.backend.service.CaseDossierService;
 import com.airassist.backend.service.CaseService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -23,19 +35,26 @@ import java.util.UUID;
 public class CaseController {
 
     private final CaseService caseService;
+    private final CaseDossierService caseDossierService;
     private final CaseResponseMapper caseResponseMapper;
     private final CaseMapper caseMapper;
 
     /**
-     * Retrieves all cases.
+     * Retrieves one page of cases, newest first, optionally filtered.
      *
-     * @return ResponseEntity containing a list of CaseResponseDTOs
+     * @param filter the optional status, disruption reason, assigned colleague and date range filters
+     * @param cursor the nextCursor of the previous page, or absent for the first page
+     * @param size the maximum number of cases on the page
+     * @return ResponseEntity containing the page of CaseResponseDTOs and the cursor of the next page, if any
      */
     @GetMapping
-    public ResponseEntity<List<CaseResponseDTO>> getCases() {
-        List<Case> caseList = caseService.getCases();
-        List<CaseResponseDTO> caseResponseDTOList = caseList.stream().map(caseResponseMapper::toCaseResponseDTO).toList();
-        return ResponseEntity.ok(caseResponseDTOList);
+    public ResponseEntity<CasePageDTO> getCases(@ModelAttribute CaseFilterDTO filter,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "50") int size) {
+        Window<Case> caseWindow = caseService.getCases(filter, cursor, size);
+        List<CaseResponseDTO> caseResponseDTOList = toCaseResponseDTOs(caseWindow.getContent());
+        String nextCursor = caseWindow.hasNext() ? CaseCursor.of(caseWindow.getContent().getLast()).encode() : null;
+        return ResponseEntity.ok(new CasePageDTO(caseResponseDTOList, nextCursor));
     }
 
     /**
@@ -47,7 +66,7 @@ public class CaseController {
     @GetMapping("/{id}")
     public ResponseEntity<CaseResponseDTO> getCaseById(@PathVariable UUID id) {
         return caseService.getCaseById(id)
-                .map(caseEntity -> ResponseEntity.ok(caseResponseMapper.toCaseResponseDTO(caseEntity)))
+                .map(caseEntity -> ResponseEntity.ok(toCaseResponseDTO(caseEntity)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -61,7 +80,7 @@ public class CaseController {
     @PostMapping
     public ResponseEntity<CaseResponseDTO> createCase(@Valid @RequestBody CaseDTO caseRequest) throws UserNotFoundException {
         Case createdCase = caseService.createCase(caseRequest);
-        CaseResponseDTO createdCaseResponse = caseResponseMapper.toCaseResponseDTO(createdCase);
+        CaseResponseDTO createdCaseResponse = caseResponseMapper.toCaseResponseDTO(createdCase, List.of());
         return ResponseEntity.status(201).body(createdCaseResponse);
     }
 
@@ -104,7 +123,7 @@ public class CaseController {
     public ResponseEntity<CaseResponseDTO> assignEmployeeToCase(@PathVariable UUID caseId, @PathVariable UUID employeeId) throws UserNotFoundException {
         Case changedCase = caseService.assignEmployee(caseId, employeeId);
         changedCase = caseService.setCaseStatus(changedCase.getId(), Statuses.ASSIGNED);
-        CaseResponseDTO updatedCaseResponse = caseResponseMapper.toCaseResponseDTO(changedCase);
+        CaseResponseDTO updatedCaseResponse = toCaseResponseDTO(changedCase);
         return ResponseEntity.ok(updatedCaseResponse);
     }
 
@@ -117,9 +136,7 @@ public class CaseController {
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<CaseResponseDTO>> getAllCasesForClient(@PathVariable UUID userId) {
         List<Case> userCases = caseService.getCasesForClient(userId);
-        List<CaseResponseDTO> userCaseDTOs = userCases.stream()
-                .map(caseResponseMapper::toCaseResponseDTO)
-                .toList();
+        List<CaseResponseDTO> userCaseDTOs = toCaseResponseDTOs(userCases);
         return ResponseEntity.ok(userCaseDTOs);
     }
 
@@ -134,7 +151,42 @@ public class CaseController {
     @PatchMapping("/{caseId}/{status}")
     public ResponseEntity<CaseResponseDTO> setStatusForCase(@PathVariable UUID caseId, @PathVariable Statuses status) {
         Case changedCase = caseService.setCaseStatus(caseId, status);
-        CaseResponseDTO responseCase = caseResponseMapper.toCaseResponseDTO(changedCase);
+        CaseResponseDTO responseCase = toCaseResponseDTO(changedCase);
         return ResponseEntity.ok(responseCase);
     }
+
+    /**
+     * Streams the dossier of a case: its contract, its PDF and JPEG documents and its comments, merged into one PDF.
+     * The dossier is written straight to the servlet output stream as it is saved, so it is never held in memory.
+     *
+     * @param caseId the UUID of the case
+     * @param response the response the dossier is written to
+     * @throws IOException if the dossier cannot be assembled or written
+     * @throws PdfGenerationBusyException if too many PDFs are already being generated
+     */
+    @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
+    @GetMapping(value = "/{caseId}/dossier.pdf", produces = "application/pdf")
+    public void downloadDossier(@PathVariable UUID caseId, HttpServletResponse response) throws IOException, PdfGenerationBusyException {
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("dossier-" + caseId + ".pdf").build().toString());
+        caseDossierService.writeDossier(caseId, response.getOutputStream());
+    }
+
+    /**
+     * Maps cases to CaseResponseDTOs, reading the document ids of all of them with a single query.
+     *
+     * @param cases the cases to map
+     * @return the mapped CaseResponseDTOs, in the same order
+     */
+    private List<CaseResponseDTO> toCaseResponseDTOs(List<Case> cases) {
+        Map<UUID, List<UUID>> documentIds = caseService.getDocumentIdsByCase(cases.stream().map(Case::getId).toList());
+        return cases.stream()
+                .map(caseEntity -> caseResponseMapper.toCaseResponseDTO(caseEntity, documentIds.getOrDefault(caseEntity.getId(), List.of())))
+                .toList();
+    }
+
+    private CaseResponseDTO toCaseResponseDTO(Case caseEntity) {
+        return toCaseResponseDTOs(List.of(caseEntity)).getFirst();
+    }
 }
@@ -0,0 +1,76 @@
+package com.airassist.backend.controller;
+
+import com.airassist.backend.dto.contract.ContractJobDTO;
+import com.airassist.backend.dto.contract.CreateContractJobDTO;
+import com.airassist.backend.exception.contract.ContractJobNotFinishedException;
+import com.airassist.backend.model.enums.ContractJobStatuses;
+import com.airassist.backend.service.ContractJobService;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import java.net.URI;
+import java.security.Principal;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/contract-jobs")
+@AllArgsConstructor
+public class ContractJobController {
+
+    private final ContractJobService contractJobService;
+
+    /**
+     * Starts generating the contracts of several cases in the background.
+     *
+     * @param createContractJobDTO the cases to generate contracts for
+     * @param principal the user submitting the job
+     * @return ResponseEntity with status 202 Accepted, the new job and its location
+     */
+    @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
+    @PostMapping
+    public ResponseEntity<ContractJobDTO> createJob(@Valid @RequestBody CreateContractJobDTO createContractJobDTO,
+                                                    Principal principal) {
+        ContractJobDTO job = contractJobService.submit(createContractJobDTO.getCaseIds(), principal.getName());
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{jobId}").buildAndExpand(job.getId()).toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    /**
+     * Retrieves the progress of a job.
+     *
+     * @param jobId the ID of the job
+     * @return ResponseEntity containing the job with its pending, generated and failed counts
+     */
+    @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ContractJobDTO> getJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(contractJobService.getJob(jobId));
+    }
+
+    /**
+     * Streams the contracts of a completed job as a ZIP archive.
+     *
+     * @param jobId the ID of the job
+     * @return ResponseEntity streaming the archive
+     * @throws ContractJobNotFinishedException if some contracts of the job are still pending
+     */
+    @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
+    @GetMapping(value = "/{jobId}/contracts.zip", produces = "application/zip")
+    public ResponseEntity<StreamingResponseBody> downloadContracts(@PathVariable UUID jobId) {
+        if (contractJobService.getJob(jobId).getStatus() != ContractJobStatuses.COMPLETED) {
+            throw new ContractJobNotFinishedException();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("contracts-" + jobId + ".zip").build().toString())
+                .body(outputStream -> contractJobService.writeContractsZip(jobId, outputStream));
+    }
+}
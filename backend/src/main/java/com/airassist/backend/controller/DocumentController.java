@@ -1,12 +1,20 @@
 package com.airassist.backend.controller;
 
 import com.airassist.backend.dto.document.CreateDocumentDTO;
+import com.airassist.backend.dto.document.DocumentContentDTO;
 import com.airassist.backend.dto.document.DocumentDTO;
 import com.airassist.backend.dto.document.DocumentSummaryDTO;
 import com.airassist.backend.service.DocumentService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 
@@ -29,6 +37,68 @@ public class DocumentController {
         return ResponseEntity.ok(documentService.getDocument(documentId));
     }
 
+    /**
+     * Streams the raw content of a document. Supports a single HTTP byte range (206 Partial Content),
+     * conditional requests through the SHA-256 based ETag (304 Not Modified) and If-Range.
+     * @param documentId - the ID of the document to download
+     * @param range - the optional Range header
+     * @param ifNoneMatch - the optional If-None-Match header
+     * @param ifRange - the optional If-Range header
+     * @return ResponseEntity streaming the requested bytes
+     */
+    @GetMapping("/{documentId}/content")
+    public ResponseEntity<StreamingResponseBody> downloadDocument(
+            @PathVariable UUID documentId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange
+    ) {
+        DocumentContentDTO content = documentService.getDocumentContent(documentId);
+        String eTag = "\"" + content.getSha256() + "\"";
+        long size = content.getSize();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setContentDisposition(ContentDisposition.inline().filename(content.getName(), StandardCharsets.UTF_8).build());
+
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+
+        MediaType contentType = content.getContentType() != null
+                ? MediaType.parseMediaType(content.getContentType())
+                : MediaType.APPLICATION_OCTET_STREAM;
+
+        HttpRange httpRange = range != null && (ifRange == null || ifRange.equals(eTag)) ? parseSingleRange(range) : null;
+        if (httpRange == null) {
+            headers.setContentLength(size);
+            return ResponseEntity.ok().headers(headers).contentType(contentType)
+                    .body(outputStream -> documentService.writeDocumentContent(content, 0, size, outputStream));
+        }
+
+        long start;
+        long end;
+        try {
+            start = httpRange.getRangeStart(size);
+            end = httpRange.getRangeEnd(size);
+        } catch (IllegalArgumentException e) {
+            start = 0;
+            end = -1;
+        }
+        if (start > end) {
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+        }
+
+        long position = start;
+        long count = end - start + 1;
+        headers.setContentLength(count);
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).headers(headers).contentType(contentType)
+                .body(outputStream -> documentService.writeDocumentContent(content, position, count, outputStream));
+    }
+
     /**
      * Retrieves all documents associated with a specific case
      * @param caseId - the ID of the case for which to retrieve documents
@@ -64,4 +134,19 @@ public class DocumentController {
         documentService.deleteDocument(documentId);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Parses a Range header. Malformed headers and multi-range requests are ignored,
+     * so the whole document is sent instead.
+     * @param range - the Range header
+     * @return the single requested range, or null if the header should be ignored
+     */
+    private HttpRange parseSingleRange(String range) {
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(range);
+            return ranges.size() == 1 ? ranges.getFirst() : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,28 @@
+package com.airassist.backend.controller;
+
+import java.util.Arrays;
+
+/**
+ * Helpers for conditional requests on controllers that set their own ETags.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Checks an If-None-Match header against the given ETags, ignoring weak validator prefixes.
+     * @param ifNoneMatch - the If-None-Match header, may be null
+     * @param eTags - the current ETags of the resource
+     * @return true if the client already has the current version of the resource
+     */
+    static boolean matches(String ifNoneMatch, String... eTags) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || Arrays.asList(eTags).contains(tag));
+    }
+}
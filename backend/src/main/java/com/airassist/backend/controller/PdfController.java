@@ -1,10 +1,11 @@
 package com.airassist.backend.controller;
 
+import com.airassist.backend.exception.document.PdfGenerationBusyException;
 import com.airassist.backend.service.PdfService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import java.io.IOException;
 import java.util.Map;
@@ -17,21 +18,24 @@ public class PdfController {
     private final PdfService pdfService;
 
     /**
-     * Generates a PDF document based on the provided template and data.
+     * Generates a PDF document based on the provided template and data and streams it to the response.
+     * The document is rendered into a buffer, kept in memory up to {@code pdf.rendering.memory-buffer} (64KB by
+     * default) and moved to a temporary file beyond that, and copied to the servlet output stream once its
+     * rendering slot is released. It is sent without a Content-Length, so with chunked transfer encoding.
      *
      * @param templateName the name of the HTML template to use for PDF generation
      * @param data a map containing the data to populate the template
-     * @return a ResponseEntity containing the generated PDF document as a byte array
+     * @param response the response the generated PDF document is written to
      * @throws IOException if an error occurs during PDF generation
+     * @throws PdfGenerationBusyException if too many PDFs are already being generated
      */
     @PostMapping(value = "/generate", produces = "application/pdf")
-    public ResponseEntity<byte[]> generatePdf(@RequestParam("template") String templateName,
-                                              @RequestBody Map<String, Object> data) throws IOException {
+    public void generatePdf(@RequestParam("template") String templateName,
+                            @RequestBody Map<String, Object> data,
+                            HttpServletResponse response) throws IOException, PdfGenerationBusyException {
 
-        byte[] pdfContent = pdfService.generatePdf(templateName, data);
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Content-Disposition", "inline; filename=contract.pdf");
-
-        return new ResponseEntity<>(pdfContent, headers, HttpStatus.OK);
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=contract.pdf");
+        pdfService.writePdf(templateName, data, response.getOutputStream());
     }
 }
@@ -1,9 +1,10 @@
 package com.airassist.backend.controller;
 
+import com.airassist.backend.dto.auth.RefreshTokenRequest;
+import com.airassist.backend.dto.auth.TokenRefreshResponse;
 import com.airassist.backend.exception.auth.InvalidTokenException;
-import com.airassist.backend.exception.user.UserNotFoundException;
-import com.airassist.backend.model.TokenResponse;
 import com.airassist.backend.service.AuthService;
+import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,17 +16,26 @@ public class RefreshTokenController {
     private final AuthService authService;
 
     /**
-     * Endpoint to refresh the authentication token.
+     * Endpoint to exchange a refresh token for a new access token and refresh token.
      *
-     * @param authorizationHeader The Authorization header containing the Bearer token.
-     * @return A ResponseEntity containing the new TokenResponse.
-     * @throws UserNotFoundException If the user associated with the token is not found.
-     * @throws InvalidTokenException If the provided token is invalid or expired.
+     * @param request The request containing the current refresh token.
+     * @return A ResponseEntity containing the new access token and refresh token.
+     * @throws InvalidTokenException If the refresh token is invalid, expired, already used or revoked.
      */
-    @GetMapping
-    public ResponseEntity<TokenResponse> refreshToken(@RequestHeader("Authorization") String authorizationHeader) throws UserNotFoundException, InvalidTokenException {
-        String token = authorizationHeader.startsWith("Bearer ") ? authorizationHeader.substring(7) : authorizationHeader;
-        TokenResponse tokenResponse = authService.checkTokenValidityAndRenew(token);
-        return ResponseEntity.ok(tokenResponse);
+    @PostMapping
+    public ResponseEntity<TokenRefreshResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) throws InvalidTokenException {
+        return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
+    }
+
+    /**
+     * Endpoint to end the session of a refresh token, used when signing out.
+     *
+     * @param request The request containing the refresh token of the session.
+     * @return An empty ResponseEntity.
+     */
+    @PostMapping("/revoke")
+    public ResponseEntity<Void> revokeToken(@Valid @RequestBody RefreshTokenRequest request) {
+        authService.signOut(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,12 @@
+package com.airassist.backend.dto.auth;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class RefreshTokenRequest {
+    @NotBlank
+    @Size(max = 100)
+    private String refreshToken;
+}
@@ -8,4 +8,5 @@ import lombok.Data;
 public class SignInResponse {
     private String token;
     private boolean isFirstTimeLogin;
+    private String refreshToken;
 }
@@ -0,0 +1,11 @@
+package com.airassist.backend.dto.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TokenRefreshResponse {
+    private String token;
+    private String refreshToken;
+}
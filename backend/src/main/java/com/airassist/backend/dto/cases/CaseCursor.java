@@ -0,0 +1,77 @@
+package com.airassist.backend.dto.cases;
+
+import com.airassist.backend.exception.cases.InvalidCaseCursorException;
+import com.airassist.backend.model.Case;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor for the case listing, positioned on the (date, id) of the last case of a page.
+ * It is sent to clients as a URL-safe base64 string.
+ */
+@Data
+@AllArgsConstructor
+public class CaseCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDate date;
+    private final UUID id;
+
+    /**
+     * Builds the cursor pointing right after the given case.
+     *
+     * @param caseEntity the last case of the current page
+     * @return the cursor of the given case
+     */
+    public static CaseCursor of(Case caseEntity) {
+        return new CaseCursor(caseEntity.getDate(), caseEntity.getId());
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @param cursor the encoded cursor
+     * @return the decoded cursor
+     * @throws InvalidCaseCursorException if the cursor is malformed
+     */
+    public static CaseCursor decode(String cursor) throws InvalidCaseCursorException {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            return new CaseCursor(LocalDate.parse(raw.substring(0, separatorIndex)), UUID.fromString(raw.substring(separatorIndex + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCaseCursorException();
+        }
+    }
+
+    /**
+     * Encodes the cursor into its opaque string form.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        String raw = date + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Converts the cursor into a keyset scroll position over the (date, id) sort keys.
+     *
+     * @return the keyset scroll position continuing after this cursor
+     */
+    public ScrollPosition toScrollPosition() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("date", date);
+        keys.put("id", id);
+        return ScrollPosition.forward(keys);
+    }
+}
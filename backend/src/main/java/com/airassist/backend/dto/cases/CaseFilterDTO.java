@@ -0,0 +1,28 @@
+package com.airassist.backend.dto.cases;
+
+import com.airassist.backend.model.enums.DisruptionReasons;
+import com.airassist.backend.model.enums.Statuses;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CaseFilterDTO {
+    private Statuses status;
+
+    private DisruptionReasons disruptionReason;
+
+    private UUID assignedColleagueId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dateFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dateTo;
+}
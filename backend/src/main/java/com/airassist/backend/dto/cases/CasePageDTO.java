@@ -0,0 +1,15 @@
+package com.airassist.backend.dto.cases;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CasePageDTO {
+    private List<CaseResponseDTO> items;
+    private String nextCursor;
+}
@@ -0,0 +1,22 @@
+package com.airassist.backend.dto.contract;
+
+import com.airassist.backend.model.enums.ContractJobStatuses;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ContractJobDTO {
+    private UUID id;
+    private ContractJobStatuses status;
+    private int total;
+    private long pending;
+    private long completed;
+    private long failed;
+    private Instant createdAt;
+    private Instant finishedAt;
+}
@@ -0,0 +1,20 @@
+package com.airassist.backend.dto.contract;
+
+import com.airassist.backend.model.enums.ContractJobItemStatuses;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.UUID;
+
+/**
+ * The outcome of one case of a contract job, with the stored contract when it was generated.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ContractJobEntryDTO {
+    private UUID caseId;
+    private ContractJobItemStatuses status;
+    private String storageKey;
+    private String error;
+}
@@ -0,0 +1,14 @@
+package com.airassist.backend.dto.contract;
+
+import com.airassist.backend.model.enums.ContractJobItemStatuses;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ContractJobItemCountDTO {
+    private ContractJobItemStatuses status;
+    private long count;
+}
@@ -0,0 +1,21 @@
+package com.airassist.backend.dto.contract;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CreateContractJobDTO {
+    public static final int MAX_CASES = 1000;
+
+    @NotEmpty(message = "At least one case is required")
+    @Size(max = MAX_CASES, message = "At most 1000 cases can be requested at once")
+    private List<@NotNull UUID> caseIds;
+}
@@ -0,0 +1,15 @@
+package com.airassist.backend.dto.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CaseDocumentIdDTO {
+    private UUID caseId;
+    private UUID documentId;
+}
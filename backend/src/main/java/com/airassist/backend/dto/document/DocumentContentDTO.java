@@ -0,0 +1,16 @@
+package com.airassist.backend.dto.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DocumentContentDTO {
+    private String name;
+    private String contentType;
+    private long size;
+    private String sha256;
+    private String storageKey;
+}
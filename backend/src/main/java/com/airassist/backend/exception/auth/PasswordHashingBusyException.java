@@ -0,0 +1,9 @@
+package com.airassist.backend.exception.auth;
+
+import com.airassist.backend.model.enums.ApiErrorMessages;
+
+public class PasswordHashingBusyException extends Exception {
+    public PasswordHashingBusyException() {
+        super(ApiErrorMessages.PASSWORD_HASHING_BUSY.getCode());
+    }
+}
@@ -0,0 +1,9 @@
+package com.airassist.backend.exception.cases;
+
+import com.airassist.backend.model.enums.ApiErrorMessages;
+
+public class InvalidCaseCursorException extends RuntimeException {
+    public InvalidCaseCursorException() {
+        super(ApiErrorMessages.INVALID_CASE_CURSOR.getCode());
+    }
+}
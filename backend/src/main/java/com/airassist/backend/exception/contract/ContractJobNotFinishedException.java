@@ -0,0 +1,9 @@
+package com.airassist.backend.exception.contract;
+
+import com.airassist.backend.model.enums.ApiErrorMessages;
+
+public class ContractJobNotFinishedException extends RuntimeException {
+    public ContractJobNotFinishedException() {
+        super(ApiErrorMessages.CONTRACT_JOB_NOT_FINISHED.getCode());
+    }
+}
@@ -0,0 +1,9 @@
+package com.airassist.backend.exception.contract;
+
+import com.airassist.backend.model.enums.ApiErrorMessages;
+
+public class ContractJobNotFoundException extends RuntimeException {
+    public ContractJobNotFoundException() {
+        super(ApiErrorMessages.CONTRACT_JOB_NOT_FOUND.getCode());
+    }
+}
@@ -0,0 +1,9 @@
+package com.airassist.backend.exception.document;
+
+import com.airassist.backend.model.enums.ApiErrorMessages;
+
+public class PdfGenerationBusyException extends Exception {
+    public PdfGenerationBusyException() {
+        super(ApiErrorMessages.PDF_GENERATION_BUSY.getCode());
+    }
+}
@@ -2,14 +2,20 @@ package com.airassist.backend.exceptionHandler;
 
 import com.airassist.backend.controller.CaseController;
 import com.airassist.backend.exception.cases.CaseNotFoundException;
+import com.airassist.backend.exception.cases.InvalidCaseCursorException;
+import com.airassist.backend.exception.document.PdfGenerationBusyException;
 import com.airassist.backend.exception.user.UserNotFoundException;
 import com.airassist.backend.model.enums.ApiErrorMessages;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.dao.DataIntegrityViolationException;
+import java.io.IOException;
 
 @RestControllerAdvice(assignableTypes = CaseController.class)
 public class CaseControllerExceptionHandler {
@@ -19,6 +25,11 @@ public class CaseControllerExceptionHandler {
         return ProblemDetail.forStatusAndDetail(org.springframework.http.HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
+    @ExceptionHandler(InvalidCaseCursorException.class)
+    public ProblemDetail handleInvalidCursor(InvalidCaseCursorException ex) {
+        return ProblemDetail.forStatusAndDetail(org.springframework.http.HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ProblemDetail handleValidation(MethodArgumentNotValidException ex) {
         return ProblemDetail.forStatusAndDetail(org.springframework.http.HttpStatus.BAD_REQUEST, ApiErrorMessages.CASE_VALIDATION_ERROR.getCode());
@@ -48,4 +59,16 @@ public class CaseControllerExceptionHandler {
     public ProblemDetail handleUserNotFound(UserNotFoundException ex) {
         return ProblemDetail.forStatusAndDetail(org.springframework.http.HttpStatus.NOT_FOUND, ApiErrorMessages.USER_NOT_FOUND.getCode());
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(IOException.class)
+    public ProblemDetail handleIOException(IOException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.INTERNAL_SERVER_ERROR, ApiErrorMessages.PDF_GENERATION_ERROR.getCode());
+    }
+
+    @ExceptionHandler(PdfGenerationBusyException.class)
+    public ResponseEntity<ProblemDetail> handlePdfGenerationBusy(PdfGenerationBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.airassist.backend.exceptionHandler;
+
+import com.airassist.backend.controller.ContractJobController;
+import com.airassist.backend.exception.contract.ContractJobNotFinishedException;
+import com.airassist.backend.exception.contract.ContractJobNotFoundException;
+import com.airassist.backend.model.enums.ApiErrorMessages;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Handles exceptions related to batch contract generation jobs.
+ */
+@RestControllerAdvice(assignableTypes = ContractJobController.class)
+public class ContractJobControllerExceptionHandler {
+
+    @ExceptionHandler(ContractJobNotFoundException.class)
+    public ProblemDetail handleContractJobNotFound(ContractJobNotFoundException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    @ExceptionHandler(ContractJobNotFinishedException.class)
+    public ProblemDetail handleContractJobNotFinished(ContractJobNotFinishedException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ProblemDetail handleValidation(MethodArgumentNotValidException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ApiErrorMessages.CONTRACT_JOB_VALIDATION_ERROR.getCode());
+    }
+}
@@ -0,0 +1,17 @@
+package com.airassist.backend.exceptionHandler;
+
+import com.airassist.backend.controller.DocumentController;
+import com.airassist.backend.exception.document.DocumentNotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice(assignableTypes = DocumentController.class)
+public class DocumentControllerExceptionHandler {
+
+    @ExceptionHandler(DocumentNotFoundException.class)
+    public ProblemDetail handleDocumentNotFound(DocumentNotFoundException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+}
@@ -1,9 +1,12 @@
 package com.airassist.backend.exceptionHandler;
 
 import com.airassist.backend.controller.PdfController;
+import com.airassist.backend.exception.document.PdfGenerationBusyException;
 import com.airassist.backend.model.enums.ApiErrorMessages;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.io.IOException;
@@ -18,4 +21,11 @@ public class PdfControllerExceptionHandler {
     public ProblemDetail handleIOException(IOException ex) {
         return ProblemDetail.forStatusAndDetail(HttpStatus.INTERNAL_SERVER_ERROR, ApiErrorMessages.PDF_GENERATION_ERROR.getCode());
     }
+
+    @ExceptionHandler(PdfGenerationBusyException.class)
+    public ResponseEntity<ProblemDetail> handlePdfGenerationBusy(PdfGenerationBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
 }
@@ -1,6 +1,7 @@
 package com.airassist.backend.filters;
 
 import com.airassist.backend.exception.auth.InvalidTokenException;
+import com.airassist.backend.model.AuthenticatedUser;
 import com.airassist.backend.service.AuthService;
 import com.airassist.backend.service.CustomUserDetailsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,6 +15,7 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -22,12 +24,21 @@ import java.io.IOException;
 
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     private final AuthService authService;
     private final CustomUserDetailsService customUserDetailsService;
+    private final boolean verifyUser;
 
-    public JwtAuthFilter(AuthService authService, CustomUserDetailsService customUserDetailsService) {
+    /**
+     * @param authService the service that verifies tokens
+     * @param customUserDetailsService the service used to check that the user still exists with the same role
+     * @param verifyUser whether to run that check; when false, requests are authenticated from the token alone
+     */
+    public JwtAuthFilter(AuthService authService, CustomUserDetailsService customUserDetailsService, boolean verifyUser) {
         this.authService = authService;
         this.customUserDetailsService = customUserDetailsService;
+        this.verifyUser = verifyUser;
     }
 
     @Override
@@ -37,24 +48,42 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String jwt = getJwtFromRequest(request);
 
         try {
-            if (StringUtils.hasText(jwt) && authService.validateToken(jwt)) {
-                String email = authService.getEmailFromToken(jwt);
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+            if (StringUtils.hasText(jwt)) {
+                AuthenticatedUser user = authService.authenticate(jwt);
+                if (verifyUser) {
+                    verifyUser(user);
+                }
 
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
+                                user, null, user.getAuthorities());
 
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
-            filterChain.doFilter(request, response);
         } catch (InvalidTokenException ex) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.UNAUTHORIZED, ex.getMessage());
             response.setContentType("application/problem+json");
-            new ObjectMapper().writeValue(response.getWriter(), problemDetail);
+            OBJECT_MAPPER.writeValue(response.getWriter(), problemDetail);
             response.getWriter().flush();
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Rejects the token if its user was deleted or its role changed since the token was issued.
+     */
+    private void verifyUser(AuthenticatedUser user) throws InvalidTokenException {
+        UserDetails userDetails;
+        try {
+            userDetails = customUserDetailsService.loadUserByUsername(user.getEmail());
+        } catch (UsernameNotFoundException ex) {
+            throw new InvalidTokenException();
+        }
+        if (!userDetails.getAuthorities().containsAll(user.getAuthorities())) {
+            throw new InvalidTokenException();
         }
     }
 
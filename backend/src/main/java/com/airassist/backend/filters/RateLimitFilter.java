@@ -0,0 +1,218 @@
+package com.airassist.backend.filters;
+
+import com.airassist.backend.model.enums.ApiErrorMessages;
+import com.airassist.backend.ratelimit.RateLimitRule;
+import com.airassist.backend.ratelimit.RateLimitStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects requests to the unauthenticated endpoints with 429 once a client exceeds the rate of a matching
+ * rule. Every matching rule takes a token, so a sign-in counts against both its IP and the pair of its IP and
+ * email address. The email is never a key on its own, since anyone could then use up a user's limit and lock
+ * them out of signing in.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    // Bodies larger than this are passed through without looking for an email; sign-in bodies are far smaller
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+    // Longer values are not valid email addresses and would not fit a bucket key
+    private static final int MAX_EMAIL_LENGTH = 254;
+
+    private final RateLimitStore rateLimitStore;
+    private final List<RateLimitRule> rules;
+
+    public RateLimitFilter(RateLimitStore rateLimitStore, List<RateLimitRule> rules) {
+        this.rateLimitStore = rateLimitStore;
+        this.rules = List.copyOf(rules);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        HttpServletRequest currentRequest = request;
+        String email = null;
+        boolean bodyRead = false;
+
+        for (RateLimitRule rule : rules) {
+            if (!rule.matches(request)) {
+                continue;
+            }
+            String key;
+            if (rule.getKeyType() == RateLimitRule.KeyType.IP_AND_EMAIL) {
+                if (!bodyRead) {
+                    bodyRead = true;
+                    CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+                    currentRequest = cachedRequest;
+                    if (cachedRequest.isComplete()) {
+                        email = readEmail(cachedRequest.prefix);
+                    }
+                }
+                key = email != null ? request.getRemoteAddr() + ' ' + email : null;
+            } else {
+                key = request.getRemoteAddr();
+            }
+            if (key == null) {
+                continue;
+            }
+            long waitNanos = rateLimitStore.tryAcquire(rule, key);
+            if (waitNanos > 0) {
+                log.warn("Rate limit {} exceeded by {}", rule.getName(), key);
+                reject(response, waitNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(currentRequest, response);
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType("application/problem+json");
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS,
+                ApiErrorMessages.TOO_MANY_REQUESTS.getCode());
+        OBJECT_MAPPER.writeValue(response.getWriter(), problemDetail);
+        response.getWriter().flush();
+    }
+
+    private static String readEmail(byte[] body) {
+        try {
+            JsonNode email = OBJECT_MAPPER.readTree(body).path("email");
+            return email.isTextual() && email.asText().length() <= MAX_EMAIL_LENGTH
+                    ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Request whose body (up to {@link #MAX_BODY_BYTES}) has been read into memory, so the filter can inspect
+     * it and the controller can still read the whole body.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] prefix;
+        private final ServletInputStream remainder;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.remainder = request.getInputStream();
+            this.prefix = remainder.readNBytes(MAX_BODY_BYTES + 1);
+        }
+
+        boolean isComplete() {
+            return prefix.length <= MAX_BODY_BYTES;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new CachedBodyInputStream();
+        }
+
+        /**
+         * Reads the cached prefix, then the rest of the original body.
+         */
+        private final class CachedBodyInputStream extends ServletInputStream {
+
+            private final ByteArrayInputStream cached = new ByteArrayInputStream(prefix);
+
+            @Override
+            public int read() throws IOException {
+                int b = cached.read();
+                return b != -1 || isComplete() ? b : remainder.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (length == 0) {
+                    return 0;
+                }
+                int read = cached.read(buffer, offset, length);
+                return read != -1 || isComplete() ? read : remainder.read(buffer, offset, length);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return cached.available() == 0 && (isComplete() || remainder.isFinished());
+            }
+
+            @Override
+            public boolean isReady() {
+                return cached.available() > 0 || isComplete() || remainder.isReady();
+            }
+
+            /**
+             * A complete body is already in memory, so the listener is told right away that it can be read.
+             * Otherwise the listener is registered on the original stream, making sure it is called to read
+             * the cached prefix even if the original stream has no data left.
+             */
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                if (isComplete()) {
+                    try {
+                        readListener.onDataAvailable();
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                    return;
+                }
+                remainder.setReadListener(new ReadListener() {
+                    @Override
+                    public void onDataAvailable() throws IOException {
+                        readListener.onDataAvailable();
+                    }
+
+                    @Override
+                    public void onAllDataRead() throws IOException {
+                        if (cached.available() > 0) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        readListener.onError(throwable);
+                    }
+                });
+            }
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -5,9 +5,21 @@ import com.airassist.backend.model.Case;
 import org.mapstruct.Mapping;
 import org.mapstruct.Mapper;
 
+import java.util.List;
+import java.util.UUID;
+
 @Mapper(componentModel = "spring", uses = {
         UserMapper.class,
 })
 public interface CaseResponseMapper {
-    CaseResponseDTO toCaseResponseDTO(Case caseEntity);
-}
\ No newline at end of file
+    /**
+     * Converts a Case entity to a CaseResponseDTO.
+     * The document ids are passed in rather than read from the case, so its documents are never loaded.
+     *
+     * @param caseEntity the Case entity to convert
+     * @param documentIds the ids of the documents attached to the case
+     * @return the converted CaseResponseDTO
+     */
+    @Mapping(target = "documentIds", source = "documentIds")
+    CaseResponseDTO toCaseResponseDTO(Case caseEntity, List<UUID> documentIds);
+}
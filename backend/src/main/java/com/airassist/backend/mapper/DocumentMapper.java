@@ -4,29 +4,20 @@ import com.airassist.backend.dto.document.DocumentDTO;
 import com.airassist.backend.model.Document;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-import org.mapstruct.Named;
 import org.mapstruct.factory.Mappers;
 
-import java.util.Base64;
-
 @Mapper(componentModel = "spring")
 public interface DocumentMapper {
 
     DocumentMapper INSTANCE = Mappers.getMapper(DocumentMapper.class);
 
-    @Mapping(target = "contentBase64", source = "content", qualifiedByName = "bytesToBase64")
+    @Mapping(target = "contentBase64", ignore = true)
     DocumentDTO documentToDocumentDTO(Document document);
 
-    @Mapping(target = "content", source = "contentBase64", qualifiedByName = "base64ToBytes")
+    @Mapping(target = "contentType", ignore = true)
+    @Mapping(target = "size", ignore = true)
+    @Mapping(target = "sha256", ignore = true)
+    @Mapping(target = "storageKey", ignore = true)
+    @Mapping(target = "caseEntity", ignore = true)
     Document documentDTOToDocument(DocumentDTO documentDTO);
-
-    @Named("bytesToBase64")
-    default String bytesToBase64(byte[] bytes) {
-        return bytes != null ? Base64.getEncoder().encodeToString(bytes) : null;
-    }
-
-    @Named("base64ToBytes")
-    default byte[] base64ToBytes(String base64) {
-        return base64 != null ? Base64.getDecoder().decode(base64) : null;
-    }
-}
\ No newline at end of file
+}
@@ -18,4 +18,6 @@ public class Airport {
     private String name;
     private String city;
     private String country;
+    private Double latitude;
+    private Double longitude;
 }
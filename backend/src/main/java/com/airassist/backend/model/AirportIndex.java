@@ -0,0 +1,69 @@
+package com.airassist.backend.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of all airports, indexed by IATA code, sorted for listing and pre-serialized for the API.
+ * A new snapshot is built after each refresh and published as a whole, so readers never see a partial update.
+ */
+@Getter
+public final class AirportIndex {
+
+    public static final AirportIndex EMPTY = new AirportIndex(Map.of(), List.of(),
+            AirportPayload.of("[]".getBytes(StandardCharsets.UTF_8)), AirportSearchIndex.of(List.of()));
+
+    private final Map<String, Airport> airportsByCode;
+    private final List<Airport> airports;
+    private final AirportPayload payload;
+    private final AirportSearchIndex searchIndex;
+
+    private AirportIndex(Map<String, Airport> airportsByCode, List<Airport> airports, AirportPayload payload,
+                         AirportSearchIndex searchIndex) {
+        this.airportsByCode = airportsByCode;
+        this.airports = airports;
+        this.payload = payload;
+        this.searchIndex = searchIndex;
+    }
+
+    /**
+     * Builds a snapshot from the given airports. Airports without a code are skipped,
+     * and for duplicate codes the last airport wins.
+     *
+     * @param airports the airports to index
+     * @param objectMapper the mapper used to serialize the sorted airport list
+     * @return the new snapshot
+     * @throws JsonProcessingException if the airports cannot be serialized
+     */
+    public static AirportIndex of(Collection<Airport> airports, ObjectMapper objectMapper) throws JsonProcessingException {
+        Map<String, Airport> byCode = airports.stream()
+                .filter(airport -> airport.getCode() != null && !airport.getCode().isEmpty())
+                .collect(Collectors.toMap(Airport::getCode, Function.identity(), (first, second) -> second));
+        List<Airport> sorted = byCode.values().stream()
+                .sorted(Comparator.comparing(Airport::getCode))
+                .toList();
+        return new AirportIndex(Map.copyOf(byCode), sorted, AirportPayload.of(objectMapper.writeValueAsBytes(sorted)),
+                AirportSearchIndex.of(sorted));
+    }
+
+    public Optional<Airport> findByCode(String code) {
+        return Optional.ofNullable(code).map(airportsByCode::get);
+    }
+
+    public List<Airport> search(String query, int limit) {
+        return searchIndex.search(query, limit);
+    }
+
+    public int size() {
+        return airports.size();
+    }
+}
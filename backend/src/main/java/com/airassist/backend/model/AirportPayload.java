@@ -0,0 +1,60 @@
+package com.airassist.backend.model;
+
+import lombok.Getter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The airport list serialized once per refresh, as plain and gzip-compressed JSON.
+ * The byte arrays are shared between requests and must not be modified.
+ */
+@Getter
+public final class AirportPayload {
+
+    private final byte[] json;
+    private final byte[] gzipJson;
+    private final String eTag;
+    private final String gzipETag;
+
+    private AirportPayload(byte[] json, byte[] gzipJson, String hash) {
+        this.json = json;
+        this.gzipJson = gzipJson;
+        this.eTag = "\"" + hash + "\"";
+        this.gzipETag = "\"" + hash + "-gzip\"";
+    }
+
+    /**
+     * Builds the payload variants for the given JSON. The ETags are derived from the SHA-256 hash of the JSON,
+     * so they only change when the airport list does.
+     *
+     * @param json the serialized airport list
+     * @return the payload
+     */
+    public static AirportPayload of(byte[] json) {
+        return new AirportPayload(json, gzip(json), sha256(json));
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
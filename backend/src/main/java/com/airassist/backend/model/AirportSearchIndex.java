@@ -0,0 +1,168 @@
+package com.airassist.backend.model;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable prefix index over airport codes, cities and names.
+ * Every searchable key is normalized (accents removed, lower case) and kept in one sorted array,
+ * so all keys starting with a prefix form a contiguous run found with a binary search.
+ */
+public final class AirportSearchIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final long AIRPORT_POSITION_MASK = (1L << 20) - 1;
+
+    private static final byte CODE_MATCH = 0;
+    private static final byte CITY_MATCH = 1;
+    private static final byte NAME_MATCH = 2;
+    private static final byte WORD_MATCH = 3;
+
+    private final List<Airport> airports;
+    private final String[] keys;
+    private final int[] airportIndexes;
+    private final byte[] matchKinds;
+
+    private AirportSearchIndex(List<Airport> airports, String[] keys, int[] airportIndexes, byte[] matchKinds) {
+        this.airports = airports;
+        this.keys = keys;
+        this.airportIndexes = airportIndexes;
+        this.matchKinds = matchKinds;
+    }
+
+    /**
+     * Builds the index. Each airport is reachable by its code, its full city, its full name,
+     * and every word of its city and name.
+     *
+     * @param airports the airports to index, in their listing order
+     * @return the search index
+     */
+    public static AirportSearchIndex of(List<Airport> airports) {
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < airports.size(); i++) {
+            Airport airport = airports.get(i);
+            addEntry(entries, airport.getCode(), i, CODE_MATCH);
+            addEntry(entries, airport.getCity(), i, CITY_MATCH);
+            addEntry(entries, airport.getName(), i, NAME_MATCH);
+            for (String text : new String[]{airport.getCity(), airport.getName()}) {
+                if (text != null) {
+                    for (String word : WORD_SEPARATORS.split(normalize(text))) {
+                        addEntry(entries, word, i, WORD_MATCH);
+                    }
+                }
+            }
+        }
+        entries.sort(Comparator.comparing(Entry::key));
+
+        String[] keys = new String[entries.size()];
+        int[] airportIndexes = new int[entries.size()];
+        byte[] matchKinds = new byte[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            keys[i] = entry.key();
+            airportIndexes[i] = entry.airportIndex();
+            matchKinds[i] = entry.matchKind();
+        }
+        return new AirportSearchIndex(airports, keys, airportIndexes, matchKinds);
+    }
+
+    /**
+     * Finds the airports with a code, city, name or word starting with the query.
+     * Code matches rank first, then city, name and word matches; exact matches rank before longer keys.
+     *
+     * @param query the prefix to look for, in any case and with or without accents
+     * @param limit the maximum number of results
+     * @return the best matching airports, best first
+     */
+    public List<Airport> search(String query, int limit) {
+        String prefix = query == null ? "" : normalize(query).trim();
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        int start = lowerBound(prefix);
+        if (start == keys.length || !keys[start].startsWith(prefix)) {
+            return List.of();
+        }
+
+        // Score layout: match kind, then how much longer the key is than the prefix, then the airport position
+        // (airports are sorted by code), so a smaller score is a better and unique rank. Scores start at 1,
+        // leaving 0 to mark airports that have not matched yet.
+        long[] bestScores = new long[airports.size()];
+        int[] matched = new int[airports.size()];
+        int matchedCount = 0;
+        for (int i = start; i < keys.length && keys[i].startsWith(prefix); i++) {
+            int airportIndex = airportIndexes[i];
+            long score = 1 + (((long) matchKinds[i] << 40) | ((long) (keys[i].length() - prefix.length()) << 20) | airportIndex);
+            if (bestScores[airportIndex] == 0) {
+                matched[matchedCount++] = airportIndex;
+                bestScores[airportIndex] = score;
+            } else {
+                bestScores[airportIndex] = Math.min(bestScores[airportIndex], score);
+            }
+        }
+
+        long[] top = new long[Math.min(limit, matchedCount)];
+        int topCount = 0;
+        for (int m = 0; m < matchedCount; m++) {
+            long score = bestScores[matched[m]];
+            if (topCount == top.length && score >= top[topCount - 1]) {
+                continue;
+            }
+            int position = topCount == top.length ? topCount - 1 : topCount++;
+            while (position > 0 && top[position - 1] > score) {
+                top[position] = top[position - 1];
+                position--;
+            }
+            top[position] = score;
+        }
+
+        List<Airport> results = new ArrayList<>(topCount);
+        for (int t = 0; t < topCount; t++) {
+            results.add(airports.get((int) ((top[t] - 1) & AIRPORT_POSITION_MASK)));
+        }
+        return List.copyOf(results);
+    }
+
+    /**
+     * Normalizes text for matching: accents are removed and letters are lower-cased.
+     *
+     * @param text the text to normalize
+     * @return the normalized text
+     */
+    public static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private int lowerBound(String prefix) {
+        int index = Arrays.binarySearch(keys, prefix);
+        if (index < 0) {
+            return -index - 1;
+        }
+        while (index > 0 && keys[index - 1].equals(prefix)) {
+            index--;
+        }
+        return index;
+    }
+
+    private static void addEntry(List<Entry> entries, String text, int airportIndex, byte matchKind) {
+        if (text == null) {
+            return;
+        }
+        String key = normalize(text).trim();
+        if (!key.isEmpty()) {
+            entries.add(new Entry(key, airportIndex, matchKind));
+        }
+    }
+
+    private record Entry(String key, int airportIndex, byte matchKind) {
+    }
+}
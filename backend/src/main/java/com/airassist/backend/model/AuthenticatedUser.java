@@ -0,0 +1,31 @@
+package com.airassist.backend.model;
+
+import com.airassist.backend.model.enums.Roles;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import java.security.Principal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Principal of an authenticated request, built from the claims of its JWT.
+ */
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUser implements Principal {
+    private final UUID id;
+    private final String email;
+    private final Roles role;
+    private final UUID sessionId;
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+}
@@ -14,7 +14,12 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "cases")
+@Table(name = "cases", indexes = {
+        @Index(name = "idx_cases_date_id", columnList = "date, id"),
+        @Index(name = "idx_cases_status_date_id", columnList = "status, date, id"),
+        @Index(name = "idx_cases_disruption_reason_date_id", columnList = "disruption_reason, date, id"),
+        @Index(name = "idx_cases_assigned_colleague_date_id", columnList = "assigned_colleague_id, date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
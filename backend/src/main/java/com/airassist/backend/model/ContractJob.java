@@ -0,0 +1,39 @@
+package com.airassist.backend.model;
+
+import com.airassist.backend.model.enums.ContractJobStatuses;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A request to generate the contracts of several cases in the background. Each case is a
+ * {@link ContractJobItem}; the job is completed once none of them is pending.
+ */
+@Entity
+@Table(name = "contract_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContractJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ContractJobStatuses status;
+
+    @Column(nullable = false)
+    private int totalCount;
+
+    @Column(nullable = false, length = 254)
+    private String createdBy;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    private Instant finishedAt;
+}
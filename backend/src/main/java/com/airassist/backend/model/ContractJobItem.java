@@ -0,0 +1,57 @@
+package com.airassist.backend.model;
+
+import com.airassist.backend.model.enums.ContractJobItemStatuses;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The contract of one case within a {@link ContractJob}. Once generated, it points to the {@link Document}
+ * the contract was saved as; a failed item keeps the reason instead.
+ */
+@Entity
+@Table(name = "contract_job_items", indexes = {
+        @Index(name = "idx_contract_job_items_job_id_status", columnList = "job_id, status"),
+        @Index(name = "idx_contract_job_items_status_next_attempt_at", columnList = "status, next_attempt_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = {"job", "document"})
+public class ContractJobItem {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "job_id", referencedColumnName = "id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private ContractJob job;
+
+    @Column(nullable = false)
+    private UUID caseId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ContractJobItemStatuses status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "document_id", referencedColumnName = "id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private Document document;
+
+    @Column(length = 500)
+    private String error;
+}
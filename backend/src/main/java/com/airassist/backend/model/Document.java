@@ -10,7 +10,7 @@ import lombok.NoArgsConstructor;
 import java.util.UUID;
 
 @Entity
-@Table(name = "documents")
+@Table(name = "documents", indexes = @Index(name = "idx_documents_storage_key", columnList = "storage_key"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -27,9 +27,16 @@ public class Document {
     @Enumerated(EnumType.STRING)
     private DocumentTypes type;
 
-    @Lob
-    @Column
-    private byte[] content;
+    @Column(length = 100)
+    private String contentType;
+
+    private Long size;
+
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(length = 64)
+    private String storageKey;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(referencedColumnName = "id", nullable = false)
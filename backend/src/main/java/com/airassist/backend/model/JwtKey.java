@@ -0,0 +1,18 @@
+package com.airassist.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import javax.crypto.SecretKey;
+import java.time.Instant;
+
+/**
+ * HMAC key used to sign and verify JWTs, identified in token headers by its {@code kid}.
+ */
+@Getter
+@AllArgsConstructor
+public class JwtKey {
+    private final String kid;
+    private final SecretKey key;
+    // New tokens are only signed with this key from this moment on; it is accepted for verification immediately
+    private final Instant activeFrom;
+}
@@ -0,0 +1,56 @@
+package com.airassist.backend.model;
+
+import com.airassist.backend.model.enums.MailOutboxStatuses;
+import com.airassist.backend.model.enums.MailTemplates;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An email waiting to be sent. It is written in the same transaction as the change that triggers it and
+ * deleted once delivered; after the last failed attempt it is kept as {@code FAILED} with its variables
+ * cleared, since they can hold a generated password. Until then the variables are stored encrypted.
+ */
+@Entity
+@Table(name = "mail_outbox", indexes = {
+        @Index(name = "idx_mail_outbox_status_next_attempt_at", columnList = "status, next_attempt_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEmail {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false, length = 254)
+    private String recipient;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private MailTemplates template;
+
+    /* Template variables as a JSON object, encrypted by MailOutboxServiceImpl */
+    @Column(columnDefinition = "TEXT")
+    private String variables;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private MailOutboxStatuses status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
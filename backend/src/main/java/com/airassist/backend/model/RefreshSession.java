@@ -0,0 +1,16 @@
+package com.airassist.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.util.UUID;
+
+/**
+ * A session together with its current refresh token, which is only known in plain text when it is issued.
+ */
+@Getter
+@AllArgsConstructor
+public class RefreshSession {
+    private final UUID sessionId;
+    private final User user;
+    private final String refreshToken;
+}
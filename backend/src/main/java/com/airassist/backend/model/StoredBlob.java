@@ -7,7 +7,8 @@ import lombok.NoArgsConstructor;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class TokenResponse {
-    private boolean renewed;
-    private String newToken;
+public class StoredBlob {
+    private String storageKey;
+    private String sha256;
+    private long size;
 }
@@ -16,6 +16,7 @@ public enum ApiErrorMessages {
     PASSWORD_API_ERROR("api-errors.password-api-error"),
     PDF_GENERATION_ERROR("api-errors.pdf-generation-error"),
     CASE_NOT_FOUND("api-errors.case-not-found"),
+    INVALID_CASE_CURSOR("api-errors.invalid-case-cursor"),
     CASE_VALIDATION_ERROR("api-errors.case-validation-error"),
     DATA_INTEGRITY_VIOLATION("api-errors.data-integrity-violation"),
     ILLEGAL_ARGUMENT("api-errors.illegal-argument-"),
@@ -24,7 +25,13 @@ public enum ApiErrorMessages {
     RESERVATION_NOT_FOUND("api-errors.reservation-not-found"),
     DOCUMENT_NOT_FOUND("api-errors.document-not-found"),
     FORBIDDEN("api-errors.forbidden"),
-    UNAUTHORIZED("api-errors.unauthorized");
+    UNAUTHORIZED("api-errors.unauthorized"),
+    PASSWORD_HASHING_BUSY("api-errors.password-hashing-busy"),
+    TOO_MANY_REQUESTS("api-errors.too-many-requests"),
+    PDF_GENERATION_BUSY("api-errors.pdf-generation-busy"),
+    CONTRACT_JOB_NOT_FOUND("api-errors.contract-job-not-found"),
+    CONTRACT_JOB_NOT_FINISHED("api-errors.contract-job-not-finished"),
+    CONTRACT_JOB_VALIDATION_ERROR("api-errors.contract-job-validation-error");
 
     private final String code;
 
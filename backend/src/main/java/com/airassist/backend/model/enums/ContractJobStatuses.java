@@ -0,0 +1,3 @@
+package com.airassist.backend.model.enums;
+
+public enum ContractJobStatuses {RUNNING, COMPLETED}
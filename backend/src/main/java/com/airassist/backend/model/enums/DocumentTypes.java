@@ -1,7 +1,16 @@
 package com.airassist.backend.model.enums;
 
+import lombok.Getter;
+
+@Getter
 public enum DocumentTypes {
-    PDF,
-    JPEG,
-    JPG
+    PDF("application/pdf"),
+    JPEG("image/jpeg"),
+    JPG("image/jpeg");
+
+    private final String contentType;
+
+    DocumentTypes(String contentType) {
+        this.contentType = contentType;
+    }
 }
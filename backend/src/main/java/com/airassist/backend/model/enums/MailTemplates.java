@@ -0,0 +1,16 @@
+package com.airassist.backend.model.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum MailTemplates {
+    VALID_CASE("validCaseEmail.html", "mail.subject.validCase"),
+    GENERATED_PASSWORD("generatedPasswordEmail.html", "mail.subject.generatedPassword"),
+    CONTRACT_LINK("contractLinkEmail.html", "mail.subject.contractLink");
+
+    private final String templateName;
+    /* Key of the subject in messages_en.properties */
+    private final String subjectKey;
+}
@@ -0,0 +1,55 @@
+package com.airassist.backend.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Buckets kept in this instance's memory. The Caffeine map is striped, and each bucket updates itself
+ * with a compare-and-set, so requests never wait on a lock. A bucket is evicted once it would be full
+ * again, since a missing bucket behaves exactly like a full one; memory therefore only grows with the
+ * clients that are currently being limited.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, TokenBucket> buckets;
+
+    public InMemoryRateLimitStore(@Value("${rate-limit.max-keys:100000}") long maxKeys) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfter(new Expiry<String, TokenBucket>() {
+                    @Override
+                    public long expireAfterCreate(String key, TokenBucket bucket, long currentTime) {
+                        return untilFullAfterNextToken(bucket);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, TokenBucket bucket, long currentTime, long currentDuration) {
+                        return untilFullAfterNextToken(bucket);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, TokenBucket bucket, long currentTime, long currentDuration) {
+                        return untilFullAfterNextToken(bucket);
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public long tryAcquire(RateLimitRule rule, String key) {
+        TokenBucket bucket = buckets.get(rule.getName() + ':' + key,
+                ignored -> new TokenBucket(rule.getCapacity(), rule.getTokensPerSecond()));
+        return bucket.tryAcquireOrGetWaitNanos();
+    }
+
+    // Expiry is computed when the bucket is looked up, just before the token is taken, so leave room for it
+    private static long untilFullAfterNextToken(TokenBucket bucket) {
+        return bucket.nanosUntilFull() + bucket.getIntervalNanos();
+    }
+}
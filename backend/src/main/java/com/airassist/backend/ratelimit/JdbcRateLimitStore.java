@@ -0,0 +1,85 @@
+package com.airassist.backend.ratelimit;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buckets kept in the database, so every instance enforces the same limits. Each bucket is one row with
+ * the same single value as {@link TokenBucket}, updated by one conditional UPDATE, so the database row lock
+ * is only held for that statement. Times are epoch milliseconds, which assumes the instances' clocks are
+ * synchronized.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "jdbc")
+public class JdbcRateLimitStore implements RateLimitStore {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+                bucket_key VARCHAR(320) PRIMARY KEY,
+                empty_at BIGINT NOT NULL
+            )""";
+    private static final String TAKE_TOKEN = """
+            UPDATE rate_limit_buckets SET empty_at = GREATEST(empty_at, ?) + ?
+            WHERE bucket_key = ? AND GREATEST(empty_at, ?) + ? - ? <= ?""";
+    private static final String INSERT_BUCKET = "INSERT INTO rate_limit_buckets (bucket_key, empty_at) VALUES (?, ?)";
+    private static final String SELECT_BUCKET = "SELECT empty_at FROM rate_limit_buckets WHERE bucket_key = ?";
+    private static final String DELETE_FULL_BUCKETS = "DELETE FROM rate_limit_buckets WHERE empty_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate.execute(CREATE_TABLE);
+    }
+
+    @Override
+    public long tryAcquire(RateLimitRule rule, String key) {
+        String bucketKey = rule.getName() + ':' + key;
+        long intervalMillis = Math.max(1, Math.round(1000 / rule.getTokensPerSecond()));
+        long burstMillis = rule.getCapacity() * intervalMillis;
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long now = System.currentTimeMillis();
+            if (jdbcTemplate.update(TAKE_TOKEN, now, intervalMillis, bucketKey, now, intervalMillis, now, burstMillis) == 1) {
+                return 0;
+            }
+            List<Long> emptyAt = jdbcTemplate.queryForList(SELECT_BUCKET, Long.class, bucketKey);
+            if (emptyAt.isEmpty()) {
+                try {
+                    jdbcTemplate.update(INSERT_BUCKET, bucketKey, now + intervalMillis);
+                    return 0;
+                } catch (DuplicateKeyException e) {
+                    // Another instance created the bucket first; take the token from it
+                    continue;
+                }
+            }
+            long overflowMillis = Math.max(emptyAt.getFirst(), now) + intervalMillis - now - burstMillis;
+            if (overflowMillis > 0) {
+                return TimeUnit.MILLISECONDS.toNanos(overflowMillis);
+            }
+        }
+        // Lost every race for a bucket that had tokens; let the request through rather than reject it wrongly
+        return 0;
+    }
+
+    /**
+     * Deletes the buckets that are full again, since a missing bucket behaves like a full one.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.cleanup-interval:PT5M}")
+    public void deleteFullBuckets() {
+        int deleted = jdbcTemplate.update(DELETE_FULL_BUCKETS, System.currentTimeMillis());
+        log.debug("Deleted {} full rate limit buckets", deleted);
+    }
+}
@@ -0,0 +1,39 @@
+package com.airassist.backend.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Limit applied to the requests matching a method and path pattern, counted separately for each client IP
+ * or for each pair of client IP and email address in the JSON request body.
+ */
+@Getter
+@AllArgsConstructor
+public class RateLimitRule {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    public enum KeyType { IP, IP_AND_EMAIL }
+
+    private final String name;
+    // null matches every method except OPTIONS, which CORS preflight requests use
+    private final HttpMethod method;
+    private final String pathPattern;
+    private final KeyType keyType;
+    private final long capacity;
+    private final double tokensPerSecond;
+
+    public static RateLimitRule perMinute(String name, HttpMethod method, String pathPattern, KeyType keyType, long requestsPerMinute) {
+        return new RateLimitRule(name, method, pathPattern, keyType, requestsPerMinute, requestsPerMinute / 60.0);
+    }
+
+    public boolean matches(HttpServletRequest request) {
+        if (method == null ? HttpMethod.OPTIONS.matches(request.getMethod()) : !method.matches(request.getMethod())) {
+            return false;
+        }
+        return PATH_MATCHER.match(pathPattern, request.getRequestURI().substring(request.getContextPath().length()));
+    }
+}
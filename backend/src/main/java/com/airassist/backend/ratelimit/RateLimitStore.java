@@ -0,0 +1,16 @@
+package com.airassist.backend.ratelimit;
+
+/**
+ * Keeps the token buckets of the rate limiter.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes a token from the bucket of the given key, creating a full bucket if there is none.
+     *
+     * @param rule the rule whose capacity and rate the bucket uses
+     * @param key the client key (IP address or email) within the rule
+     * @return 0 if the request is allowed, otherwise how many nanoseconds until it would be
+     */
+    long tryAcquire(RateLimitRule rule, String key);
+}
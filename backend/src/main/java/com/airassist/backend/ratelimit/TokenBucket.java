@@ -0,0 +1,92 @@
+package com.airassist.backend.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket. It holds up to {@code capacity} tokens and refills continuously
+ * at {@code tokensPerSecond}, so it allows short bursts while capping the long-run rate.
+ * <p>
+ * The whole state is one {@code long}: the moment at which the bucket would be empty again if every
+ * token taken so far had been spaced one refill interval apart (the generic cell rate algorithm).
+ * Taking a token moves that moment forward by one interval with a compare-and-set.
+ */
+public class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong emptyAt;
+
+    public TokenBucket(long capacity, double tokensPerSecond) {
+        this(capacity, tokensPerSecond, System::nanoTime);
+    }
+
+    public TokenBucket(long capacity, double tokensPerSecond, LongSupplier nanoClock) {
+        if (capacity < 1 || tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("Token bucket capacity and rate must be positive.");
+        }
+        this.intervalNanos = Math.max(1, Math.round(NANOS_PER_SECOND / tokensPerSecond));
+        this.burstNanos = Math.multiplyExact(capacity, intervalNanos);
+        this.nanoClock = nanoClock;
+        this.emptyAt = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return true if a token was taken, false if the bucket is empty
+     */
+    public boolean tryAcquire() {
+        return tryAcquireOrGetWaitNanos() == 0;
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return 0 if a token was taken, otherwise how many nanoseconds until the next token is available
+     */
+    public long tryAcquireOrGetWaitNanos() {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = emptyAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long overflow = next - now - burstNanos;
+            if (overflow > 0) {
+                return overflow;
+            }
+            if (emptyAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Takes a token, waiting for the bucket to refill if it is empty.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = tryAcquireOrGetWaitNanos()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * @return how many nanoseconds it takes to refill one token
+     */
+    public long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    /**
+     * @return how many nanoseconds until the bucket is full again
+     */
+    public long nanosUntilFull() {
+        return Math.max(0, emptyAt.get() - nanoClock.getAsLong());
+    }
+}
@@ -1,10 +1,24 @@
 package com.airassist.backend.repository;
 
 import com.airassist.backend.model.Case;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface CaseRepository extends JpaRepository<Case, UUID> {
+public interface CaseRepository extends JpaRepository<Case, UUID>, JpaSpecificationExecutor<Case> {
+
+    /*
+     * The entity graphs below, and CaseSpecifications.fetchResponseAssociations for the paged listing,
+     * join-fetch every to-one association read when mapping a case to a CaseResponseDTO.
+     * The collections under them are batch-fetched, so reading N cases costs a fixed number of queries.
+     */
+
+    @EntityGraph(attributePaths = {"client.userDetails", "assignedColleague.userDetails", "reservation", "beneficiary"})
+    Optional<Case> findWithAssociationsById(UUID id);
+
+    @EntityGraph(attributePaths = {"client.userDetails", "assignedColleague.userDetails", "reservation", "beneficiary"})
     List<Case> getCasesByClientId(UUID clientId);
 }
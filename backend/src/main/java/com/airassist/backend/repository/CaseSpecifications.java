@@ -0,0 +1,80 @@
+package com.airassist.backend.repository;
+
+import com.airassist.backend.dto.cases.CaseFilterDTO;
+import com.airassist.backend.model.Case;
+import com.airassist.backend.model.User;
+import com.airassist.backend.model.enums.DisruptionReasons;
+import com.airassist.backend.model.enums.Statuses;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Specifications used to filter the case listing.
+ * Every factory returns null for a missing value, so absent filters are skipped when combined.
+ */
+public final class CaseSpecifications {
+
+    private CaseSpecifications() {
+    }
+
+    /**
+     * Combines all filters present on the given filter DTO.
+     *
+     * @param filter the filter values, any of which may be null
+     * @return the combined specification
+     */
+    public static Specification<Case> matching(CaseFilterDTO filter) {
+        return Specification.allOf(
+                hasStatus(filter.getStatus()),
+                hasDisruptionReason(filter.getDisruptionReason()),
+                assignedTo(filter.getAssignedColleagueId()),
+                dateFrom(filter.getDateFrom()),
+                dateTo(filter.getDateTo())
+        );
+    }
+
+    /**
+     * Join-fetches the to-one associations read when mapping a case to a CaseResponseDTO,
+     * so a page of cases does not lazy-load them one case at a time.
+     * Count queries are left untouched, since fetch joins are not allowed there.
+     *
+     * @return a specification that only adds fetch joins
+     */
+    public static Specification<Case> fetchResponseAssociations() {
+        return (root, query, cb) -> {
+            if (query != null && !Long.class.equals(query.getResultType())) {
+                Fetch<Case, User> client = root.fetch("client", JoinType.LEFT);
+                client.fetch("userDetails", JoinType.LEFT);
+                Fetch<Case, User> assignedColleague = root.fetch("assignedColleague", JoinType.LEFT);
+                assignedColleague.fetch("userDetails", JoinType.LEFT);
+                root.fetch("reservation", JoinType.LEFT);
+                root.fetch("beneficiary", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    public static Specification<Case> hasStatus(Statuses status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Case> hasDisruptionReason(DisruptionReasons disruptionReason) {
+        return disruptionReason == null ? null : (root, query, cb) -> cb.equal(root.get("disruptionReason"), disruptionReason);
+    }
+
+    public static Specification<Case> assignedTo(UUID assignedColleagueId) {
+        return assignedColleagueId == null ? null : (root, query, cb) -> cb.equal(root.get("assignedColleague").get("id"), assignedColleagueId);
+    }
+
+    public static Specification<Case> dateFrom(LocalDate from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("date"), from);
+    }
+
+    public static Specification<Case> dateTo(LocalDate to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("date"), to);
+    }
+}
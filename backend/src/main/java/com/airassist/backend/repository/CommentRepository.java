@@ -1,10 +1,18 @@
 package com.airassist.backend.repository;
 
+import com.airassist.backend.dto.comment.CommentDTO;
 import com.airassist.backend.model.Comment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.UUID;
 
 public interface CommentRepository extends JpaRepository<Comment, UUID> {
     List<Comment> findByCaseEntityIdOrderByTimestampAsc(UUID caseId);
+
+    @Query("""
+            SELECT new com.airassist.backend.dto.comment.CommentDTO(c.id, u.id, c.text, c.timestamp, CONCAT(u.firstName, ' ', u.lastName))
+            FROM Comment c JOIN c.user u WHERE c.caseEntity.id = :caseId ORDER BY c.timestamp""")
+    List<CommentDTO> findDTOsByCaseEntityId(@Param("caseId") UUID caseId);
 }
@@ -0,0 +1,43 @@
+package com.airassist.backend.repository;
+
+import com.airassist.backend.dto.contract.ContractJobEntryDTO;
+import com.airassist.backend.dto.contract.ContractJobItemCountDTO;
+import com.airassist.backend.model.ContractJobItem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface ContractJobItemRepository extends JpaRepository<ContractJobItem, UUID> {
+
+    @Query("""
+            SELECT i.id FROM ContractJobItem i
+            WHERE i.status = com.airassist.backend.model.enums.ContractJobItemStatuses.PENDING AND i.nextAttemptAt <= :now
+            ORDER BY i.nextAttemptAt""")
+    List<UUID> findDueIds(@Param("now") Instant now, Pageable pageable);
+
+    /**
+     * Claims a due item for one attempt by pushing its next attempt past the lease, so that other instances
+     * skip it while its contract is generated and pick it up again if this one dies midway.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE ContractJobItem i SET i.nextAttemptAt = :leaseUntil, i.attempts = i.attempts + 1
+            WHERE i.id = :id AND i.status = com.airassist.backend.model.enums.ContractJobItemStatuses.PENDING
+            AND i.nextAttemptAt <= :now""")
+    int claim(@Param("id") UUID id, @Param("now") Instant now, @Param("leaseUntil") Instant leaseUntil);
+
+    @Query("""
+            SELECT new com.airassist.backend.dto.contract.ContractJobItemCountDTO(i.status, COUNT(i))
+            FROM ContractJobItem i WHERE i.job.id = :jobId GROUP BY i.status""")
+    List<ContractJobItemCountDTO> countByStatus(@Param("jobId") UUID jobId);
+
+    @Query("""
+            SELECT new com.airassist.backend.dto.contract.ContractJobEntryDTO(i.caseId, i.status, d.storageKey, i.error)
+            FROM ContractJobItem i LEFT JOIN i.document d WHERE i.job.id = :jobId ORDER BY i.caseId""")
+    List<ContractJobEntryDTO> findEntriesByJobId(@Param("jobId") UUID jobId);
+}
@@ -0,0 +1,36 @@
+package com.airassist.backend.repository;
+
+import com.airassist.backend.model.ContractJob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ContractJobRepository extends JpaRepository<ContractJob, UUID> {
+
+    /**
+     * Locks a job until the end of the transaction. Workers finishing items of the same job take this lock
+     * first, so each one sees the items finished before it when checking {@link #completeIfFinished}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM ContractJob j WHERE j.id = :id")
+    Optional<ContractJob> lockById(@Param("id") UUID id);
+
+    /**
+     * Marks a running job completed if none of its items is still pending. Safe to call after every item,
+     * from any instance, as long as the job is locked with {@link #lockById} before its item is updated.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE ContractJob j SET j.status = com.airassist.backend.model.enums.ContractJobStatuses.COMPLETED,
+            j.finishedAt = :now
+            WHERE j.id = :id AND j.status = com.airassist.backend.model.enums.ContractJobStatuses.RUNNING
+            AND NOT EXISTS (SELECT i.id FROM ContractJobItem i WHERE i.job.id = :id
+                            AND i.status = com.airassist.backend.model.enums.ContractJobItemStatuses.PENDING)""")
+    int completeIfFinished(@Param("id") UUID id, @Param("now") Instant now);
+}
@@ -1,10 +1,24 @@
 package com.airassist.backend.repository;
 
+import com.airassist.backend.dto.document.CaseDocumentIdDTO;
+import com.airassist.backend.dto.document.DocumentSummaryDTO;
 import com.airassist.backend.model.Document;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface DocumentRepository extends JpaRepository<Document, UUID> {
     List<Document> findByCaseEntityId(UUID caseId);
+
+    @Query("SELECT DISTINCT d.storageKey FROM Document d WHERE d.storageKey IN :storageKeys")
+    List<String> findStorageKeysIn(@Param("storageKeys") Collection<String> storageKeys);
+
+    @Query("SELECT new com.airassist.backend.dto.document.DocumentSummaryDTO(d.id, d.name, d.type) FROM Document d WHERE d.caseEntity.id = :caseId")
+    List<DocumentSummaryDTO> findSummariesByCaseEntityId(@Param("caseId") UUID caseId);
+
+    @Query("SELECT new com.airassist.backend.dto.document.CaseDocumentIdDTO(d.caseEntity.id, d.id) FROM Document d WHERE d.caseEntity.id IN :caseIds")
+    List<CaseDocumentIdDTO> findIdsByCaseEntityIds(@Param("caseIds") Collection<UUID> caseIds);
 }
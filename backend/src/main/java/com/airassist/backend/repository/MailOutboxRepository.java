@@ -0,0 +1,31 @@
+package com.airassist.backend.repository;
+
+import com.airassist.backend.model.OutboxEmail;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface MailOutboxRepository extends JpaRepository<OutboxEmail, UUID> {
+
+    @Query("""
+            SELECT m.id FROM OutboxEmail m
+            WHERE m.status = com.airassist.backend.model.enums.MailOutboxStatuses.PENDING AND m.nextAttemptAt <= :now
+            ORDER BY m.nextAttemptAt""")
+    List<UUID> findDueIds(@Param("now") Instant now, Pageable pageable);
+
+    /**
+     * Claims a due email for one delivery attempt by pushing its next attempt past the lease, so that other
+     * instances skip it while it is being sent and pick it up again if this one dies mid-send.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE OutboxEmail m SET m.nextAttemptAt = :leaseUntil, m.attempts = m.attempts + 1
+            WHERE m.id = :id AND m.status = com.airassist.backend.model.enums.MailOutboxStatuses.PENDING
+            AND m.nextAttemptAt <= :now""")
+    int claim(@Param("id") UUID id, @Param("now") Instant now, @Param("leaseUntil") Instant leaseUntil);
+}
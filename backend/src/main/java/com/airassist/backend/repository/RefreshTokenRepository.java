@@ -0,0 +1,46 @@
+package com.airassist.backend.repository;
+
+import com.airassist.backend.model.RefreshToken;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+    @EntityGraph(attributePaths = "user")
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    Optional<RefreshToken> findByPreviousTokenHash(String previousTokenHash);
+
+    boolean existsByIdAndRevokedAtIsNotNull(UUID id);
+
+    @Query("SELECT r.id FROM RefreshToken r WHERE r.revokedAt > :since")
+    List<UUID> findSessionIdsRevokedSince(@Param("since") Instant since);
+
+    @Query("SELECT r.id FROM RefreshToken r WHERE r.user.id = :userId AND r.revokedAt IS NULL")
+    List<UUID> findActiveSessionIdsByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Replaces the token of a session, only if it still has the expected token and is not revoked,
+     * so that two concurrent refreshes with the same token cannot both succeed.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE RefreshToken r SET r.tokenHash = :newHash, r.previousTokenHash = :oldHash, r.rotatedAt = :now
+            WHERE r.id = :id AND r.tokenHash = :oldHash AND r.revokedAt IS NULL""")
+    int rotate(@Param("id") UUID id, @Param("oldHash") String oldHash, @Param("newHash") String newHash, @Param("now") Instant now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshToken r SET r.revokedAt = :now WHERE r.id IN :ids AND r.revokedAt IS NULL")
+    int revokeAll(@Param("ids") List<UUID> ids, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
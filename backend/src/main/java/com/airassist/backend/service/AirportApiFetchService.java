@@ -1,9 +1,11 @@
 package com.airassist.backend.service;
 
 import com.airassist.backend.model.Airport;
+import com.airassist.backend.model.AirportPayload;
 import com.fasterxml.jackson.core.JsonProcessingException;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service interface for fetching airport data from an external API.
@@ -11,12 +13,43 @@ import java.util.List;
 public interface AirportApiFetchService {
 
     /**
-     * Fetches airport data from database.
+     * Returns all airports from the in-memory index, sorted by code.
      *
      * @return List of airports.
      */
     List<Airport> getAirports();
 
+    /**
+     * Returns the airport list from the in-memory index, already serialized and compressed.
+     *
+     * @return The airport payload, with its ETags.
+     */
+    AirportPayload getAirportPayload();
+
+    /**
+     * Finds airports whose IATA code, city or name starts with the query, ignoring case and accents.
+     *
+     * @param query The prefix typed by the user.
+     * @param limit The maximum number of results.
+     * @return The best matching airports, best first.
+     */
+    List<Airport> searchAirports(String query, int limit);
+
+    /**
+     * Looks up an airport in the in-memory index.
+     *
+     * @param code The IATA code.
+     * @return The airport, or empty if the code is unknown.
+     */
+    Optional<Airport> findAirport(String code);
+
+    /**
+     * Rebuilds the in-memory index from the database and publishes it atomically.
+     *
+     * @throws JsonProcessingException If the airports cannot be serialized.
+     */
+    void reloadAirportIndex() throws JsonProcessingException;
+
     /**
      * Fetches airport data from the external API.
      *
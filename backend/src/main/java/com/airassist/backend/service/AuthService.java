@@ -3,16 +3,17 @@ package com.airassist.backend.service;
 import com.airassist.backend.dto.auth.ResetPasswordRequest;
 import com.airassist.backend.dto.auth.SignInRequest;
 import com.airassist.backend.dto.auth.SignInResponse;
+import com.airassist.backend.dto.auth.TokenRefreshResponse;
 import com.airassist.backend.dto.user.UserDTO;
 import com.airassist.backend.exception.auth.InvalidPasswordException;
 import com.airassist.backend.exception.auth.InvalidTokenException;
+import com.airassist.backend.exception.auth.PasswordHashingBusyException;
 import com.airassist.backend.exception.user.DuplicateUserException;
 import com.airassist.backend.exception.user.PasswordApiException;
 import com.airassist.backend.exception.user.UserNotFoundException;
-import com.airassist.backend.model.TokenResponse;
+import com.airassist.backend.model.AuthenticatedUser;
 import com.airassist.backend.model.User;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import jakarta.mail.MessagingException;
 
 public interface AuthService {
 
@@ -23,8 +24,9 @@ public interface AuthService {
      * @return SignInResponse containing the JWT token and user roles
      * @throws UserNotFoundException if the user is not found
      * @throws InvalidPasswordException if the provided password is incorrect
+     * @throws PasswordHashingBusyException if too many passwords are being hashed to accept this request
      */
-    SignInResponse signIn(SignInRequest signInRequest) throws UserNotFoundException, InvalidPasswordException;
+    SignInResponse signIn(SignInRequest signInRequest) throws UserNotFoundException, InvalidPasswordException, PasswordHashingBusyException;
 
     /**
      * Registers a new user with the provided user details.
@@ -32,22 +34,22 @@ public interface AuthService {
      * @param userDTO the user details for registration
      * @return User the registered user entity
      * @throws DuplicateUserException if a user with the same username or email already exists
-     * @throws MessagingException if there is an error sending the registration email
      * @throws JsonProcessingException if there is an error processing JSON data for the password
      * @throws PasswordApiException if there is an error calling the password generation API
+     * @throws PasswordHashingBusyException if too many passwords are being hashed to accept this request
      */
-    User register(UserDTO userDTO) throws DuplicateUserException, MessagingException, JsonProcessingException, PasswordApiException;
+    User register(UserDTO userDTO) throws DuplicateUserException, JsonProcessingException, PasswordApiException, PasswordHashingBusyException;
 
     /**
      * Initiates the password reset process for a user.
      * This method generates a new password and sends it to the user's email.
      * @param resetPasswordRequest the request containing the user's email
-     * @throws MessagingException if there is an error sending the reset password email
      * @throws UserNotFoundException if the user with the provided email does not exist
      * @throws JsonProcessingException if there is an error processing JSON data for the password
      * @throws PasswordApiException if there is an error calling the password generation API
+     * @throws PasswordHashingBusyException if too many passwords are being hashed to accept this request
      */
-    void resetPassword(ResetPasswordRequest resetPasswordRequest) throws MessagingException, UserNotFoundException, JsonProcessingException, PasswordApiException;
+    void resetPassword(ResetPasswordRequest resetPasswordRequest) throws UserNotFoundException, JsonProcessingException, PasswordApiException, PasswordHashingBusyException;
 
     /**
      * Validates the provided JWT token.
@@ -69,12 +71,28 @@ public interface AuthService {
     String getEmailFromToken(String token) throws InvalidTokenException;
 
     /**
-     * Checks the validity of the provided token and renews it if it has less than 15 seconds until expiration.
+     * Verifies the provided JWT token once and builds the request principal from its claims,
+     * without looking the user up in the database. Tokens of revoked sessions are rejected.
      *
-     * @param token the JWT token to check
-     * @return TokenResponse containing the new token and its expiration time
-     * @throws InvalidTokenException if the token is invalid or has expired
-     * @throws UserNotFoundException if the user associated with the token is not found
+     * @param token the JWT token to authenticate
+     * @return the user described by the token's subject, email and role claims
+     * @throws InvalidTokenException if the token is invalid, has expired or is missing a claim
+     */
+    AuthenticatedUser authenticate(String token) throws InvalidTokenException;
+
+    /**
+     * Issues a new access token and replaces the refresh token of its session.
+     *
+     * @param refreshToken the current refresh token
+     * @return the new access token and refresh token
+     * @throws InvalidTokenException if the refresh token is invalid, expired, already used or its session was revoked
+     */
+    TokenRefreshResponse refresh(String refreshToken) throws InvalidTokenException;
+
+    /**
+     * Ends the session of the provided refresh token, so neither it nor the session's access tokens are accepted.
+     *
+     * @param refreshToken the refresh token of the session to end
      */
-    public TokenResponse checkTokenValidityAndRenew(String token) throws InvalidTokenException, UserNotFoundException;
+    void signOut(String refreshToken);
 }
@@ -0,0 +1,77 @@
+package com.airassist.backend.service;
+
+import com.airassist.backend.model.StoredBlob;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Service interface for storing binary content outside the database.
+ * Content is addressed by its SHA-256 hash, so identical uploads are stored once.
+ */
+public interface BlobStorageService {
+
+    /**
+     * Streams the given content into the store while hashing it.
+     * The stream is read once and never buffered whole in memory.
+     *
+     * @param content the content to store; it is not closed by this method
+     * @return the storage key, SHA-256 hash and size of the stored content
+     * @throws IOException if the content cannot be read or written
+     */
+    StoredBlob store(InputStream content) throws IOException;
+
+    /**
+     * Opens a seekable channel over stored content, positioned at its start.
+     *
+     * @param storageKey the key returned by {@link #store(InputStream)}
+     * @return a channel the caller must close
+     * @throws IOException if the content does not exist or cannot be opened
+     */
+    SeekableByteChannel openChannel(String storageKey) throws IOException;
+
+    /**
+     * Opens a stream over stored content.
+     *
+     * @param storageKey the key returned by {@link #store(InputStream)}
+     * @return a stream the caller must close
+     * @throws IOException if the content does not exist or cannot be opened
+     */
+    InputStream openStream(String storageKey) throws IOException;
+
+    /**
+     * Copies a byte range of stored content to the target channel without buffering it in memory.
+     *
+     * @param storageKey the key returned by {@link #store(InputStream)}
+     * @param position the offset of the first byte to copy
+     * @param count the number of bytes to copy
+     * @param target the channel to copy to; it is not closed by this method
+     * @throws IOException if the content cannot be read, is shorter than requested, or the target fails
+     */
+    void transferTo(String storageKey, long position, long count, WritableByteChannel target) throws IOException;
+
+    /**
+     * Lists the content that has not been stored since the cutoff. Storing content that is already present
+     * counts as storing it again, so content an upload still in progress depends on is never listed.
+     *
+     * @param cutoff the time the content must have been last stored before
+     * @return a stream of storage keys the caller must close
+     * @throws IOException if the store cannot be listed
+     */
+    Stream<String> listStoredBefore(Instant cutoff) throws IOException;
+
+    /**
+     * Deletes stored content, unless it has been stored again since the cutoff. The check and the deletion are
+     * atomic with respect to {@link #store(InputStream)}: content stored concurrently is either kept or written again.
+     *
+     * @param storageKey the key returned by {@link #store(InputStream)}
+     * @param cutoff the time the content must have been last stored before
+     * @return true if the content was deleted, false if it was stored again or is already gone
+     * @throws IOException if the content cannot be deleted
+     */
+    boolean deleteIfStoredBefore(String storageKey, Instant cutoff) throws IOException;
+}
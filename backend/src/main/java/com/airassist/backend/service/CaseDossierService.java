@@ -0,0 +1,25 @@
+package com.airassist.backend.service;
+
+import com.airassist.backend.exception.document.PdfGenerationBusyException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+
+/**
+ * Service for exporting everything known about a case as a single PDF, ready to be sent to an airline.
+ */
+public interface CaseDossierService {
+
+    /**
+     * Writes the dossier of a case: its contract, followed by each of its PDF and JPEG documents and by its
+     * comment thread. Documents that cannot be read are left out. The stream is not closed.
+     *
+     * @param caseId the ID of the case
+     * @param outputStream the stream the dossier is written to
+     * @throws com.airassist.backend.exception.cases.CaseNotFoundException if the case does not exist
+     * @throws IOException if the dossier cannot be assembled or written
+     * @throws PdfGenerationBusyException if too many PDFs are already being generated
+     */
+    void writeDossier(UUID caseId, OutputStream outputStream) throws IOException, PdfGenerationBusyException;
+}
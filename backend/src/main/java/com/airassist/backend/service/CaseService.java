@@ -1,17 +1,21 @@
 package com.airassist.backend.service;
 
 import com.airassist.backend.dto.cases.CaseDTO;
+import com.airassist.backend.dto.cases.CaseFilterDTO;
 import com.airassist.backend.exception.user.UserNotFoundException;
 import com.airassist.backend.model.Case;
 import com.airassist.backend.model.enums.Statuses;
+import org.springframework.data.domain.Window;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface CaseService {
 
-    List<Case> getCases();
+    Window<Case> getCases(CaseFilterDTO filter, String cursor, int size);
 
     Optional<Case> getCaseById(UUID id);
 
@@ -26,4 +30,8 @@ public interface CaseService {
     List<Case> getCasesForClient(UUID clientId);
 
     Case setCaseStatus(UUID caseId, Statuses status);
+
+    Map<UUID, List<UUID>> getDocumentIdsByCase(Collection<UUID> caseIds);
+
+    Map<String, Object> getContractData(UUID caseId);
 }
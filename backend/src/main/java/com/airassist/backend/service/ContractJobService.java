@@ -0,0 +1,51 @@
+package com.airassist.backend.service;
+
+import com.airassist.backend.dto.contract.ContractJobDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service for generating the contracts of many cases in the background, so that batch requests never hold a
+ * request thread for the whole rendering.
+ */
+public interface ContractJobService {
+
+    /**
+     * Creates a job generating the contract of each given case. The contracts are generated in the background
+     * right after the job is stored, and each one is saved as a PDF document of its case.
+     *
+     * @param caseIds the cases to generate contracts for; duplicates are ignored
+     * @param createdBy the email of the user submitting the job
+     * @return the new job
+     */
+    ContractJobDTO submit(List<UUID> caseIds, String createdBy);
+
+    /**
+     * Retrieves a job with the number of its contracts pending, generated and failed.
+     *
+     * @param jobId the ID of the job
+     * @return the job
+     * @throws com.airassist.backend.exception.contract.ContractJobNotFoundException if the job does not exist
+     */
+    ContractJobDTO getJob(UUID jobId);
+
+    /**
+     * Writes the generated contracts of a job to a stream as a ZIP archive, one entry per case, followed by a
+     * {@code failures.txt} entry listing the cases whose contract could not be generated. The stream is not closed.
+     *
+     * @param jobId the ID of the job
+     * @param outputStream the stream to write to
+     * @throws IOException if a contract cannot be read or the stream cannot be written
+     */
+    void writeContractsZip(UUID jobId, OutputStream outputStream) throws IOException;
+
+    /**
+     * Claims every pending contract that is due and hands it to the rendering pool.
+     *
+     * @return the number of contracts handed to the pool
+     */
+    int dispatchPending();
+}
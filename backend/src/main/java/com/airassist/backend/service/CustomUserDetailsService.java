@@ -2,22 +2,47 @@ package com.airassist.backend.service;
 
 import com.airassist.backend.model.User;
 import com.airassist.backend.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import java.time.Duration;
 import java.util.List;
 
 public class CustomUserDetailsService implements UserDetailsService {
 
+    private static final int MAX_CACHED_USERS = 10_000;
+
     private final UserRepository userRepository;
+    private final Cache<String, UserDetails> userCache;
 
     public CustomUserDetailsService(UserRepository userRepository) {
+        this(userRepository, Duration.ZERO);
+    }
+
+    /**
+     * @param userRepository the repository users are loaded from
+     * @param cacheTtl how long a loaded user is reused; zero disables caching
+     */
+    public CustomUserDetailsService(UserRepository userRepository, Duration cacheTtl) {
         this.userRepository = userRepository;
+        this.userCache = cacheTtl.isZero() || cacheTtl.isNegative() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl)
+                .maximumSize(MAX_CACHED_USERS)
+                .build();
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) {
+        if (userCache == null) {
+            return loadFromRepository(username);
+        }
+        return userCache.get(username, this::loadFromRepository);
+    }
+
+    private UserDetails loadFromRepository(String username) {
         User user = userRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException(username));
         SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + user.getRole().name());
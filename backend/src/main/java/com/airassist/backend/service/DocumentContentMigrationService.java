@@ -0,0 +1,16 @@
+package com.airassist.backend.service;
+
+/**
+ * Service interface for moving document contents saved by older versions
+ * from the documents table into the blob store.
+ */
+public interface DocumentContentMigrationService {
+
+    /**
+     * Moves every legacy document content into the blob store, filling in the document metadata
+     * and clearing the legacy column. Already migrated documents are skipped, so it is safe to rerun.
+     *
+     * @return the number of migrated documents
+     */
+    int migrateLegacyContent();
+}
@@ -0,0 +1,17 @@
+package com.airassist.backend.service;
+
+/**
+ * Service for deleting stored document contents that no document references any more, e.g. after a document
+ * or its case was deleted, or when saving a document failed after its content was stored.
+ */
+public interface DocumentContentSweepService {
+
+    /**
+     * Deletes the stored contents that no document references and that have not been stored again within the
+     * grace period. The grace period covers the time between storing a content and saving the document that
+     * references it, so contents of uploads still in progress are kept.
+     *
+     * @return the number of deleted contents
+     */
+    int sweepUnreferencedContent();
+}
@@ -1,9 +1,11 @@
 package com.airassist.backend.service;
 
 import com.airassist.backend.dto.document.CreateDocumentDTO;
+import com.airassist.backend.dto.document.DocumentContentDTO;
 import com.airassist.backend.dto.document.DocumentDTO;
 import com.airassist.backend.dto.document.DocumentSummaryDTO;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -33,6 +35,25 @@ public interface DocumentService {
      */
     DocumentDTO getDocument(UUID documentId);
 
+    /**
+     * Retrieves the metadata needed to download the content of a document.
+     *
+     * @param documentId the ID of the document to download
+     * @return the DocumentContentDTO describing the stored content
+     */
+    DocumentContentDTO getDocumentContent(UUID documentId);
+
+    /**
+     * Writes a byte range of a document's content to the given stream.
+     *
+     * @param documentContent the content returned by {@link #getDocumentContent(UUID)}
+     * @param position the offset of the first byte to write
+     * @param count the number of bytes to write
+     * @param outputStream the stream to write to
+     * @throws IOException if the content cannot be read or written
+     */
+    void writeDocumentContent(DocumentContentDTO documentContent, long position, long count, OutputStream outputStream) throws IOException;
+
     /**
      * Retrieves a list of documents associated with a specific case.
      *
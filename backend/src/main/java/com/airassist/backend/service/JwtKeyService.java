@@ -0,0 +1,28 @@
+package com.airassist.backend.service;
+
+import com.airassist.backend.model.JwtKey;
+import java.util.Optional;
+
+public interface JwtKeyService {
+
+    /**
+     * Returns the key new tokens are signed with: the newest key that is already active.
+     *
+     * @return the current signing key
+     */
+    JwtKey getSigningKey();
+
+    /**
+     * Finds a non-retired key by its identifier, for verifying a token's signature.
+     *
+     * @param kid the key identifier from the token header
+     * @return the key, or empty if it is unknown or has been retired
+     */
+    Optional<JwtKey> findKey(String kid);
+
+    /**
+     * Reloads the keys from configuration and the keystore file, so keys added there start being used
+     * and keys removed from there are retired.
+     */
+    void reloadKeys();
+}
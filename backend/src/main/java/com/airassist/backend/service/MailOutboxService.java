@@ -0,0 +1,29 @@
+package com.airassist.backend.service;
+
+import com.airassist.backend.model.enums.MailTemplates;
+
+import java.util.Map;
+
+/**
+ * Service for sending emails through the mail outbox, so that requests never wait for the SMTP server.
+ */
+public interface MailOutboxService {
+
+    /**
+     * Queues an email. It is stored in the caller's transaction, so it is only sent if that transaction commits,
+     * and dispatched in the background right after the commit.
+     *
+     * @param recipient the recipient's email address
+     * @param template the template to render
+     * @param variables the template variables; they must be serializable to JSON
+     */
+    void enqueue(String recipient, MailTemplates template, Map<String, Object> variables);
+
+    /**
+     * Sends every queued email that is due. Failed emails are retried with exponential backoff
+     * until the maximum number of attempts is reached.
+     *
+     * @return the number of emails sent
+     */
+    int dispatchPending();
+}
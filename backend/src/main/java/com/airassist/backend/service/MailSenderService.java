@@ -1,6 +1,11 @@
 package com.airassist.backend.service;
 
+import com.airassist.backend.model.enums.MailTemplates;
 import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+import java.util.List;
+import java.util.Map;
 
 
 /** * Service for handling email sending operations.
@@ -17,6 +22,41 @@ public interface MailSenderService {
      */
     void sendMessage(String recipient, String subject, String htmlBody) throws MessagingException;
 
+    /**
+     * Renders one of the mail templates and sends it.
+     * @param recipient Recipient's email address.
+     * @param template The template to render, which also determines the subject.
+     * @param variables The variables available to the template.
+     * @throws MessagingException If there is an error sending the email.
+     */
+    void sendTemplatedEmail(String recipient, MailTemplates template, Map<String, Object> variables) throws MessagingException;
+
+    /**
+     * Renders one of the mail templates into a message without sending it.
+     * @param recipient Recipient's email address.
+     * @param template The template to render, which also determines the subject.
+     * @param variables The variables available to the template.
+     * @return The message, ready to be sent with {@link #sendBatch(List)}.
+     * @throws MessagingException If the message cannot be built.
+     */
+    MimeMessage createTemplatedMessage(String recipient, MailTemplates template, Map<String, Object> variables) throws MessagingException;
+
+    /**
+     * Renders one of the mail templates to HTML.
+     * @param recipient Recipient's email address.
+     * @param template The template to render.
+     * @param variables The variables available to the template.
+     * @return The HTML body of the email.
+     */
+    String renderTemplate(String recipient, MailTemplates template, Map<String, Object> variables);
+
+    /**
+     * Sends several messages over a single SMTP connection.
+     * @param messages The messages to send.
+     * @return The messages that could not be sent, with the reason; empty if all were sent.
+     */
+    Map<MimeMessage, Exception> sendBatch(List<MimeMessage> messages);
+
     /**
      * Sends an email telling the user that the entered case is valid.
      * @param recipient Recipient's email address.
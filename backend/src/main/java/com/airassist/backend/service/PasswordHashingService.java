@@ -0,0 +1,25 @@
+package com.airassist.backend.service;
+
+import com.airassist.backend.exception.auth.PasswordHashingBusyException;
+
+public interface PasswordHashingService {
+
+    /**
+     * Hashes a raw password on the password hashing workers.
+     *
+     * @param rawPassword the password to hash
+     * @return the encoded password
+     * @throws PasswordHashingBusyException if the workers and their queue are full
+     */
+    String encode(String rawPassword) throws PasswordHashingBusyException;
+
+    /**
+     * Checks a raw password against an encoded one on the password hashing workers.
+     *
+     * @param rawPassword the password to check
+     * @param encodedPassword the stored encoded password
+     * @return true if the passwords match, false otherwise
+     * @throws PasswordHashingBusyException if the workers and their queue are full
+     */
+    boolean matches(String rawPassword, String encodedPassword) throws PasswordHashingBusyException;
+}
@@ -0,0 +1,49 @@
+package com.airassist.backend.service;
+
+import java.util.Map;
+
+/**
+ * Cache of generated PDF documents, keyed by the template and the data they were rendered from.
+ */
+public interface PdfCacheService {
+
+    /**
+     * @return false when caching is turned off, in which case nothing is stored and every lookup misses
+     */
+    boolean isEnabled();
+
+    /**
+     * Computes the cache key of a document: a SHA-256 hash of the template name and a canonical JSON form of the
+     * data, so maps with the same entries produce the same key whatever their order.
+     *
+     * @param templateName the name of the template the document is rendered from
+     * @param data the data the template is rendered with
+     * @return the cache key, as 64 hex characters
+     */
+    String keyOf(String templateName, Map<String, Object> data);
+
+    /**
+     * Tells whether a document of the given size would be cached, so callers can skip copying larger ones.
+     *
+     * @param size the size of the document in bytes
+     * @return false when caching is turned off or the document is larger than a single entry may be
+     */
+    boolean accepts(long size);
+
+    /**
+     * Returns the cached document with the given key.
+     *
+     * @param key the cache key, as returned by {@link #keyOf}
+     * @return the document, or null if it is not cached
+     */
+    byte[] get(String key);
+
+    /**
+     * Caches a document, unless it is too large to be {@linkplain #accepts accepted}. The array must not be
+     * modified afterwards.
+     *
+     * @param key the cache key, as returned by {@link #keyOf}
+     * @param pdf the document
+     */
+    void put(String key, byte[] pdf);
+}
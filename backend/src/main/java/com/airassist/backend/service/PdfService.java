@@ -1,6 +1,8 @@
 package com.airassist.backend.service;
 
+import com.airassist.backend.exception.document.PdfGenerationBusyException;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Map;
 
 /**
@@ -15,6 +17,22 @@ public interface PdfService {
      * @param data a map containing the data to populate the template
      * @return a byte array representing the generated PDF document
      * @throws IOException if an error occurs during PDF generation
+     * @throws PdfGenerationBusyException if too many PDFs are already being generated
      */
-    byte[] generatePdf(String templateName, Map<String, Object> data) throws IOException;
+    byte[] generatePdf(String templateName, Map<String, Object> data) throws IOException, PdfGenerationBusyException;
+
+    /**
+     * Generates a PDF document from the specified HTML template and data and writes it to the given stream.
+     * The document is buffered, in a temporary file when it is large, and only written once it has been fully
+     * rendered, so a failure leaves the stream untouched and a slow stream does not hold up other renders.
+     * The stream is not closed.
+     *
+     * @param templateName the name of the HTML template to use
+     * @param data a map containing the data to populate the template
+     * @param outputStream the stream to write the PDF document to
+     * @throws IOException if an error occurs during PDF generation or while writing to the stream
+     * @throws PdfGenerationBusyException if too many PDFs are already being generated
+     */
+    void writePdf(String templateName, Map<String, Object> data, OutputStream outputStream)
+            throws IOException, PdfGenerationBusyException;
 }
@@ -9,21 +9,22 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 public interface RandomPasswordGeneratorService {
 
     /**
-     * Generates a random password with the specified length using an external API.
+     * Generates a random password with the specified length, locally or through the external API depending on
+     * the configured strategy.
      *
      * @param length the length of the password to generate
      * @return a randomly generated password as a String
-     * @throws JsonProcessingException if there is an error processing the JSON response
-     * @throws PasswordApiException if there is an error calling the password generation API
+     * @throws JsonProcessingException if the API response cannot be parsed and fallback to local generation is disabled
+     * @throws PasswordApiException if the API call fails and fallback to local generation is disabled
      */
     String generateRandomPassword(int length) throws JsonProcessingException, PasswordApiException;
 
     /**
-     * Generates a random password with a default length of 12 characters using an external API.
+     * Generates a random password with the configured default length (12 characters unless overridden).
      *
      * @return a randomly generated password as a String
-     * @throws JsonProcessingException if there is an error processing the JSON response
-     * @throws PasswordApiException if there is an error calling the password generation API
+     * @throws JsonProcessingException if the API response cannot be parsed and fallback to local generation is disabled
+     * @throws PasswordApiException if the API call fails and fallback to local generation is disabled
      */
     String generateRandomPassword() throws JsonProcessingException, PasswordApiException;
 }
@@ -0,0 +1,51 @@
+package com.airassist.backend.service;
+
+import com.airassist.backend.exception.auth.InvalidTokenException;
+import com.airassist.backend.model.RefreshSession;
+import com.airassist.backend.model.User;
+import java.util.UUID;
+
+public interface RefreshTokenService {
+
+    /**
+     * Starts a session for the user and issues its first refresh token.
+     *
+     * @param user the user who signed in
+     * @return the new session and its refresh token
+     */
+    RefreshSession createSession(User user);
+
+    /**
+     * Replaces a refresh token with a new one for the same session. Presenting a token that was already
+     * replaced revokes the session, since it means the token was copied, unless it was replaced only a few
+     * seconds ago, as happens when two tabs refresh at the same time.
+     *
+     * @param refreshToken the current refresh token of the session
+     * @return the session and its new refresh token
+     * @throws InvalidTokenException if the token is unknown, expired, already used or its session is revoked
+     */
+    RefreshSession rotate(String refreshToken) throws InvalidTokenException;
+
+    /**
+     * Revokes the session of a refresh token. Unknown tokens are ignored.
+     *
+     * @param refreshToken the refresh token of the session to end
+     */
+    void revoke(String refreshToken);
+
+    /**
+     * Revokes every session of a user, e.g. after their password was reset.
+     *
+     * @param userId the id of the user
+     */
+    void revokeAllSessions(UUID userId);
+
+    /**
+     * Checks whether a session was revoked. Only sessions that an in-memory filter flags as possibly revoked
+     * are looked up in the database, so checking an active session costs no query.
+     *
+     * @param sessionId the {@code sid} claim of an access token
+     * @return true if the session was revoked
+     */
+    boolean isSessionRevoked(UUID sessionId);
+}
@@ -1,6 +1,9 @@
 package com.airassist.backend.service.impl;
 
 import com.airassist.backend.model.Airport;
+import com.airassist.backend.model.AirportIndex;
+import com.airassist.backend.model.AirportPayload;
+import com.airassist.backend.ratelimit.TokenBucket;
 import com.airassist.backend.repository.AirportRepository;
 import com.airassist.backend.service.AirportApiFetchService;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -14,14 +17,31 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
@@ -29,71 +49,116 @@ public class AirportApiFetchServiceImpl implements AirportApiFetchService {
 
     private static final Logger logger = LoggerFactory.getLogger(AirportApiFetchServiceImpl.class);
     private static final String AIRPORTS_CACHE_KEY = "allAirports";
+    private static final int MAX_SEARCH_RESULTS = 50;
+    private static final int MAX_PAGE_ATTEMPTS = 3;
+    private static final int INSERT_BATCH_SIZE = 500;
+    private static final String DELETE_AIRPORTS = "DELETE FROM airports";
+    private static final String INSERT_AIRPORT =
+            "INSERT INTO airports (code, name, city, country, latitude, longitude) VALUES (?, ?, ?, ?, ?, ?)";
 
     @Value("${airport.api.url}")
     public String airportApiUrl;
 
+    @Value("${airport.refresh.concurrency:4}")
+    private int refreshConcurrency;
+
+    @Value("${airport.refresh.requests-per-second:1.5}")
+    private double refreshRequestsPerSecond;
+
+    @Value("${airport.refresh.burst:5}")
+    private int refreshBurst;
+
     private RestTemplate restTemplate;
     private ObjectMapper objectMapper;
 
     private final AirportRepository airportRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private final AtomicReference<AirportIndex> airportIndex = new AtomicReference<>(AirportIndex.EMPTY);
 
     @PostConstruct
-    void init() {
+    void init() throws JsonProcessingException {
         restTemplate = new RestTemplate();
         objectMapper = new ObjectMapper();
+        reloadAirportIndex();
         logger.info("AirportApiFetchServiceImplementation initialized with API URL: {}", airportApiUrl);
     }
 
     @Override
     public List<Airport> getAirports() {
         logger.info("Service - fetching all airports.");
-        return this.airportRepository.findAll();
+        return airportIndex.get().getAirports();
+    }
+
+    @Override
+    public AirportPayload getAirportPayload() {
+        return airportIndex.get().getPayload();
+    }
+
+    @Override
+    public List<Airport> searchAirports(String query, int limit) {
+        return airportIndex.get().search(query, Math.clamp(limit, 1, MAX_SEARCH_RESULTS));
+    }
+
+    @Override
+    public Optional<Airport> findAirport(String code) {
+        return airportIndex.get().findByCode(code);
+    }
+
+    @Override
+    public void reloadAirportIndex() throws JsonProcessingException {
+        AirportIndex index = AirportIndex.of(airportRepository.findAll(), objectMapper);
+        airportIndex.set(index);
+        logger.info("Airport index rebuilt with {} airports.", index.size());
     }
 
+    /**
+     * Refreshes the airports from the external API. The first page gives the page count through its "last" link;
+     * the remaining pages are fetched concurrently, all requests sharing one token bucket so the API rate limit
+     * is respected. The table is replaced in a single transaction, so it is never seen empty or half-written.
+     */
     @Override
     public void fetchAirportDataInternal() throws InterruptedException, JsonProcessingException {
-        logger.info("Starting asynchronous refresh of airport data.");
+        if (!refreshing.compareAndSet(false, true)) {
+            logger.warn("Airport refresh already running, skipping.");
+            return;
+        }
+        try {
+            logger.info("Starting refresh of airport data.");
+            TokenBucket rateLimiter = new TokenBucket(refreshBurst, refreshRequestsPerSecond);
 
-        List<Airport> airports = new ArrayList<>();
-        String nextPageUrl = airportApiUrl;
-
-        while (nextPageUrl != null) {
-            Thread.sleep(700);
-            String response = restTemplate.getForObject(nextPageUrl, String.class);
-            JsonNode root = objectMapper.readTree(response);
-
-            JsonNode airportArray = root.get("data");
-            if (airportArray != null && airportArray.isArray()) {
-                for (JsonNode airportNode : airportArray) {
-                    JsonNode attributes = airportNode.get("attributes");
-
-                    Airport airport = new Airport();
-                    airport.setCode(attributes.path("iata").asText());
-                    airport.setName(attributes.path("name").asText());
-                    airport.setCity(attributes.path("city").asText());
-                    airport.setCountry(attributes.path("country").asText());
-                    airports.add(airport);
-                }
-            }
+            JsonNode firstPage = fetchPage(1, rateLimiter);
+            int pageCount = lastPageNumber(firstPage);
+            logger.info("Fetching {} pages of airports.", pageCount);
 
-            JsonNode linksNode = root.get("links");
-            if (linksNode != null && linksNode.has("next")) {
-                if (!linksNode.get("self").asText().equals(linksNode.get("last").asText())) {
-                    nextPageUrl = linksNode.get("next").asText();
-                    logger.info("Fetching next page: {}", nextPageUrl);
-                } else {
-                    nextPageUrl = null;
+            List<Airport> airports = new ArrayList<>(parseAirports(firstPage));
+            if (pageCount > 1) {
+                ExecutorService executor = Executors.newFixedThreadPool(Math.min(refreshConcurrency, pageCount - 1));
+                try {
+                    List<Future<List<Airport>>> pages = IntStream.rangeClosed(2, pageCount)
+                            .mapToObj(page -> executor.submit(() -> parseAirports(fetchPage(page, rateLimiter))))
+                            .toList();
+                    for (Future<List<Airport>> page : pages) {
+                        airports.addAll(awaitPage(page));
+                    }
+                } finally {
+                    executor.shutdownNow();
                 }
-            } else {
-                nextPageUrl = null;
             }
-        }
 
-        airportRepository.deleteAllInBatch();
-        airportRepository.saveAll(airports);
+            Collection<Airport> uniqueAirports = airports.stream()
+                    .collect(Collectors.toMap(Airport::getCode, Function.identity(), (first, second) -> second, LinkedHashMap::new))
+                    .values();
+            replaceAirports(uniqueAirports);
+            reloadAirportIndex();
 
-        logger.info("Successfully refreshed and fetched total airports: {}", airports.size());
+            logger.info("Successfully refreshed and fetched total airports: {}", uniqueAirports.size());
+        } finally {
+            refreshing.set(false);
+        }
     }
 
     @Override
@@ -105,4 +170,102 @@ public class AirportApiFetchServiceImpl implements AirportApiFetchService {
             logger.error("Failed to refresh airports from API", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Fetches one page of airports, waiting for the rate limiter before each attempt.
+     * Rate-limited (429) and server error responses are retried, honouring Retry-After when present.
+     */
+    private JsonNode fetchPage(int page, TokenBucket rateLimiter) throws InterruptedException, JsonProcessingException {
+        String pageUrl = UriComponentsBuilder.fromUriString(airportApiUrl).replaceQueryParam("page", page).toUriString();
+        for (int attempt = 1; ; attempt++) {
+            rateLimiter.acquire();
+            try {
+                return objectMapper.readTree(restTemplate.getForObject(pageUrl, String.class));
+            } catch (HttpStatusCodeException e) {
+                boolean retryable = e.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value() || e.getStatusCode().is5xxServerError();
+                if (!retryable || attempt == MAX_PAGE_ATTEMPTS) {
+                    throw e;
+                }
+                long delaySeconds = retryAfterSeconds(e).orElse(1L << attempt);
+                logger.warn("Airport page {} failed with {}, retrying in {}s.", page, e.getStatusCode(), delaySeconds);
+                TimeUnit.SECONDS.sleep(delaySeconds);
+            }
+        }
+    }
+
+    private Optional<Long> retryAfterSeconds(HttpStatusCodeException e) {
+        String retryAfter = e.getResponseHeaders() != null ? e.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER) : null;
+        try {
+            return Optional.ofNullable(retryAfter).map(String::trim).map(Long::parseLong);
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private List<Airport> awaitPage(Future<List<Airport>> page) throws InterruptedException, JsonProcessingException {
+        try {
+            return page.get();
+        } catch (ExecutionException e) {
+            switch (e.getCause()) {
+                case JsonProcessingException jsonException -> throw jsonException;
+                case InterruptedException interruptedException -> throw interruptedException;
+                case RuntimeException runtimeException -> throw runtimeException;
+                default -> throw new IllegalStateException("Failed to fetch airport page", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Reads the page count from the "page" parameter of the "last" link; responses without it are a single page.
+     */
+    private int lastPageNumber(JsonNode root) {
+        String lastLink = root.path("links").path("last").asText(null);
+        if (lastLink == null) {
+            return 1;
+        }
+        String lastPage = UriComponentsBuilder.fromUriString(lastLink).build().getQueryParams().getFirst("page");
+        try {
+            return lastPage != null ? Math.max(1, Integer.parseInt(lastPage)) : 1;
+        } catch (NumberFormatException e) {
+            logger.warn("Unexpected last page link {}, fetching only the first page.", lastLink);
+            return 1;
+        }
+    }
+
+    private List<Airport> parseAirports(JsonNode root) {
+        List<Airport> airports = new ArrayList<>();
+        JsonNode airportArray = root.get("data");
+        if (airportArray != null && airportArray.isArray()) {
+            for (JsonNode airportNode : airportArray) {
+                JsonNode attributes = airportNode.get("attributes");
+
+                Airport airport = new Airport();
+                airport.setCode(attributes.path("iata").asText());
+                airport.setName(attributes.path("name").asText());
+                airport.setCity(attributes.path("city").asText());
+                airport.setCountry(attributes.path("country").asText());
+                airport.setLatitude(attributes.hasNonNull("latitude") ? attributes.get("latitude").asDouble() : null);
+                airport.setLongitude(attributes.hasNonNull("longitude") ? attributes.get("longitude").asDouble() : null);
+                airports.add(airport);
+            }
+        }
+        return airports;
+    }
+
+    /**
+     * Replaces the airports table with JDBC batches inside one transaction.
+     */
+    private void replaceAirports(Collection<Airport> airports) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(DELETE_AIRPORTS);
+            jdbcTemplate.batchUpdate(INSERT_AIRPORT, airports, INSERT_BATCH_SIZE, (statement, airport) -> {
+                statement.setString(1, airport.getCode());
+                statement.setString(2, airport.getName());
+                statement.setString(3, airport.getCity());
+                statement.setString(4, airport.getCountry());
+                statement.setObject(5, airport.getLatitude(), Types.DOUBLE);
+                statement.setObject(6, airport.getLongitude(), Types.DOUBLE);
+            });
+        });
+    }
+}
@@ -1,13 +1,15 @@
 package com.airassist.backend.service.impl;
 
 import com.airassist.backend.exception.airport.InvalidAirportDetailsException;
+import com.airassist.backend.model.Airport;
+import com.airassist.backend.service.AirportApiFetchService;
 import com.airassist.backend.service.AirportApiService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,18 +19,33 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Service
-@NoArgsConstructor
+@RequiredArgsConstructor
 @Getter
 public class AirportApiServiceImpl implements AirportApiService {
 
     private static final Logger logger = LoggerFactory.getLogger(AirportApiServiceImpl.class);
 
+    /**
+     * Mean Earth radius in kilometers (IUGG), used by the haversine formula.
+     */
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    /**
+     * Relative difference between the local and remote distance above which a verification warning is logged.
+     */
+    private static final double VERIFICATION_TOLERANCE = 0.01;
+
     @Value("${airport.api.url}" + "/distance")
     public String airportApiUrl;
 
+    @Value("${airport.distance.verify-remote:false}")
+    private boolean verifyRemote;
+
     private RestTemplate restTemplate;
     private ObjectMapper objectMapper;
 
+    private final AirportApiFetchService airportApiFetchService;
+
     private final int FIRST_COMPENSATION_LEVEL = 250;
     private final int SECOND_COMPENSATION_LEVEL = 400;
     private final int THIRD_COMPENSATION_LEVEL = 600;
@@ -42,6 +59,11 @@ public class AirportApiServiceImpl implements AirportApiService {
         logger.info("AirportApiServiceImplementation initialized with API URL: {}", airportApiUrl);
     }
 
+    /**
+     * Computes the great-circle distance locally from the stored airport coordinates.
+     * The remote API is only called for airports without coordinates, or to cross-check
+     * the local result when airport.distance.verify-remote is enabled.
+     */
     public double getDistance(String departingAirportCode, String destinationAirportCode) throws JsonProcessingException {
         logger.info("Calculating distance from {} to {}", departingAirportCode, destinationAirportCode);
 
@@ -49,19 +71,19 @@ public class AirportApiServiceImpl implements AirportApiService {
             throw new InvalidAirportDetailsException();
         }
 
-        Map<String, String> requestBody = new HashMap<>();
-        requestBody.put("from", departingAirportCode);
-        requestBody.put("to", destinationAirportCode);
-
-        logger.debug("Sending POST request to airport API: {} with body {}", airportApiUrl, requestBody);
-
-        String response = restTemplate.postForObject(airportApiUrl, requestBody, String.class);
-        logger.debug("Received response from airport API.");
+        Airport departingAirport = airportApiFetchService.findAirport(departingAirportCode).orElseThrow(InvalidAirportDetailsException::new);
+        Airport destinationAirport = airportApiFetchService.findAirport(destinationAirportCode).orElseThrow(InvalidAirportDetailsException::new);
 
-        JsonNode root = objectMapper.readTree(response);
-        JsonNode responseObject = root.get("data");
+        if (!hasCoordinates(departingAirport) || !hasCoordinates(destinationAirport)) {
+            logger.warn("Missing coordinates for {} or {}, falling back to the airport API", departingAirportCode, destinationAirportCode);
+            return getRemoteDistance(departingAirportCode, destinationAirportCode);
+        }
 
-        return responseObject.path("attributes").path("kilometers").asDouble();
+        double distance = greatCircleDistance(departingAirport, destinationAirport);
+        if (verifyRemote) {
+            verifyDistance(departingAirportCode, destinationAirportCode, distance);
+        }
+        return distance;
     }
 
     public int calculateCompensation(double distance) {
@@ -75,4 +97,61 @@ public class AirportApiServiceImpl implements AirportApiService {
             return THIRD_COMPENSATION_LEVEL;
         }
     }
+
+    /**
+     * Calculates the great-circle distance between two airports with the haversine formula.
+     *
+     * @param from The departing airport, with coordinates.
+     * @param to The destination airport, with coordinates.
+     * @return The distance in kilometers.
+     */
+    public static double greatCircleDistance(Airport from, Airport to) {
+        double fromLatitude = Math.toRadians(from.getLatitude());
+        double toLatitude = Math.toRadians(to.getLatitude());
+        double deltaLatitude = toLatitude - fromLatitude;
+        double deltaLongitude = Math.toRadians(to.getLongitude() - from.getLongitude());
+
+        double a = Math.pow(Math.sin(deltaLatitude / 2), 2)
+                + Math.cos(fromLatitude) * Math.cos(toLatitude) * Math.pow(Math.sin(deltaLongitude / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Compares a local distance with the airport API and logs when they disagree. This is only a diagnostic,
+     * so an unavailable API is logged and the local distance is still used.
+     */
+    private void verifyDistance(String departingAirportCode, String destinationAirportCode, double distance) {
+        double remoteDistance;
+        try {
+            remoteDistance = getRemoteDistance(departingAirportCode, destinationAirportCode);
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.warn("Could not verify the distance from {} to {} with the airport API: {}",
+                    departingAirportCode, destinationAirportCode, e.getMessage());
+            return;
+        }
+        if (Math.abs(distance - remoteDistance) > remoteDistance * VERIFICATION_TOLERANCE) {
+            logger.warn("Local distance {} km from {} to {} differs from the airport API distance {} km",
+                    distance, departingAirportCode, destinationAirportCode, remoteDistance);
+        }
+    }
+
+    private static boolean hasCoordinates(Airport airport) {
+        return airport.getLatitude() != null && airport.getLongitude() != null;
+    }
+
+    private double getRemoteDistance(String departingAirportCode, String destinationAirportCode) throws JsonProcessingException {
+        Map<String, String> requestBody = new HashMap<>();
+        requestBody.put("from", departingAirportCode);
+        requestBody.put("to", destinationAirportCode);
+
+        logger.debug("Sending POST request to airport API: {} with body {}", airportApiUrl, requestBody);
+
+        String response = restTemplate.postForObject(airportApiUrl, requestBody, String.class);
+        logger.debug("Received response from airport API.");
+
+        JsonNode root = objectMapper.readTree(response);
+        JsonNode responseObject = root.get("data");
+
+        return responseObject.path("attributes").path("kilometers").asDouble();
+    }
 }
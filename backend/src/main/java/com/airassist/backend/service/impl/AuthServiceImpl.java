@@ -6,28 +6,42 @@ import com.airassist.backend.dto.auth.SignInResponse;
 import com.airassist.backend.dto.user.UserDTO;
 import com.airassist.backend.exception.auth.InvalidPasswordException;
 import com.airassist.backend.exception.auth.InvalidTokenException;
+import com.airassist.backend.exception.auth.PasswordHashingBusyException;
 import com.airassist.backend.exception.user.DuplicateUserException;
 import com.airassist.backend.exception.user.PasswordApiException;
 import com.airassist.backend.exception.user.UserNotFoundException;
 import com.airassist.backend.mapper.UserMapper;
-import com.airassist.backend.model.TokenResponse;
+import com.airassist.backend.dto.auth.TokenRefreshResponse;
+import com.airassist.backend.model.AuthenticatedUser;
+import com.airassist.backend.model.JwtKey;
+import com.airassist.backend.model.RefreshSession;
 import com.airassist.backend.model.User;
+import com.airassist.backend.model.enums.MailTemplates;
 import com.airassist.backend.model.enums.Roles;
 import com.airassist.backend.repository.UserRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.airassist.backend.service.AuthService;
-import com.airassist.backend.service.MailSenderService;
+import com.airassist.backend.service.JwtKeyService;
+import com.airassist.backend.service.MailOutboxService;
+import com.airassist.backend.service.PasswordHashingService;
 import com.airassist.backend.service.RandomPasswordGeneratorService;
+import com.airassist.backend.service.RefreshTokenService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
-import jakarta.mail.MessagingException;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
 
 @Service
 @Slf4j
@@ -35,34 +49,51 @@ import java.util.Date;
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final RandomPasswordGeneratorService randomPasswordGenerator;
-    private final MailSenderService mailSenderService;
+    private final MailOutboxService mailOutboxService;
     private final UserMapper userMapper;
-    private final Key jwtSecret = Keys.secretKeyFor(SignatureAlgorithm.HS256);
-    private final long JWT_EXPIRATION_MS = 3600000; //1 hour in milliseconds
-    private final long JWT_EXPIRATION_RENEW_MS = 15000; // 15 seconds in milliseconds
+    private final JwtKeyService jwtKeyService;
+    private final RefreshTokenService refreshTokenService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${security.jwt.access-token-ttl:PT15M}")
+    private Duration accessTokenTtl;
+
+    // Built once and shared; the key is looked up by the token's kid header on every parse
+    private final JwtParser jwtParser = Jwts.parserBuilder()
+            .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                @Override
+                public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                    return jwtKeyService.findKey(header.getKeyId())
+                            .map(JwtKey::getKey)
+                            .orElseThrow(() -> new JwtException("Unknown JWT key id: " + header.getKeyId()));
+                }
+            })
+            .build();
 
     /**
      * Signs in a user with the provided credentials.
      * @param signInRequest the request containing user email and password
-     * @return SignInResponse containing JWT token and first login status
+     * @return SignInResponse containing the access token, first login status and refresh token
      * @throws UserNotFoundException if the user is not found
      * @throws InvalidPasswordException if the password is invalid
+     * @throws PasswordHashingBusyException if too many passwords are being hashed
      */
     @Override
-    public SignInResponse signIn(SignInRequest signInRequest) throws UserNotFoundException, InvalidPasswordException {
+    public SignInResponse signIn(SignInRequest signInRequest) throws UserNotFoundException, InvalidPasswordException, PasswordHashingBusyException {
         log.info("Signing in user with email: {}", signInRequest.getEmail());
         var user = userRepository.findByEmail(signInRequest.getEmail());
         if (user.isEmpty()) {
             throw new UserNotFoundException();
         }
         User foundUser = user.get();
-        if(!passwordEncoder.matches(signInRequest.getPassword(), foundUser.getPassword())) {
+        if(!passwordHashingService.matches(signInRequest.getPassword(), foundUser.getPassword())) {
             throw new InvalidPasswordException();
         }
-        String token = generateToken(foundUser);
-        return new SignInResponse(token, foundUser.getIsFirstLogin().booleanValue());
+        RefreshSession session = refreshTokenService.createSession(foundUser);
+        String token = generateToken(foundUser, session.getSessionId());
+        return new SignInResponse(token, foundUser.getIsFirstLogin().booleanValue(), session.getRefreshToken());
     }
 
 
@@ -71,12 +102,12 @@ public class AuthServiceImpl implements AuthService {
      * @param userDTO the user details to register
      * @return the registered User object
      * @throws DuplicateUserException if a user with the same email already exists
-     * @throws MessagingException if there is an error sending the email
      * @throws JsonProcessingException if there is an error processing JSON
      * @throws PasswordApiException if there is an error generating a password
+     * @throws PasswordHashingBusyException if too many passwords are being hashed
      */
     @Override
-    public User register(UserDTO userDTO) throws DuplicateUserException, MessagingException, JsonProcessingException, PasswordApiException {
+    public User register(UserDTO userDTO) throws DuplicateUserException, JsonProcessingException, PasswordApiException, PasswordHashingBusyException {
         log.info("Registering user with email: {}", userDTO.getEmail());
         if (userRepository.existsByEmail(userDTO.getEmail())) {
             throw new DuplicateUserException();
@@ -86,33 +117,40 @@ public class AuthServiceImpl implements AuthService {
             user.setRole(Roles.USER);
         }
         String userPassword = randomPasswordGenerator.generateRandomPassword();
-        user.setPassword(passwordEncoder.encode(userPassword));
+        user.setPassword(passwordHashingService.encode(userPassword));
         user.setIsFirstLogin(true);
-        user = userRepository.save(user);
-        log.info("User registered successfully with email: {}", user.getEmail());
-        mailSenderService.sendGeneratedPasswordEmail(user.getEmail(), userPassword);
-        return user;
+        // The password is hashed before the transaction starts, so a queued hash does not hold a connection
+        User savedUser = transactionTemplate.execute(status -> {
+            User saved = userRepository.save(user);
+            mailOutboxService.enqueue(saved.getEmail(), MailTemplates.GENERATED_PASSWORD, Map.of("generatedPassword", userPassword));
+            return saved;
+        });
+        log.info("User registered successfully with email: {}", savedUser.getEmail());
+        return savedUser;
     }
 
     /**
      * Resets the password for a user with the provided email.
      * @param resetPasswordRequest the request containing the user's email
-     * @throws MessagingException if there is an error sending the email
      * @throws UserNotFoundException if the user is not found
      * @throws JsonProcessingException if there is an error processing JSON
      * @throws PasswordApiException if there is an error generating a password
+     * @throws PasswordHashingBusyException if too many passwords are being hashed
      */
     @Override
-    public void resetPassword(ResetPasswordRequest resetPasswordRequest) throws MessagingException, UserNotFoundException, JsonProcessingException, PasswordApiException {
+    public void resetPassword(ResetPasswordRequest resetPasswordRequest) throws UserNotFoundException, JsonProcessingException, PasswordApiException, PasswordHashingBusyException {
         log.info("Resetting password for email: {}", resetPasswordRequest.getEmail());
         User user = userRepository.findByEmail(resetPasswordRequest.getEmail())
                 .orElseThrow(UserNotFoundException::new);
         String newPassword = randomPasswordGenerator.generateRandomPassword();
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHashingService.encode(newPassword));
         user.setIsFirstLogin(true);
-        userRepository.save(user);
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.save(user);
+            refreshTokenService.revokeAllSessions(user.getId());
+            mailOutboxService.enqueue(user.getEmail(), MailTemplates.GENERATED_PASSWORD, Map.of("generatedPassword", newPassword));
+        });
         log.info("Password reset successfully for email: {}", user.getEmail());
-        mailSenderService.sendGeneratedPasswordEmail(user.getEmail(), newPassword);
     }
 
     /**
@@ -123,16 +161,8 @@ public class AuthServiceImpl implements AuthService {
      */
     @Override
     public boolean validateToken(String token) throws InvalidTokenException {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(jwtSecret)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            log.error("Invalid JWT token: {}", e.getMessage());
-            throw new InvalidTokenException();
-        }
+        parseClaims(token);
+        return true;
     }
 
     /**
@@ -143,64 +173,95 @@ public class AuthServiceImpl implements AuthService {
      */
     @Override
     public String getEmailFromToken(String token) throws InvalidTokenException {
-        String email = Jwts.parserBuilder()
-                .setSigningKey(jwtSecret)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .get("email", String.class);
+        String email = parseClaims(token).get("email", String.class);
         if (email == null) {
             throw new InvalidTokenException();
         }
         return email;
     }
 
+    /**
+     * Verifies the provided JWT token and builds the principal from its claims.
+     * @param token the JWT token
+     * @return the authenticated user described by the token
+     * @throws InvalidTokenException if the token is invalid, is missing a claim or its session was revoked
+     */
+    @Override
+    public AuthenticatedUser authenticate(String token) throws InvalidTokenException {
+        Claims claims = parseClaims(token);
+        String subject = claims.getSubject();
+        String email = claims.get("email", String.class);
+        String role = claims.get("role", String.class);
+        String sessionId = claims.get("sid", String.class);
+        if (subject == null || email == null || role == null || sessionId == null) {
+            throw new InvalidTokenException();
+        }
+        AuthenticatedUser user;
+        try {
+            user = new AuthenticatedUser(UUID.fromString(subject), email, Roles.valueOf(role), UUID.fromString(sessionId));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid JWT claims: {}", e.getMessage());
+            throw new InvalidTokenException();
+        }
+        if (refreshTokenService.isSessionRevoked(user.getSessionId())) {
+            throw new InvalidTokenException();
+        }
+        return user;
+    }
+
+    /**
+     * Verifies the signature and expiration of the provided JWT token.
+     * @param token the JWT token
+     * @return the claims of the token
+     * @throws InvalidTokenException if the token is invalid or has expired
+     */
+    private Claims parseClaims(String token) throws InvalidTokenException {
+        try {
+            return jwtParser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.error("Invalid JWT token: {}", e.getMessage());
+            throw new InvalidTokenException();
+        }
+    }
+
+    /**
+     * Issues a new access token and refresh token for the session of the provided refresh token.
+     * @param refreshToken the current refresh token
+     * @return the new access token and refresh token
+     * @throws InvalidTokenException if the refresh token is invalid, expired, already used or revoked
+     */
+    @Override
+    public TokenRefreshResponse refresh(String refreshToken) throws InvalidTokenException {
+        RefreshSession session = refreshTokenService.rotate(refreshToken);
+        return new TokenRefreshResponse(generateToken(session.getUser(), session.getSessionId()), session.getRefreshToken());
+    }
+
+    /**
+     * Ends the session of the provided refresh token.
+     * @param refreshToken the refresh token of the session
+     */
+    @Override
+    public void signOut(String refreshToken) {
+        refreshTokenService.revoke(refreshToken);
+    }
+
     /**
      * Generates a JWT token for the user.
      * @param user the user for whom the token is generated
+     * @param sessionId the session the token belongs to
      * @return the generated JWT token
      */
-    private String generateToken(User user) {
+    private String generateToken(User user, UUID sessionId) {
+        JwtKey signingKey = jwtKeyService.getSigningKey();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.getKid())
                 .setSubject(user.getId().toString())
                 .claim("email", user.getEmail())
                 .claim("role", user.getRole())
+                .claim("sid", sessionId.toString())
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + JWT_EXPIRATION_MS))
-                .signWith(jwtSecret)
+                .setExpiration(new Date(System.currentTimeMillis() + accessTokenTtl.toMillis()))
+                .signWith(signingKey.getKey())
                 .compact();
     }
-
-
-    /**
-     * Checks the validity of the provided token and renews it if it is close to expiration.
-     * @param token the JWT token to check
-     * @return TokenResponse containing the renewal status and new token if applicable
-     * @throws InvalidTokenException if the token is invalid
-     * @throws UserNotFoundException if the user associated with the token is not found
-     */
-    public TokenResponse checkTokenValidityAndRenew(String token) throws InvalidTokenException, UserNotFoundException {
-        try {
-            var claims = Jwts.parserBuilder()
-                    .setSigningKey(jwtSecret)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-            Date expiration = claims.getExpiration();
-            long timeToExpire = expiration.getTime() - System.currentTimeMillis();
-            boolean isValid = timeToExpire > 0;
-            String newToken = null;
-
-            if (timeToExpire <= JWT_EXPIRATION_RENEW_MS && isValid) {
-                String email = claims.get("email", String.class);
-                User user = userRepository.findByEmail(email).orElseThrow(UserNotFoundException::new);
-                newToken = generateToken(user);
-                return new TokenResponse(true, newToken);
-            }
-            return new TokenResponse(false, null);
-        } catch (Exception e) {
-            throw new InvalidTokenException();
-        }
-    }
 }
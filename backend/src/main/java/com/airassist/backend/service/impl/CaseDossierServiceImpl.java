@@ -0,0 +1,134 @@
+package com.airassist.backend.service.impl;
+
+import com.airassist.backend.dto.comment.CommentDTO;
+import com.airassist.backend.exception.document.PdfGenerationBusyException;
+import com.airassist.backend.model.Document;
+import com.airassist.backend.repository.CommentRepository;
+import com.airassist.backend.repository.DocumentRepository;
+import com.airassist.backend.service.BlobStorageService;
+import com.airassist.backend.service.CaseDossierService;
+import com.airassist.backend.service.CaseService;
+import com.airassist.backend.service.PdfService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Assembles case dossiers with PDFBox. The dossier and every document merged into it are backed by temporary files
+ * rather than heap, so a dossier of large scans is written out without being held in memory. The contract and the
+ * comment thread are rendered from templates through {@link PdfService}, sharing its rendering limit and cache.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CaseDossierServiceImpl implements CaseDossierService {
+
+    static final String CONTRACT_TEMPLATE = "contract";
+    static final String COMMENTS_TEMPLATE = "caseComments";
+    private static final float IMAGE_MARGIN = 36;
+    private static final DateTimeFormatter COMMENT_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm 'UTC'").withZone(ZoneOffset.UTC);
+
+    private final CaseService caseService;
+    private final PdfService pdfService;
+    private final DocumentRepository documentRepository;
+    private final CommentRepository commentRepository;
+    private final BlobStorageService blobStorageService;
+
+    @Override
+    public void writeDossier(UUID caseId, OutputStream outputStream) throws IOException, PdfGenerationBusyException {
+        Map<String, Object> contractData = caseService.getContractData(caseId);
+        List<Document> documents = documentRepository.findByCaseEntityId(caseId);
+        List<CommentDTO> comments = commentRepository.findDTOsByCaseEntityId(caseId);
+
+        // Merged documents must stay open until the dossier is saved, since their pages are shared with it
+        List<PDDocument> sources = new ArrayList<>();
+        try (PDDocument dossier = new PDDocument(MemoryUsageSetting.setupTempFileOnly())) {
+            PDFMergerUtility merger = new PDFMergerUtility();
+            appendPdf(dossier, merger, sources, new ByteArrayInputStream(pdfService.generatePdf(CONTRACT_TEMPLATE, contractData)));
+
+            for (Document document : documents) {
+                if (document.getStorageKey() == null || document.getType() == null) {
+                    continue;
+                }
+                try (InputStream content = blobStorageService.openStream(document.getStorageKey())) {
+                    switch (document.getType()) {
+                        case PDF -> appendPdf(dossier, merger, sources, content);
+                        case JPEG, JPG -> appendJpeg(dossier, content);
+                    }
+                } catch (IOException e) {
+                    log.warn("Leaving document {} out of the dossier of case {}: {}", document.getId(), caseId, e.getMessage());
+                }
+            }
+
+            if (!comments.isEmpty()) {
+                appendPdf(dossier, merger, sources, new ByteArrayInputStream(
+                        pdfService.generatePdf(COMMENTS_TEMPLATE, commentsData(contractData, comments))));
+            }
+
+            // PDFBox closes the stream it saves to
+            dossier.save(StreamUtils.nonClosing(outputStream));
+        } finally {
+            for (PDDocument source : sources) {
+                source.close();
+            }
+        }
+    }
+
+    private static void appendPdf(PDDocument dossier, PDFMergerUtility merger, List<PDDocument> sources,
+                                  InputStream content) throws IOException {
+        PDDocument source = PDDocument.load(content, MemoryUsageSetting.setupTempFileOnly());
+        sources.add(source);
+        merger.appendDocument(dossier, source);
+    }
+
+    /**
+     * Adds an A4 page with the image centered on it, scaled down to fit within the margins if needed.
+     */
+    private static void appendJpeg(PDDocument dossier, InputStream content) throws IOException {
+        PDImageXObject image = JPEGFactory.createFromStream(dossier, content);
+        PDPage page = new PDPage(PDRectangle.A4);
+        PDRectangle box = page.getMediaBox();
+        float scale = Math.min(1, Math.min((box.getWidth() - 2 * IMAGE_MARGIN) / image.getWidth(),
+                (box.getHeight() - 2 * IMAGE_MARGIN) / image.getHeight()));
+        float width = image.getWidth() * scale;
+        float height = image.getHeight() * scale;
+        try (PDPageContentStream contentStream = new PDPageContentStream(dossier, page)) {
+            contentStream.drawImage(image, (box.getWidth() - width) / 2, (box.getHeight() - height) / 2, width, height);
+        }
+        dossier.addPage(page);
+    }
+
+    private static Map<String, Object> commentsData(Map<String, Object> contractData, List<CommentDTO> comments) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("caseId", contractData.get("caseId"));
+        data.put("reservationNumber", contractData.get("reservationNumber"));
+        data.put("comments", comments.stream()
+                .map(comment -> Map.of(
+                        "author", comment.getUsername() != null ? comment.getUsername() : "",
+                        "timestamp", COMMENT_TIMESTAMP.format(comment.getTimestamp().toInstant()),
+                        "text", comment.getText()))
+                .toList());
+        return data;
+    }
+}
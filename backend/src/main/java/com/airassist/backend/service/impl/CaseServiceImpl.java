@@ -1,7 +1,11 @@
 package com.airassist.backend.service.impl;
 
+import com.airassist.backend.dto.cases.CaseCursor;
 import com.airassist.backend.dto.cases.CaseDTO;
+import com.airassist.backend.dto.cases.CaseFilterDTO;
+import com.airassist.backend.dto.document.CaseDocumentIdDTO;
 import com.airassist.backend.exception.cases.CaseNotFoundException;
+import com.airassist.backend.exception.cases.InvalidCaseCursorException;
 import com.airassist.backend.exception.user.UserNotFoundException;
 import com.airassist.backend.mapper.BeneficiaryMapper;
 import com.airassist.backend.mapper.CaseMapper;
@@ -11,31 +15,46 @@ import com.airassist.backend.model.enums.ApiErrorMessages;
 import com.airassist.backend.model.enums.Roles;
 import com.airassist.backend.model.enums.Statuses;
 import com.airassist.backend.repository.CaseRepository;
+import com.airassist.backend.repository.CaseSpecifications;
+import com.airassist.backend.repository.DocumentRepository;
 import com.airassist.backend.service.CaseService;
 import com.airassist.backend.repository.ReservationRepository;
 import com.airassist.backend.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 
 @Service
 public class CaseServiceImpl implements CaseService {
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final Sort CASE_PAGE_SORT = Sort.by(Sort.Direction.DESC, "date", "id");
+
     private final CaseRepository caseRepository;
     private final CaseMapper caseMapper;
     private static final Logger logger = LoggerFactory.getLogger(CaseServiceImpl.class);
     private final UserRepository userRepository;
     private final ReservationMapper reservationMapper;
     private final BeneficiaryMapper beneficiaryMapper;
+    private final DocumentRepository documentRepository;
     private ReservationRepository reservationRepository;
 
 
-    public CaseServiceImpl(CaseRepository caseRepository, UserRepository userRepository, CaseMapper caseMapper, ReservationMapper reservationMapper, BeneficiaryMapper beneficiaryMapper) {
+    public CaseServiceImpl(CaseRepository caseRepository, UserRepository userRepository, CaseMapper caseMapper, ReservationMapper reservationMapper, BeneficiaryMapper beneficiaryMapper, DocumentRepository documentRepository) {
         this.caseRepository = caseRepository;
+        this.documentRepository = documentRepository;
         this.caseMapper = caseMapper;
         this.reservationMapper = reservationMapper;
         this.beneficiaryMapper = beneficiaryMapper;
@@ -43,15 +62,29 @@ public class CaseServiceImpl implements CaseService {
     }
 
     /**
-     * Fetches all cases from the repository.
+     * Fetches one page of cases, newest first, using keyset pagination on (date, id).
+     * The cost of a page does not depend on how deep it is, since no offset is skipped.
      *
-     * @return List of all cases.
-     * @throws CaseNotFoundException if no cases are found.
+     * @param filter the optional filters to apply
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the maximum number of cases to return, capped at 200
+     * @return a window of cases which knows whether more cases follow.
+     * @throws InvalidCaseCursorException if the cursor is malformed.
      */
     @Override
-    public List<Case> getCases() throws CaseNotFoundException {
-        logger.info("Service - fetching all cases.");
-        return caseRepository.findAll();
+    public Window<Case> getCases(CaseFilterDTO filter, String cursor, int size) throws InvalidCaseCursorException {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        ScrollPosition position = cursor == null || cursor.isBlank()
+                ? ScrollPosition.keyset()
+                : CaseCursor.decode(cursor).toScrollPosition();
+
+        logger.info("Service - fetching a page of {} cases with filter {}", pageSize, filter);
+        Specification<Case> specification = CaseSpecifications.matching(filter)
+                .and(CaseSpecifications.fetchResponseAssociations());
+        return caseRepository.findBy(specification, query -> query
+                .sortBy(CASE_PAGE_SORT)
+                .limit(pageSize)
+                .scroll(position));
     }
 
     /**
@@ -64,7 +97,7 @@ public class CaseServiceImpl implements CaseService {
     @Override
     public Optional<Case> getCaseById(UUID id) throws CaseNotFoundException {
         logger.info("Service - getting case by ID: {}", id);
-        return caseRepository.findById(id);
+        return caseRepository.findWithAssociationsById(id);
     }
 
     /**
@@ -198,4 +231,47 @@ public class CaseServiceImpl implements CaseService {
         caseRepository.save(caseEntity);
         return caseEntity;
     }
+
+    /**
+     * Fetches the ids of the documents attached to each of the given cases.
+     * Only the ids are selected, so document contents are never read.
+     *
+     * @param caseIds the IDs of the cases.
+     * @return the document IDs grouped by case ID; cases without documents are absent.
+     */
+    @Override
+    public Map<UUID, List<UUID>> getDocumentIdsByCase(Collection<UUID> caseIds) {
+        if (caseIds.isEmpty()) {
+            return Map.of();
+        }
+        return documentRepository.findIdsByCaseEntityIds(caseIds).stream()
+                .collect(Collectors.groupingBy(CaseDocumentIdDTO::getCaseId,
+                        Collectors.mapping(CaseDocumentIdDTO::getDocumentId, Collectors.toList())));
+    }
+
+    /**
+     * Builds the variables of the contract template for a case, the same ones the frontend sends when a client
+     * generates their contract. The contract is made out to the beneficiary when the case was filed for someone
+     * else, and to the client otherwise.
+     *
+     * @param caseId the ID of the case.
+     * @return the contract template variables.
+     * @throws CaseNotFoundException if the case with the given ID does not exist.
+     */
+    @Override
+    public Map<String, Object> getContractData(UUID caseId) {
+        Case caseEntity = caseRepository.findWithAssociationsById(caseId).orElseThrow(CaseNotFoundException::new);
+        Map<String, Object> data = new HashMap<>();
+        data.put("caseId", caseEntity.getId().toString());
+        data.put("caseDate", caseEntity.getDate().toString());
+        if (caseEntity.getBeneficiary() != null) {
+            data.put("firstName", caseEntity.getBeneficiary().getFirstName());
+            data.put("lastName", caseEntity.getBeneficiary().getLastName());
+        } else if (caseEntity.getClient() != null) {
+            data.put("firstName", caseEntity.getClient().getFirstName());
+            data.put("lastName", caseEntity.getClient().getLastName());
+        }
+        data.put("reservationNumber", caseEntity.getReservation().getReservationNumber());
+        return data;
+    }
 }
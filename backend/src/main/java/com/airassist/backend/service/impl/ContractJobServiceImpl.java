@@ -0,0 +1,351 @@
+package com.airassist.backend.service.impl;
+
+import com.airassist.backend.dto.contract.ContractJobDTO;
+import com.airassist.backend.dto.contract.ContractJobEntryDTO;
+import com.airassist.backend.dto.contract.ContractJobItemCountDTO;
+import com.airassist.backend.exception.cases.CaseNotFoundException;
+import com.airassist.backend.exception.contract.ContractJobNotFoundException;
+import com.airassist.backend.exception.document.PdfGenerationBusyException;
+import com.airassist.backend.model.ContractJob;
+import com.airassist.backend.model.ContractJobItem;
+import com.airassist.backend.model.Document;
+import com.airassist.backend.model.StoredBlob;
+import com.airassist.backend.model.enums.ContractJobItemStatuses;
+import com.airassist.backend.model.enums.ContractJobStatuses;
+import com.airassist.backend.model.enums.DocumentTypes;
+import com.airassist.backend.repository.CaseRepository;
+import com.airassist.backend.repository.ContractJobItemRepository;
+import com.airassist.backend.repository.ContractJobRepository;
+import com.airassist.backend.repository.DocumentRepository;
+import com.airassist.backend.service.BlobStorageService;
+import com.airassist.backend.service.CaseService;
+import com.airassist.backend.service.ContractJobService;
+import com.airassist.backend.service.PdfService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Stores contract jobs in the {@code contract_jobs} and {@code contract_job_items} tables and renders their
+ * contracts on a fixed pool of workers, one contract per task, through {@link PdfService}.
+ * <p>
+ * A single dispatcher thread claims due items the same way the mail outbox claims emails, moving their next attempt
+ * past a lease, so instances never render the same contract concurrently and a contract whose worker died is picked
+ * up again once its lease runs out. The dispatcher stops claiming while twice the pool size is in flight, so a large
+ * job waits in the database rather than in memory. A contract that cannot be rendered because every rendering slot
+ * is taken goes back to the queue without using up an attempt. Workers lock the job while recording the outcome of
+ * a contract, so exactly one of them sees the last contract finished and completes the job.
+ * <p>
+ * Metrics: the workers are registered as executor {@code contracts.jobs} and {@code contracts.jobs.items} counts the
+ * contracts generated and failed.
+ */
+@Service
+@Slf4j
+public class ContractJobServiceImpl implements ContractJobService {
+
+    static final String CONTRACT_TEMPLATE = "contract";
+    static final String FAILURES_ENTRY = "failures.txt";
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ContractJobRepository contractJobRepository;
+    private final ContractJobItemRepository contractJobItemRepository;
+    private final DocumentRepository documentRepository;
+    private final CaseRepository caseRepository;
+    private final CaseService caseService;
+    private final PdfService pdfService;
+    private final BlobStorageService blobStorageService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    private final ThreadPoolExecutor workers;
+    private final ExecutorService monitoredWorkers;
+    private final Semaphore inFlight;
+    private final int batchSize;
+    private final Counter generatedCounter;
+    private final Counter failedCounter;
+
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "contract-jobs");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean dispatchQueued = new AtomicBoolean();
+
+    /**
+     * @param threads the number of contracts rendered at once; zero uses one worker per CPU
+     * @param lease how long a claimed contract is reserved for its worker
+     * @param maxAttempts how many times a contract is attempted before it is marked failed
+     * @param retryBackoff the delay before a contract that failed on a storage error is attempted again
+     */
+    public ContractJobServiceImpl(ContractJobRepository contractJobRepository,
+                                  ContractJobItemRepository contractJobItemRepository,
+                                  DocumentRepository documentRepository,
+                                  CaseRepository caseRepository,
+                                  CaseService caseService,
+                                  PdfService pdfService,
+                                  BlobStorageService blobStorageService,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${contracts.jobs.threads:0}") int threads,
+                                  @Value("${contracts.jobs.lease:PT5M}") Duration lease,
+                                  @Value("${contracts.jobs.max-attempts:3}") int maxAttempts,
+                                  @Value("${contracts.jobs.retry-backoff:PT30S}") Duration retryBackoff) {
+        this.contractJobRepository = contractJobRepository;
+        this.contractJobItemRepository = contractJobItemRepository;
+        this.documentRepository = documentRepository;
+        this.caseRepository = caseRepository;
+        this.caseService = caseService;
+        this.pdfService = pdfService;
+        this.blobStorageService = blobStorageService;
+        this.transactionTemplate = transactionTemplate;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(poolSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "contract-jobs-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.monitoredWorkers = ExecutorServiceMetrics.monitor(meterRegistry, workers, "contracts.jobs");
+        this.batchSize = poolSize * 2;
+        this.inFlight = new Semaphore(batchSize);
+        this.generatedCounter = Counter.builder("contracts.jobs.items").tag("result", "generated").register(meterRegistry);
+        this.failedCounter = Counter.builder("contracts.jobs.items").tag("result", "failed").register(meterRegistry);
+        log.info("Contract job pool started with {} threads", poolSize);
+    }
+
+    @Override
+    public ContractJobDTO submit(List<UUID> caseIds, String createdBy) {
+        Set<UUID> uniqueCaseIds = new LinkedHashSet<>(caseIds);
+        Instant now = Instant.now();
+        ContractJob job = transactionTemplate.execute(status -> {
+            ContractJob saved = contractJobRepository.save(new ContractJob(null, ContractJobStatuses.RUNNING,
+                    uniqueCaseIds.size(), createdBy, now, null));
+            contractJobItemRepository.saveAll(uniqueCaseIds.stream()
+                    .map(caseId -> new ContractJobItem(null, saved, caseId, ContractJobItemStatuses.PENDING, 0, now, null, null))
+                    .toList());
+            return saved;
+        });
+        requestDispatch();
+        log.info("Contract job {} submitted by {} for {} cases", job.getId(), createdBy, job.getTotalCount());
+        return new ContractJobDTO(job.getId(), job.getStatus(), job.getTotalCount(), job.getTotalCount(), 0, 0,
+                job.getCreatedAt(), null);
+    }
+
+    @Override
+    public ContractJobDTO getJob(UUID jobId) {
+        ContractJob job = contractJobRepository.findById(jobId).orElseThrow(ContractJobNotFoundException::new);
+        Map<ContractJobItemStatuses, Long> counts = new EnumMap<>(ContractJobItemStatuses.class);
+        for (ContractJobItemCountDTO count : contractJobItemRepository.countByStatus(jobId)) {
+            counts.put(count.getStatus(), count.getCount());
+        }
+        return new ContractJobDTO(job.getId(), job.getStatus(), job.getTotalCount(),
+                counts.getOrDefault(ContractJobItemStatuses.PENDING, 0L),
+                counts.getOrDefault(ContractJobItemStatuses.DONE, 0L),
+                counts.getOrDefault(ContractJobItemStatuses.FAILED, 0L),
+                job.getCreatedAt(), job.getFinishedAt());
+    }
+
+    @Override
+    public void writeContractsZip(UUID jobId, OutputStream outputStream) throws IOException {
+        List<ContractJobEntryDTO> entries = contractJobItemRepository.findEntriesByJobId(jobId);
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        // PDF content streams are already compressed, deflating them again mostly costs CPU
+        zip.setLevel(Deflater.BEST_SPEED);
+        StringBuilder failures = new StringBuilder();
+        for (ContractJobEntryDTO entry : entries) {
+            if (entry.getStatus() == ContractJobItemStatuses.DONE && entry.getStorageKey() != null) {
+                zip.putNextEntry(new ZipEntry("contract-" + entry.getCaseId() + ".pdf"));
+                try (InputStream content = blobStorageService.openStream(entry.getStorageKey())) {
+                    content.transferTo(zip);
+                }
+                zip.closeEntry();
+            } else if (entry.getStatus() != ContractJobItemStatuses.PENDING) {
+                failures.append(entry.getCaseId()).append(": ")
+                        .append(entry.getError() != null ? entry.getError() : "document was deleted").append('\n');
+            }
+        }
+        if (!failures.isEmpty()) {
+            zip.putNextEntry(new ZipEntry(FAILURES_ENTRY));
+            zip.write(failures.toString().getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        zip.finish();
+        zip.flush();
+    }
+
+    /**
+     * Queues a dispatch on the dispatcher thread, unless one is already waiting to start.
+     */
+    @Scheduled(fixedDelayString = "${contracts.jobs.poll-interval:PT15S}")
+    public void requestDispatch() {
+        if (!dispatchQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            dispatcher.execute(() -> {
+                dispatchQueued.set(false);
+                try {
+                    dispatchPending();
+                } catch (RuntimeException e) {
+                    log.error("Contract job dispatch failed", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            dispatchQueued.set(false);
+        }
+    }
+
+    @Override
+    public int dispatchPending() {
+        int dispatched = 0;
+        List<UUID> due;
+        do {
+            due = contractJobItemRepository.findDueIds(Instant.now(), PageRequest.of(0, batchSize));
+            for (UUID itemId : due) {
+                try {
+                    inFlight.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return dispatched;
+                }
+                Instant now = Instant.now();
+                Integer claimed = transactionTemplate.execute(status ->
+                        contractJobItemRepository.claim(itemId, now, now.plus(lease)));
+                if (claimed == null || claimed != 1) {
+                    inFlight.release();
+                    continue;
+                }
+                try {
+                    monitoredWorkers.execute(() -> {
+                        try {
+                            process(itemId);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                    dispatched++;
+                } catch (RejectedExecutionException e) {
+                    // Shutting down: the lease runs out and another instance takes the contract over
+                    inFlight.release();
+                    return dispatched;
+                }
+            }
+        } while (due.size() == batchSize);
+        return dispatched;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Renders the contract of a claimed item and saves it as a document of its case.
+     */
+    private void process(UUID itemId) {
+        ContractJobItem item = contractJobItemRepository.findById(itemId).orElse(null);
+        if (item == null || item.getStatus() != ContractJobItemStatuses.PENDING) {
+            return;
+        }
+        if (item.getAttempts() > maxAttempts) {
+            fail(item, "Gave up after " + maxAttempts + " attempts");
+            return;
+        }
+        try {
+            Map<String, Object> data = caseService.getContractData(item.getCaseId());
+            byte[] pdf = pdfService.generatePdf(CONTRACT_TEMPLATE, data);
+            StoredBlob blob = blobStorageService.store(new ByteArrayInputStream(pdf));
+            Object reservationNumber = data.get("reservationNumber");
+            complete(item, blob, "contract-" + (reservationNumber != null ? reservationNumber : item.getCaseId()) + ".pdf");
+        } catch (PdfGenerationBusyException e) {
+            item.setAttempts(item.getAttempts() - 1);
+            item.setNextAttemptAt(Instant.now());
+            contractJobItemRepository.save(item);
+            requestDispatch();
+        } catch (CaseNotFoundException e) {
+            fail(item, "Case not found");
+        } catch (IOException e) {
+            if (item.getAttempts() >= maxAttempts) {
+                fail(item, e.getMessage());
+            } else {
+                log.warn("Storing contract of case {} failed (attempt {}), retrying: {}",
+                        item.getCaseId(), item.getAttempts(), e.getMessage());
+                item.setNextAttemptAt(Instant.now().plus(retryBackoff));
+                contractJobItemRepository.save(item);
+            }
+        } catch (RuntimeException e) {
+            log.error("Generating the contract of case {} failed", item.getCaseId(), e);
+            fail(item, e.getMessage());
+        }
+    }
+
+    private void complete(ContractJobItem item, StoredBlob blob, String name) {
+        transactionTemplate.executeWithoutResult(status -> {
+            contractJobRepository.lockById(item.getJob().getId());
+            Document document = documentRepository.save(new Document(null, name, DocumentTypes.PDF,
+                    DocumentTypes.PDF.getContentType(), blob.getSize(), blob.getSha256(), blob.getStorageKey(),
+                    caseRepository.getReferenceById(item.getCaseId())));
+            item.setStatus(ContractJobItemStatuses.DONE);
+            item.setDocument(document);
+            item.setError(null);
+            contractJobItemRepository.save(item);
+            contractJobRepository.completeIfFinished(item.getJob().getId(), Instant.now());
+        });
+        generatedCounter.increment();
+    }
+
+    private void fail(ContractJobItem item, String error) {
+        String reason = error == null ? "Unknown error" : error;
+        transactionTemplate.executeWithoutResult(status -> {
+            contractJobRepository.lockById(item.getJob().getId());
+            item.setStatus(ContractJobItemStatuses.FAILED);
+            item.setDocument(null);
+            item.setError(reason.length() > MAX_ERROR_LENGTH ? reason.substring(0, MAX_ERROR_LENGTH) : reason);
+            contractJobItemRepository.save(item);
+            contractJobRepository.completeIfFinished(item.getJob().getId(), Instant.now());
+        });
+        failedCounter.increment();
+    }
+}
@@ -0,0 +1,133 @@
+package com.airassist.backend.service.impl;
+
+import com.airassist.backend.model.StoredBlob;
+import com.airassist.backend.model.enums.DocumentTypes;
+import com.airassist.backend.service.BlobStorageService;
+import com.airassist.backend.service.DocumentContentMigrationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Blob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Migrates the legacy {@code documents.content} column in batches, each batch in its own transaction.
+ * Enabled with {@code documents.storage.migrate-legacy-content=true}; it then runs once the application is ready.
+ */
+@Service
+@ConditionalOnProperty(name = "documents.storage.migrate-legacy-content", havingValue = "true")
+public class DocumentContentMigrationServiceImpl implements DocumentContentMigrationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentContentMigrationServiceImpl.class);
+    private static final int BATCH_SIZE = 100;
+
+    private static final String SELECT_LEGACY_BATCH =
+            "SELECT id, type, content FROM documents WHERE storage_key IS NULL AND content IS NOT NULL FETCH FIRST " + BATCH_SIZE + " ROWS ONLY";
+    private static final String UNLINK_LARGE_OBJECT =
+            "SELECT lo_unlink(content) FROM documents WHERE id = ?";
+    private static final String UPDATE_MIGRATED_DOCUMENT =
+            "UPDATE documents SET content_type = ?, size = ?, sha256 = ?, storage_key = ?, content = NULL WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlobStorageService blobStorageService;
+
+    public DocumentContentMigrationServiceImpl(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                               BlobStorageService blobStorageService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.blobStorageService = blobStorageService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        int migrated = migrateLegacyContent();
+        logger.info("Document content migration - migrated {} documents into the blob store", migrated);
+    }
+
+    @Override
+    public int migrateLegacyContent() {
+        if (!hasLegacyContentColumn()) {
+            logger.info("Document content migration - no legacy content column, nothing to migrate");
+            return 0;
+        }
+        boolean largeObjects = isPostgres();
+
+        int total = 0;
+        int migrated;
+        do {
+            migrated = transactionTemplate.execute(status -> migrateBatch(largeObjects));
+            total += migrated;
+        } while (migrated == BATCH_SIZE);
+        return total;
+    }
+
+    /**
+     * Migrates one batch of documents. The content is streamed from the database into the blob store,
+     * and on PostgreSQL the large object behind the oid column is unlinked so its storage is released.
+     *
+     * @param largeObjects whether the legacy column references PostgreSQL large objects
+     * @return the number of documents migrated in this batch
+     */
+    private int migrateBatch(boolean largeObjects) {
+        return jdbcTemplate.query(SELECT_LEGACY_BATCH, (ResultSet rs) -> {
+            int count = 0;
+            while (rs.next()) {
+                UUID id = rs.getObject("id", UUID.class);
+                DocumentTypes type = DocumentTypes.valueOf(rs.getString("type"));
+                StoredBlob storedBlob = store(rs.getBlob("content"));
+
+                if (largeObjects) {
+                    jdbcTemplate.query(UNLINK_LARGE_OBJECT, (ResultSet ignored) -> null, id);
+                }
+                jdbcTemplate.update(UPDATE_MIGRATED_DOCUMENT, type.getContentType(), storedBlob.getSize(),
+                        storedBlob.getSha256(), storedBlob.getStorageKey(), id);
+                count++;
+            }
+            return count;
+        });
+    }
+
+    private StoredBlob store(Blob content) {
+        try (InputStream stream = content.getBinaryStream()) {
+            return blobStorageService.store(stream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read the legacy document content", e);
+        }
+    }
+
+    private boolean hasLegacyContentColumn() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((Connection connection) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String table : new String[]{"documents", "DOCUMENTS"}) {
+                for (String column : new String[]{"content", "CONTENT"}) {
+                    try (ResultSet columns = metaData.getColumns(null, null, table, column)) {
+                        if (columns.next()) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }));
+    }
+
+    private boolean isPostgres() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((Connection connection) ->
+                "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())));
+    }
+}
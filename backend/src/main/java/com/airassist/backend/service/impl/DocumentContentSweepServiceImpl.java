@@ -0,0 +1,91 @@
+package com.airassist.backend.service.impl;
+
+import com.airassist.backend.repository.DocumentRepository;
+import com.airassist.backend.service.BlobStorageService;
+import com.airassist.backend.service.DocumentContentSweepService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Lists the stored contents in batches and deletes those no document references. Contents are never deleted
+ * inline when a document is deleted, since another upload of the same content may be about to reference it.
+ * Every instance can run the sweep; deleting a content another instance already deleted is skipped.
+ */
+@Service
+public class DocumentContentSweepServiceImpl implements DocumentContentSweepService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentContentSweepServiceImpl.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final BlobStorageService blobStorageService;
+    private final DocumentRepository documentRepository;
+    private final Duration gracePeriod;
+
+    public DocumentContentSweepServiceImpl(BlobStorageService blobStorageService, DocumentRepository documentRepository,
+                                           @Value("${documents.storage.sweep.grace-period:PT24H}") Duration gracePeriod) {
+        this.blobStorageService = blobStorageService;
+        this.documentRepository = documentRepository;
+        this.gracePeriod = gracePeriod;
+    }
+
+    @Scheduled(fixedDelayString = "${documents.storage.sweep.interval:PT1H}", initialDelayString = "${documents.storage.sweep.interval:PT1H}")
+    public void sweepPeriodically() {
+        try {
+            int deleted = sweepUnreferencedContent();
+            logger.info("Document content sweep - deleted {} unreferenced contents", deleted);
+        } catch (RuntimeException e) {
+            logger.error("Document content sweep failed", e);
+        }
+    }
+
+    @Override
+    public int sweepUnreferencedContent() {
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        int deleted = 0;
+        try (Stream<String> storageKeys = blobStorageService.listStoredBefore(cutoff)) {
+            Iterator<String> iterator = storageKeys.iterator();
+            List<String> batch = new ArrayList<>(BATCH_SIZE);
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == BATCH_SIZE || !iterator.hasNext()) {
+                    deleted += deleteUnreferenced(batch, cutoff);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return deleted;
+    }
+
+    private int deleteUnreferenced(List<String> storageKeys, Instant cutoff) {
+        Set<String> referenced = new HashSet<>(documentRepository.findStorageKeysIn(storageKeys));
+        int deleted = 0;
+        for (String storageKey : storageKeys) {
+            if (referenced.contains(storageKey)) {
+                continue;
+            }
+            try {
+                if (blobStorageService.deleteIfStoredBefore(storageKey, cutoff)) {
+                    deleted++;
+                }
+            } catch (IOException e) {
+                logger.warn("Document content sweep - could not delete the content {}", storageKey, e);
+            }
+        }
+        return deleted;
+    }
+}
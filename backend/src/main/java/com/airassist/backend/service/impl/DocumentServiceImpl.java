@@ -1,6 +1,7 @@
 package com.airassist.backend.service.impl;
 
 import com.airassist.backend.dto.document.CreateDocumentDTO;
+import com.airassist.backend.dto.document.DocumentContentDTO;
 import com.airassist.backend.dto.document.DocumentDTO;
 import com.airassist.backend.dto.document.DocumentSummaryDTO;
 import com.airassist.backend.exception.cases.CaseNotFoundException;
@@ -10,7 +11,9 @@ import com.airassist.backend.model.Case;
 import com.airassist.backend.model.Document;
 import com.airassist.backend.model.enums.DocumentTypes;
 import com.airassist.backend.repository.CaseRepository;
+import com.airassist.backend.model.StoredBlob;
 import com.airassist.backend.repository.DocumentRepository;
+import com.airassist.backend.service.BlobStorageService;
 import com.airassist.backend.service.DocumentService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +22,11 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,13 +35,16 @@ public class DocumentServiceImpl implements DocumentService {
     private final DocumentRepository documentRepository;
     private final CaseRepository caseRepository;
     private final DocumentMapper documentMapper;
+    private final BlobStorageService blobStorageService;
     private static final Logger logger = LoggerFactory.getLogger(DocumentServiceImpl.class);
 
 
-    public DocumentServiceImpl(DocumentRepository documentRepository, CaseRepository caseRepository, DocumentMapper documentMapper) {
+    public DocumentServiceImpl(DocumentRepository documentRepository, CaseRepository caseRepository, DocumentMapper documentMapper,
+                               BlobStorageService blobStorageService) {
         this.documentRepository = documentRepository;
         this.caseRepository = caseRepository;
         this.documentMapper = documentMapper;
+        this.blobStorageService = blobStorageService;
     }
 
     /**
@@ -43,9 +54,39 @@ public class DocumentServiceImpl implements DocumentService {
      */
     public DocumentDTO getDocument(UUID documentId) {
         logger.info("Document Service - fetching the document: {}", documentId);
-        return documentMapper.documentToDocumentDTO(
-                documentRepository.findById(documentId).orElseThrow(DocumentNotFoundException::new)
-        );
+        Document document = documentRepository.findById(documentId).orElseThrow(DocumentNotFoundException::new);
+        DocumentDTO documentDTO = documentMapper.documentToDocumentDTO(document);
+        documentDTO.setContentBase64(readContentBase64(document));
+        return documentDTO;
+    }
+
+    /**
+     * This function returns the metadata needed to stream a document, WITHOUT the CONTENT
+     * @param documentId - the ID of the document to be downloaded
+     * @return the stored content details
+     */
+    @Override
+    public DocumentContentDTO getDocumentContent(UUID documentId) {
+        Document document = documentRepository.findById(documentId).orElseThrow(DocumentNotFoundException::new);
+        if (document.getStorageKey() == null) {
+            logger.warn("Document Service - the document {} has no stored content", documentId);
+            throw new DocumentNotFoundException();
+        }
+        return new DocumentContentDTO(document.getName(), document.getContentType(), document.getSize(),
+                document.getSha256(), document.getStorageKey());
+    }
+
+    /**
+     * Copies a byte range of a document straight from the blob store to the stream
+     * @param documentContent - the content returned by getDocumentContent
+     * @param position - the offset of the first byte
+     * @param count - the number of bytes
+     * @param outputStream - the response stream
+     * @throws IOException - if the content cannot be read or written
+     */
+    @Override
+    public void writeDocumentContent(DocumentContentDTO documentContent, long position, long count, OutputStream outputStream) throws IOException {
+        blobStorageService.transferTo(documentContent.getStorageKey(), position, count, Channels.newChannel(outputStream));
     }
 
     /**
@@ -59,15 +100,13 @@ public class DocumentServiceImpl implements DocumentService {
             throw new CaseNotFoundException();
         }
         logger.info("Document Service - fetching a list of documents for the case {}", caseId);
-        List<Document> documents = documentRepository.findByCaseEntityId(caseId);
-        return documents.stream()
-                .map(doc -> new DocumentSummaryDTO(doc.getId(), doc.getName(), doc.getType()))
-                .toList();
+        return documentRepository.findSummariesByCaseEntityId(caseId);
     }
 
 
     /**
-     * Function to add a document to a case
+     * Function to add a document to a case. The file is streamed into the blob store
+     * and only its metadata is saved in the database.
      * @param createDocumentDTO - the DTO containing the document details
      * @param caseId - the ID of the case to which the document will be added
      * @return - the saved document as a DocumentDTO
@@ -81,10 +120,18 @@ public class DocumentServiceImpl implements DocumentService {
 
         Case caseEntity = caseRepository.findById(caseId).orElseThrow(CaseNotFoundException::new);
 
+        StoredBlob storedBlob;
+        try (InputStream content = createDocumentDTO.getFile().getInputStream()) {
+            storedBlob = blobStorageService.store(content);
+        }
+
         Document document = new Document();
         document.setName(createDocumentDTO.getName());
         document.setType(createDocumentDTO.getType());
-        document.setContent(createDocumentDTO.getFile().getBytes());
+        document.setContentType(createDocumentDTO.getType().getContentType());
+        document.setSize(storedBlob.getSize());
+        document.setSha256(storedBlob.getSha256());
+        document.setStorageKey(storedBlob.getStorageKey());
         document.setCaseEntity(caseEntity);
 
         logger.info("Document Service - A document has been added to the case: {}", caseId);
@@ -92,17 +139,32 @@ public class DocumentServiceImpl implements DocumentService {
     }
 
     /**
-     * Function to delete a document
+     * Function to delete a document. Its stored content is left for DocumentContentSweepService,
+     * which deletes content once no document references it.
      * @param documentId - the ID of the document to be deleted
      */
     @Override
     public void deleteDocument(UUID documentId) {
-        if(!documentRepository.existsById(documentId)) {
-            throw new DocumentNotFoundException();
-        }
+        Document document = documentRepository.findById(documentId).orElseThrow(DocumentNotFoundException::new);
 
+        documentRepository.delete(document);
         logger.info("Document Service - Deleted the document: {}", documentId);
-        documentRepository.deleteById(documentId);
+    }
+
+    /**
+     * Reads the stored content of a document as base64
+     * @param document - the document whose content is read
+     * @return the base64 content, or null if the document has no stored content yet
+     */
+    private String readContentBase64(Document document) {
+        if (document.getStorageKey() == null) {
+            return null;
+        }
+        try (InputStream content = blobStorageService.openStream(document.getStorageKey())) {
+            return Base64.getEncoder().encodeToString(content.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
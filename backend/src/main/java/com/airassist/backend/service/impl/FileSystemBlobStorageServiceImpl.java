@@ -0,0 +1,180 @@
+package com.airassist.backend.service.impl;
+
+import com.airassist.backend.model.StoredBlob;
+import com.airassist.backend.service.BlobStorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Stores content as files under a root directory, named after their SHA-256 hash
+ * and fanned out over two directory levels (ab/cd/abcd...).
+ * <p>
+ * The modification time of a file is the last time its content was stored. Content is deleted by first moving
+ * it out of place and then checking that time, so an upload of the same content racing with the deletion
+ * either refreshes the file before the check, and the file is moved back, or finds it gone and writes it again.
+ */
+@Service
+@ConditionalOnProperty(name = "documents.storage.type", havingValue = "filesystem", matchIfMissing = true)
+public class FileSystemBlobStorageServiceImpl implements BlobStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSystemBlobStorageServiceImpl.class);
+    private static final Pattern STORAGE_KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final String TEMP_DIRECTORY = "tmp";
+
+    private final Path root;
+
+    public FileSystemBlobStorageServiceImpl(@Value("${documents.storage.root}") Path root) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        Files.createDirectories(this.root.resolve(TEMP_DIRECTORY));
+        logger.info("FileSystemBlobStorageService initialized with root: {}", this.root);
+    }
+
+    /**
+     * Streams the content to a temporary file while hashing it, then moves the file to its content address.
+     * When the same content is already stored, its modification time is refreshed and the temporary copy is discarded.
+     *
+     * @param content the content to store
+     * @return the storage key, SHA-256 hash and size of the stored content
+     * @throws IOException if the content cannot be read or written
+     */
+    @Override
+    public StoredBlob store(InputStream content) throws IOException {
+        Path tempFile = Files.createTempFile(root.resolve(TEMP_DIRECTORY), "upload-", ".part");
+        try {
+            MessageDigest digest = newSha256Digest();
+            long size;
+            try (OutputStream out = Files.newOutputStream(tempFile, StandardOpenOption.TRUNCATE_EXISTING)) {
+                size = new DigestInputStream(content, digest).transferTo(out);
+            }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+
+            Path target = resolve(sha256);
+            if (touch(target)) {
+                logger.info("Blob storage - content {} already stored, skipping the duplicate", sha256);
+            } else {
+                Files.createDirectories(target.getParent());
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return new StoredBlob(sha256, sha256, size);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Override
+    public SeekableByteChannel openChannel(String storageKey) throws IOException {
+        return FileChannel.open(resolve(storageKey), StandardOpenOption.READ);
+    }
+
+    @Override
+    public InputStream openStream(String storageKey) throws IOException {
+        return Files.newInputStream(resolve(storageKey));
+    }
+
+    /**
+     * Copies the range with {@link FileChannel#transferTo}, which lets the kernel move the bytes
+     * directly to sockets and files and uses a small fixed buffer otherwise.
+     */
+    @Override
+    public void transferTo(String storageKey, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(resolve(storageKey), StandardOpenOption.READ)) {
+            long transferred = 0;
+            while (transferred < count) {
+                long chunk = channel.transferTo(position + transferred, count - transferred, target);
+                if (chunk <= 0 && position + transferred >= channel.size()) {
+                    throw new EOFException("Stored content " + storageKey + " is shorter than the requested range");
+                }
+                transferred += chunk;
+            }
+        }
+    }
+
+    @Override
+    public Stream<String> listStoredBefore(Instant cutoff) throws IOException {
+        FileTime before = FileTime.from(cutoff);
+        return Files.find(root, 3, (path, attributes) -> attributes.isRegularFile()
+                        && attributes.lastModifiedTime().compareTo(before) < 0
+                        && STORAGE_KEY_PATTERN.matcher(path.getFileName().toString()).matches())
+                .map(path -> path.getFileName().toString());
+    }
+
+    @Override
+    public boolean deleteIfStoredBefore(String storageKey, Instant cutoff) throws IOException {
+        Path target = resolve(storageKey);
+        Path claimed = root.resolve(TEMP_DIRECTORY).resolve("delete-" + UUID.randomUUID());
+        try {
+            Files.move(target, claimed, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        if (Files.getLastModifiedTime(claimed).compareTo(FileTime.from(cutoff)) >= 0) {
+            // Stored again just before it was moved; if an upload already wrote it back, the content is the same
+            Files.move(claimed, target, StandardCopyOption.ATOMIC_MOVE);
+            return false;
+        }
+        Files.delete(claimed);
+        logger.info("Blob storage - deleted content {}", storageKey);
+        return true;
+    }
+
+    /**
+     * Marks stored content as stored now.
+     *
+     * @param file the content file
+     * @return false if the content is not stored
+     */
+    private static boolean touch(Path file) throws IOException {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Resolves the file of a storage key, rejecting anything that is not a SHA-256 hex digest
+     * so a key can never point outside the root directory.
+     *
+     * @param storageKey the storage key
+     * @return the path of the content file
+     */
+    private Path resolve(String storageKey) {
+        if (storageKey == null || !STORAGE_KEY_PATTERN.matcher(storageKey).matches()) {
+            throw new IllegalArgumentException("Invalid storage key.");
+        }
+        return root.resolve(storageKey.substring(0, 2)).resolve(storageKey.substring(2, 4)).resolve(storageKey);
+    }
+
+    private static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
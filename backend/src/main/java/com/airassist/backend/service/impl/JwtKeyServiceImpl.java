@@ -0,0 +1,165 @@
+package com.airassist.backend.service.impl;
+
+import com.airassist.backend.model.JwtKey;
+import com.airassist.backend.service.JwtKeyService;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps the JWT keys shared by every backend instance.
+ * <p>
+ * Keys come from {@code security.jwt.keys} ({@code kid:base64-secret} entries, the last one signs) and from an
+ * optional PKCS12 keystore whose secret-key entries are named by their kid. A keystore key starts signing
+ * {@code security.jwt.activation-delay} after its creation date. The delay is longer than the reload interval,
+ * so every instance already accepts a new key before any instance signs with it. A key removed from both
+ * sources is retired on the next reload. Without any configured key, a random key is generated; tokens then
+ * only work on this instance until it restarts.
+ */
+@Service
+@Slf4j
+public class JwtKeyServiceImpl implements JwtKeyService {
+
+    @Value("${security.jwt.keys:}")
+    private String configuredKeys;
+
+    @Value("${security.jwt.keystore.path:}")
+    private String keystorePath;
+
+    @Value("${security.jwt.keystore.password:}")
+    private String keystorePassword;
+
+    @Value("${security.jwt.activation-delay:PT10M}")
+    private Duration activationDelay;
+
+    // Ordered from the oldest to the newest key
+    private volatile List<JwtKey> keys = List.of();
+
+    @PostConstruct
+    public void init() {
+        List<JwtKey> loaded = loadKeys();
+        if (loaded.isEmpty()) {
+            log.warn("No JWT keys configured; generating a key that is only valid on this instance");
+            loaded = List.of(new JwtKey("local-" + UUID.randomUUID(), Keys.secretKeyFor(SignatureAlgorithm.HS256), Instant.EPOCH));
+        }
+        setKeys(loaded);
+    }
+
+    @Override
+    public JwtKey getSigningKey() {
+        List<JwtKey> current = keys;
+        Instant now = Instant.now();
+        for (int i = current.size() - 1; i >= 0; i--) {
+            if (!current.get(i).getActiveFrom().isAfter(now)) {
+                return current.get(i);
+            }
+        }
+        // No key is active yet (e.g. the first key was just created): sign with the oldest one
+        return current.getFirst();
+    }
+
+    @Override
+    public Optional<JwtKey> findKey(String kid) {
+        return keys.stream()
+                .filter(key -> key.getKid().equals(kid))
+                .findFirst();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${security.jwt.keystore.reload-interval:PT5M}",
+            initialDelayString = "${security.jwt.keystore.reload-interval:PT5M}")
+    public void reloadKeys() {
+        if (!StringUtils.hasText(keystorePath)) {
+            return;
+        }
+        try {
+            List<JwtKey> loaded = loadKeys();
+            if (loaded.isEmpty()) {
+                log.error("JWT key reload found no keys; keeping the {} current keys", keys.size());
+                return;
+            }
+            setKeys(loaded);
+        } catch (IllegalStateException e) {
+            log.error("JWT key reload failed; keeping the current keys: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the configured keys, ordered from the oldest to the newest.
+     */
+    private List<JwtKey> loadKeys() {
+        Map<String, JwtKey> loaded = new LinkedHashMap<>();
+        if (StringUtils.hasText(keystorePath)) {
+            readKeystore(Path.of(keystorePath)).forEach(key -> loaded.put(key.getKid(), key));
+        }
+        if (StringUtils.hasText(configuredKeys)) {
+            // Configured keys come after keystore keys, so the last configured key signs
+            for (String entry : configuredKeys.split(",")) {
+                JwtKey key = parseConfiguredKey(entry.trim());
+                loaded.remove(key.getKid());
+                loaded.put(key.getKid(), key);
+            }
+        }
+        return List.copyOf(loaded.values());
+    }
+
+    private JwtKey parseConfiguredKey(String entry) {
+        int separator = entry.indexOf(':');
+        if (separator <= 0) {
+            throw new IllegalStateException("JWT key entries must have the form kid:base64-secret");
+        }
+        String kid = entry.substring(0, separator);
+        byte[] secret = Base64.getDecoder().decode(entry.substring(separator + 1));
+        return new JwtKey(kid, Keys.hmacShaKeyFor(secret), Instant.EPOCH);
+    }
+
+    private List<JwtKey> readKeystore(Path path) {
+        try (InputStream in = Files.newInputStream(path)) {
+            char[] password = keystorePassword.toCharArray();
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(in, password);
+
+            List<JwtKey> result = new ArrayList<>();
+            for (String alias : Collections.list(keyStore.aliases())) {
+                if (!keyStore.entryInstanceOf(alias, KeyStore.SecretKeyEntry.class)) {
+                    continue;
+                }
+                SecretKey secretKey = (SecretKey) keyStore.getKey(alias, password);
+                Instant created = keyStore.getCreationDate(alias).toInstant();
+                result.add(new JwtKey(alias, Keys.hmacShaKeyFor(secretKey.getEncoded()), created.plus(activationDelay)));
+            }
+            result.sort(Comparator.comparing(JwtKey::getActiveFrom));
+            return result;
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Could not read JWT keystore " + path, e);
+        }
+    }
+
+    private void setKeys(List<JwtKey> loaded) {
+        keys = loaded;
+        log.info("Loaded {} JWT keys; signing with {}", loaded.size(), getSigningKey().getKid());
+    }
+}
@@ -0,0 +1,281 @@
+package com.airassist.backend.service.impl;
+
+import com.airassist.backend.model.OutboxEmail;
+import com.airassist.backend.model.enums.MailOutboxStatuses;
+import com.airassist.backend.model.enums.MailTemplates;
+import com.airassist.backend.repository.MailOutboxRepository;
+import com.airassist.backend.service.MailOutboxService;
+import com.airassist.backend.service.MailSenderService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Stores outgoing emails in the {@code mail_outbox} table and sends them from a single background thread.
+ * <p>
+ * A dispatch starts right after each enqueueing transaction commits, and every {@code mail.outbox.poll-interval}
+ * to pick up retries and emails queued by other instances. Each email is claimed with a conditional update
+ * that moves its next attempt past a lease, so instances never send the same email concurrently, and an email
+ * whose sender died mid-send is retried once the lease runs out. The emails claimed together are sent over a
+ * single SMTP connection.
+ * <p>
+ * Template variables can hold a generated password, so they are stored encrypted with AES-GCM under
+ * {@code mail.outbox.encryption-key}, bound to the recipient and template of their email. They are gone once
+ * the email is sent, since its row is deleted, or cleared when it is given up on.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class MailOutboxServiceImpl implements MailOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final TypeReference<Map<String, Object>> VARIABLES_TYPE = new TypeReference<>() {};
+    private static final String ENCRYPTED_PREFIX = "v1:";
+    private static final int KEY_BYTES = 32;
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailSenderService mailSenderService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${mail.outbox.initial-backoff:PT30S}")
+    private Duration initialBackoff;
+
+    @Value("${mail.outbox.max-backoff:PT1H}")
+    private Duration maxBackoff;
+
+    @Value("${mail.outbox.send-lease:PT2M}")
+    private Duration sendLease;
+
+    @Value("${mail.outbox.encryption-key:}")
+    private String encryptionKey;
+
+    private SecretKey variablesKey;
+
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mail-outbox");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean dispatchQueued = new AtomicBoolean();
+
+    @PostConstruct
+    public void init() {
+        byte[] key;
+        if (StringUtils.hasText(encryptionKey)) {
+            key = Base64.getDecoder().decode(encryptionKey.trim());
+            if (key.length != KEY_BYTES) {
+                throw new IllegalStateException("mail.outbox.encryption-key must be " + KEY_BYTES + " bytes, base64-encoded");
+            }
+        } else {
+            log.warn("No mail outbox encryption key configured; generating a key, so queued emails can only be sent by this instance until it restarts");
+            key = new byte[KEY_BYTES];
+            SECURE_RANDOM.nextBytes(key);
+        }
+        variablesKey = new SecretKeySpec(key, "AES");
+    }
+
+    @Override
+    @Transactional
+    public void enqueue(String recipient, MailTemplates template, Map<String, Object> variables) {
+        Instant now = Instant.now();
+        mailOutboxRepository.save(new OutboxEmail(null, recipient, template, encrypt(recipient, template, toJson(variables)),
+                MailOutboxStatuses.PENDING, 0, now, null, now));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                requestDispatch();
+            }
+        });
+    }
+
+    /**
+     * Queues a dispatch on the background thread, unless one is already waiting to start.
+     */
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval:PT15S}")
+    public void requestDispatch() {
+        if (!dispatchQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            dispatcher.execute(() -> {
+                dispatchQueued.set(false);
+                try {
+                    dispatchPending();
+                } catch (RuntimeException e) {
+                    log.error("Mail outbox dispatch failed", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            dispatchQueued.set(false);
+        }
+    }
+
+    @Override
+    public int dispatchPending() {
+        int sent = 0;
+        List<UUID> due;
+        do {
+            due = mailOutboxRepository.findDueIds(Instant.now(), PageRequest.of(0, batchSize));
+            if (!due.isEmpty()) {
+                sent += dispatchBatch(due);
+            }
+        } while (due.size() == batchSize);
+        return sent;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    /**
+     * Claims the given emails, renders them and sends the ones this instance claimed over a single connection.
+     */
+    private int dispatchBatch(List<UUID> ids) {
+        Instant now = Instant.now();
+        List<OutboxEmail> claimed = transactionTemplate.execute(status -> {
+            List<UUID> claimedIds = ids.stream()
+                    .filter(id -> mailOutboxRepository.claim(id, now, now.plus(sendLease)) == 1)
+                    .toList();
+            return claimedIds.isEmpty() ? List.of() : mailOutboxRepository.findAllById(claimedIds);
+        });
+
+        Map<MimeMessage, OutboxEmail> messages = new IdentityHashMap<>();
+        for (OutboxEmail email : claimed) {
+            try {
+                messages.put(mailSenderService.createTemplatedMessage(email.getRecipient(), email.getTemplate(),
+                        fromJson(decrypt(email))), email);
+            } catch (Exception e) {
+                recordFailure(email, e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        Map<MimeMessage, Exception> failures = mailSenderService.sendBatch(new ArrayList<>(messages.keySet()));
+        List<UUID> sentIds = new ArrayList<>();
+        messages.forEach((message, email) -> {
+            Exception failure = failures.get(message);
+            if (failure == null) {
+                sentIds.add(email.getId());
+            } else {
+                recordFailure(email, failure);
+            }
+        });
+        if (!sentIds.isEmpty()) {
+            mailOutboxRepository.deleteAllByIdInBatch(sentIds);
+        }
+        return sentIds.size();
+    }
+
+    private void recordFailure(OutboxEmail email, Exception e) {
+        String error = e.getMessage() == null ? e.getClass().getName() : e.getMessage();
+        email.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (email.getAttempts() >= maxAttempts) {
+            email.setStatus(MailOutboxStatuses.FAILED);
+            email.setVariables(null);
+            log.error("Giving up on {} email {} after {} attempts: {}", email.getTemplate(), email.getId(), email.getAttempts(), error);
+        } else {
+            email.setNextAttemptAt(Instant.now().plus(backoff(email.getAttempts())));
+            log.warn("Sending {} email {} failed (attempt {}), retrying at {}: {}",
+                    email.getTemplate(), email.getId(), email.getAttempts(), email.getNextAttemptAt(), error);
+        }
+        mailOutboxRepository.save(email);
+    }
+
+    private String toJson(Map<String, Object> variables) {
+        try {
+            return objectMapper.writeValueAsString(variables);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Mail variables must be serializable to JSON", e);
+        }
+    }
+
+    private String encrypt(String recipient, MailTemplates template, String variables) {
+        byte[] iv = new byte[IV_BYTES];
+        SECURE_RANDOM.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, variablesKey, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(associatedData(recipient, template));
+            byte[] ciphertext = cipher.doFinal(variables.getBytes(StandardCharsets.UTF_8));
+            byte[] encrypted = ByteBuffer.allocate(IV_BYTES + ciphertext.length).put(iv).put(ciphertext).array();
+            return ENCRYPTED_PREFIX + Base64.getEncoder().encodeToString(encrypted);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not encrypt mail variables", e);
+        }
+    }
+
+    /**
+     * Decrypts the variables of an email. Variables queued before they were encrypted are returned as they are.
+     */
+    private String decrypt(OutboxEmail email) throws GeneralSecurityException {
+        String variables = email.getVariables();
+        if (variables == null || !variables.startsWith(ENCRYPTED_PREFIX)) {
+            return variables;
+        }
+        byte[] encrypted = Base64.getDecoder().decode(variables.substring(ENCRYPTED_PREFIX.length()));
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, variablesKey, new GCMParameterSpec(TAG_BITS, encrypted, 0, IV_BYTES));
+        cipher.updateAAD(associatedData(email.getRecipient(), email.getTemplate()));
+        return new String(cipher.doFinal(encrypted, IV_BYTES, encrypted.length - IV_BYTES), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] associatedData(String recipient, MailTemplates template) {
+        return (template.name() + ':' + recipient).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Map<String, Object> fromJson(String variables) throws JsonProcessingException {
+        return variables == null ? Map.of() : objectMapper.readValue(variables, VARIABLES_TYPE);
+    }
+}
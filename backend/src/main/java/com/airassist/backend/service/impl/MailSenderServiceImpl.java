@@ -1,21 +1,38 @@
 package com.airassist.backend.service.impl;
 
+import com.airassist.backend.model.enums.MailTemplates;
 import com.airassist.backend.service.MailSenderService;
 import jakarta.mail.*;
 import jakarta.mail.internet.MimeMessage;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.MessageSource;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
+
+/**
+ * Renders and sends the application's emails. The service holds no per-email state: parsed templates are
+ * cached by the template engine, subjects are resolved from messages_en.properties once at startup, and every
+ * render gets its own {@link Context}, so concurrent sends never share mutable data.
+ */
 @Service
 public class MailSenderServiceImpl implements MailSenderService {
 
-    private final String recipientName = "recipientName";
-    private String mailSubject;
+    private static final String RECIPIENT_NAME = "recipientName";
 
     @Autowired
     private SpringTemplateEngine templateEngine;
@@ -23,6 +40,19 @@ public class MailSenderServiceImpl implements MailSenderService {
     @Autowired
     private JavaMailSender mailSender;
 
+    @Autowired
+    @Qualifier("emailMessageSource")
+    private MessageSource emailMessageSource;
+
+    private final Map<MailTemplates, String> subjects = new EnumMap<>(MailTemplates.class);
+
+    @PostConstruct
+    void init() {
+        for (MailTemplates template : MailTemplates.values()) {
+            subjects.put(template, emailMessageSource.getMessage(template.getSubjectKey(), null, Locale.ENGLISH));
+        }
+    }
+
     /**
      * Sends an email message with the specified recipient, subject, and HTML body.
      * @param recipient Recipient's email address.
@@ -32,14 +62,69 @@ public class MailSenderServiceImpl implements MailSenderService {
      */
     @Override
     public void sendMessage(String recipient, String subject, String htmlBody) throws MessagingException {
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        mailSender.send(createMessage(recipient, subject, htmlBody));
+    }
 
-        helper.setTo(recipient);
-        helper.setSubject(subject);
-        helper.setText(htmlBody, true);
+    /**
+     * Renders the given template with the recipient and the given variables, and sends it with the template's subject.
+     * @param recipient Recipient's email address.
+     * @param template The template to render.
+     * @param variables The variables available to the template.
+     * @throws MessagingException if there is an error in sending the email.
+     */
+    @Override
+    public void sendTemplatedEmail(String recipient, MailTemplates template, Map<String, Object> variables) throws MessagingException {
+        mailSender.send(createTemplatedMessage(recipient, template, variables));
+    }
+
+    /**
+     * Renders the given template with the recipient and the given variables into a message with the template's subject.
+     * @param recipient Recipient's email address.
+     * @param template The template to render.
+     * @param variables The variables available to the template.
+     * @return The message, not yet sent.
+     * @throws MessagingException if the message cannot be built.
+     */
+    @Override
+    public MimeMessage createTemplatedMessage(String recipient, MailTemplates template, Map<String, Object> variables) throws MessagingException {
+        return createMessage(recipient, subjects.get(template), renderTemplate(recipient, template, variables));
+    }
 
-        mailSender.send(message);
+    /**
+     * Renders the given template with the recipient and the given variables.
+     * @param recipient Recipient's email address, available to the template as {@code recipientName}.
+     * @param template The template to render.
+     * @param variables The variables available to the template.
+     * @return The HTML body of the email.
+     */
+    @Override
+    public String renderTemplate(String recipient, MailTemplates template, Map<String, Object> variables) {
+        Map<String, Object> contextVariables = new HashMap<>(variables.size() + 2);
+        contextVariables.putAll(variables);
+        contextVariables.put(RECIPIENT_NAME, recipient);
+        return templateEngine.process(template.getTemplateName(), new Context(Locale.ENGLISH, contextVariables));
+    }
+
+    /**
+     * Sends the messages in one call to the mail sender, which delivers them over a single connection.
+     * @param messages The messages to send.
+     * @return The messages that failed and why; if the connection itself failed, every message is reported with that error.
+     */
+    @Override
+    public Map<MimeMessage, Exception> sendBatch(List<MimeMessage> messages) {
+        try {
+            mailSender.send(messages.toArray(MimeMessage[]::new));
+            return Map.of();
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                return failAll(messages, e);
+            }
+            Map<MimeMessage, Exception> failures = new IdentityHashMap<>();
+            e.getFailedMessages().forEach((message, error) -> failures.put((MimeMessage) message, error));
+            return failures;
+        } catch (MailException e) {
+            return failAll(messages, e);
+        }
     }
 
     /**
@@ -50,14 +135,7 @@ public class MailSenderServiceImpl implements MailSenderService {
      */
     @Override
     public void sendValidCaseEmail(String recipient, int caseId) throws MessagingException {
-        Context thymeleafContext = new Context();
-
-        thymeleafContext.setVariable(recipientName, recipient);
-        thymeleafContext.setVariable("caseId", caseId);
-        String htmlBody = templateEngine.process("validCaseEmail.html", thymeleafContext);
-        mailSubject = "Case Validated Successfully";
-
-        sendMessage(recipient, mailSubject, htmlBody);
+        sendTemplatedEmail(recipient, MailTemplates.VALID_CASE, Map.of("caseId", caseId));
     }
 
     /**
@@ -68,14 +146,7 @@ public class MailSenderServiceImpl implements MailSenderService {
      */
     @Override
     public void sendGeneratedPasswordEmail(String recipient, String generatedPassword) throws MessagingException {
-        Context thymeleafContext = new Context();
-
-        thymeleafContext.setVariable(recipientName, recipient);
-        thymeleafContext.setVariable("generatedPassword", generatedPassword);
-        String htmlBody = templateEngine.process("generatedPasswordEmail.html", thymeleafContext);
-        mailSubject = "Your Generated Password";
-
-        sendMessage(recipient, mailSubject, htmlBody);
+        sendTemplatedEmail(recipient, MailTemplates.GENERATED_PASSWORD, Map.of("generatedPassword", generatedPassword));
     }
 
     /**
@@ -86,13 +157,22 @@ public class MailSenderServiceImpl implements MailSenderService {
      */
     @Override
     public void sendContractLink(String recipient, String contractLink) throws MessagingException {
-        Context thymeleafContext = new Context();
+        sendTemplatedEmail(recipient, MailTemplates.CONTRACT_LINK, Map.of("contractLink", contractLink));
+    }
 
-        thymeleafContext.setVariable(recipientName, recipient);
-        thymeleafContext.setVariable("contractLink", contractLink);
-        String htmlBody = templateEngine.process("contractLinkEmail.html", thymeleafContext);
-        mailSubject = "Contract Link";
+    private MimeMessage createMessage(String recipient, String subject, String htmlBody) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setTo(recipient);
+        helper.setSubject(subject);
+        helper.setText(htmlBody, true);
+        return message;
+    }
 
-        sendMessage(recipient, mailSubject, htmlBody);
+    private static Map<MimeMessage, Exception> failAll(List<MimeMessage> messages, Exception error) {
+        Map<MimeMessage, Exception> failures = new IdentityHashMap<>();
+        messages.forEach(message -> failures.put(message, error));
+        return failures;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,237 @@
+package com.airassist.backend.service.impl;
+
+import com.airassist.backend.service.PdfCacheService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Keeps generated PDFs in memory, bounded by their total size in bytes. Documents larger than {@code maxEntrySize}
+ * are not cached, since a single one would push many smaller ones out. With a spill directory configured, documents
+ * evicted for space are written there instead of being dropped, up to a second byte limit, and moved back into
+ * memory when requested again. Entries not requested for {@code expireAfterAccess} are removed from both tiers,
+ * since contracts carry personal data. The spill directory is emptied on startup.
+ * <p>
+ * Metrics: the memory tier is registered as cache {@code pdf.contracts} ({@code cache.gets} tagged hit or miss,
+ * evictions and size), {@code pdf.cache.spill.gets} counts the memory misses found or not found on disk, and
+ * {@code pdf.cache.weight} is the number of bytes held by each tier.
+ */
+@Slf4j
+@Service
+public class PdfCacheServiceImpl implements PdfCacheService {
+
+    static final String CACHE_NAME = "pdf.contracts";
+    private static final String SPILL_SUFFIX = ".pdf";
+
+    private final ObjectMapper canonicalMapper = JsonMapper.builder()
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .build();
+    private final long maxEntrySize;
+    private final Path spillDirectory;
+    private final Cache<String, Long> spilled;
+    private final Cache<String, byte[]> cache;
+    private final Counter spillHits;
+    private final Counter spillMisses;
+
+    /**
+     * @param maxSize the total size of the documents kept in memory; zero disables caching
+     * @param maxEntrySize the size of the largest document that is cached
+     * @param expireAfterAccess how long a document is kept after it was last requested
+     * @param spillDirectory the directory evicted documents are spilled to; empty disables spilling
+     * @param spillMaxSize the total size of the documents kept in the spill directory
+     */
+    public PdfCacheServiceImpl(MeterRegistry meterRegistry,
+                               @Value("${pdf.cache.max-size:32MB}") DataSize maxSize,
+                               @Value("${pdf.cache.max-entry-size:1MB}") DataSize maxEntrySize,
+                               @Value("${pdf.cache.expire-after-access:PT1H}") Duration expireAfterAccess,
+                               @Value("${pdf.cache.spill.directory:}") String spillDirectory,
+                               @Value("${pdf.cache.spill.max-size:256MB}") DataSize spillMaxSize) throws IOException {
+        this.spillHits = Counter.builder("pdf.cache.spill.gets").tag("result", "hit").register(meterRegistry);
+        this.spillMisses = Counter.builder("pdf.cache.spill.gets").tag("result", "miss").register(meterRegistry);
+        this.maxEntrySize = maxEntrySize.toBytes();
+
+        if (maxSize.toBytes() <= 0) {
+            this.spillDirectory = null;
+            this.spilled = null;
+            this.cache = null;
+            log.info("PDF cache disabled");
+            return;
+        }
+
+        if (spillDirectory.isBlank()) {
+            this.spillDirectory = null;
+            this.spilled = null;
+        } else {
+            this.spillDirectory = Path.of(spillDirectory).toAbsolutePath().normalize();
+            clearSpillDirectory();
+            // Removals run on the calling thread, so a file is gone as soon as its entry is
+            this.spilled = Caffeine.newBuilder()
+                    .maximumWeight(spillMaxSize.toBytes())
+                    .weigher((String key, Long size) -> (int) Math.min(size, Integer.MAX_VALUE))
+                    .expireAfterAccess(expireAfterAccess)
+                    .executor(Runnable::run)
+                    .removalListener((String key, Long size, RemovalCause cause) -> {
+                        if (cause != RemovalCause.REPLACED) {
+                            deleteSpilled(key);
+                        }
+                    })
+                    .build();
+            Gauge.builder("pdf.cache.weight", spilled, c -> c.policy().eviction().orElseThrow().weightedSize().orElse(0))
+                    .tag("tier", "disk").register(meterRegistry);
+        }
+
+        // Evictions run on the thread that caused them, so a spilled document is on disk once put() returns
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, byte[] pdf) -> pdf.length)
+                .expireAfterAccess(expireAfterAccess)
+                .executor(Runnable::run)
+                .evictionListener((String key, byte[] pdf, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        spill(key, pdf);
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("pdf.cache.weight", cache, c -> c.policy().eviction().orElseThrow().weightedSize().orElse(0))
+                .tag("tier", "memory").register(meterRegistry);
+        log.info("PDF cache holds up to {} in memory, documents up to {} each, spilling to {}", maxSize, maxEntrySize,
+                this.spillDirectory != null ? this.spillDirectory + " (up to " + spillMaxSize + ")" : "nowhere");
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    @Override
+    public String keyOf(String templateName, Map<String, Object> data) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(templateName.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(canonicalMapper.writeValueAsBytes(data));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("PDF data cannot be serialized", e);
+        }
+    }
+
+    @Override
+    public boolean accepts(long size) {
+        return cache != null && size <= maxEntrySize;
+    }
+
+    @Override
+    public byte[] get(String key) {
+        if (cache == null) {
+            return null;
+        }
+        byte[] pdf = cache.getIfPresent(key);
+        if (pdf != null || spilled == null) {
+            return pdf;
+        }
+
+        pdf = readSpilled(key);
+        if (pdf == null) {
+            spillMisses.increment();
+            return null;
+        }
+        spillHits.increment();
+        spilled.invalidate(key);
+        cache.put(key, pdf);
+        return pdf;
+    }
+
+    @Override
+    public void put(String key, byte[] pdf) {
+        if (accepts(pdf.length)) {
+            cache.put(key, pdf);
+        }
+    }
+
+    private void spill(String key, byte[] pdf) {
+        if (spilled == null) {
+            return;
+        }
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile(spillDirectory, key, ".part");
+            Files.write(tempFile, pdf);
+            Files.move(tempFile, spillFile(key), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            spilled.put(key, (long) pdf.length);
+        } catch (IOException e) {
+            log.warn("Could not spill cached PDF {} to disk: {}", key, e.getMessage());
+            deleteQuietly(tempFile);
+        }
+    }
+
+    private byte[] readSpilled(String key) {
+        if (spilled.getIfPresent(key) == null) {
+            return null;
+        }
+        try {
+            return Files.readAllBytes(spillFile(key));
+        } catch (IOException e) {
+            log.warn("Could not read spilled PDF {}: {}", key, e.getMessage());
+            spilled.invalidate(key);
+            return null;
+        }
+    }
+
+    private void deleteSpilled(String key) {
+        deleteQuietly(spillFile(key));
+    }
+
+    private Path spillFile(String key) {
+        return spillDirectory.resolve(key + SPILL_SUFFIX);
+    }
+
+    private void clearSpillDirectory() throws IOException {
+        Files.createDirectories(spillDirectory);
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(SPILL_SUFFIX)
+                            || file.getFileName().toString().endsWith(".part"))
+                    .forEach(this::deleteQuietly);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete {}", file, e);
+        }
+    }
+}
@@ -1,23 +1,97 @@
 package com.airassist.backend.service.impl;
 
+import com.airassist.backend.exception.document.PdfGenerationBusyException;
+import com.airassist.backend.service.PdfCacheService;
 import com.airassist.backend.service.PdfService;
+import com.openhtmltopdf.extend.FSCacheEx;
+import com.openhtmltopdf.extend.FSCacheValue;
+import com.openhtmltopdf.extend.impl.FSDefaultCacheStore;
+import com.openhtmltopdf.pdfboxout.PDFontSupplier;
 import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
-import com.sun.tools.javac.Main;
-import lombok.AllArgsConstructor;
-import lombok.SneakyThrows;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Renders Thymeleaf templates to PDF with openhtmltopdf.
+ * <p>
+ * Rendering is CPU and memory heavy, so at most {@code maxConcurrency} PDFs are rendered at once; a request that
+ * cannot start within the queue timeout fails with {@link PdfGenerationBusyException}.
+ * <p>
+ * Each rendering slot keeps its own parsed copy of the font, created the first time the slot is used, so a contract
+ * embeds the font's glyphs without reading and parsing the TTF again. A parsed font is not safe for concurrent use,
+ * which is why there is one per slot rather than one shared by all. The font metrics openhtmltopdf computes for
+ * layout are cached once for every render.
+ * <p>
+ * Output size: by default only the glyphs a document uses are embedded ({@code pdf.output.subset-fonts}), and the
+ * font's hinting instructions are stripped once at startup ({@code pdf.output.strip-font-hinting}), since they make
+ * up a good part of every embedded glyph and PDF viewers rarely apply them.
+ * <p>
+ * Documents are looked up in the {@link PdfCacheService} by template and data before rendering, and rendered ones
+ * are only copied for the cache when it accepts their size. A document written to a stream is rendered into a
+ * buffer first, kept in memory up to {@code pdf.rendering.memory-buffer} and moved to a temporary file beyond that,
+ * and the rendering slot is released before the buffer is copied to the stream, so a slow reader never holds a slot
+ * while it downloads.
+ */
+@Slf4j
 @Service
-@AllArgsConstructor
 public class PdfServiceImpl implements PdfService {
 
+    static final String FONT_PATH = "fonts/DejaVuSans.ttf";
+    static final String FONT_FAMILY = "DejaVuSans";
+
     private final TemplateEngine templateEngine;
+    private final PdfCacheService pdfCacheService;
+    private final byte[] fontBytes;
+    private final boolean subsetFonts;
+    private final FSCacheEx<String, FSCacheValue> fontMetricsCache = new FSDefaultCacheStore();
+    private final Queue<TrueTypeFont> idleFonts = new ConcurrentLinkedQueue<>();
+    private final Semaphore renderPermits;
+    private final Duration queueTimeout;
+    private final int memoryBuffer;
+
+    public PdfServiceImpl(TemplateEngine templateEngine,
+                          PdfCacheService pdfCacheService,
+                          @Value("${pdf.rendering.max-concurrency:0}") int maxConcurrency,
+                          @Value("${pdf.rendering.queue-timeout:PT10S}") Duration queueTimeout,
+                          @Value("${pdf.output.subset-fonts:true}") boolean subsetFonts,
+                          @Value("${pdf.output.strip-font-hinting:true}") boolean stripFontHinting,
+                          @Value("${pdf.rendering.memory-buffer:64KB}") DataSize memoryBuffer) throws IOException {
+        this.templateEngine = templateEngine;
+        this.pdfCacheService = pdfCacheService;
+        byte[] font = new ClassPathResource(FONT_PATH).getContentAsByteArray();
+        this.fontBytes = stripFontHinting ? TrueTypeHintingStripper.strip(font) : font;
+        this.subsetFonts = subsetFonts;
+        int permits = maxConcurrency > 0 ? maxConcurrency : Runtime.getRuntime().availableProcessors();
+        this.renderPermits = new Semaphore(permits, true);
+        this.queueTimeout = queueTimeout;
+        this.memoryBuffer = Math.toIntExact(memoryBuffer.toBytes());
+        log.info("PDF rendering limited to {} concurrent documents; fonts {}, hinting {}", permits,
+                subsetFonts ? "subset" : "embedded whole", stripFontHinting ? "stripped" : "kept");
+    }
 
     /**
      * Generates a PDF document from a Thymeleaf template and data.
@@ -25,21 +99,179 @@ public class PdfServiceImpl implements PdfService {
      * @param templateName the name of the Thymeleaf template
      * @param data the data to be used in the template
      * @return a byte array containing the generated PDF document
+     * @throws IOException if the document cannot be rendered
+     * @throws PdfGenerationBusyException if no rendering slot frees up within the queue timeout
      */
-    @SneakyThrows
     @Override
-    public byte[] generatePdf(String templateName, Map<String, Object> data) {
+    public byte[] generatePdf(String templateName, Map<String, Object> data) throws IOException, PdfGenerationBusyException {
+        String cacheKey = pdfCacheService.isEnabled() ? pdfCacheService.keyOf(templateName, data) : null;
+        if (cacheKey != null) {
+            byte[] cached = pdfCacheService.get(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        render(templateName, data, outputStream);
+        byte[] pdf = outputStream.toByteArray();
+        if (cacheKey != null && pdfCacheService.accepts(pdf.length)) {
+            pdfCacheService.put(cacheKey, pdf);
+        }
+        return pdf;
+    }
+
+    /**
+     * Generates a PDF document from a Thymeleaf template and data and writes it to the given stream.
+     * The document is rendered into a buffer and only copied to the stream once its rendering slot is released,
+     * so render errors surface before anything reaches the stream.
+     *
+     * @param templateName the name of the Thymeleaf template
+     * @param data the data to be used in the template
+     * @param outputStream the stream the PDF document is written to; it is not closed
+     * @throws IOException if the document cannot be rendered or written
+     * @throws PdfGenerationBusyException if no rendering slot frees up within the queue timeout
+     */
+    @Override
+    public void writePdf(String templateName, Map<String, Object> data, OutputStream outputStream)
+            throws IOException, PdfGenerationBusyException {
+        String cacheKey = pdfCacheService.isEnabled() ? pdfCacheService.keyOf(templateName, data) : null;
+        if (cacheKey != null) {
+            byte[] cached = pdfCacheService.get(cacheKey);
+            if (cached != null) {
+                outputStream.write(cached);
+                return;
+            }
+        }
+
+        try (RenderBuffer buffer = new RenderBuffer(memoryBuffer)) {
+            render(templateName, data, buffer);
+            // Only documents the cache takes are copied out of the buffer
+            if (cacheKey != null && pdfCacheService.accepts(buffer.size())) {
+                pdfCacheService.put(cacheKey, buffer.toByteArray());
+            }
+            buffer.writeTo(outputStream);
+        }
+    }
+
+    @PreDestroy
+    void closeFonts() throws IOException {
+        TrueTypeFont font;
+        while ((font = idleFonts.poll()) != null) {
+            font.close();
+        }
+    }
+
+    /**
+     * Renders a document into the given stream while holding a rendering slot and a font.
+     */
+    private void render(String templateName, Map<String, Object> data, OutputStream outputStream)
+            throws IOException, PdfGenerationBusyException {
         Context context = new Context();
         context.setVariables(data);
         String htmlContent = templateEngine.process(templateName, context);
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        PdfRendererBuilder builder = new PdfRendererBuilder();
-        builder.useFastMode()
-                .useFont(new File(Objects.requireNonNull(Main.class.getClassLoader().getResource("fonts/DejaVuSans.ttf")).getFile()), "DejaVuSans")
-                .withHtmlContent(htmlContent, null)
-                .toStream(outputStream)
-                .run();
-        return outputStream.toByteArray();
+        acquireRenderPermit();
+        TrueTypeFont font = null;
+        try {
+            font = borrowFont();
+            // The renderer closes the document and the stream when it is done, but not the font it does not own
+            PDDocument document = new PDDocument();
+            new PdfRendererBuilder()
+                    .useFastMode()
+                    .usePDDocument(document)
+                    .useCacheStore(PdfRendererBuilder.CacheStore.PDF_FONT_METRICS, fontMetricsCache)
+                    .useFont(new PDFontSupplier(PDType0Font.load(document, font, subsetFonts)), FONT_FAMILY)
+                    .withHtmlContent(htmlContent, null)
+                    .toStream(StreamUtils.nonClosing(outputStream))
+                    .run();
+        } finally {
+            if (font != null) {
+                idleFonts.offer(font);
+            }
+            renderPermits.release();
+        }
+    }
+
+    private TrueTypeFont borrowFont() throws IOException {
+        TrueTypeFont font = idleFonts.poll();
+        return font != null ? font : new TTFParser().parse(new ByteArrayInputStream(fontBytes));
+    }
+
+    private void acquireRenderPermit() throws PdfGenerationBusyException {
+        try {
+            if (!renderPermits.tryAcquire(queueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("PDF rendering is saturated; rejecting request");
+                throw new PdfGenerationBusyException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfGenerationBusyException();
+        }
+    }
+
+    /**
+     * Holds a rendered document in memory up to a limit, and in a temporary file, deleted on close, beyond it.
+     */
+    private static final class RenderBuffer extends OutputStream {
+
+        private final int memoryLimit;
+        private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        private Path file;
+        private OutputStream fileStream;
+        private long size;
+
+        RenderBuffer(int memoryLimit) {
+            this.memoryLimit = memoryLimit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (fileStream == null && memory.size() + len > memoryLimit) {
+                file = Files.createTempFile("pdf-render-", ".pdf");
+                fileStream = new BufferedOutputStream(Files.newOutputStream(file));
+                memory.writeTo(fileStream);
+                memory = null;
+            }
+            (fileStream != null ? fileStream : memory).write(b, off, len);
+            size += len;
+        }
+
+        long size() {
+            return size;
+        }
+
+        byte[] toByteArray() throws IOException {
+            if (file == null) {
+                return memory.toByteArray();
+            }
+            fileStream.flush();
+            return Files.readAllBytes(file);
+        }
+
+        void writeTo(OutputStream target) throws IOException {
+            if (file == null) {
+                memory.writeTo(target);
+            } else {
+                fileStream.flush();
+                Files.copy(file, target);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (file != null) {
+                try {
+                    fileStream.close();
+                } finally {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
     }
 }
@@ -8,37 +8,135 @@ import jakarta.annotation.PostConstruct;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import com.airassist.backend.service.RandomPasswordGeneratorService;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.slf4j.Logger;
 
+import java.security.SecureRandom;
+import java.time.Duration;
+
 @Service
 public class RandomPasswordGeneratorServiceImpl implements RandomPasswordGeneratorService {
 
+    public static final String UPPERCASE = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    public static final String LOWERCASE = "abcdefghijklmnopqrstuvwxyz";
+    public static final String DIGITS = "0123456789";
+    /* Limited to characters the change-password form accepts */
+    public static final String SPECIAL = "!@#$%^&*()_+?";
+    private static final String ALL = UPPERCASE + LOWERCASE + DIGITS + SPECIAL;
+    private static final String[] REQUIRED_GROUPS = {UPPERCASE, LOWERCASE, DIGITS, SPECIAL};
+
+    public enum Strategy { LOCAL, REMOTE }
+
+    @Value("${password.generator.strategy:local}")
+    private Strategy strategy;
+
+    @Value("${password.generator.fallback-to-local:true}")
+    private boolean fallbackToLocal;
+
+    @Value("${password.generator.default-length:12}")
+    private int defaultLength;
+
     @Value("${password.generator.api.url}")
     private String apiUrl;
 
+    @Value("${password.generator.api.timeout:PT2S}")
+    private Duration apiTimeout;
+
+    private final SecureRandom random = new SecureRandom();
     private RestTemplate restTemplate;
     private ObjectMapper objectMapper;
     private static final Logger logger = LoggerFactory.getLogger(RandomPasswordGeneratorServiceImpl.class);
 
     @PostConstruct
     void init() {
-        restTemplate = new RestTemplate();
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(apiTimeout);
+        requestFactory.setReadTimeout(apiTimeout);
+        restTemplate = new RestTemplate(requestFactory);
         objectMapper = new ObjectMapper();
-        logger.info("RandomPasswordGeneratorService initialized with API URL: {}", apiUrl);
+        if (strategy == Strategy.REMOTE) {
+            logger.info("RandomPasswordGeneratorService using API URL: {} (fallback to local: {})", apiUrl, fallbackToLocal);
+        } else {
+            logger.info("RandomPasswordGeneratorService generating passwords locally");
+        }
     }
 
     /**
-     * Generates a random password of the specified length using an external API.
+     * Generates a random password of the specified length. With the local strategy (the default) it is generated
+     * in-process with {@link SecureRandom}; with the remote strategy it is fetched from the external API, falling
+     * back to local generation when the API fails and fallback is enabled.
      *
      * @param length the desired length of the password
      * @return a randomly generated password
-     * @throws JsonProcessingException if there is an error processing the JSON response
-     * @throws PasswordApiException if there is an error calling the password generator API
+     * @throws JsonProcessingException if the API response cannot be parsed and fallback is disabled
+     * @throws PasswordApiException if the API call fails and fallback is disabled
      */
     @Override
     public String generateRandomPassword(int length) throws JsonProcessingException, PasswordApiException {
+        if (strategy == Strategy.LOCAL) {
+            return generateLocally(length);
+        }
+
+        try {
+            return fetchFromApi(length);
+        } catch (JsonProcessingException | PasswordApiException e) {
+            if (!fallbackToLocal) {
+                throw e;
+            }
+            logger.warn("Password generator API unavailable, generating password locally");
+            return generateLocally(length);
+        }
+    }
+
+    /**
+     * Generates a random password of the configured default length (12 characters unless overridden).
+     *
+     * @return a randomly generated password
+     * @throws JsonProcessingException if the API response cannot be parsed and fallback is disabled
+     * @throws PasswordApiException if the API call fails and fallback is disabled
+     */
+    @Override
+    public String generateRandomPassword() throws JsonProcessingException, PasswordApiException {
+        return generateRandomPassword(defaultLength);
+    }
+
+    /**
+     * Generates a password with at least one uppercase letter, lowercase letter, digit and special character,
+     * the same policy the external API is queried with.
+     *
+     * @param length the desired length of the password, at least 4
+     * @return a randomly generated password
+     */
+    private String generateLocally(int length) {
+        if (length < REQUIRED_GROUPS.length) {
+            throw new IllegalArgumentException("Password length must be at least " + REQUIRED_GROUPS.length);
+        }
+
+        char[] password = new char[length];
+        for (int i = 0; i < REQUIRED_GROUPS.length; i++) {
+            password[i] = randomChar(REQUIRED_GROUPS[i]);
+        }
+        for (int i = REQUIRED_GROUPS.length; i < length; i++) {
+            password[i] = randomChar(ALL);
+        }
+
+        /* Fisher-Yates shuffle so the required characters do not always lead the password */
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            char tmp = password[i];
+            password[i] = password[j];
+            password[j] = tmp;
+        }
+        return new String(password);
+    }
+
+    private char randomChar(String alphabet) {
+        return alphabet.charAt(random.nextInt(alphabet.length()));
+    }
+
+    private String fetchFromApi(int length) throws JsonProcessingException, PasswordApiException {
         String url = apiUrl.replace("{}", String.valueOf(length));
         logger.info("Generating random password with length: {}", length);
 
@@ -59,16 +157,4 @@ public class RandomPasswordGeneratorServiceImpl implements RandomPasswordGenerat
 
         return root.get("password").asText();
     }
-
-    /**
-     * Generates a random password of default length (12 characters).
-     *
-     * @return a randomly generated password
-     * @throws JsonProcessingException if there is an error processing the JSON response
-     * @throws PasswordApiException if there is an error calling the password generator API
-     */
-    @Override
-    public String generateRandomPassword() throws JsonProcessingException, PasswordApiException {
-        return generateRandomPassword(12);
-    }
 }
@@ -0,0 +1,188 @@
+package com.airassist.backend.service.impl;
+
+import com.airassist.backend.exception.auth.InvalidTokenException;
+import com.airassist.backend.model.RefreshSession;
+import com.airassist.backend.model.RefreshToken;
+import com.airassist.backend.model.User;
+import com.airassist.backend.model.UuidBloomFilter;
+import com.airassist.backend.repository.RefreshTokenRepository;
+import com.airassist.backend.service.RefreshTokenService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps sign-in sessions in the database and their revocations in a Bloom filter.
+ * <p>
+ * An access token only matters for {@code security.jwt.access-token-ttl} after it is issued, so the filter only
+ * holds the sessions revoked within that window. It is synced with the database every few seconds, which
+ * picks up revocations made by other instances, and rebuilt once per window to drop the old entries.
+ * <p>
+ * Tabs of the same browser share their tokens, so a tab can send a token another tab has just replaced.
+ * Reuse within {@code security.sessions.refresh-reuse-grace} of the rotation is rejected without revoking
+ * the session, so that tab can adopt the new token; later reuse is treated as a copied token.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+    // Revocations committed while the previous sync was running are picked up by the next one
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(5);
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${security.jwt.refresh-token-ttl:P14D}")
+    private Duration refreshTokenTtl;
+
+    @Value("${security.jwt.access-token-ttl:PT15M}")
+    private Duration accessTokenTtl;
+
+    @Value("${security.sessions.refresh-reuse-grace:PT10S}")
+    private Duration refreshReuseGrace;
+
+    @Value("${security.sessions.revocation-filter-capacity:100000}")
+    private int revocationFilterCapacity;
+
+    private volatile UuidBloomFilter revokedSessions;
+    private volatile Instant revokedSessionsBuiltAt;
+    private volatile Instant lastSyncAt;
+
+    @PostConstruct
+    public void init() {
+        rebuildRevocationFilter();
+    }
+
+    @Override
+    @Transactional
+    public RefreshSession createSession(User user) {
+        String refreshToken = generateToken();
+        Instant now = Instant.now();
+        RefreshToken session = new RefreshToken(null, user, hash(refreshToken), null, now, now.plus(refreshTokenTtl), null, null);
+        session = refreshTokenRepository.save(session);
+        return new RefreshSession(session.getId(), user, refreshToken);
+    }
+
+    @Override
+    @Transactional
+    public RefreshSession rotate(String refreshToken) throws InvalidTokenException {
+        String tokenHash = hash(refreshToken);
+        RefreshToken session = refreshTokenRepository.findByTokenHash(tokenHash).orElse(null);
+        if (session == null) {
+            RefreshToken reused = refreshTokenRepository.findByPreviousTokenHash(tokenHash).orElse(null);
+            if (reused != null) {
+                if (reused.getRotatedAt().plus(refreshReuseGrace).isAfter(Instant.now())) {
+                    log.debug("Refresh token of session {} reused right after it was replaced", reused.getId());
+                } else {
+                    log.warn("Replaced refresh token reused; revoking session {}", reused.getId());
+                    revokeSessions(List.of(reused.getId()));
+                }
+            }
+            throw new InvalidTokenException();
+        }
+        Instant now = Instant.now();
+        if (session.getRevokedAt() != null || session.getExpiresAt().isBefore(now)) {
+            throw new InvalidTokenException();
+        }
+        User user = session.getUser();
+        String newToken = generateToken();
+        if (refreshTokenRepository.rotate(session.getId(), tokenHash, hash(newToken), now) != 1) {
+            // Another request refreshed the same token first
+            throw new InvalidTokenException();
+        }
+        return new RefreshSession(session.getId(), user, newToken);
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .ifPresent(session -> revokeSessions(List.of(session.getId())));
+    }
+
+    @Override
+    @Transactional
+    public void revokeAllSessions(UUID userId) {
+        List<UUID> sessionIds = refreshTokenRepository.findActiveSessionIdsByUserId(userId);
+        if (!sessionIds.isEmpty()) {
+            revokeSessions(sessionIds);
+        }
+    }
+
+    @Override
+    public boolean isSessionRevoked(UUID sessionId) {
+        return revokedSessions.mightContain(sessionId) && refreshTokenRepository.existsByIdAndRevokedAtIsNotNull(sessionId);
+    }
+
+    /**
+     * Adds the sessions revoked since the last sync, including those revoked by other instances,
+     * and rebuilds the filter once the oldest entries can no longer matter.
+     */
+    @Scheduled(fixedDelayString = "${security.sessions.revocation-sync-interval:PT10S}")
+    public void syncRevocationFilter() {
+        if (revokedSessionsBuiltAt.plus(accessTokenTtl).isBefore(Instant.now())) {
+            rebuildRevocationFilter();
+            return;
+        }
+        Instant since = lastSyncAt.minus(SYNC_OVERLAP);
+        lastSyncAt = Instant.now();
+        UuidBloomFilter filter = revokedSessions;
+        refreshTokenRepository.findSessionIdsRevokedSince(since).forEach(filter::add);
+    }
+
+    @Scheduled(cron = "0 30 3 * * *", zone = "Europe/Bucharest")
+    @Transactional
+    public void deleteExpiredSessions() {
+        int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+        log.info("Deleted {} expired sessions", deleted);
+    }
+
+    private void rebuildRevocationFilter() {
+        Instant now = Instant.now();
+        UuidBloomFilter filter = new UuidBloomFilter(revocationFilterCapacity, FALSE_POSITIVE_RATE);
+        List<UUID> revoked = refreshTokenRepository.findSessionIdsRevokedSince(now.minus(accessTokenTtl).minus(SYNC_OVERLAP));
+        revoked.forEach(filter::add);
+        revokedSessions = filter;
+        revokedSessionsBuiltAt = now;
+        lastSyncAt = now;
+        log.debug("Rebuilt session revocation filter with {} sessions", revoked.size());
+    }
+
+    private void revokeSessions(List<UUID> sessionIds) {
+        refreshTokenRepository.revokeAll(sessionIds, Instant.now());
+        UuidBloomFilter filter = revokedSessions;
+        sessionIds.forEach(filter::add);
+    }
+
+    private static String generateToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        SECURE_RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String hash(String refreshToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
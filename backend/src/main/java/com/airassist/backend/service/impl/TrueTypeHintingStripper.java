@@ -0,0 +1,168 @@
+package com.airassist.backend.service.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Removes the hinting instructions from a TrueType font: the {@code fpgm}, {@code prep} and {@code cvt} programs, the
+ * tables computed from them, and the instructions of every glyph. Outlines, metrics and character maps are kept as
+ * they are, so text lays out and renders the same; only grid-fitting at small pixel sizes is lost, which PDF viewers
+ * rarely apply to embedded fonts anyway. Hinting makes up a good part of each embedded glyph.
+ */
+public final class TrueTypeHintingStripper {
+
+    private static final Set<String> HINTING_TABLES = Set.of("fpgm", "prep", "cvt ", "hdmx", "LTSH", "VDMX");
+
+    private static final int ARG_1_AND_2_ARE_WORDS = 0x0001;
+    private static final int WE_HAVE_A_SCALE = 0x0008;
+    private static final int MORE_COMPONENTS = 0x0020;
+    private static final int WE_HAVE_AN_X_AND_Y_SCALE = 0x0040;
+    private static final int WE_HAVE_A_TWO_BY_TWO = 0x0080;
+    private static final int WE_HAVE_INSTRUCTIONS = 0x0100;
+
+    private TrueTypeHintingStripper() {
+    }
+
+    /**
+     * @param font a TrueType font file
+     * @return the same font without hinting, with a long {@code loca} table
+     * @throws IllegalArgumentException if the font is not a TrueType font with {@code glyf} outlines
+     */
+    public static byte[] strip(byte[] font) {
+        ByteBuffer in = ByteBuffer.wrap(font);
+        int sfntVersion = in.getInt(0);
+        int numTables = in.getShort(4) & 0xFFFF;
+        Map<String, byte[]> tables = new TreeMap<>();
+        for (int i = 0; i < numTables; i++) {
+            int record = 12 + 16 * i;
+            String tag = new String(font, record, 4, StandardCharsets.ISO_8859_1);
+            int offset = in.getInt(record + 8);
+            int length = in.getInt(record + 12);
+            byte[] table = new byte[length];
+            System.arraycopy(font, offset, table, 0, length);
+            tables.put(tag, table);
+        }
+        if (!tables.containsKey("glyf") || !tables.containsKey("loca") || !tables.containsKey("head") || !tables.containsKey("maxp")) {
+            throw new IllegalArgumentException("Not a TrueType font with glyf outlines");
+        }
+
+        byte[] head = tables.get("head");
+        byte[] maxp = tables.get("maxp");
+        boolean longOffsets = ByteBuffer.wrap(head).getShort(50) == 1;
+        int numGlyphs = ByteBuffer.wrap(maxp).getShort(4) & 0xFFFF;
+        ByteBuffer loca = ByteBuffer.wrap(tables.get("loca"));
+        byte[] glyf = tables.get("glyf");
+
+        ByteArrayOutputStream newGlyf = new ByteArrayOutputStream(glyf.length);
+        ByteBuffer newLoca = ByteBuffer.allocate(4 * (numGlyphs + 1));
+        for (int glyph = 0; glyph < numGlyphs; glyph++) {
+            int start = longOffsets ? loca.getInt(4 * glyph) : 2 * (loca.getShort(2 * glyph) & 0xFFFF);
+            int end = longOffsets ? loca.getInt(4 * glyph + 4) : 2 * (loca.getShort(2 * glyph + 2) & 0xFFFF);
+            newLoca.putInt(newGlyf.size());
+            if (end > start) {
+                writeGlyphWithoutInstructions(ByteBuffer.wrap(glyf, start, end - start).slice(), newGlyf);
+                while (newGlyf.size() % 4 != 0) {
+                    newGlyf.write(0);
+                }
+            }
+        }
+        newLoca.putInt(newGlyf.size());
+
+        HINTING_TABLES.forEach(tables::remove);
+        tables.put("glyf", newGlyf.toByteArray());
+        tables.put("loca", newLoca.array());
+        ByteBuffer.wrap(head).putShort(50, (short) 1);
+        if (maxp.length >= 32) {
+            // maxSizeOfInstructions; the other limits only bound what the programs may use
+            ByteBuffer.wrap(maxp).putShort(26, (short) 0);
+        }
+        return write(sfntVersion, tables);
+    }
+
+    private static void writeGlyphWithoutInstructions(ByteBuffer glyph, ByteArrayOutputStream out) {
+        byte[] data = new byte[glyph.remaining()];
+        glyph.get(0, data);
+        short numberOfContours = glyph.getShort(0);
+        if (numberOfContours >= 0) {
+            int instructionLengthAt = 10 + 2 * numberOfContours;
+            int instructionLength = glyph.getShort(instructionLengthAt) & 0xFFFF;
+            out.write(data, 0, instructionLengthAt);
+            out.write(0);
+            out.write(0);
+            int flagsAt = instructionLengthAt + 2 + instructionLength;
+            out.write(data, flagsAt, data.length - flagsAt);
+            return;
+        }
+
+        int position = 10;
+        int flags;
+        int lastFlagsAt;
+        do {
+            lastFlagsAt = position;
+            flags = glyph.getShort(position) & 0xFFFF;
+            position += 4 + ((flags & ARG_1_AND_2_ARE_WORDS) != 0 ? 4 : 2);
+            if ((flags & WE_HAVE_A_SCALE) != 0) {
+                position += 2;
+            } else if ((flags & WE_HAVE_AN_X_AND_Y_SCALE) != 0) {
+                position += 4;
+            } else if ((flags & WE_HAVE_A_TWO_BY_TWO) != 0) {
+                position += 8;
+            }
+        } while ((flags & MORE_COMPONENTS) != 0);
+        int lastFlags = flags & ~WE_HAVE_INSTRUCTIONS;
+        data[lastFlagsAt] = (byte) (lastFlags >> 8);
+        data[lastFlagsAt + 1] = (byte) lastFlags;
+        out.write(data, 0, position);
+    }
+
+    private static byte[] write(int sfntVersion, Map<String, byte[]> tables) {
+        int numTables = tables.size();
+        int entrySelector = 31 - Integer.numberOfLeadingZeros(numTables);
+        int searchRange = 16 << entrySelector;
+        int size = 12 + 16 * numTables;
+        for (byte[] table : tables.values()) {
+            size += (table.length + 3) & ~3;
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putInt(sfntVersion)
+                .putShort((short) numTables)
+                .putShort((short) searchRange)
+                .putShort((short) entrySelector)
+                .putShort((short) (numTables * 16 - searchRange));
+        int offset = 12 + 16 * numTables;
+        int headOffset = -1;
+        for (Map.Entry<String, byte[]> table : tables.entrySet()) {
+            byte[] data = table.getValue();
+            if (table.getKey().equals("head")) {
+                // checkSumAdjustment is left out of the table's checksum and set once the whole font is written
+                ByteBuffer.wrap(data).putInt(8, 0);
+                headOffset = offset;
+            }
+            out.put(table.getKey().getBytes(StandardCharsets.ISO_8859_1))
+                    .putInt(checksum(data))
+                    .putInt(offset)
+                    .putInt(data.length);
+            out.put(offset, data);
+            offset += (data.length + 3) & ~3;
+        }
+        out.putInt(headOffset + 8, 0xB1B0AFBA - checksum(out.array()));
+        return out.array();
+    }
+
+    private static int checksum(byte[] data) {
+        int sum = 0;
+        for (int i = 0; i < data.length; i += 4) {
+            int word = 0;
+            for (int j = 0; j < 4; j++) {
+                word = (word << 8) | (i + j < data.length ? data[i + j] & 0xFF : 0);
+            }
+            sum += word;
+        }
+        return sum;
+    }
+}
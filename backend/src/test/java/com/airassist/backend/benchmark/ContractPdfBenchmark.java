@@ -0,0 +1,108 @@
+package com.airassist.backend.benchmark;
+
+import com.airassist.backend.config.MailSendingConfig;
+import com.airassist.backend.service.impl.PdfCacheServiceImpl;
+import com.airassist.backend.service.impl.PdfServiceImpl;
+import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures contracts rendered per second by {@link PdfServiceImpl}, against a baseline that builds the renderer the
+ * way it used to be built (font file opened and parsed again for every contract). The {@code gc} profiler enabled by
+ * the benchmark profile reports the bytes allocated per contract as {@code gc.alloc.rate.norm}. {@code cached} serves
+ * the same contract from the PDF cache. {@code subsetFontWithHinting} and {@code wholeFont} render without the output
+ * optimizations (hinting kept; then the whole font embedded), and the setup prints the size of a contract under
+ * each configuration.
+ * Pass {@code -t 4} to the JMH arguments to render concurrently.
+ * Run with {@code mvn -Pbenchmark clean test-compile exec:exec -Dbenchmark=ContractPdfBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContractPdfBenchmark {
+
+    private static final String TEMPLATE = "contract";
+    static final Map<String, Object> CONTRACT_DATA = Map.of(
+            "caseId", 123456,
+            "caseDate", "2025-07-14",
+            "firstName", "Ștefan",
+            "lastName", "Ionescu",
+            "reservationNumber", "AB12CD");
+
+    private TemplateEngine templateEngine;
+    private PdfServiceImpl pdfService;
+    private PdfServiceImpl cachedPdfService;
+    private PdfServiceImpl hintedPdfService;
+    private PdfServiceImpl wholeFontPdfService;
+    private File fontFile;
+
+    @Setup
+    public void setUp() throws Exception {
+        MailSendingConfig templateConfig = new MailSendingConfig();
+        templateEngine = templateConfig.thymeleafTemplateEngine(templateConfig.thymeleafTemplateResolver());
+        pdfService = newPdfService(DataSize.ofBytes(0), true, true);
+        cachedPdfService = newPdfService(DataSize.ofMegabytes(32), true, true);
+        hintedPdfService = newPdfService(DataSize.ofBytes(0), true, false);
+        wholeFontPdfService = newPdfService(DataSize.ofBytes(0), false, false);
+        fontFile = new File(Objects.requireNonNull(getClass().getClassLoader().getResource("fonts/DejaVuSans.ttf")).toURI());
+
+        System.out.printf("%nBytes per contract: optimized %d, hinting kept %d, whole font %d, font loaded per contract %d%n",
+                sharedResources().length, subsetFontWithHinting().length, wholeFont().length, fontLoadedPerContract().length);
+    }
+
+    @Benchmark
+    public byte[] sharedResources() throws Exception {
+        return pdfService.generatePdf(TEMPLATE, CONTRACT_DATA);
+    }
+
+    @Benchmark
+    public byte[] cached() throws Exception {
+        return cachedPdfService.generatePdf(TEMPLATE, CONTRACT_DATA);
+    }
+
+    @Benchmark
+    public byte[] subsetFontWithHinting() throws Exception {
+        return hintedPdfService.generatePdf(TEMPLATE, CONTRACT_DATA);
+    }
+
+    @Benchmark
+    public byte[] wholeFont() throws Exception {
+        return wholeFontPdfService.generatePdf(TEMPLATE, CONTRACT_DATA);
+    }
+
+    @Benchmark
+    public byte[] fontLoadedPerContract() throws Exception {
+        Context context = new Context();
+        context.setVariables(CONTRACT_DATA);
+        String html = templateEngine.process(TEMPLATE, context);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new PdfRendererBuilder()
+                .useFastMode()
+                .useFont(fontFile, "DejaVuSans")
+                .withHtmlContent(html, null)
+                .toStream(outputStream)
+                .run();
+        return outputStream.toByteArray();
+    }
+
+    private PdfServiceImpl newPdfService(DataSize cacheSize, boolean subsetFonts, boolean stripFontHinting) throws Exception {
+        PdfCacheServiceImpl pdfCache = new PdfCacheServiceImpl(new SimpleMeterRegistry(), cacheSize, DataSize.ofMegabytes(1), Duration.ofHours(1), "", DataSize.ofBytes(0));
+        return new PdfServiceImpl(templateEngine, pdfCache, 0, Duration.ofMinutes(1), subsetFonts, stripFontHinting,
+                DataSize.ofKilobytes(64));
+    }
+}
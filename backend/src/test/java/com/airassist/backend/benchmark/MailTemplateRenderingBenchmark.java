@@ -0,0 +1,59 @@
+package com.airassist.backend.benchmark;
+
+import com.airassist.backend.config.MailSendingConfig;
+import com.airassist.backend.model.enums.MailTemplates;
+import com.airassist.backend.service.impl.MailSenderServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures renders per second of each mail template, with the template cache as configured in
+ * {@link MailSendingConfig} and with caching disabled (every render parses the template again).
+ * Run with {@code mvn -Pbenchmark clean test-compile exec:exec -Dbenchmark=MailTemplateRenderingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MailTemplateRenderingBenchmark {
+
+    private static final Map<MailTemplates, Map<String, Object>> VARIABLES = Map.of(
+            MailTemplates.VALID_CASE, Map.of("caseId", 123456),
+            MailTemplates.GENERATED_PASSWORD, Map.of("generatedPassword", "aB3$efGh1!jK"),
+            MailTemplates.CONTRACT_LINK, Map.of("contractLink", "https://airassist.eu/contracts/123456"));
+
+    @Param({"VALID_CASE", "GENERATED_PASSWORD", "CONTRACT_LINK"})
+    private MailTemplates template;
+
+    @Param({"true", "false"})
+    private boolean cached;
+
+    private MailSenderServiceImpl mailSenderService;
+    private Map<String, Object> variables;
+
+    @Setup
+    public void setUp() {
+        MailSendingConfig mailConfig = new MailSendingConfig();
+        ClassLoaderTemplateResolver resolver = (ClassLoaderTemplateResolver) mailConfig.thymeleafTemplateResolver();
+        resolver.setCacheable(cached);
+
+        mailSenderService = new MailSenderServiceImpl();
+        ReflectionTestUtils.setField(mailSenderService, "templateEngine", mailConfig.thymeleafTemplateEngine(resolver));
+        ReflectionTestUtils.setField(mailSenderService, "mailSender", new JavaMailSenderImpl());
+        ReflectionTestUtils.setField(mailSenderService, "emailMessageSource", mailConfig.emailMessageSource());
+        ReflectionTestUtils.invokeMethod(mailSenderService, "init");
+        variables = VARIABLES.get(template);
+    }
+
+    @Benchmark
+    public String render() {
+        return mailSenderService.renderTemplate("user@airassist.eu", template, variables);
+    }
+}
@@ -0,0 +1,81 @@
+package com.airassist.backend.benchmark;
+
+import com.airassist.backend.service.impl.RandomPasswordGeneratorServiceImpl;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares in-process password generation with the remote generator API.
+ * By default the remote strategy calls a local stub server, so the numbers are the floor of the HTTP round trip;
+ * pass {@code -p apiUrl=https://api.genratr.com/?length={}&uppercase&lowercase&special&numbers} to measure the real API.
+ * Run with {@code mvn -Pbenchmark clean test-compile exec:exec -Dbenchmark=PasswordGeneratorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordGeneratorBenchmark {
+
+    @Param("")
+    private String apiUrl;
+
+    private HttpServer stubServer;
+    private RandomPasswordGeneratorServiceImpl local;
+    private RandomPasswordGeneratorServiceImpl remote;
+
+    @Setup
+    public void setUp() throws Exception {
+        String remoteUrl = apiUrl;
+        if (remoteUrl.isEmpty()) {
+            byte[] body = "{\"password\":\"aB3$efGh1!jK\"}".getBytes(StandardCharsets.UTF_8);
+            stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            stubServer.createContext("/", exchange -> {
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+                exchange.close();
+            });
+            stubServer.start();
+            remoteUrl = "http://localhost:" + stubServer.getAddress().getPort() + "/?length={}";
+        }
+
+        local = create(RandomPasswordGeneratorServiceImpl.Strategy.LOCAL, remoteUrl);
+        remote = create(RandomPasswordGeneratorServiceImpl.Strategy.REMOTE, remoteUrl);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (stubServer != null) {
+            stubServer.stop(0);
+        }
+    }
+
+    @Benchmark
+    public String local() throws Exception {
+        return local.generateRandomPassword();
+    }
+
+    @Benchmark
+    public String remote() throws Exception {
+        return remote.generateRandomPassword();
+    }
+
+    private static RandomPasswordGeneratorServiceImpl create(RandomPasswordGeneratorServiceImpl.Strategy strategy, String apiUrl) {
+        RandomPasswordGeneratorServiceImpl service = new RandomPasswordGeneratorServiceImpl();
+        ReflectionTestUtils.setField(service, "strategy", strategy);
+        ReflectionTestUtils.setField(service, "fallbackToLocal", false);
+        ReflectionTestUtils.setField(service, "defaultLength", 12);
+        ReflectionTestUtils.setField(service, "apiUrl", apiUrl);
+        ReflectionTestUtils.setField(service, "apiTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+}
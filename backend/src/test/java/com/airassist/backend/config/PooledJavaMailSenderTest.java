@@ -0,0 +1,112 @@
+package com.airassist.backend.config;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import java.time.Duration;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PooledJavaMailSenderTest {
+
+    private GreenMail greenMail;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        greenMail.stop();
+    }
+
+    @Test
+    void send_ShouldReuseTheConnectionAcrossSendsAndBatches() throws Exception {
+        PooledJavaMailSender mailSender = newSender(Duration.ofMinutes(1));
+
+        mailSender.send(message(mailSender, "first@airassist.eu"));
+        mailSender.send(message(mailSender, "second@airassist.eu"), message(mailSender, "third@airassist.eu"),
+                message(mailSender, "fourth@airassist.eu"));
+
+        assertEquals(4, greenMail.getReceivedMessages().length);
+        assertEquals(1, meterRegistry.get("mail.smtp.connections").tag("outcome", "opened").counter().count());
+        assertEquals(1, meterRegistry.get("mail.smtp.connections").tag("outcome", "reused").counter().count());
+        assertEquals(0.5, meterRegistry.get("mail.smtp.connections.reuse.ratio").gauge().value());
+        assertEquals(1, meterRegistry.get("mail.smtp.connections.idle").gauge().value());
+        assertEquals(4, meterRegistry.get("mail.smtp.send.duration").timer().count());
+        mailSender.destroy();
+    }
+
+    @Test
+    void send_WhenTheConnectionHasBeenIdleTooLong_ShouldOpenANewOne() throws Exception {
+        PooledJavaMailSender mailSender = newSender(Duration.ZERO);
+
+        mailSender.send(message(mailSender, "first@airassist.eu"));
+        Thread.sleep(5);
+        mailSender.send(message(mailSender, "second@airassist.eu"));
+
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        assertEquals(2, meterRegistry.get("mail.smtp.connections").tag("outcome", "opened").counter().count());
+        assertEquals(0, mailSender.getReuseRatio());
+        mailSender.destroy();
+    }
+
+    @Test
+    void evictIdleTransports_ShouldCloseExpiredConnections() throws Exception {
+        PooledJavaMailSender mailSender = newSender(Duration.ZERO);
+        mailSender.send(message(mailSender, "first@airassist.eu"));
+        Thread.sleep(5);
+
+        mailSender.evictIdleTransports();
+
+        assertEquals(0, meterRegistry.get("mail.smtp.connections.idle").gauge().value());
+        mailSender.destroy();
+    }
+
+    @Test
+    void send_WhenTheServerIsDown_ShouldFailEveryMessageAndRecoverOnceItIsBack() throws Exception {
+        PooledJavaMailSender mailSender = newSender(Duration.ofMinutes(1));
+        mailSender.send(message(mailSender, "first@airassist.eu"));
+        greenMail.stop();
+
+        MimeMessage second = message(mailSender, "second@airassist.eu");
+        MimeMessage third = message(mailSender, "third@airassist.eu");
+        MailSendException exception = assertThrows(MailSendException.class, () -> mailSender.send(second, third));
+        assertEquals(2, exception.getFailedMessages().size());
+
+        // Both connection permits must have been given back, or the next sends would block
+        greenMail = new GreenMail(ServerSetupTest.SMTP.port(mailSender.getPort()));
+        greenMail.start();
+        mailSender.send(message(mailSender, "fourth@airassist.eu"));
+        mailSender.send(message(mailSender, "fifth@airassist.eu"));
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        mailSender.destroy();
+    }
+
+    private PooledJavaMailSender newSender(Duration idleTimeout) {
+        PooledJavaMailSender mailSender = new PooledJavaMailSender(meterRegistry, 1, idleTimeout);
+        mailSender.setHost("localhost");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        mailSender.getJavaMailProperties().put("mail.smtp.timeout", "2000");
+        return mailSender;
+    }
+
+    private static MimeMessage message(PooledJavaMailSender mailSender, String recipient) throws Exception {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom("noreply@airassist.eu");
+        helper.setTo(recipient);
+        helper.setSubject("Test");
+        helper.setText("Body");
+        return message;
+    }
+}
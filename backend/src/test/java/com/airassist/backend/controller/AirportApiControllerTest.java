@@ -0,0 +1,91 @@
+package com.airassist.backend.controller;
+
+import com.airassist.backend.model.Airport;
+import com.airassist.backend.model.AirportPayload;
+import com.airassist.backend.service.impl.AirportApiFetchServiceImpl;
+import com.airassist.backend.service.impl.AirportApiServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AirportApiControllerTest {
+
+    @Mock
+    private AirportApiServiceImpl airportApiService;
+
+    @Mock
+    private AirportApiFetchServiceImpl airportApiFetchService;
+
+    @InjectMocks
+    private AirportApiController airportApiController;
+
+    private final AirportPayload payload = AirportPayload.of("[{\"code\":\"OTP\"}]".getBytes(StandardCharsets.UTF_8));
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(airportApiFetchService.getAirportPayload()).thenReturn(payload);
+    }
+
+    @Test
+    void fetchAirports_WithoutGzip_ShouldReturnPlainJson() {
+        var response = airportApiController.fetchAirports(null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(payload.getJson(), response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(payload.getETag(), response.getHeaders().getETag());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(response.getHeaders().getCacheControl().contains("max-age=3600"));
+    }
+
+    @Test
+    void fetchAirports_WhenGzipAccepted_ShouldReturnCompressedJson() {
+        var response = airportApiController.fetchAirports(null, "br, gzip;q=0.8");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(payload.getGzipJson(), response.getBody());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(payload.getGzipETag(), response.getHeaders().getETag());
+        assertEquals(payload.getGzipJson().length, response.getHeaders().getContentLength());
+    }
+
+    @Test
+    void fetchAirports_WhenGzipRefused_ShouldReturnPlainJson() {
+        var response = airportApiController.fetchAirports(null, "gzip;q=0");
+
+        assertArrayEquals(payload.getJson(), response.getBody());
+    }
+
+    @Test
+    void fetchAirports_WhenETagMatches_ShouldReturnNotModified() {
+        var response = airportApiController.fetchAirports(payload.getETag(), "gzip");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(payload.getGzipETag(), response.getHeaders().getETag());
+    }
+
+    @Test
+    void searchAirports_ShouldReturnServiceResults() {
+        Airport otopeni = new Airport("OTP", "Henri Coanda International Airport", "Bucharest", "Romania", 44.5711, 26.085);
+        when(airportApiFetchService.searchAirports("buc", 10)).thenReturn(List.of(otopeni));
+
+        assertEquals(List.of(otopeni), airportApiController.searchAirports("buc", 10));
+    }
+
+    @Test
+    void calculateCompensationLevel_ShouldUseLocalDistance() throws Exception {
+        when(airportApiService.getDistance("OTP", "CLJ")).thenReturn(309.0);
+        when(airportApiService.calculateCompensation(309.0)).thenReturn(250);
+
+        assertEquals(250, airportApiController.calculateCompensationLevel("OTP", "CLJ"));
+    }
+}
@@ -13,7 +13,6 @@ import com.airassist.backend.model.User;
 import com.airassist.backend.service.AuthService;
 import com.airassist.backend.mapper.UserMapper;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import jakarta.mail.MessagingException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -38,7 +37,7 @@ public class AuthControllerTest {
         SignInRequest req = new SignInRequest();
         req.setEmail("test@example.com");
         req.setPassword("pass");
-        SignInResponse resp = new SignInResponse("mockToken", true);
+        SignInResponse resp = new SignInResponse("mockToken", true, "mockRefreshToken");
         when(authService.signIn(req)).thenReturn(resp);
 
         ResponseEntity<SignInResponse> result = authController.signIn(req);
@@ -88,14 +87,6 @@ public class AuthControllerTest {
         assertThrows(DuplicateUserException.class, () -> authController.register(userDTO));
     }
 
-    @Test
-    void register_WhenMessagingException_ShouldThrow() throws Exception {
-        UserDTO userDTO = new UserDTO();
-        when(authService.register(userDTO)).thenThrow(new MessagingException());
-
-        assertThrows(MessagingException.class, () -> authController.register(userDTO));
-    }
-
     @Test
     void register_WhenJsonProcessingException_ShouldThrow() throws Exception {
         UserDTO userDTO = new UserDTO();
@@ -123,14 +114,6 @@ public class AuthControllerTest {
         assertNull(result.getBody());
     }
 
-    @Test
-    void resetPassword_WhenMessagingException_ShouldThrow() throws Exception {
-        ResetPasswordRequest req = new ResetPasswordRequest();
-        doThrow(new MessagingException()).when(authService).resetPassword(req);
-
-        assertThrows(MessagingException.class, () -> authController.resetPassword(req));
-    }
-
     @Test
     void resetPassword_WhenUserNotFound_ShouldThrow() throws Exception {
         ResetPasswordRequest req = new ResetPasswordRequest();
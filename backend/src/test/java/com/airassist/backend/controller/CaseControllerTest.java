@@ -1,6 +1,9 @@
 package com.airassist.backend.controller;
 
+import com.airassist.backend.dto.cases.CaseCursor;
 import com.airassist.backend.dto.cases.CaseDTO;
+import com.airassist.backend.dto.cases.CaseFilterDTO;
+import com.airassist.backend.dto.cases.CasePageDTO;
 import com.airassist.backend.dto.cases.CaseResponseDTO;
 import com.airassist.backend.exception.cases.CaseNotFoundException;
 import com.airassist.backend.exception.user.UserNotFoundException;
@@ -8,17 +11,27 @@ import com.airassist.backend.mapper.CaseMapper;
 import com.airassist.backend.mapper.CaseResponseMapper;
 import com.airassist.backend.model.Case;
 import com.airassist.backend.model.enums.Statuses;
+import com.airassist.backend.service.CaseDossierService;
 import com.airassist.backend.service.CaseService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,21 +43,41 @@ public class CaseControllerTest {
     private CaseResponseMapper caseResponseMapper;
     @Mock
     private CaseMapper caseMapper;
+    @Mock
+    private CaseDossierService caseDossierService;
 
     @InjectMocks
     private CaseController caseController;
 
     @Test
-    void getCases_WhenCasesExist_ShouldReturnList() {
+    void getCases_WhenLastPage_ShouldReturnItemsWithoutCursor() {
+        CaseFilterDTO filter = new CaseFilterDTO();
         Case c = new Case();
         CaseResponseDTO dto = new CaseResponseDTO();
-        when(caseService.getCases()).thenReturn(List.of(c));
-        when(caseResponseMapper.toCaseResponseDTO(c)).thenReturn(dto);
+        when(caseService.getCases(filter, null, 50)).thenReturn(Window.from(List.of(c), ScrollPosition::offset));
+        when(caseResponseMapper.toCaseResponseDTO(c, List.of())).thenReturn(dto);
 
-        ResponseEntity<List<CaseResponseDTO>> response = caseController.getCases();
+        ResponseEntity<CasePageDTO> response = caseController.getCases(filter, null, 50);
 
         assertEquals(200, response.getStatusCodeValue());
-        assertEquals(List.of(dto), response.getBody());
+        assertEquals(List.of(dto), response.getBody().getItems());
+        assertNull(response.getBody().getNextCursor());
+    }
+
+    @Test
+    void getCases_WhenMoreCasesFollow_ShouldReturnCursorOfLastCase() {
+        CaseFilterDTO filter = new CaseFilterDTO();
+        Case c = new Case();
+        c.setId(UUID.randomUUID());
+        c.setDate(LocalDate.of(2025, 7, 1));
+        when(caseService.getCases(filter, null, 1)).thenReturn(Window.from(List.of(c), ScrollPosition::offset, true));
+        when(caseResponseMapper.toCaseResponseDTO(c, List.of())).thenReturn(new CaseResponseDTO());
+
+        ResponseEntity<CasePageDTO> response = caseController.getCases(filter, null, 1);
+
+        CaseCursor cursor = CaseCursor.decode(response.getBody().getNextCursor());
+        assertEquals(c.getDate(), cursor.getDate());
+        assertEquals(c.getId(), cursor.getId());
     }
 
     @Test
@@ -53,7 +86,7 @@ public class CaseControllerTest {
         Case c = new Case();
         CaseResponseDTO dto = new CaseResponseDTO();
         when(caseService.getCaseById(id)).thenReturn(Optional.of(c));
-        when(caseResponseMapper.toCaseResponseDTO(c)).thenReturn(dto);
+        when(caseResponseMapper.toCaseResponseDTO(c, List.of())).thenReturn(dto);
 
         ResponseEntity<CaseResponseDTO> response = caseController.getCaseById(id);
 
@@ -61,6 +94,22 @@ public class CaseControllerTest {
         assertEquals(dto, response.getBody());
     }
 
+    @Test
+    void getCaseById_WhenCaseHasDocuments_ShouldReturnTheirIds() {
+        UUID id = UUID.randomUUID();
+        UUID documentId = UUID.randomUUID();
+        Case c = new Case();
+        c.setId(id);
+        CaseResponseDTO dto = new CaseResponseDTO();
+        when(caseService.getCaseById(id)).thenReturn(Optional.of(c));
+        when(caseService.getDocumentIdsByCase(List.of(id))).thenReturn(Map.of(id, List.of(documentId)));
+        when(caseResponseMapper.toCaseResponseDTO(c, List.of(documentId))).thenReturn(dto);
+
+        ResponseEntity<CaseResponseDTO> response = caseController.getCaseById(id);
+
+        assertEquals(dto, response.getBody());
+    }
+
     @Test
     void getCaseById_WhenNotFound_ShouldReturnNotFound() {
         UUID id = UUID.randomUUID();
@@ -78,7 +127,7 @@ public class CaseControllerTest {
         Case created = new Case();
         CaseResponseDTO responseDTO = new CaseResponseDTO();
         when(caseService.createCase(dto)).thenReturn(created);
-        when(caseResponseMapper.toCaseResponseDTO(created)).thenReturn(responseDTO);
+        when(caseResponseMapper.toCaseResponseDTO(created, List.of())).thenReturn(responseDTO);
 
         ResponseEntity<CaseResponseDTO> response = caseController.createCase(dto);
 
@@ -137,7 +186,7 @@ public class CaseControllerTest {
 
         when(caseService.assignEmployee(caseId, empId)).thenReturn(changed);
         when(caseService.setCaseStatus(caseId, Statuses.ASSIGNED)).thenReturn(assigned);
-        when(caseResponseMapper.toCaseResponseDTO(assigned)).thenReturn(responseDTO);
+        when(caseResponseMapper.toCaseResponseDTO(assigned, List.of())).thenReturn(responseDTO);
 
         ResponseEntity<CaseResponseDTO> response = caseController.assignEmployeeToCase(caseId, empId);
 
@@ -160,7 +209,7 @@ public class CaseControllerTest {
         Case c = new Case();
         CaseResponseDTO dto = new CaseResponseDTO();
         when(caseService.getCasesForClient(userId)).thenReturn(List.of(c));
-        when(caseResponseMapper.toCaseResponseDTO(c)).thenReturn(dto);
+        when(caseResponseMapper.toCaseResponseDTO(c, List.of())).thenReturn(dto);
 
         ResponseEntity<List<CaseResponseDTO>> response = caseController.getAllCasesForClient(userId);
 
@@ -183,7 +232,7 @@ public class CaseControllerTest {
         Case changed = new Case();
         CaseResponseDTO responseDTO = new CaseResponseDTO();
         when(caseService.setCaseStatus(caseId, status)).thenReturn(changed);
-        when(caseResponseMapper.toCaseResponseDTO(changed)).thenReturn(responseDTO);
+        when(caseResponseMapper.toCaseResponseDTO(changed, List.of())).thenReturn(responseDTO);
 
         ResponseEntity<CaseResponseDTO> response = caseController.setStatusForCase(caseId, status);
 
@@ -199,4 +248,29 @@ public class CaseControllerTest {
 
         assertThrows(CaseNotFoundException.class, () -> caseController.setStatusForCase(caseId, status));
     }
-}
\ No newline at end of file
+
+    @Test
+    void downloadDossier_ShouldStreamTheDossierAsAPdfAttachment() throws Exception {
+        UUID caseId = UUID.randomUUID();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("%PDF-dossier".getBytes());
+            return null;
+        }).when(caseDossierService).writeDossier(eq(caseId), any());
+
+        caseController.downloadDossier(caseId, response);
+
+        assertEquals("application/pdf", response.getContentType());
+        assertTrue(response.getHeader(HttpHeaders.CONTENT_DISPOSITION).startsWith("attachment"));
+        assertTrue(response.getHeader(HttpHeaders.CONTENT_DISPOSITION).contains("dossier-" + caseId + ".pdf"));
+        assertEquals("%PDF-dossier", response.getContentAsString());
+    }
+
+    @Test
+    void downloadDossier_WhenCaseNotFound_ShouldThrowException() throws Exception {
+        UUID caseId = UUID.randomUUID();
+        doThrow(new CaseNotFoundException()).when(caseDossierService).writeDossier(eq(caseId), any());
+
+        assertThrows(CaseNotFoundException.class, () -> caseController.downloadDossier(caseId, new MockHttpServletResponse()));
+    }
+}
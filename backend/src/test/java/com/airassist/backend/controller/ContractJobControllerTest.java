@@ -0,0 +1,93 @@
+package com.airassist.backend.controller;
+
+import com.airassist.backend.dto.contract.ContractJobDTO;
+import com.airassist.backend.dto.contract.CreateContractJobDTO;
+import com.airassist.backend.exception.contract.ContractJobNotFinishedException;
+import com.airassist.backend.exception.contract.ContractJobNotFoundException;
+import com.airassist.backend.model.enums.ContractJobStatuses;
+import com.airassist.backend.service.ContractJobService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+public class ContractJobControllerTest {
+    @Mock
+    private ContractJobService contractJobService;
+
+    @InjectMocks
+    private ContractJobController contractJobController;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void createJob_ShouldSubmitTheCasesAsTheCurrentUserAndReturnAccepted() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/contract-jobs");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        List<UUID> caseIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        ContractJobDTO job = job(ContractJobStatuses.RUNNING);
+        when(contractJobService.submit(caseIds, "employee@example.com")).thenReturn(job);
+
+        var response = contractJobController.createJob(new CreateContractJobDTO(caseIds),
+                new UsernamePasswordAuthenticationToken("employee@example.com", null));
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(job, response.getBody());
+        assertEquals("http://localhost/api/contract-jobs/" + job.getId(), response.getHeaders().getLocation().toString());
+    }
+
+    @Test
+    void getJob_WhenNotFound_ShouldThrowException() {
+        UUID jobId = UUID.randomUUID();
+        when(contractJobService.getJob(jobId)).thenThrow(new ContractJobNotFoundException());
+
+        assertThrows(ContractJobNotFoundException.class, () -> contractJobController.getJob(jobId));
+    }
+
+    @Test
+    void downloadContracts_WhenTheJobIsRunning_ShouldThrowException() throws Exception {
+        ContractJobDTO job = job(ContractJobStatuses.RUNNING);
+        when(contractJobService.getJob(job.getId())).thenReturn(job);
+
+        assertThrows(ContractJobNotFinishedException.class, () -> contractJobController.downloadContracts(job.getId()));
+        verify(contractJobService, never()).writeContractsZip(any(), any());
+    }
+
+    @Test
+    void downloadContracts_WhenTheJobIsCompleted_ShouldStreamTheArchive() throws Exception {
+        ContractJobDTO job = job(ContractJobStatuses.COMPLETED);
+        when(contractJobService.getJob(job.getId())).thenReturn(job);
+
+        var response = contractJobController.downloadContracts(job.getId());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("application/zip", response.getHeaders().getContentType().toString());
+        assertTrue(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION).contains("contracts-" + job.getId() + ".zip"));
+        verify(contractJobService).writeContractsZip(job.getId(), outputStream);
+    }
+
+    private static ContractJobDTO job(ContractJobStatuses status) {
+        return new ContractJobDTO(UUID.randomUUID(), status, 2, 0, 2, 0, Instant.now(), null);
+    }
+}
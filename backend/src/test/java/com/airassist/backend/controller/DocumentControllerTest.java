@@ -1,6 +1,7 @@
 package com.airassist.backend.controller;
 
 import com.airassist.backend.dto.document.CreateDocumentDTO;
+import com.airassist.backend.dto.document.DocumentContentDTO;
 import com.airassist.backend.dto.document.DocumentDTO;
 import com.airassist.backend.dto.document.DocumentSummaryDTO;
 import com.airassist.backend.exception.document.DocumentNotFoundException;
@@ -11,9 +12,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.multipart.MultipartFile;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
@@ -52,6 +57,94 @@ public class DocumentControllerTest {
         assertEquals(dto, response.getBody());
     }
 
+    @Test
+    void downloadDocument_WhenNoRange_ShouldStreamWholeContent() throws IOException {
+        UUID documentId = UUID.randomUUID();
+        DocumentContentDTO content = contentOfSize(10);
+        when(documentService.getDocumentContent(documentId)).thenReturn(content);
+
+        var response = documentController.downloadDocument(documentId, null, null, null);
+        response.getBody().writeTo(new ByteArrayOutputStream());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(10, response.getHeaders().getContentLength());
+        assertEquals(MediaType.APPLICATION_PDF, response.getHeaders().getContentType());
+        assertEquals("\"" + content.getSha256() + "\"", response.getHeaders().getETag());
+        assertEquals("bytes", response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES));
+        verify(documentService).writeDocumentContent(eq(content), eq(0L), eq(10L), any());
+    }
+
+    @Test
+    void downloadDocument_WhenRangeIsSatisfiable_ShouldReturnPartialContent() throws IOException {
+        UUID documentId = UUID.randomUUID();
+        DocumentContentDTO content = contentOfSize(10);
+        when(documentService.getDocumentContent(documentId)).thenReturn(content);
+
+        var response = documentController.downloadDocument(documentId, "bytes=2-5", null, null);
+        response.getBody().writeTo(new ByteArrayOutputStream());
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals(4, response.getHeaders().getContentLength());
+        assertEquals("bytes 2-5/10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        verify(documentService).writeDocumentContent(eq(content), eq(2L), eq(4L), any());
+    }
+
+    @Test
+    void downloadDocument_WhenSuffixRange_ShouldReturnLastBytes() throws IOException {
+        UUID documentId = UUID.randomUUID();
+        DocumentContentDTO content = contentOfSize(10);
+        when(documentService.getDocumentContent(documentId)).thenReturn(content);
+
+        var response = documentController.downloadDocument(documentId, "bytes=-3", null, null);
+        response.getBody().writeTo(new ByteArrayOutputStream());
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("bytes 7-9/10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        verify(documentService).writeDocumentContent(eq(content), eq(7L), eq(3L), any());
+    }
+
+    @Test
+    void downloadDocument_WhenRangeIsNotSatisfiable_ShouldReturn416() {
+        UUID documentId = UUID.randomUUID();
+        when(documentService.getDocumentContent(documentId)).thenReturn(contentOfSize(10));
+
+        var response = documentController.downloadDocument(documentId, "bytes=10-20", null, null);
+
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatusCode());
+        assertEquals("bytes */10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void downloadDocument_WhenIfRangeDoesNotMatch_ShouldIgnoreRange() {
+        UUID documentId = UUID.randomUUID();
+        when(documentService.getDocumentContent(documentId)).thenReturn(contentOfSize(10));
+
+        var response = documentController.downloadDocument(documentId, "bytes=2-5", null, "\"stale\"");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(10, response.getHeaders().getContentLength());
+    }
+
+    @Test
+    void downloadDocument_WhenETagMatches_ShouldReturnNotModified() {
+        UUID documentId = UUID.randomUUID();
+        DocumentContentDTO content = contentOfSize(10);
+        when(documentService.getDocumentContent(documentId)).thenReturn(content);
+
+        var response = documentController.downloadDocument(documentId, null, "W/\"other\", \"" + content.getSha256() + "\"", null);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void downloadDocument_WhenNotFound_ShouldThrowException() {
+        UUID documentId = UUID.randomUUID();
+        when(documentService.getDocumentContent(documentId)).thenThrow(new DocumentNotFoundException());
+        assertThrows(DocumentNotFoundException.class, () -> documentController.downloadDocument(documentId, null, null, null));
+    }
+
     @Test
     void getDocumentsForCase_WhenNoDocuments_ShouldReturnEmptyList() {
         UUID caseId = UUID.randomUUID();
@@ -128,4 +221,8 @@ public class DocumentControllerTest {
         assertNull(response.getBody());
         assertEquals(204, response.getStatusCodeValue());
     }
+
+    private DocumentContentDTO contentOfSize(long size) {
+        return new DocumentContentDTO("boarding-pass.pdf", "application/pdf", size, "d".repeat(64), "d".repeat(64));
+    }
 }
@@ -6,11 +6,13 @@ import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 class PdfControllerTest {
@@ -27,29 +29,37 @@ class PdfControllerTest {
     }
 
     @Test
-    void generatePdf_ShouldReturnPdfResponse() throws Exception {
+    void generatePdf_ShouldStreamThePdfToTheResponse() throws Exception {
         String template = "testTemplate";
         Map<String, Object> data = new HashMap<>();
         byte[] pdfBytes = new byte[]{1, 2, 3};
+        MockHttpServletResponse response = new MockHttpServletResponse();
 
-        when(pdfService.generatePdf(template, data)).thenReturn(pdfBytes);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(2).write(pdfBytes);
+            return null;
+        }).when(pdfService).writePdf(eq(template), eq(data), any(OutputStream.class));
 
-        ResponseEntity<byte[]> response = pdfController.generatePdf(template, data);
+        pdfController.generatePdf(template, data, response);
 
-        assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertArrayEquals(pdfBytes, response.getBody());
-        assertTrue(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION).contains("contract.pdf"));
-        verify(pdfService).generatePdf(template, data);
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals("application/pdf", response.getContentType());
+        assertArrayEquals(pdfBytes, response.getContentAsByteArray());
+        assertTrue(response.getHeader(HttpHeaders.CONTENT_DISPOSITION).contains("contract.pdf"));
+        assertNull(response.getHeader(HttpHeaders.CONTENT_LENGTH));
+        verify(pdfService).writePdf(eq(template), eq(data), same(response.getOutputStream()));
     }
 
     @Test
     void generatePdf_WhenPdfServiceThrowsIOException_ShouldPropagate() throws Exception {
         String template = "testTemplate";
         Map<String, Object> data = new HashMap<>();
+        MockHttpServletResponse response = new MockHttpServletResponse();
 
-        when(pdfService.generatePdf(template, data)).thenThrow(new IOException("fail"));
+        doThrow(new IOException("fail")).when(pdfService).writePdf(eq(template), eq(data), any(OutputStream.class));
 
-        assertThrows(IOException.class, () -> pdfController.generatePdf(template, data));
-        verify(pdfService).generatePdf(template, data);
+        assertThrows(IOException.class, () -> pdfController.generatePdf(template, data, response));
+        assertEquals(0, response.getContentAsByteArray().length);
+        verify(pdfService).writePdf(eq(template), eq(data), any(OutputStream.class));
     }
-}
\ No newline at end of file
+}
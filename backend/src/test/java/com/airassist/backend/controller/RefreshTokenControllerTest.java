@@ -0,0 +1,57 @@
+package com.airassist.backend.controller;
+
+import com.airassist.backend.dto.auth.RefreshTokenRequest;
+import com.airassist.backend.dto.auth.TokenRefreshResponse;
+import com.airassist.backend.exception.auth.InvalidTokenException;
+import com.airassist.backend.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RefreshTokenControllerTest {
+
+    @Mock
+    private AuthService authService;
+
+    @InjectMocks
+    private RefreshTokenController refreshTokenController;
+
+    @Test
+    void refreshToken_WhenValid_ShouldReturnNewTokens() throws Exception {
+        TokenRefreshResponse tokens = new TokenRefreshResponse("access", "refresh-2");
+        when(authService.refresh("refresh-1")).thenReturn(tokens);
+
+        ResponseEntity<TokenRefreshResponse> response = refreshTokenController.refreshToken(request("refresh-1"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(tokens, response.getBody());
+    }
+
+    @Test
+    void refreshToken_WhenInvalid_ShouldThrowInvalidTokenException() throws Exception {
+        when(authService.refresh("refresh-1")).thenThrow(new InvalidTokenException());
+
+        assertThrows(InvalidTokenException.class, () -> refreshTokenController.refreshToken(request("refresh-1")));
+    }
+
+    @Test
+    void revokeToken_ShouldSignOutAndReturnNoContent() {
+        ResponseEntity<Void> response = refreshTokenController.revokeToken(request("refresh-1"));
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(authService).signOut("refresh-1");
+    }
+
+    private static RefreshTokenRequest request(String refreshToken) {
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken(refreshToken);
+        return request;
+    }
+}
@@ -0,0 +1,125 @@
+package com.airassist.backend.filters;
+
+import com.airassist.backend.exception.auth.InvalidTokenException;
+import com.airassist.backend.model.AuthenticatedUser;
+import com.airassist.backend.model.enums.Roles;
+import com.airassist.backend.service.AuthService;
+import com.airassist.backend.service.CustomUserDetailsService;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class JwtAuthFilterTest {
+
+    @Mock
+    private AuthService authService;
+    @Mock
+    private CustomUserDetailsService customUserDetailsService;
+    @Mock
+    private FilterChain filterChain;
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private AuthenticatedUser user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token");
+        response = new MockHttpServletResponse();
+        user = new AuthenticatedUser(UUID.randomUUID(), "user@example.com", Roles.USER, UUID.randomUUID());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_WhenTokenIsValid_ShouldAuthenticateFromClaimsOnly() throws Exception {
+        when(authService.authenticate("token")).thenReturn(user);
+
+        new JwtAuthFilter(authService, customUserDetailsService, false).doFilter(request, response, filterChain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertSame(user, authentication.getPrincipal());
+        assertEquals("user@example.com", authentication.getName());
+        assertEquals(user.getAuthorities(), List.copyOf(authentication.getAuthorities()));
+        verify(authService, times(1)).authenticate("token");
+        verifyNoInteractions(customUserDetailsService);
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilter_WhenNoToken_ShouldContinueUnauthenticated() throws Exception {
+        MockHttpServletRequest anonymous = new MockHttpServletRequest();
+
+        new JwtAuthFilter(authService, customUserDetailsService, false).doFilter(anonymous, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(authService);
+        verify(filterChain).doFilter(anonymous, response);
+    }
+
+    @Test
+    void doFilter_WhenTokenIsInvalid_ShouldRespondUnauthorized() throws Exception {
+        when(authService.authenticate("token")).thenThrow(new InvalidTokenException());
+
+        new JwtAuthFilter(authService, customUserDetailsService, false).doFilter(request, response, filterChain);
+
+        assertEquals(401, response.getStatus());
+        assertEquals("application/problem+json", response.getContentType());
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    void doFilter_WhenVerifyingAndRoleMatches_ShouldAuthenticate() throws Exception {
+        when(authService.authenticate("token")).thenReturn(user);
+        when(customUserDetailsService.loadUserByUsername("user@example.com"))
+                .thenReturn(new User("user@example.com", "hash", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+
+        new JwtAuthFilter(authService, customUserDetailsService, true).doFilter(request, response, filterChain);
+
+        assertSame(user, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilter_WhenVerifyingAndRoleChanged_ShouldRespondUnauthorized() throws Exception {
+        when(authService.authenticate("token")).thenReturn(user);
+        when(customUserDetailsService.loadUserByUsername("user@example.com"))
+                .thenReturn(new User("user@example.com", "hash", List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+
+        new JwtAuthFilter(authService, customUserDetailsService, true).doFilter(request, response, filterChain);
+
+        assertEquals(401, response.getStatus());
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    void doFilter_WhenVerifyingAndUserWasDeleted_ShouldRespondUnauthorized() throws Exception {
+        when(authService.authenticate("token")).thenReturn(user);
+        when(customUserDetailsService.loadUserByUsername("user@example.com"))
+                .thenThrow(new UsernameNotFoundException("user@example.com"));
+
+        new JwtAuthFilter(authService, customUserDetailsService, true).doFilter(request, response, filterChain);
+
+        assertEquals(401, response.getStatus());
+        verifyNoInteractions(filterChain);
+    }
+}
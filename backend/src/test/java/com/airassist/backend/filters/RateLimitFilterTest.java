@@ -0,0 +1,149 @@
+package com.airassist.backend.filters;
+
+import com.airassist.backend.ratelimit.InMemoryRateLimitStore;
+import com.airassist.backend.ratelimit.RateLimitRule;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimitFilterTest {
+
+    private RateLimitFilter rateLimitFilter;
+    private final List<String> forwardedBodies = new ArrayList<>();
+    private final FilterChain filterChain = (request, response) -> forwardedBodies.add(readBody(request));
+
+    @BeforeEach
+    void setUp() {
+        rateLimitFilter = new RateLimitFilter(new InMemoryRateLimitStore(1000), List.of(
+                RateLimitRule.perMinute("sign-in-ip", HttpMethod.POST, "/api/auth/sign-in", RateLimitRule.KeyType.IP, 3),
+                RateLimitRule.perMinute("sign-in-ip-email", HttpMethod.POST, "/api/auth/sign-in", RateLimitRule.KeyType.IP_AND_EMAIL, 2),
+                RateLimitRule.perMinute("airports-ip", null, "/api/airports/**", RateLimitRule.KeyType.IP, 1)
+        ));
+    }
+
+    @Test
+    void doFilter_WhenIpExceedsTheLimit_ShouldRespondTooManyRequests() throws Exception {
+        assertEquals(200, filter(request("GET", "/api/airports/fetch", "10.0.0.1", null)).getStatus());
+
+        MockHttpServletResponse response = filter(request("GET", "/api/airports/search", "10.0.0.1", null));
+
+        assertEquals(429, response.getStatus());
+        assertEquals("60", response.getHeader("Retry-After"));
+        assertEquals("application/problem+json", response.getContentType());
+        assertTrue(response.getContentAsString().contains("api-errors.too-many-requests"));
+        assertEquals(200, filter(request("GET", "/api/airports/fetch", "10.0.0.2", null)).getStatus());
+    }
+
+    @Test
+    void doFilter_WhenAnIpExceedsTheLimitForAnEmail_ShouldRespondTooManyRequests() throws Exception {
+        assertEquals(200, filter(signIn("10.0.0.1", "User@Example.com")).getStatus());
+        assertEquals(200, filter(signIn("10.0.0.1", "user@example.com")).getStatus());
+
+        assertEquals(429, filter(signIn("10.0.0.1", "user@example.com")).getStatus());
+        assertEquals(200, filter(signIn("10.0.0.2", "user@example.com")).getStatus());
+    }
+
+    @Test
+    void doFilter_WhenOtherIpsUseUpAnEmailLimit_ShouldNotLockItsUserOut() throws Exception {
+        for (int i = 2; i < 10; i++) {
+            filter(signIn("10.0.0." + i, "user@example.com"));
+            filter(signIn("10.0.0." + i, "user@example.com"));
+            filter(signIn("10.0.0." + i, "user@example.com"));
+        }
+
+        assertEquals(200, filter(signIn("10.0.0.1", "user@example.com")).getStatus());
+    }
+
+    @Test
+    void doFilter_AfterReadingTheEmail_ShouldForwardTheWholeBody() throws Exception {
+        MockHttpServletRequest request = signIn("10.0.0.1", "user@example.com");
+
+        filter(request);
+
+        assertEquals(List.of("{\"email\":\"user@example.com\",\"password\":\"secret\"}"), forwardedBodies);
+    }
+
+    @Test
+    void doFilter_AfterReadingTheEmail_ShouldSupportNonBlockingReads() throws Exception {
+        StringBuilder body = new StringBuilder();
+        AtomicBoolean allDataRead = new AtomicBoolean();
+        FilterChain nonBlockingChain = (request, response) -> {
+            ServletInputStream in = request.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    byte[] buffer = new byte[8];
+                    while (in.isReady() && !in.isFinished()) {
+                        int read = in.read(buffer);
+                        if (read > 0) {
+                            body.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+                        }
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allDataRead.set(true);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    fail(throwable);
+                }
+            });
+        };
+
+        rateLimitFilter.doFilter(signIn("10.0.0.1", "user@example.com"), new MockHttpServletResponse(), nonBlockingChain);
+
+        assertEquals("{\"email\":\"user@example.com\",\"password\":\"secret\"}", body.toString());
+        assertTrue(allDataRead.get());
+    }
+
+    @Test
+    void doFilter_WhenNoRuleMatches_ShouldNotLimit() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, filter(request("GET", "/api/cases", "10.0.0.1", null)).getStatus());
+            assertEquals(200, filter(request("OPTIONS", "/api/airports/fetch", "10.0.0.1", null)).getStatus());
+        }
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, filterChain);
+        return response;
+    }
+
+    private static MockHttpServletRequest signIn(String ip, String email) {
+        return request("POST", "/api/auth/sign-in", ip, "{\"email\":\"" + email + "\",\"password\":\"secret\"}");
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String ip, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(ip);
+        if (body != null) {
+            request.setContentType("application/json");
+            request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return request;
+    }
+
+    private static String readBody(ServletRequest request) {
+        try {
+            return new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
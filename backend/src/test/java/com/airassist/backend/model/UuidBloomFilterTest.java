@@ -0,0 +1,41 @@
+package com.airassist.backend.model;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UuidBloomFilterTest {
+
+    @Test
+    void mightContain_ShouldFindEveryAddedId() {
+        UuidBloomFilter filter = new UuidBloomFilter(10_000, 0.001);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            filter.add(id);
+        }
+
+        ids.forEach(id -> assertTrue(filter.mightContain(id)));
+    }
+
+    @Test
+    void mightContain_ShouldRarelyReportIdsThatWereNotAdded() {
+        UuidBloomFilter filter = new UuidBloomFilter(10_000, 0.001);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(UUID.randomUUID());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        assertEquals(10, filter.getHashCount());
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
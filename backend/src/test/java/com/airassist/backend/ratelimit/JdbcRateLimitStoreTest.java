@@ -0,0 +1,51 @@
+package com.airassist.backend.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.HttpMethod;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+public class JdbcRateLimitStoreTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JdbcRateLimitStore store;
+    private final RateLimitRule rule = RateLimitRule.perMinute("sign-in-ip", HttpMethod.POST, "/api/auth/sign-in", RateLimitRule.KeyType.IP, 3);
+
+    @BeforeEach
+    void setUp() {
+        store = new JdbcRateLimitStore(jdbcTemplate);
+        store.init();
+    }
+
+    @Test
+    void tryAcquire_ShouldAllowTheBurstThenReportTheWait() {
+        assertEquals(0, store.tryAcquire(rule, "10.0.0.1"));
+        assertEquals(0, store.tryAcquire(rule, "10.0.0.1"));
+        assertEquals(0, store.tryAcquire(rule, "10.0.0.1"));
+
+        long waitNanos = store.tryAcquire(rule, "10.0.0.1");
+
+        assertTrue(waitNanos > 0);
+        assertTrue(waitNanos <= 20_000_000_000L);
+        assertEquals(0, store.tryAcquire(rule, "10.0.0.2"));
+    }
+
+    @Test
+    void deleteFullBuckets_ShouldOnlyDeleteBucketsThatRefilled() {
+        store.tryAcquire(rule, "10.0.0.1");
+        jdbcTemplate.update("INSERT INTO rate_limit_buckets (bucket_key, empty_at) VALUES (?, ?)", "sign-in-ip:old", 0L);
+
+        store.deleteFullBuckets();
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rate_limit_buckets", Integer.class));
+    }
+}
@@ -0,0 +1,94 @@
+package com.airassist.backend.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void tryAcquire_ShouldAllowBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1, now::get);
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillAtTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(1, 2, now::get);
+        assertTrue(bucket.tryAcquire());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(400));
+        assertFalse(bucket.tryAcquire());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(bucket.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_ShouldNotAccumulateMoreThanCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 10, now::get);
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    void acquire_WhenEmpty_ShouldWaitForRefill() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1, 50);
+        bucket.acquire();
+
+        long start = System.nanoTime();
+        bucket.acquire();
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(15));
+    }
+
+    @Test
+    void constructor_WhenRateIsNotPositive_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+    }
+
+    @Test
+    void tryAcquireOrGetWaitNanos_WhenEmpty_ShouldReturnTimeUntilNextToken() {
+        TokenBucket bucket = new TokenBucket(2, 1, now::get);
+        assertEquals(0, bucket.tryAcquireOrGetWaitNanos());
+        assertEquals(0, bucket.tryAcquireOrGetWaitNanos());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(750), bucket.tryAcquireOrGetWaitNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1750), bucket.nanosUntilFull());
+    }
+
+    @Test
+    void tryAcquire_FromManyThreads_ShouldNeverHandOutMoreThanCapacity() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(100, 1, now::get);
+        AtomicInteger acquired = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> {
+                if (bucket.tryAcquire()) {
+                    acquired.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, acquired.get());
+    }
+}
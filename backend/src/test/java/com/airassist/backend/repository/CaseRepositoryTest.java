@@ -0,0 +1,177 @@
+package com.airassist.backend.repository;
+
+import com.airassist.backend.dto.cases.CaseCursor;
+import com.airassist.backend.dto.cases.CaseFilterDTO;
+import com.airassist.backend.dto.cases.CaseResponseDTO;
+import com.airassist.backend.mapper.CaseResponseMapper;
+import com.airassist.backend.mapper.CaseResponseMapperImpl;
+import com.airassist.backend.mapper.UserMapperImpl;
+import com.airassist.backend.model.*;
+import com.airassist.backend.model.enums.DisruptionReasons;
+import com.airassist.backend.model.enums.DocumentTypes;
+import com.airassist.backend.model.enums.Roles;
+import com.airassist.backend.model.enums.Statuses;
+import com.airassist.backend.service.impl.CaseServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Window;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@Import({CaseResponseMapperImpl.class, UserMapperImpl.class})
+class CaseRepositoryTest {
+
+    @Autowired
+    private CaseRepository caseRepository;
+    @Autowired
+    private DocumentRepository documentRepository;
+    @Autowired
+    private CaseResponseMapper caseResponseMapper;
+    @Autowired
+    private EntityManager entityManager;
+
+    private CaseServiceImpl caseService;
+    private Statistics statistics;
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        caseService = new CaseServiceImpl(caseRepository, null, null, null, null, documentRepository);
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getCases_WhenPageGrows_ShouldKeepStatementCountConstant() {
+        User employee = persistUser(Roles.EMPLOYEE);
+        for (int i = 0; i < 30; i++) {
+            persistCase(employee);
+        }
+
+        long smallPageStatements = countStatementsForPage(5);
+        long largePageStatements = countStatementsForPage(30);
+
+        assertEquals(smallPageStatements, largePageStatements);
+        assertTrue(largePageStatements <= 4, "unexpected statement count: " + largePageStatements);
+    }
+
+    @Test
+    void getCases_WhenFollowingCursor_ShouldVisitEveryMatchingCaseOnce() {
+        User employee = persistUser(Roles.EMPLOYEE);
+        for (int i = 0; i < 7; i++) {
+            persistCase(i % 2 == 0 ? employee : null);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        CaseFilterDTO filter = new CaseFilterDTO();
+        filter.setAssignedColleagueId(employee.getId());
+        List<Case> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            Window<Case> page = caseService.getCases(filter, cursor, 3);
+            visited.addAll(page.getContent());
+            cursor = page.hasNext() ? CaseCursor.of(page.getContent().getLast()).encode() : null;
+        } while (cursor != null);
+
+        assertEquals(4, visited.size());
+        assertEquals(4, visited.stream().map(Case::getId).distinct().count());
+        for (int i = 1; i < visited.size(); i++) {
+            assertFalse(visited.get(i).getDate().isAfter(visited.get(i - 1).getDate()));
+        }
+    }
+
+    @Test
+    void findWithAssociationsById_WhenMapped_ShouldNotLazyLoadPerAssociation() {
+        persistCase(persistUser(Roles.EMPLOYEE));
+        Case persisted = caseRepository.findAll().getFirst();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        CaseResponseDTO response = caseResponseMapper.toCaseResponseDTO(caseRepository.findWithAssociationsById(persisted.getId()).orElseThrow(), List.of());
+
+        assertNotNull(response.getAssignedColleague().getUserDetails());
+        assertEquals(2, response.getReservation().getFlights().size());
+        assertTrue(statistics.getPrepareStatementCount() <= 3, "unexpected statement count: " + statistics.getPrepareStatementCount());
+    }
+
+    private long countStatementsForPage(int size) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        Window<Case> page = caseService.getCases(new CaseFilterDTO(), null, size);
+        Map<UUID, List<UUID>> documentIds = caseService.getDocumentIdsByCase(page.getContent().stream().map(Case::getId).toList());
+        List<CaseResponseDTO> responses = page.getContent().stream()
+                .map(caseEntity -> caseResponseMapper.toCaseResponseDTO(caseEntity, documentIds.get(caseEntity.getId())))
+                .toList();
+
+        assertEquals(size, responses.size());
+        responses.forEach(response -> {
+            assertNotNull(response.getClient().getUserDetails());
+            assertEquals(2, response.getReservation().getFlights().size());
+            assertEquals(1, response.getDocumentIds().size());
+        });
+        assertEquals(0, statistics.getEntityStatistics(Document.class.getName()).getLoadCount());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User persistUser(Roles role) {
+        int id = ++sequence;
+        UserDetails details = new UserDetails(null, "+4070000" + String.format("%04d", id), "Street " + id, "400000", LocalDate.of(1990, 1, 1));
+        User user = new User(null, "user" + id + "@airassist.eu", "secret", "First", "Last", role, details, null, null, false);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private void persistCase(User assignedColleague) {
+        int id = ++sequence;
+        Reservation reservation = new Reservation(null, String.format("R%05d", id), new ArrayList<>(), null);
+        for (int i = 0; i < 2; i++) {
+            Flight flight = new Flight(null, LocalDate.of(2025, 1, 1), "RO" + id, "OTP", "CLJ",
+                    LocalDateTime.of(2025, 1, 1, 10, 0), LocalDateTime.of(2025, 1, 1, 11, 0), reservation, "TAROM", i == 0);
+            reservation.getFlights().add(flight);
+        }
+        Beneficiary beneficiary = new Beneficiary(null, "Bene", "Ficiary", "Street " + id, "400000", false);
+
+        Case caseEntity = Case.builder()
+                .status(Statuses.VALID)
+                .disruptionReason(DisruptionReasons.ARRIVED_3H_LATE)
+                .disruptionInfo("Delayed")
+                .date(LocalDate.of(2025, 1, 1).plusDays(id))
+                .client(persistUser(Roles.USER))
+                .assignedColleague(assignedColleague)
+                .reservation(reservation)
+                .beneficiary(beneficiary)
+                .documentList(new ArrayList<>())
+                .build();
+
+        Document document = new Document();
+        document.setName("boarding-pass");
+        document.setType(DocumentTypes.PDF);
+        document.setContentType(DocumentTypes.PDF.getContentType());
+        document.setSize(3L);
+        document.setSha256("0".repeat(64));
+        document.setStorageKey("0".repeat(64));
+        document.setCaseEntity(caseEntity);
+        caseEntity.getDocumentList().add(document);
+
+        entityManager.persist(caseEntity);
+    }
+}
@@ -0,0 +1,145 @@
+package com.airassist.backend.service;
+
+import com.airassist.backend.model.Airport;
+import com.airassist.backend.repository.AirportRepository;
+import com.airassist.backend.service.impl.AirportApiFetchServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AirportApiFetchServiceTest {
+
+    @InjectMocks
+    private AirportApiFetchServiceImpl service;
+
+    @Mock
+    private AirportRepository airportRepository;
+
+    private final Airport cluj = new Airport("CLJ", "Cluj-Napoca International Airport", "Cluj-Napoca", "Romania", 46.785167, 23.686167);
+    private final Airport otopeni = new Airport("OTP", "Henri Coanda International Airport", "Bucharest", "Romania", 44.5711, 26.085);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    void getAirports_BeforeFirstLoad_ShouldReturnEmptyList() {
+        assertTrue(service.getAirports().isEmpty());
+        verifyNoInteractions(airportRepository);
+    }
+
+    @Test
+    void getAirports_AfterReload_ShouldServeSortedAirportsFromMemory() throws Exception {
+        when(airportRepository.findAll()).thenReturn(List.of(otopeni, cluj));
+        service.reloadAirportIndex();
+
+        assertEquals(List.of(cluj, otopeni), service.getAirports());
+        assertEquals(List.of(cluj, otopeni), service.getAirports());
+        verify(airportRepository, times(1)).findAll();
+    }
+
+    @Test
+    void getAirports_ShouldNotBeModifiable() throws Exception {
+        when(airportRepository.findAll()).thenReturn(List.of(otopeni));
+        service.reloadAirportIndex();
+
+        assertThrows(UnsupportedOperationException.class, () -> service.getAirports().add(cluj));
+    }
+
+    @Test
+    void findAirport_ShouldLookUpByCode() throws Exception {
+        when(airportRepository.findAll()).thenReturn(List.of(otopeni, cluj));
+        service.reloadAirportIndex();
+
+        assertEquals(otopeni, service.findAirport("OTP").orElseThrow());
+        assertTrue(service.findAirport("XXX").isEmpty());
+        assertTrue(service.findAirport(null).isEmpty());
+    }
+
+    @Test
+    void reloadAirportIndex_ShouldReplaceThePreviousSnapshot() throws Exception {
+        when(airportRepository.findAll()).thenReturn(List.of(otopeni)).thenReturn(List.of(cluj));
+        service.reloadAirportIndex();
+        List<Airport> before = service.getAirports();
+
+        service.reloadAirportIndex();
+
+        assertEquals(List.of(otopeni), before);
+        assertEquals(List.of(cluj), service.getAirports());
+        assertTrue(service.findAirport("OTP").isEmpty());
+    }
+
+    @Test
+    void getAirportPayload_AfterReload_ShouldHoldSerializedAndCompressedList() throws Exception {
+        when(airportRepository.findAll()).thenReturn(List.of(otopeni, cluj));
+        service.reloadAirportIndex();
+
+        var payload = service.getAirportPayload();
+        String json = new String(payload.getJson(), StandardCharsets.UTF_8);
+
+        assertTrue(json.startsWith("[{\"code\":\"CLJ\""));
+        assertArrayEquals(payload.getJson(), gunzip(payload.getGzipJson()));
+        assertNotEquals(payload.getETag(), payload.getGzipETag());
+    }
+
+    @Test
+    void getAirportPayload_WhenAirportsChange_ShouldChangeETag() throws Exception {
+        when(airportRepository.findAll()).thenReturn(List.of(otopeni)).thenReturn(List.of(otopeni)).thenReturn(List.of(cluj));
+        service.reloadAirportIndex();
+        String first = service.getAirportPayload().getETag();
+        service.reloadAirportIndex();
+        String unchanged = service.getAirportPayload().getETag();
+        service.reloadAirportIndex();
+
+        assertEquals(first, unchanged);
+        assertNotEquals(first, service.getAirportPayload().getETag());
+    }
+
+    @Test
+    void searchAirports_ShouldMatchCodeCityAndNamePrefixes() throws Exception {
+        Airport sibiu = new Airport("SBZ", "Sibiu International Airport", "Sibiu", "Romania", 45.785597, 24.091342);
+        Airport iasi = new Airport("IAS", "Iași International Airport", "Iași", "Romania", 47.178492, 27.620631);
+        when(airportRepository.findAll()).thenReturn(List.of(otopeni, cluj, sibiu, iasi));
+        service.reloadAirportIndex();
+
+        assertEquals(List.of(otopeni), service.searchAirports("otp", 10));
+        assertEquals(List.of(cluj), service.searchAirports("CLUJ", 10));
+        assertEquals(List.of(otopeni), service.searchAirports("henri co", 10));
+        assertEquals(List.of(otopeni), service.searchAirports("coanda", 10));
+        assertEquals(List.of(iasi), service.searchAirports("iasi", 10));
+        assertEquals(List.of(iasi), service.searchAirports("IAȘI", 10));
+        assertTrue(service.searchAirports("xyz", 10).isEmpty());
+        assertTrue(service.searchAirports("  ", 10).isEmpty());
+    }
+
+    @Test
+    void searchAirports_ShouldRankCodeMatchesFirstAndRespectLimit() throws Exception {
+        Airport sibiu = new Airport("SBZ", "Sibiu International Airport", "Sibiu", "Romania", 45.785597, 24.091342);
+        Airport sydney = new Airport("SYD", "Sydney Kingsford Smith International Airport", "Sydney", "Australia", -33.946111, 151.177222);
+        Airport stockholm = new Airport("ARN", "Stockholm-Arlanda Airport", "Stockholm", "Sweden", 59.651944, 17.918611);
+        when(airportRepository.findAll()).thenReturn(List.of(stockholm, sydney, sibiu));
+        service.reloadAirportIndex();
+
+        assertEquals(List.of(sibiu, sydney, stockholm), service.searchAirports("s", 10));
+        assertEquals(List.of(sibiu, sydney), service.searchAirports("s", 2));
+        assertEquals(List.of(sydney), service.searchAirports("syd", 10));
+        assertEquals(1, service.searchAirports("s", 0).size());
+    }
+
+    private static byte[] gunzip(byte[] content) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.airassist.backend.service;
+
+import com.airassist.backend.exception.airport.InvalidAirportDetailsException;
+import com.airassist.backend.model.Airport;
+import com.airassist.backend.service.impl.AirportApiServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import java.util.Map;
+import java.util.Optional;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AirportApiServiceTest {
+
+    @InjectMocks
+    private AirportApiServiceImpl service;
+
+    @Mock
+    private AirportApiFetchService airportApiFetchService;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private final Airport otopeni = new Airport("OTP", "Henri Coanda International Airport", "Bucharest", "Romania", 44.5711, 26.085);
+    private final Airport cluj = new Airport("CLJ", "Cluj-Napoca International Airport", "Cluj-Napoca", "Romania", 46.785167, 23.686167);
+    private final Airport newYork = new Airport("JFK", "John F Kennedy International Airport", "New York", "United States", 40.639751, -73.778925);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(service, "airportApiUrl", "http://mock.api/distance");
+        ReflectionTestUtils.setField(service, "restTemplate", restTemplate);
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    void getDistance_WhenAirportsHaveCoordinates_ShouldComputeLocally() throws Exception {
+        when(airportApiFetchService.findAirport("OTP")).thenReturn(Optional.of(otopeni));
+        when(airportApiFetchService.findAirport("JFK")).thenReturn(Optional.of(newYork));
+
+        double distance = service.getDistance("OTP", "JFK");
+
+        assertEquals(7631, distance, 5);
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void getDistance_ShouldBeSymmetric() throws Exception {
+        when(airportApiFetchService.findAirport("OTP")).thenReturn(Optional.of(otopeni));
+        when(airportApiFetchService.findAirport("CLJ")).thenReturn(Optional.of(cluj));
+
+        assertEquals(service.getDistance("OTP", "CLJ"), service.getDistance("CLJ", "OTP"), 1e-9);
+        assertEquals(309, service.getDistance("OTP", "CLJ"), 5);
+    }
+
+    @Test
+    void greatCircleDistance_WhenOneDegreeAlongTheEquator_ShouldMatchEarthCircumference() {
+        Airport origin = new Airport("AAA", "A", "A", "A", 0.0, 0.0);
+        Airport east = new Airport("BBB", "B", "B", "B", 0.0, 1.0);
+
+        assertEquals(2 * Math.PI * 6371.0088 / 360, AirportApiServiceImpl.greatCircleDistance(origin, east), 1e-6);
+    }
+
+    @Test
+    void getDistance_WhenCoordinatesAreMissing_ShouldFallBackToApi() throws Exception {
+        Airport withoutCoordinates = new Airport("CLJ", "Cluj", "Cluj-Napoca", "Romania", null, null);
+        when(airportApiFetchService.findAirport("OTP")).thenReturn(Optional.of(otopeni));
+        when(airportApiFetchService.findAirport("CLJ")).thenReturn(Optional.of(withoutCoordinates));
+        when(restTemplate.postForObject(eq("http://mock.api/distance"), any(Map.class), eq(String.class)))
+                .thenReturn("{\"data\":{\"attributes\":{\"kilometers\":324.5}}}");
+
+        assertEquals(324.5, service.getDistance("OTP", "CLJ"));
+    }
+
+    @Test
+    void getDistance_WhenVerificationIsEnabled_ShouldAlsoCallApiAndReturnLocalDistance() throws Exception {
+        ReflectionTestUtils.setField(service, "verifyRemote", true);
+        when(airportApiFetchService.findAirport("OTP")).thenReturn(Optional.of(otopeni));
+        when(airportApiFetchService.findAirport("CLJ")).thenReturn(Optional.of(cluj));
+        when(restTemplate.postForObject(eq("http://mock.api/distance"), any(Map.class), eq(String.class)))
+                .thenReturn("{\"data\":{\"attributes\":{\"kilometers\":500.0}}}");
+
+        double distance = service.getDistance("OTP", "CLJ");
+
+        assertEquals(AirportApiServiceImpl.greatCircleDistance(otopeni, cluj), distance);
+        verify(restTemplate).postForObject(eq("http://mock.api/distance"), any(Map.class), eq(String.class));
+    }
+
+    @Test
+    void getDistance_WhenVerificationFails_ShouldReturnLocalDistance() throws Exception {
+        ReflectionTestUtils.setField(service, "verifyRemote", true);
+        when(airportApiFetchService.findAirport("OTP")).thenReturn(Optional.of(otopeni));
+        when(airportApiFetchService.findAirport("CLJ")).thenReturn(Optional.of(cluj));
+        when(restTemplate.postForObject(eq("http://mock.api/distance"), any(Map.class), eq(String.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        assertEquals(AirportApiServiceImpl.greatCircleDistance(otopeni, cluj), service.getDistance("OTP", "CLJ"));
+    }
+
+    @Test
+    void getDistance_WhenAirportIsUnknown_ShouldThrowInvalidAirportDetailsException() {
+        when(airportApiFetchService.findAirport("OTP")).thenReturn(Optional.of(otopeni));
+        when(airportApiFetchService.findAirport("XXX")).thenReturn(Optional.empty());
+
+        assertThrows(InvalidAirportDetailsException.class, () -> service.getDistance("OTP", "XXX"));
+    }
+
+    @Test
+    void getDistance_WhenCodesAreEqual_ShouldThrowInvalidAirportDetailsException() {
+        assertThrows(InvalidAirportDetailsException.class, () -> service.getDistance("OTP", "OTP"));
+        verifyNoInteractions(airportApiFetchService);
+    }
+
+    @Test
+    void calculateCompensation_ShouldFollowDistanceTiers() {
+        assertEquals(250, service.calculateCompensation(1499));
+        assertEquals(400, service.calculateCompensation(1500));
+        assertEquals(400, service.calculateCompensation(3500));
+        assertEquals(600, service.calculateCompensation(3501));
+    }
+}
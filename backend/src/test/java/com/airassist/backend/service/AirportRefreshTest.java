@@ -0,0 +1,144 @@
+package com.airassist.backend.service;
+
+import com.airassist.backend.model.Airport;
+import com.airassist.backend.repository.AirportRepository;
+import com.airassist.backend.service.impl.AirportApiFetchServiceImpl;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the airport refresh against a local stub of the airport API and an in-memory database.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+public class AirportRefreshTest {
+
+    private static final int PAGE_COUNT = 5;
+
+    @Autowired
+    private AirportRepository airportRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private HttpServer stubServer;
+    private String baseUrl;
+    private final Map<Integer, AtomicInteger> requestsPerPage = new ConcurrentHashMap<>();
+    private final Set<Integer> rateLimitedOnce = ConcurrentHashMap.newKeySet();
+    private volatile int failingPage = -1;
+
+    private AirportApiFetchServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubServer.createContext("/api/airports", this::handlePage);
+        stubServer.start();
+        baseUrl = "http://localhost:" + stubServer.getAddress().getPort() + "/api/airports";
+
+        service = new AirportApiFetchServiceImpl(airportRepository, jdbcTemplate, new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(service, "airportApiUrl", baseUrl);
+        ReflectionTestUtils.setField(service, "refreshConcurrency", 3);
+        ReflectionTestUtils.setField(service, "refreshRequestsPerSecond", 1000.0);
+        ReflectionTestUtils.setField(service, "refreshBurst", 10);
+        ReflectionTestUtils.invokeMethod(service, "init");
+
+        airportRepository.saveAndFlush(new Airport("OLD", "Old Airport", "Old City", "Nowhere", 0.0, 0.0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubServer.stop(0);
+    }
+
+    @Test
+    void fetchAirportDataInternal_ShouldFetchEveryPageAndReplaceTheTable() throws Exception {
+        rateLimitedOnce.add(3);
+
+        service.fetchAirportDataInternal();
+
+        Set<String> expectedCodes = IntStream.rangeClosed(1, PAGE_COUNT)
+                .boxed()
+                .flatMap(page -> Stream.of(code(page, 0), code(page, 1)))
+                .collect(Collectors.toSet());
+        assertEquals(expectedCodes, airportRepository.findAll().stream().map(Airport::getCode).collect(Collectors.toSet()));
+        assertEquals(PAGE_COUNT * 2, service.getAirports().size());
+        assertTrue(service.findAirport("OLD").isEmpty());
+        assertEquals(45.5, service.findAirport(code(2, 1)).orElseThrow().getLatitude());
+        assertEquals(2, requestsPerPage.get(3).get());
+        assertEquals(1, requestsPerPage.get(PAGE_COUNT).get());
+    }
+
+    @Test
+    void fetchAirportDataInternal_WhenAPageFails_ShouldKeepTheExistingAirports() {
+        failingPage = 4;
+
+        assertThrows(HttpClientErrorException.class, () -> service.fetchAirportDataInternal());
+
+        assertEquals(List.of("OLD"), airportRepository.findAll().stream().map(Airport::getCode).toList());
+    }
+
+    private void handlePage(HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getQuery();
+        int page = query != null && query.startsWith("page=") ? Integer.parseInt(query.substring(5)) : 1;
+        requestsPerPage.computeIfAbsent(page, key -> new AtomicInteger()).incrementAndGet();
+
+        if (page == failingPage) {
+            respond(exchange, 400, "{}");
+        } else if (rateLimitedOnce.remove(page)) {
+            exchange.getResponseHeaders().add("Retry-After", "0");
+            respond(exchange, 429, "{}");
+        } else {
+            respond(exchange, 200, """
+                    {"data": [%s, %s],
+                     "links": {"self": "%s?page=%d", "last": "%s?page=%d"}}
+                    """.formatted(airportJson(page, 0), airportJson(page, 1), baseUrl, page, baseUrl, PAGE_COUNT));
+        }
+    }
+
+    private static String airportJson(int page, int index) {
+        return """
+                {"id": "%s", "attributes": {"iata": "%s", "name": "Airport %s", "city": "City", "country": "Country",
+                 "latitude": "45.%d", "longitude": "25.0"}}
+                """.formatted(code(page, index), code(page, index), code(page, index), 5 * index);
+    }
+
+    private static String code(int page, int index) {
+        return "P" + page + (char) ('A' + index);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
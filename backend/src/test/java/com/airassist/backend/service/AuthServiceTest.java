@@ -3,27 +3,38 @@ package com.airassist.backend.service;
 import com.airassist.backend.dto.auth.ResetPasswordRequest;
 import com.airassist.backend.dto.auth.SignInRequest;
 import com.airassist.backend.dto.auth.SignInResponse;
+import com.airassist.backend.dto.auth.TokenRefreshResponse;
 import com.airassist.backend.dto.user.UserDTO;
 import com.airassist.backend.exception.auth.InvalidPasswordException;
 import com.airassist.backend.exception.auth.InvalidTokenException;
+import com.airassist.backend.exception.auth.PasswordHashingBusyException;
 import com.airassist.backend.exception.user.DuplicateUserException;
 import com.airassist.backend.exception.user.UserNotFoundException;
 import com.airassist.backend.mapper.UserMapper;
+import com.airassist.backend.model.AuthenticatedUser;
+import com.airassist.backend.model.JwtKey;
+import com.airassist.backend.model.RefreshSession;
 import com.airassist.backend.model.User;
+import com.airassist.backend.model.enums.MailTemplates;
 import com.airassist.backend.model.enums.Roles;
 import com.airassist.backend.repository.UserRepository;
 import com.airassist.backend.service.impl.AuthServiceImpl;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
-import jakarta.mail.MessagingException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
-import org.springframework.security.crypto.password.PasswordEncoder;
-import java.lang.reflect.Field;
-import java.security.Key;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,25 +46,35 @@ public class AuthServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
     @Mock
     private RandomPasswordGeneratorService randomPasswordGenerator;
     @Mock
-    private MailSenderService mailSenderService;
+    private MailOutboxService mailOutboxService;
     @Mock
     private UserMapper userMapper;
+    @Mock
+    private JwtKeyService jwtKeyService;
+    @Mock
+    private RefreshTokenService refreshTokenService;
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
 
     @InjectMocks
     private AuthServiceImpl authService;
 
-    private Key jwtSecret;
+    private static final String KID = "test-key";
+    private static final UUID SESSION_ID = UUID.randomUUID();
+
+    private SecretKey jwtSecret;
 
     @BeforeEach
-    void setUp() throws Exception {
+    void setUp() {
         jwtSecret = Keys.secretKeyFor(SignatureAlgorithm.HS256);
-        Field secretField = AuthServiceImpl.class.getDeclaredField("jwtSecret");
-        secretField.setAccessible(true);
-        secretField.set(authService, jwtSecret);
+        JwtKey jwtKey = new JwtKey(KID, jwtSecret, Instant.EPOCH);
+        lenient().when(jwtKeyService.getSigningKey()).thenReturn(jwtKey);
+        lenient().when(jwtKeyService.findKey(KID)).thenReturn(Optional.of(jwtKey));
+        ReflectionTestUtils.setField(authService, "accessTokenTtl", Duration.ofMinutes(15));
     }
 
     @Test
@@ -73,12 +94,17 @@ public class AuthServiceTest {
         user.setRole(Roles.USER);
 
         when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches(password, encodedPassword)).thenReturn(true);
+        when(passwordHashingService.matches(password, encodedPassword)).thenReturn(true);
+        when(refreshTokenService.createSession(user)).thenReturn(new RefreshSession(SESSION_ID, user, "refresh-token"));
 
         SignInResponse response = authService.signIn(request);
 
         assertNotNull(response.getToken());
         assertTrue(response.isFirstTimeLogin());
+        assertEquals("refresh-token", response.getRefreshToken());
+        AuthenticatedUser authenticatedUser = authService.authenticate(response.getToken());
+        assertEquals(user.getId(), authenticatedUser.getId());
+        assertEquals(SESSION_ID, authenticatedUser.getSessionId());
     }
 
     @Test
@@ -93,7 +119,7 @@ public class AuthServiceTest {
     }
 
     @Test
-    void signIn_WhenPasswordDoesNotMatch_ShouldThrowInvalidPasswordException() {
+    void signIn_WhenPasswordDoesNotMatch_ShouldThrowInvalidPasswordException() throws Exception {
         String email = "test@example.com";
         String password = "password";
         String encodedPassword = "encoded";
@@ -108,11 +134,26 @@ public class AuthServiceTest {
         user.setIsFirstLogin(Boolean.TRUE);
 
         when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches(password, encodedPassword)).thenReturn(false);
+        when(passwordHashingService.matches(password, encodedPassword)).thenReturn(false);
 
         assertThrows(InvalidPasswordException.class, () -> authService.signIn(request));
     }
 
+    @Test
+    void signIn_WhenPasswordHashingIsBusy_ShouldThrowPasswordHashingBusyException() throws Exception {
+        SignInRequest request = new SignInRequest();
+        request.setEmail("busy@example.com");
+        request.setPassword("password");
+        User user = new User();
+        user.setEmail("busy@example.com");
+        user.setPassword("encoded");
+
+        when(userRepository.findByEmail("busy@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("password", "encoded")).thenThrow(new PasswordHashingBusyException());
+
+        assertThrows(PasswordHashingBusyException.class, () -> authService.signIn(request));
+    }
+
     @Test
     void register_WhenUserDoesNotExist_ShouldRegisterAndSendEmail() throws Exception {
         UserDTO userDTO = new UserDTO();
@@ -124,7 +165,7 @@ public class AuthServiceTest {
         when(userRepository.existsByEmail(userDTO.getEmail())).thenReturn(false);
         when(userMapper.userDTOToUser(userDTO)).thenReturn(user);
         when(randomPasswordGenerator.generateRandomPassword()).thenReturn("randomPass");
-        when(passwordEncoder.encode("randomPass")).thenReturn("encodedPass");
+        when(passwordHashingService.encode("randomPass")).thenReturn("encodedPass");
         when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
 
         User result = authService.register(userDTO);
@@ -132,7 +173,8 @@ public class AuthServiceTest {
         assertEquals(userDTO.getEmail(), result.getEmail());
         assertEquals(Roles.USER, result.getRole());
         assertTrue(result.getIsFirstLogin());
-        verify(mailSenderService).sendGeneratedPasswordEmail(eq(userDTO.getEmail()), eq("randomPass"));
+        verify(transactionTemplate).execute(any());
+        verify(mailOutboxService).enqueue(userDTO.getEmail(), MailTemplates.GENERATED_PASSWORD, Map.of("generatedPassword", "randomPass"));
     }
 
     @Test
@@ -144,23 +186,6 @@ public class AuthServiceTest {
         assertThrows(DuplicateUserException.class, () -> authService.register(userDTO));
     }
 
-    @Test
-    void register_WhenMailSenderThrows_ShouldPropagateException() throws Exception {
-        UserDTO userDTO = new UserDTO();
-        userDTO.setEmail("mailfail@example.com");
-        User user = new User();
-        user.setEmail(userDTO.getEmail());
-
-        when(userRepository.existsByEmail(userDTO.getEmail())).thenReturn(false);
-        when(userMapper.userDTOToUser(userDTO)).thenReturn(user);
-        when(randomPasswordGenerator.generateRandomPassword()).thenReturn("randomPass");
-        when(passwordEncoder.encode("randomPass")).thenReturn("encodedPass");
-        when(userRepository.save(any(User.class))).thenReturn(user);
-        doThrow(new MessagingException()).when(mailSenderService).sendGeneratedPasswordEmail(anyString(), anyString());
-
-        assertThrows(MessagingException.class, () -> authService.register(userDTO));
-    }
-
     @Test
     void resetPassword_WhenUserExists_ShouldResetAndSendEmail() throws Exception {
         String email = "reset@example.com";
@@ -172,13 +197,14 @@ public class AuthServiceTest {
 
         when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
         when(randomPasswordGenerator.generateRandomPassword()).thenReturn("newPass");
-        when(passwordEncoder.encode("newPass")).thenReturn("encodedNewPass");
+        when(passwordHashingService.encode("newPass")).thenReturn("encodedNewPass");
         when(userRepository.save(user)).thenReturn(user);
 
         authService.resetPassword(req);
 
         assertTrue(user.getIsFirstLogin());
-        verify(mailSenderService).sendGeneratedPasswordEmail(eq(email), eq("newPass"));
+        verify(refreshTokenService).revokeAllSessions(user.getId());
+        verify(mailOutboxService).enqueue(email, MailTemplates.GENERATED_PASSWORD, Map.of("generatedPassword", "newPass"));
     }
 
     @Test
@@ -192,24 +218,6 @@ public class AuthServiceTest {
         assertThrows(UserNotFoundException.class, () -> authService.resetPassword(req));
     }
 
-    @Test
-    void resetPassword_WhenMailSenderThrows_ShouldPropagateException() throws Exception {
-        String email = "fail@example.com";
-        ResetPasswordRequest req = new ResetPasswordRequest();
-        req.setEmail(email);
-
-        User user = new User();
-        user.setEmail(email);
-
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
-        when(randomPasswordGenerator.generateRandomPassword()).thenReturn("newPass");
-        when(passwordEncoder.encode("newPass")).thenReturn("encodedNewPass");
-        when(userRepository.save(user)).thenReturn(user);
-        doThrow(new MessagingException()).when(mailSenderService).sendGeneratedPasswordEmail(anyString(), anyString());
-
-        assertThrows(MessagingException.class, () -> authService.resetPassword(req));
-    }
-
     @Test
     void validateToken_WhenTokenIsValid_ShouldReturnTrue() throws Exception {
         User user = new User();
@@ -221,6 +229,7 @@ public class AuthServiceTest {
                 .setSubject(user.getId().toString())
                 .claim("email", user.getEmail())
                 .claim("role", user.getRole())
+                .setHeaderParam(JwsHeader.KEY_ID, KID)
                 .signWith(jwtSecret)
                 .compact();
 
@@ -245,6 +254,7 @@ public class AuthServiceTest {
                 .setSubject(user.getId().toString())
                 .claim("email", email)
                 .claim("role", user.getRole())
+                .setHeaderParam(JwsHeader.KEY_ID, KID)
                 .signWith(jwtSecret)
                 .compact();
 
@@ -261,6 +271,7 @@ public class AuthServiceTest {
         String token = Jwts.builder()
                 .setSubject(user.getId().toString())
                 .claim("role", user.getRole())
+                .setHeaderParam(JwsHeader.KEY_ID, KID)
                 .signWith(jwtSecret)
                 .compact();
 
@@ -280,11 +291,148 @@ public class AuthServiceTest {
         when(userRepository.existsByEmail(userDTO.getEmail())).thenReturn(false);
         when(userMapper.userDTOToUser(userDTO)).thenReturn(user);
         when(randomPasswordGenerator.generateRandomPassword()).thenReturn("randomPass");
-        when(passwordEncoder.encode("randomPass")).thenReturn("encodedPass");
+        when(passwordHashingService.encode("randomPass")).thenReturn("encodedPass");
         when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
 
         User result = authService.register(userDTO);
 
         assertEquals(Roles.ADMIN, result.getRole());
     }
-}
\ No newline at end of file
+
+    @Test
+    void authenticate_WhenTokenIsValid_ShouldBuildPrincipalFromClaimsWithoutQueryingUsers() throws Exception {
+        UUID id = UUID.randomUUID();
+        String token = Jwts.builder()
+                .setSubject(id.toString())
+                .claim("email", "claims@example.com")
+                .claim("sid", SESSION_ID.toString())
+                .claim("role", Roles.EMPLOYEE)
+                .setHeaderParam(JwsHeader.KEY_ID, KID)
+                .signWith(jwtSecret)
+                .compact();
+
+        AuthenticatedUser user = authService.authenticate(token);
+
+        assertEquals(id, user.getId());
+        assertEquals("claims@example.com", user.getName());
+        assertEquals(Roles.EMPLOYEE, user.getRole());
+        assertEquals("ROLE_EMPLOYEE", user.getAuthorities().getFirst().getAuthority());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void authenticate_WhenTokenIsSignedWithAnotherKey_ShouldThrowInvalidTokenException() {
+        String token = Jwts.builder()
+                .setSubject(UUID.randomUUID().toString())
+                .claim("email", "claims@example.com")
+                .claim("sid", SESSION_ID.toString())
+                .claim("role", Roles.USER)
+                .setHeaderParam(JwsHeader.KEY_ID, KID)
+                .signWith(Keys.secretKeyFor(SignatureAlgorithm.HS256))
+                .compact();
+
+        assertThrows(InvalidTokenException.class, () -> authService.authenticate(token));
+    }
+
+    @Test
+    void authenticate_WhenRoleClaimIsUnknown_ShouldThrowInvalidTokenException() {
+        String token = Jwts.builder()
+                .setSubject(UUID.randomUUID().toString())
+                .claim("email", "claims@example.com")
+                .claim("sid", SESSION_ID.toString())
+                .claim("role", "ROOT")
+                .setHeaderParam(JwsHeader.KEY_ID, KID)
+                .signWith(jwtSecret)
+                .compact();
+
+        assertThrows(InvalidTokenException.class, () -> authService.authenticate(token));
+    }
+
+    @Test
+    void authenticate_WhenTokenHasExpired_ShouldThrowInvalidTokenException() {
+        String token = Jwts.builder()
+                .setSubject(UUID.randomUUID().toString())
+                .claim("email", "claims@example.com")
+                .claim("sid", SESSION_ID.toString())
+                .claim("role", Roles.USER)
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .setHeaderParam(JwsHeader.KEY_ID, KID)
+                .signWith(jwtSecret)
+                .compact();
+
+        assertThrows(InvalidTokenException.class, () -> authService.authenticate(token));
+    }
+
+    @Test
+    void authenticate_WhenKeyIdIsUnknown_ShouldThrowInvalidTokenException() {
+        String token = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, "retired-key")
+                .setSubject(UUID.randomUUID().toString())
+                .claim("email", "claims@example.com")
+                .claim("sid", SESSION_ID.toString())
+                .claim("role", Roles.USER)
+                .signWith(jwtSecret)
+                .compact();
+
+        assertThrows(InvalidTokenException.class, () -> authService.authenticate(token));
+    }
+
+    @Test
+    void authenticate_WhenSessionWasRevoked_ShouldThrowInvalidTokenException() {
+        String token = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, KID)
+                .setSubject(UUID.randomUUID().toString())
+                .claim("email", "claims@example.com")
+                .claim("role", Roles.USER)
+                .claim("sid", SESSION_ID.toString())
+                .signWith(jwtSecret)
+                .compact();
+        when(refreshTokenService.isSessionRevoked(SESSION_ID)).thenReturn(true);
+
+        assertThrows(InvalidTokenException.class, () -> authService.authenticate(token));
+    }
+
+    @Test
+    void authenticate_WhenSessionClaimIsMissing_ShouldThrowInvalidTokenException() {
+        String token = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, KID)
+                .setSubject(UUID.randomUUID().toString())
+                .claim("email", "claims@example.com")
+                .claim("role", Roles.USER)
+                .signWith(jwtSecret)
+                .compact();
+
+        assertThrows(InvalidTokenException.class, () -> authService.authenticate(token));
+    }
+
+    @Test
+    void refresh_WhenRefreshTokenIsValid_ShouldIssueTokensForTheSameSession() throws Exception {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("refresh@example.com");
+        user.setRole(Roles.USER);
+        when(refreshTokenService.rotate("old-refresh-token")).thenReturn(new RefreshSession(SESSION_ID, user, "new-refresh-token"));
+
+        TokenRefreshResponse response = authService.refresh("old-refresh-token");
+
+        assertEquals("new-refresh-token", response.getRefreshToken());
+        AuthenticatedUser authenticatedUser = authService.authenticate(response.getToken());
+        assertEquals(user.getId(), authenticatedUser.getId());
+        assertEquals(SESSION_ID, authenticatedUser.getSessionId());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void refresh_WhenRefreshTokenIsInvalid_ShouldThrowInvalidTokenException() throws Exception {
+        when(refreshTokenService.rotate("unknown")).thenThrow(new InvalidTokenException());
+
+        assertThrows(InvalidTokenException.class, () -> authService.refresh("unknown"));
+    }
+
+    @Test
+    void signOut_ShouldRevokeTheSession() {
+        authService.signOut("refresh-token");
+
+        verify(refreshTokenService).revoke("refresh-token");
+    }
+}
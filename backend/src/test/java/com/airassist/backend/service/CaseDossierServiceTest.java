@@ -0,0 +1,176 @@
+package com.airassist.backend.service;
+
+import com.airassist.backend.dto.comment.CommentDTO;
+import com.airassist.backend.exception.cases.CaseNotFoundException;
+import com.airassist.backend.model.Document;
+import com.airassist.backend.model.enums.DocumentTypes;
+import com.airassist.backend.repository.CommentRepository;
+import com.airassist.backend.repository.DocumentRepository;
+import com.airassist.backend.service.impl.CaseDossierServiceImpl;
+import com.airassist.backend.service.impl.FileSystemBlobStorageServiceImpl;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CaseDossierServiceTest {
+
+    private static final UUID CASE_ID = UUID.randomUUID();
+    private static final Map<String, Object> CONTRACT_DATA = Map.of("caseId", CASE_ID.toString(), "reservationNumber", "AB12CD");
+
+    @Mock
+    private CaseService caseService;
+    @Mock
+    private PdfService pdfService;
+    @Mock
+    private DocumentRepository documentRepository;
+    @Mock
+    private CommentRepository commentRepository;
+
+    @TempDir
+    private Path root;
+
+    private BlobStorageService blobStorageService;
+    private CaseDossierService caseDossierService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        blobStorageService = new FileSystemBlobStorageServiceImpl(root);
+        caseDossierService = new CaseDossierServiceImpl(caseService, pdfService, documentRepository, commentRepository, blobStorageService);
+        when(caseService.getContractData(CASE_ID)).thenReturn(CONTRACT_DATA);
+        when(pdfService.generatePdf("contract", CONTRACT_DATA)).thenReturn(pdf(1));
+    }
+
+    @Test
+    void writeDossier_ShouldMergeTheContractDocumentsAndComments() throws Exception {
+        when(documentRepository.findByCaseEntityId(CASE_ID)).thenReturn(List.of(
+                storedDocument(DocumentTypes.PDF, pdf(2)),
+                storedDocument(DocumentTypes.JPEG, jpeg(1200, 800))));
+        List<CommentDTO> comments = List.of(new CommentDTO(UUID.randomUUID(), UUID.randomUUID(), "Sent to the airline",
+                Timestamp.from(Instant.parse("2025-07-14T10:15:00Z")), "Ana Pop"));
+        when(commentRepository.findDTOsByCaseEntityId(CASE_ID)).thenReturn(comments);
+        when(pdfService.generatePdf(eq("caseComments"), anyMap())).thenReturn(pdf(1));
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        caseDossierService.writeDossier(CASE_ID, outputStream);
+
+        assertFalse(closed.get());
+        try (PDDocument dossier = PDDocument.load(outputStream.toByteArray())) {
+            assertEquals(5, dossier.getNumberOfPages());
+            PDPage imagePage = dossier.getPage(3);
+            assertEquals(PDRectangle.A4.getWidth(), imagePage.getMediaBox().getWidth());
+            assertTrue(imagePage.getResources().getXObjectNames().iterator().hasNext());
+        }
+        verify(pdfService).generatePdf(eq("caseComments"), argThat(data -> {
+            Map<?, ?> comment = (Map<?, ?>) ((List<?>) data.get("comments")).get(0);
+            return comment.get("author").equals("Ana Pop")
+                    && comment.get("timestamp").equals("2025-07-14 10:15 UTC")
+                    && comment.get("text").equals("Sent to the airline")
+                    && data.get("reservationNumber").equals("AB12CD");
+        }));
+    }
+
+    @Test
+    void writeDossier_WhenThereAreNoComments_ShouldLeaveOutTheCommentsPage() throws Exception {
+        when(documentRepository.findByCaseEntityId(CASE_ID)).thenReturn(List.of());
+        when(commentRepository.findDTOsByCaseEntityId(CASE_ID)).thenReturn(List.of());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        caseDossierService.writeDossier(CASE_ID, outputStream);
+
+        try (PDDocument dossier = PDDocument.load(outputStream.toByteArray())) {
+            assertEquals(1, dossier.getNumberOfPages());
+            assertTrue(new PDFTextStripper().getText(dossier).contains("page 1"));
+        }
+        verify(pdfService, never()).generatePdf(eq("caseComments"), anyMap());
+    }
+
+    @Test
+    void writeDossier_WhenADocumentCannotBeRead_ShouldLeaveItOut() throws Exception {
+        Document corrupt = storedDocument(DocumentTypes.PDF, "not a pdf".getBytes(StandardCharsets.UTF_8));
+        Document missing = storedDocument(DocumentTypes.JPEG, jpeg(10, 10));
+        String key = missing.getStorageKey();
+        Files.delete(root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key));
+        when(documentRepository.findByCaseEntityId(CASE_ID)).thenReturn(List.of(corrupt, missing, storedDocument(DocumentTypes.PDF, pdf(1))));
+        when(commentRepository.findDTOsByCaseEntityId(CASE_ID)).thenReturn(List.of());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        caseDossierService.writeDossier(CASE_ID, outputStream);
+
+        try (PDDocument dossier = PDDocument.load(outputStream.toByteArray())) {
+            assertEquals(2, dossier.getNumberOfPages());
+        }
+    }
+
+    @Test
+    void writeDossier_WhenCaseNotFound_ShouldThrowExceptionWithoutWritingAnything() {
+        UUID caseId = UUID.randomUUID();
+        when(caseService.getContractData(caseId)).thenThrow(new CaseNotFoundException());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        assertThrows(CaseNotFoundException.class, () -> caseDossierService.writeDossier(caseId, outputStream));
+        assertEquals(0, outputStream.size());
+    }
+
+    private Document storedDocument(DocumentTypes type, byte[] content) throws IOException {
+        var blob = blobStorageService.store(new ByteArrayInputStream(content));
+        return new Document(UUID.randomUUID(), "document", type, type.getContentType(), blob.getSize(), blob.getSha256(),
+                blob.getStorageKey(), null);
+    }
+
+    private static byte[] pdf(int pages) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 1; i <= pages; i++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 12);
+                    content.newLineAtOffset(72, 720);
+                    content.showText("page " + i);
+                    content.endText();
+                }
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            document.save(outputStream);
+            return outputStream.toByteArray();
+        }
+    }
+
+    private static byte[] jpeg(int width, int height) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "jpg", outputStream);
+        return outputStream.toByteArray();
+    }
+}
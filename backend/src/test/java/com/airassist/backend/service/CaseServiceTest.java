@@ -1,7 +1,11 @@
 package com.airassist.backend.service;
 
+import com.airassist.backend.dto.cases.CaseCursor;
 import com.airassist.backend.dto.cases.CaseDTO;
+import com.airassist.backend.dto.cases.CaseFilterDTO;
+import com.airassist.backend.dto.document.CaseDocumentIdDTO;
 import com.airassist.backend.exception.cases.CaseNotFoundException;
+import com.airassist.backend.exception.cases.InvalidCaseCursorException;
 import com.airassist.backend.exception.user.UserNotFoundException;
 import com.airassist.backend.mapper.BeneficiaryMapper;
 import com.airassist.backend.mapper.CaseMapper;
@@ -11,6 +15,7 @@ import com.airassist.backend.model.enums.DisruptionReasons;
 import com.airassist.backend.model.enums.Roles;
 import com.airassist.backend.model.enums.Statuses;
 import com.airassist.backend.repository.CaseRepository;
+import com.airassist.backend.repository.DocumentRepository;
 import com.airassist.backend.repository.ReservationRepository;
 import com.airassist.backend.repository.UserRepository;
 import com.airassist.backend.service.impl.CaseServiceImpl;
@@ -19,7 +24,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Function;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -38,6 +48,8 @@ class CaseServiceTest {
     private ReservationMapper reservationMapper;
     @Mock
     private BeneficiaryMapper beneficiaryMapper;
+    @Mock
+    private DocumentRepository documentRepository;
 
     @InjectMocks
     private CaseServiceImpl caseService;
@@ -53,20 +65,36 @@ class CaseServiceTest {
     }
 
     @Test
-    void getCases_WhenCasesExist_ShouldReturnList() {
-        List<Case> cases = List.of(new Case());
-        when(caseRepository.findAll()).thenReturn(cases);
+    @SuppressWarnings("unchecked")
+    void getCases_WhenCasesExist_ShouldReturnWindow() {
+        Window<Case> window = Window.from(List.of(new Case()), ScrollPosition::offset);
+        when(caseRepository.findBy(any(Specification.class), any(Function.class))).thenReturn(window);
 
-        List<Case> result = caseService.getCases();
+        Window<Case> result = caseService.getCases(new CaseFilterDTO(), null, 50);
 
-        assertEquals(cases, result);
+        assertEquals(window, result);
+    }
+
+    @Test
+    void getCases_WhenCursorIsMalformed_ShouldThrowInvalidCaseCursorException() {
+        assertThrows(InvalidCaseCursorException.class, () -> caseService.getCases(new CaseFilterDTO(), "not-a-cursor", 50));
+        verifyNoInteractions(caseRepository);
+    }
+
+    @Test
+    void caseCursor_WhenEncodedAndDecoded_ShouldKeepDateAndId() {
+        CaseCursor cursor = new CaseCursor(LocalDate.of(2025, 6, 30), UUID.randomUUID());
+
+        CaseCursor decoded = CaseCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
     }
 
     @Test
     void getCaseById_WhenCaseExists_ShouldReturnOptional() {
         UUID id = UUID.randomUUID();
         Case c = new Case();
-        when(caseRepository.findById(id)).thenReturn(Optional.of(c));
+        when(caseRepository.findWithAssociationsById(id)).thenReturn(Optional.of(c));
 
         Optional<Case> result = caseService.getCaseById(id);
 
@@ -260,4 +288,72 @@ class CaseServiceTest {
 
         assertThrows(CaseNotFoundException.class, () -> caseService.setCaseStatus(caseId, Statuses.VALID));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getDocumentIdsByCase_WhenDocumentsExist_ShouldGroupIdsByCase() {
+        UUID firstCase = UUID.randomUUID();
+        UUID secondCase = UUID.randomUUID();
+        UUID firstDocument = UUID.randomUUID();
+        UUID secondDocument = UUID.randomUUID();
+        when(documentRepository.findIdsByCaseEntityIds(List.of(firstCase, secondCase))).thenReturn(List.of(
+                new CaseDocumentIdDTO(firstCase, firstDocument),
+                new CaseDocumentIdDTO(firstCase, secondDocument)));
+
+        Map<UUID, List<UUID>> result = caseService.getDocumentIdsByCase(List.of(firstCase, secondCase));
+
+        assertEquals(Map.of(firstCase, List.of(firstDocument, secondDocument)), result);
+    }
+
+    @Test
+    void getDocumentIdsByCase_WhenNoCases_ShouldNotQuery() {
+        assertTrue(caseService.getDocumentIdsByCase(List.of()).isEmpty());
+        verifyNoInteractions(documentRepository);
+    }
+
+    @Test
+    void getContractData_WhenFiledForSomeoneElse_ShouldUseTheBeneficiary() {
+        UUID caseId = UUID.randomUUID();
+        Reservation reservation = new Reservation();
+        reservation.setReservationNumber("ABCDEF");
+        Beneficiary beneficiary = new Beneficiary();
+        beneficiary.setFirstName("Ana");
+        beneficiary.setLastName("Pop");
+        User client = new User();
+        client.setFirstName("Ion");
+        client.setLastName("Popescu");
+        Case caseEntity = Case.builder().id(caseId).date(LocalDate.of(2025, 7, 14))
+                .reservation(reservation).beneficiary(beneficiary).client(client).build();
+        when(caseRepository.findWithAssociationsById(caseId)).thenReturn(Optional.of(caseEntity));
+
+        Map<String, Object> data = caseService.getContractData(caseId);
+
+        assertEquals(Map.of("caseId", caseId.toString(), "caseDate", "2025-07-14", "firstName", "Ana",
+                "lastName", "Pop", "reservationNumber", "ABCDEF"), data);
+    }
+
+    @Test
+    void getContractData_WhenFiledByTheClient_ShouldUseTheClient() {
+        UUID caseId = UUID.randomUUID();
+        Reservation reservation = new Reservation();
+        reservation.setReservationNumber("ABCDEF");
+        User client = new User();
+        client.setFirstName("Ion");
+        client.setLastName("Popescu");
+        Case caseEntity = Case.builder().id(caseId).date(LocalDate.of(2025, 7, 14))
+                .reservation(reservation).client(client).build();
+        when(caseRepository.findWithAssociationsById(caseId)).thenReturn(Optional.of(caseEntity));
+
+        Map<String, Object> data = caseService.getContractData(caseId);
+
+        assertEquals("Ion", data.get("firstName"));
+        assertEquals("Popescu", data.get("lastName"));
+    }
+
+    @Test
+    void getContractData_WhenCaseNotFound_ShouldThrowCaseNotFoundException() {
+        UUID caseId = UUID.randomUUID();
+        when(caseRepository.findWithAssociationsById(caseId)).thenReturn(Optional.empty());
+
+        assertThrows(CaseNotFoundException.class, () -> caseService.getContractData(caseId));
+    }
+}
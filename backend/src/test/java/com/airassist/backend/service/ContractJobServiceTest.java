@@ -0,0 +1,214 @@
+package com.airassist.backend.service;
+
+import com.airassist.backend.dto.contract.ContractJobDTO;
+import com.airassist.backend.exception.cases.CaseNotFoundException;
+import com.airassist.backend.exception.contract.ContractJobNotFoundException;
+import com.airassist.backend.exception.document.PdfGenerationBusyException;
+import com.airassist.backend.model.Case;
+import com.airassist.backend.model.ContractJobItem;
+import com.airassist.backend.model.Document;
+import com.airassist.backend.model.Reservation;
+import com.airassist.backend.model.enums.ContractJobItemStatuses;
+import com.airassist.backend.model.enums.ContractJobStatuses;
+import com.airassist.backend.model.enums.DisruptionReasons;
+import com.airassist.backend.model.enums.Statuses;
+import com.airassist.backend.repository.CaseRepository;
+import com.airassist.backend.repository.ContractJobItemRepository;
+import com.airassist.backend.repository.ContractJobRepository;
+import com.airassist.backend.repository.DocumentRepository;
+import com.airassist.backend.service.impl.ContractJobServiceImpl;
+import com.airassist.backend.service.impl.FileSystemBlobStorageServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs contract jobs against H2 with real commits, a file system blob store and a stubbed PDF renderer.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ContractJobServiceTest {
+
+    private static final byte[] PDF = "%PDF-contract".getBytes(StandardCharsets.ISO_8859_1);
+
+    @Autowired
+    private ContractJobRepository contractJobRepository;
+    @Autowired
+    private ContractJobItemRepository contractJobItemRepository;
+    @Autowired
+    private DocumentRepository documentRepository;
+    @Autowired
+    private CaseRepository caseRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CaseService caseService;
+    @Mock
+    private PdfService pdfService;
+
+    @TempDir
+    private Path root;
+
+    private BlobStorageService blobStorageService;
+    private ContractJobServiceImpl contractJobService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        blobStorageService = new FileSystemBlobStorageServiceImpl(root);
+        contractJobService = new ContractJobServiceImpl(contractJobRepository, contractJobItemRepository,
+                documentRepository, caseRepository, caseService, pdfService, blobStorageService,
+                new TransactionTemplate(transactionManager), new SimpleMeterRegistry(),
+                2, Duration.ofMinutes(5), 3, Duration.ofSeconds(30));
+        when(pdfService.generatePdf(eq("contract"), anyMap())).thenReturn(PDF);
+    }
+
+    @AfterEach
+    void tearDown() {
+        contractJobService.shutdown();
+        contractJobItemRepository.deleteAll();
+        contractJobRepository.deleteAll();
+        caseRepository.deleteAll();
+    }
+
+    @Test
+    void submit_ShouldGenerateEveryContractAsADocumentOfItsCase() throws Exception {
+        Case first = persistCase("R00001");
+        Case second = persistCase("R00002");
+
+        ContractJobDTO submitted = contractJobService.submit(List.of(first.getId(), second.getId()), "employee@example.com");
+        ContractJobDTO job = awaitCompleted(submitted.getId());
+
+        assertEquals(2, job.getTotal());
+        assertEquals(2, job.getCompleted());
+        assertEquals(0, job.getFailed());
+        assertNotNull(job.getFinishedAt());
+        List<Document> documents = documentRepository.findAll();
+        assertEquals(2, documents.size());
+        assertTrue(documents.stream().anyMatch(document -> document.getName().equals("contract-R00001.pdf")));
+        assertTrue(documents.stream().allMatch(document -> document.getSize() == PDF.length));
+    }
+
+    @Test
+    void submit_ShouldIgnoreDuplicateCases() throws Exception {
+        Case caseEntity = persistCase("R00001");
+
+        ContractJobDTO submitted = contractJobService.submit(List.of(caseEntity.getId(), caseEntity.getId()), "employee@example.com");
+
+        assertEquals(1, submitted.getTotal());
+        assertEquals(1, awaitCompleted(submitted.getId()).getCompleted());
+    }
+
+    @Test
+    void submit_WhenACaseDoesNotExist_ShouldFailOnlyThatContract() throws Exception {
+        Case caseEntity = persistCase("R00001");
+        UUID missingCaseId = UUID.randomUUID();
+        when(caseService.getContractData(missingCaseId)).thenThrow(new CaseNotFoundException());
+
+        ContractJobDTO job = awaitCompleted(
+                contractJobService.submit(List.of(caseEntity.getId(), missingCaseId), "employee@example.com").getId());
+
+        assertEquals(1, job.getCompleted());
+        assertEquals(1, job.getFailed());
+    }
+
+    @Test
+    void submit_WhenEveryRenderingSlotIsTaken_ShouldRetryWithoutUsingAnAttempt() throws Exception {
+        Case caseEntity = persistCase("R00001");
+        when(pdfService.generatePdf(eq("contract"), anyMap()))
+                .thenThrow(new PdfGenerationBusyException())
+                .thenReturn(PDF);
+
+        ContractJobDTO job = awaitCompleted(
+                contractJobService.submit(List.of(caseEntity.getId()), "employee@example.com").getId());
+
+        assertEquals(1, job.getCompleted());
+        ContractJobItem item = contractJobItemRepository.findAll().get(0);
+        assertEquals(ContractJobItemStatuses.DONE, item.getStatus());
+        assertEquals(1, item.getAttempts());
+    }
+
+    @Test
+    void writeContractsZip_ShouldArchiveTheContractsAndListTheFailures() throws Exception {
+        Case caseEntity = persistCase("R00001");
+        UUID missingCaseId = UUID.randomUUID();
+        when(caseService.getContractData(missingCaseId)).thenThrow(new CaseNotFoundException());
+        ContractJobDTO job = awaitCompleted(
+                contractJobService.submit(List.of(caseEntity.getId(), missingCaseId), "employee@example.com").getId());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        contractJobService.writeContractsZip(job.getId(), outputStream);
+
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.ISO_8859_1));
+            }
+        }
+        assertEquals(new String(PDF, StandardCharsets.ISO_8859_1), entries.get("contract-" + caseEntity.getId() + ".pdf"));
+        assertEquals(missingCaseId + ": Case not found\n", entries.get("failures.txt"));
+        assertEquals(2, entries.size());
+    }
+
+    @Test
+    void getJob_WhenTheJobDoesNotExist_ShouldThrowException() {
+        assertThrows(ContractJobNotFoundException.class, () -> contractJobService.getJob(UUID.randomUUID()));
+    }
+
+    private Case persistCase(String reservationNumber) {
+        Case caseEntity = caseRepository.save(Case.builder()
+                .status(Statuses.VALID)
+                .disruptionReason(DisruptionReasons.NEVER_ARRIVED)
+                .disruptionInfo("Cancelled")
+                .date(LocalDate.of(2025, 1, 1))
+                .reservation(new Reservation(null, reservationNumber, new ArrayList<>(), null))
+                .build());
+        when(caseService.getContractData(caseEntity.getId())).thenReturn(Map.of(
+                "caseId", caseEntity.getId().toString(),
+                "caseDate", "2025-01-01",
+                "reservationNumber", reservationNumber));
+        return caseEntity;
+    }
+
+    private ContractJobDTO awaitCompleted(UUID jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        ContractJobDTO job = contractJobService.getJob(jobId);
+        while (job.getStatus() != ContractJobStatuses.COMPLETED && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            job = contractJobService.getJob(jobId);
+        }
+        assertEquals(ContractJobStatuses.COMPLETED, job.getStatus());
+        return job;
+    }
+}
@@ -0,0 +1,102 @@
+package com.airassist.backend.service;
+
+import com.airassist.backend.model.Case;
+import com.airassist.backend.model.Document;
+import com.airassist.backend.model.Reservation;
+import com.airassist.backend.model.enums.DisruptionReasons;
+import com.airassist.backend.model.enums.DocumentTypes;
+import com.airassist.backend.model.enums.Statuses;
+import com.airassist.backend.repository.DocumentRepository;
+import com.airassist.backend.service.impl.DocumentContentMigrationServiceImpl;
+import com.airassist.backend.service.impl.FileSystemBlobStorageServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+public class DocumentContentMigrationServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private DocumentRepository documentRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @TempDir
+    private Path root;
+
+    private BlobStorageService blobStorageService;
+    private DocumentContentMigrationService migrationService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        blobStorageService = new FileSystemBlobStorageServiceImpl(root);
+        migrationService = new DocumentContentMigrationServiceImpl(
+                jdbcTemplate, new TransactionTemplate(transactionManager), blobStorageService);
+    }
+
+    @Test
+    void migrateLegacyContent_WhenNoLegacyColumn_ShouldMigrateNothing() {
+        assertEquals(0, migrationService.migrateLegacyContent());
+    }
+
+    @Test
+    void migrateLegacyContent_ShouldMoveContentIntoBlobStorage() throws IOException {
+        jdbcTemplate.execute("ALTER TABLE documents ADD COLUMN content BLOB");
+        Document document = persistLegacyDocument("legacy");
+
+        assertEquals(1, migrationService.migrateLegacyContent());
+        assertEquals(0, migrationService.migrateLegacyContent());
+
+        entityManager.clear();
+        Document migrated = documentRepository.findById(document.getId()).orElseThrow();
+        assertEquals(6L, migrated.getSize());
+        assertEquals("application/pdf", migrated.getContentType());
+        assertEquals(migrated.getSha256(), migrated.getStorageKey());
+        assertNull(jdbcTemplate.queryForObject("SELECT content FROM documents WHERE id = ?", byte[].class, document.getId()));
+        try (InputStream content = blobStorageService.openStream(migrated.getStorageKey())) {
+            assertEquals("legacy", new String(content.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private Document persistLegacyDocument(String content) {
+        Case caseEntity = Case.builder()
+                .status(Statuses.VALID)
+                .disruptionReason(DisruptionReasons.NEVER_ARRIVED)
+                .disruptionInfo("Cancelled")
+                .date(LocalDate.of(2025, 1, 1))
+                .reservation(new Reservation(null, "R00001", new ArrayList<>(), null))
+                .build();
+        entityManager.persist(caseEntity);
+
+        Document document = new Document();
+        document.setName("legacy");
+        document.setType(DocumentTypes.PDF);
+        document.setCaseEntity(caseEntity);
+        entityManager.persist(document);
+        entityManager.flush();
+
+        jdbcTemplate.update("UPDATE documents SET content = ? WHERE id = ?",
+                content.getBytes(StandardCharsets.UTF_8), document.getId());
+        return document;
+    }
+}
@@ -0,0 +1,86 @@
+package com.airassist.backend.service;
+
+import com.airassist.backend.model.StoredBlob;
+import com.airassist.backend.repository.DocumentRepository;
+import com.airassist.backend.service.impl.DocumentContentSweepServiceImpl;
+import com.airassist.backend.service.impl.FileSystemBlobStorageServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+public class DocumentContentSweepServiceTest {
+
+    private static final Duration GRACE_PERIOD = Duration.ofHours(24);
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @TempDir
+    private Path root;
+
+    private BlobStorageService blobStorageService;
+    private DocumentContentSweepService documentContentSweepService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        blobStorageService = new FileSystemBlobStorageServiceImpl(root);
+        documentContentSweepService = new DocumentContentSweepServiceImpl(blobStorageService, documentRepository, GRACE_PERIOD);
+    }
+
+    @Test
+    void sweepUnreferencedContent_ShouldDeleteOnlyOldContentThatNoDocumentReferences() throws IOException {
+        StoredBlob referenced = store("referenced", Duration.ofDays(2));
+        StoredBlob orphaned = store("orphaned", Duration.ofDays(2));
+        StoredBlob recent = store("recent", Duration.ofHours(1));
+        when(documentRepository.findStorageKeysIn(anyCollection())).thenReturn(List.of(referenced.getStorageKey()));
+
+        assertEquals(1, documentContentSweepService.sweepUnreferencedContent());
+
+        assertTrue(exists(referenced));
+        assertFalse(exists(orphaned));
+        assertTrue(exists(recent));
+        verify(documentRepository).findStorageKeysIn(argThat(keys -> keys.size() == 2 && !keys.contains(recent.getStorageKey())));
+    }
+
+    @Test
+    void sweepUnreferencedContent_WhenContentIsUploadedAgain_ShouldKeepItUntilTheGracePeriodHasPassed() throws IOException {
+        StoredBlob orphaned = store("content", Duration.ofDays(2));
+        // A new upload of the same content whose document is not saved yet
+        blobStorageService.store(new ByteArrayInputStream("content".getBytes(StandardCharsets.UTF_8)));
+        when(documentRepository.findStorageKeysIn(anyCollection())).thenReturn(List.of());
+
+        assertEquals(0, documentContentSweepService.sweepUnreferencedContent());
+
+        assertTrue(exists(orphaned));
+    }
+
+    private StoredBlob store(String content, Duration age) throws IOException {
+        StoredBlob storedBlob = blobStorageService.store(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        Files.setLastModifiedTime(path(storedBlob), FileTime.from(Instant.now().minus(age)));
+        return storedBlob;
+    }
+
+    private boolean exists(StoredBlob storedBlob) {
+        return Files.exists(path(storedBlob));
+    }
+
+    private Path path(StoredBlob storedBlob) {
+        String key = storedBlob.getStorageKey();
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+}
@@ -1,6 +1,7 @@
 package com.airassist.backend.service;
 
 import com.airassist.backend.dto.document.CreateDocumentDTO;
+import com.airassist.backend.dto.document.DocumentContentDTO;
 import com.airassist.backend.dto.document.DocumentDTO;
 import com.airassist.backend.dto.document.DocumentSummaryDTO;
 import com.airassist.backend.exception.cases.CaseNotFoundException;
@@ -8,6 +9,7 @@ import com.airassist.backend.exception.document.DocumentNotFoundException;
 import com.airassist.backend.mapper.DocumentMapper;
 import com.airassist.backend.model.Case;
 import com.airassist.backend.model.Document;
+import com.airassist.backend.model.StoredBlob;
 import com.airassist.backend.model.enums.DocumentTypes;
 import com.airassist.backend.repository.CaseRepository;
 import com.airassist.backend.repository.DocumentRepository;
@@ -20,7 +22,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -33,6 +38,8 @@ public class DocumentServiceTest {
     private CaseRepository caseRepository;
     @Mock
     private DocumentMapper documentMapper;
+    @Mock
+    private BlobStorageService blobStorageService;
 
     @InjectMocks
     private DocumentServiceImpl documentService;
@@ -56,6 +63,22 @@ public class DocumentServiceTest {
         assertEquals(expectedDTO, actualDTO);
     }
 
+    @Test
+    void getDocument_WhenDocumentIsStored_ShouldReadContentFromBlobStorage() throws IOException {
+        UUID documentId = UUID.randomUUID();
+        Document document = new Document();
+        document.setId(documentId);
+        document.setStorageKey("a".repeat(64));
+
+        when(documentRepository.findById(documentId)).thenReturn(Optional.of(document));
+        when(documentMapper.documentToDocumentDTO(document)).thenReturn(new DocumentDTO());
+        when(blobStorageService.openStream(document.getStorageKey())).thenReturn(new ByteArrayInputStream("i".getBytes()));
+
+        DocumentDTO actualDTO = documentService.getDocument(documentId);
+
+        assertEquals("aQ==", actualDTO.getContentBase64());
+    }
+
     @Test
     void getDocument_WhenDocumentDoesNotExist_ShouldThrowDocumentNotFoundException() {
         UUID documentId = UUID.randomUUID();
@@ -65,28 +88,50 @@ public class DocumentServiceTest {
     }
 
     @Test
-    void getDocumentsForCase_WhenCaseExists_ShouldReturnListOfDocumentSummaryDTOs() {
-        UUID caseId = UUID.randomUUID();
-        Document doc1 = new Document();
-        doc1.setId(UUID.randomUUID());
-        doc1.setName("Doc1");
-        doc1.setType(DocumentTypes.JPG);
+    void getDocumentContent_WhenDocumentIsStored_ShouldReturnContentMetadata() {
+        UUID documentId = UUID.randomUUID();
+        Document document = new Document();
+        document.setId(documentId);
+        document.setName("Doc");
+        document.setContentType("application/pdf");
+        document.setSize(7L);
+        document.setSha256("e".repeat(64));
+        document.setStorageKey("e".repeat(64));
 
-        Document doc2 = new Document();
-        doc2.setId(UUID.randomUUID());
-        doc2.setName("Doc2");
-        doc2.setType(DocumentTypes.JPEG);
+        when(documentRepository.findById(documentId)).thenReturn(Optional.of(document));
 
-        List<Document> documents = List.of(doc1, doc2);
+        DocumentContentDTO content = documentService.getDocumentContent(documentId);
 
-        when(caseRepository.existsById(caseId)).thenReturn(true);
-        when(documentRepository.findByCaseEntityId(caseId)).thenReturn(documents);
+        assertEquals(new DocumentContentDTO("Doc", "application/pdf", 7L, "e".repeat(64), "e".repeat(64)), content);
+    }
+
+    @Test
+    void getDocumentContent_WhenDocumentHasNoStoredContent_ShouldThrowDocumentNotFoundException() {
+        UUID documentId = UUID.randomUUID();
+        when(documentRepository.findById(documentId)).thenReturn(Optional.of(new Document()));
+        assertThrows(DocumentNotFoundException.class, () -> documentService.getDocumentContent(documentId));
+    }
+
+    @Test
+    void writeDocumentContent_ShouldTransferTheRangeFromBlobStorage() throws IOException {
+        DocumentContentDTO content = new DocumentContentDTO("Doc", "application/pdf", 7L, "e".repeat(64), "e".repeat(64));
+
+        documentService.writeDocumentContent(content, 2, 3, new ByteArrayOutputStream());
 
+        verify(blobStorageService).transferTo(eq(content.getStorageKey()), eq(2L), eq(3L), any());
+    }
+
+    @Test
+    void getDocumentsForCase_WhenCaseExists_ShouldReturnListOfDocumentSummaryDTOs() {
+        UUID caseId = UUID.randomUUID();
         List<DocumentSummaryDTO> expectedList = List.of(
-                new DocumentSummaryDTO(doc1.getId(), doc1.getName(), doc1.getType()),
-                new DocumentSummaryDTO(doc2.getId(), doc2.getName(), doc2.getType())
+                new DocumentSummaryDTO(UUID.randomUUID(), "Doc1", DocumentTypes.JPG),
+                new DocumentSummaryDTO(UUID.randomUUID(), "Doc2", DocumentTypes.JPEG)
         );
 
+        when(caseRepository.existsById(caseId)).thenReturn(true);
+        when(documentRepository.findSummariesByCaseEntityId(caseId)).thenReturn(expectedList);
+
         List<DocumentSummaryDTO> actualList = documentService.getDocumentsForCase(caseId);
 
         assertEquals(expectedList, actualList);
@@ -97,7 +142,7 @@ public class DocumentServiceTest {
         UUID caseId = UUID.randomUUID();
 
         when(caseRepository.existsById(caseId)).thenReturn(true);
-        when(documentRepository.findByCaseEntityId(caseId)).thenReturn(List.of());
+        when(documentRepository.findSummariesByCaseEntityId(caseId)).thenReturn(List.of());
 
         List<DocumentSummaryDTO> actualList = documentService.getDocumentsForCase(caseId);
 
@@ -182,7 +227,6 @@ public class DocumentServiceTest {
         document.setId(UUID.randomUUID());
         document.setName("Doc");
         document.setType(DocumentTypes.JPG);
-        document.setContent("i".getBytes());
         document.setCaseEntity(caseEntity);
 
         CreateDocumentDTO ddto = new CreateDocumentDTO();
@@ -190,35 +234,44 @@ public class DocumentServiceTest {
         ddto.setName("Doc");
         ddto.setType(DocumentTypes.JPG);
 
-        DocumentDTO expectedDocumentDTO = new DocumentDTO(document.getId(), document.getName(), document.getType(), new String(document.getContent()));
+        DocumentDTO expectedDocumentDTO = new DocumentDTO(document.getId(), document.getName(), document.getType(), null);
+        StoredBlob storedBlob = new StoredBlob("b".repeat(64), "b".repeat(64), 1L);
 
         when(caseRepository.findById(caseId)).thenReturn(Optional.of(caseEntity));
+        when(blobStorageService.store(any(InputStream.class))).thenReturn(storedBlob);
         when(documentMapper.documentToDocumentDTO(document)).thenReturn(expectedDocumentDTO);
         when(documentRepository.save(any(Document.class))).thenReturn(document);
 
         DocumentDTO actualDocumentDTO = documentService.addDocument(ddto, caseId);
 
         assertEquals(expectedDocumentDTO, actualDocumentDTO);
+        verify(documentRepository).save(argThat(saved ->
+                storedBlob.getStorageKey().equals(saved.getStorageKey())
+                        && storedBlob.getSha256().equals(saved.getSha256())
+                        && saved.getSize() == 1L
+                        && "image/jpeg".equals(saved.getContentType())));
     }
 
     @Test
     void deleteDocument_WhenDocumentDoesNotExist_ShouldThrowDocumentNotFoundException() {
         UUID documentId = UUID.randomUUID();
-        when(documentRepository.existsById(documentId)).thenReturn(false);
+        when(documentRepository.findById(documentId)).thenReturn(Optional.empty());
         assertThrows(DocumentNotFoundException.class, () -> documentService.deleteDocument(documentId));
     }
 
     @Test
-    void deleteDocument_WhenDocumentExists_ShouldWork() {
+    void deleteDocument_WhenDocumentExists_ShouldLeaveTheContentToTheSweep() {
         UUID documentId = UUID.randomUUID();
         Document document = new Document();
         document.setId(documentId);
         document.setName("Doc");
+        document.setStorageKey("c".repeat(64));
 
-        when(documentRepository.existsById(documentId)).thenReturn(true);
+        when(documentRepository.findById(documentId)).thenReturn(Optional.of(document));
         documentService.deleteDocument(documentId);
 
-        verify(documentRepository).deleteById(documentId);
+        verify(documentRepository).delete(document);
+        verifyNoInteractions(blobStorageService);
     }
 
     @Test
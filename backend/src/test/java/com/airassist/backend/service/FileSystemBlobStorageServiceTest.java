@@ -0,0 +1,164 @@
+package com.airassist.backend.service;
+
+import com.airassist.backend.model.StoredBlob;
+import com.airassist.backend.service.impl.FileSystemBlobStorageServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileSystemBlobStorageServiceTest {
+    private static final String HELLO_SHA256 = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @TempDir
+    private Path root;
+
+    private FileSystemBlobStorageServiceImpl blobStorageService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        blobStorageService = new FileSystemBlobStorageServiceImpl(root);
+    }
+
+    @Test
+    void store_ShouldAddressContentBySha256() throws IOException {
+        StoredBlob storedBlob = blobStorageService.store(stream("hello"));
+
+        assertEquals(HELLO_SHA256, storedBlob.getSha256());
+        assertEquals(HELLO_SHA256, storedBlob.getStorageKey());
+        assertEquals(5, storedBlob.getSize());
+        assertTrue(Files.exists(root.resolve("2c").resolve("f2").resolve(HELLO_SHA256)));
+    }
+
+    @Test
+    void store_WhenContentIsAlreadyStored_ShouldKeepASingleCopy() throws IOException {
+        StoredBlob first = blobStorageService.store(stream("hello"));
+        StoredBlob second = blobStorageService.store(stream("hello"));
+
+        assertEquals(first, second);
+        try (Stream<Path> files = Files.walk(root)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void openStream_ShouldReturnStoredContent() throws IOException {
+        StoredBlob storedBlob = blobStorageService.store(stream("hello"));
+
+        try (InputStream content = blobStorageService.openStream(storedBlob.getStorageKey())) {
+            assertEquals("hello", new String(content.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void openChannel_ShouldSupportSeeking() throws IOException {
+        StoredBlob storedBlob = blobStorageService.store(stream("hello"));
+
+        try (SeekableByteChannel channel = blobStorageService.openChannel(storedBlob.getStorageKey())) {
+            ByteBuffer buffer = ByteBuffer.allocate(3);
+            channel.position(2).read(buffer);
+            assertEquals("llo", new String(buffer.array(), StandardCharsets.UTF_8));
+            assertEquals(5, channel.size());
+        }
+    }
+
+    @Test
+    void transferTo_ShouldCopyOnlyTheRequestedRange() throws IOException {
+        StoredBlob storedBlob = blobStorageService.store(stream("hello"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        blobStorageService.transferTo(storedBlob.getStorageKey(), 1, 3, Channels.newChannel(out));
+
+        assertEquals("ell", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void transferTo_WhenRangeExceedsContent_ShouldThrowEOFException() throws IOException {
+        StoredBlob storedBlob = blobStorageService.store(stream("hello"));
+
+        assertThrows(EOFException.class, () ->
+                blobStorageService.transferTo(storedBlob.getStorageKey(), 3, 10, Channels.newChannel(new ByteArrayOutputStream())));
+    }
+
+    @Test
+    void store_WhenContentIsAlreadyStored_ShouldRefreshItsStoreTime() throws IOException {
+        StoredBlob storedBlob = blobStorageService.store(stream("hello"));
+        Path file = root.resolve("2c").resolve("f2").resolve(HELLO_SHA256);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+
+        blobStorageService.store(stream("hello"));
+
+        assertTrue(Files.getLastModifiedTime(file).toInstant().isAfter(Instant.now().minus(Duration.ofMinutes(1))));
+        assertEquals(HELLO_SHA256, storedBlob.getStorageKey());
+    }
+
+    @Test
+    void listStoredBefore_ShouldListOnlyContentNotStoredSinceTheCutoff() throws IOException {
+        StoredBlob old = blobStorageService.store(stream("hello"));
+        blobStorageService.store(stream("world"));
+        age(old, Duration.ofDays(2));
+
+        try (Stream<String> storageKeys = blobStorageService.listStoredBefore(Instant.now().minus(Duration.ofDays(1)))) {
+            assertEquals(List.of(old.getStorageKey()), storageKeys.toList());
+        }
+    }
+
+    @Test
+    void deleteIfStoredBefore_ShouldDeleteContentNotStoredSinceTheCutoff() throws IOException {
+        StoredBlob storedBlob = blobStorageService.store(stream("hello"));
+        age(storedBlob, Duration.ofDays(2));
+
+        assertTrue(blobStorageService.deleteIfStoredBefore(storedBlob.getStorageKey(), Instant.now().minus(Duration.ofDays(1))));
+
+        assertThrows(IOException.class, () -> blobStorageService.openStream(storedBlob.getStorageKey()));
+        assertFalse(blobStorageService.deleteIfStoredBefore(storedBlob.getStorageKey(), Instant.now()));
+        try (Stream<Path> files = Files.walk(root)) {
+            assertEquals(0, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void deleteIfStoredBefore_WhenContentWasStoredAgain_ShouldKeepIt() throws IOException {
+        StoredBlob storedBlob = blobStorageService.store(stream("hello"));
+        age(storedBlob, Duration.ofDays(2));
+        Instant cutoff = Instant.now().minus(Duration.ofDays(1));
+        blobStorageService.store(stream("hello"));
+
+        assertFalse(blobStorageService.deleteIfStoredBefore(storedBlob.getStorageKey(), cutoff));
+
+        try (InputStream content = blobStorageService.openStream(storedBlob.getStorageKey())) {
+            assertEquals("hello", new String(content.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void openStream_WhenKeyIsNotAHash_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> blobStorageService.openStream("../../etc/passwd"));
+    }
+
+    private void age(StoredBlob storedBlob, Duration age) throws IOException {
+        String key = storedBlob.getStorageKey();
+        Path file = root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(age)));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,127 @@
+package com.airassist.backend.service;
+
+import com.airassist.backend.service.impl.JwtKeyServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtKeyServiceTest {
+
+    private static final String PASSWORD = "changeit";
+
+    @TempDir
+    Path tempDir;
+
+    private JwtKeyServiceImpl jwtKeyService;
+    private Path keystoreFile;
+
+    @BeforeEach
+    void setUp() {
+        jwtKeyService = new JwtKeyServiceImpl();
+        keystoreFile = tempDir.resolve("jwt-keys.p12");
+        ReflectionTestUtils.setField(jwtKeyService, "configuredKeys", "");
+        ReflectionTestUtils.setField(jwtKeyService, "keystorePath", "");
+        ReflectionTestUtils.setField(jwtKeyService, "keystorePassword", PASSWORD);
+        ReflectionTestUtils.setField(jwtKeyService, "activationDelay", Duration.ofMinutes(10));
+    }
+
+    @Test
+    void init_WhenNoKeysAreConfigured_ShouldGenerateALocalKey() {
+        jwtKeyService.init();
+
+        assertTrue(jwtKeyService.getSigningKey().getKid().startsWith("local-"));
+        assertTrue(jwtKeyService.findKey(jwtKeyService.getSigningKey().getKid()).isPresent());
+    }
+
+    @Test
+    void init_WithConfiguredKeys_ShouldSignWithTheLastAndVerifyWithAll() {
+        ReflectionTestUtils.setField(jwtKeyService, "configuredKeys", "2025-01:" + secret(1) + ", 2025-02:" + secret(2));
+
+        jwtKeyService.init();
+
+        assertEquals("2025-02", jwtKeyService.getSigningKey().getKid());
+        assertArrayEquals(Base64.getDecoder().decode(secret(2)), jwtKeyService.getSigningKey().getKey().getEncoded());
+        assertTrue(jwtKeyService.findKey("2025-01").isPresent());
+        assertTrue(jwtKeyService.findKey("unknown").isEmpty());
+        assertTrue(jwtKeyService.findKey(null).isEmpty());
+    }
+
+    @Test
+    void init_WhenAConfiguredKeyIsTooShort_ShouldFail() {
+        ReflectionTestUtils.setField(jwtKeyService, "configuredKeys", "short:" + Base64.getEncoder().encodeToString(new byte[8]));
+
+        assertThrows(RuntimeException.class, () -> jwtKeyService.init());
+    }
+
+    @Test
+    void reloadKeys_ShouldAcceptNewKeysBeforeSigningWithThemAndRetireRemovedKeys() throws Exception {
+        KeyStore keyStore = newKeyStore();
+        addKey(keyStore, "old", 1);
+        ReflectionTestUtils.setField(jwtKeyService, "keystorePath", keystoreFile.toString());
+        jwtKeyService.init();
+        assertEquals("old", jwtKeyService.getSigningKey().getKid());
+
+        addKey(keyStore, "new", 2);
+        jwtKeyService.reloadKeys();
+
+        assertTrue(jwtKeyService.findKey("new").isPresent());
+        assertEquals("old", jwtKeyService.getSigningKey().getKid());
+
+        ReflectionTestUtils.setField(jwtKeyService, "activationDelay", Duration.ZERO);
+        jwtKeyService.reloadKeys();
+        assertEquals("new", jwtKeyService.getSigningKey().getKid());
+
+        keyStore.deleteEntry("old");
+        save(keyStore);
+        jwtKeyService.reloadKeys();
+        assertTrue(jwtKeyService.findKey("old").isEmpty());
+    }
+
+    @Test
+    void reloadKeys_WhenTheKeystoreCannotBeRead_ShouldKeepTheCurrentKeys() throws Exception {
+        KeyStore keyStore = newKeyStore();
+        addKey(keyStore, "old", 1);
+        ReflectionTestUtils.setField(jwtKeyService, "keystorePath", keystoreFile.toString());
+        jwtKeyService.init();
+
+        Files.writeString(keystoreFile, "not a keystore");
+        jwtKeyService.reloadKeys();
+
+        assertEquals("old", jwtKeyService.getSigningKey().getKid());
+    }
+
+    private static String secret(int seed) {
+        byte[] bytes = new byte[32];
+        Arrays.fill(bytes, (byte) seed);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    private static KeyStore newKeyStore() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, null);
+        return keyStore;
+    }
+
+    private void addKey(KeyStore keyStore, String alias, int seed) throws Exception {
+        keyStore.setEntry(alias,
+                new KeyStore.SecretKeyEntry(new SecretKeySpec(Base64.getDecoder().decode(secret(seed)), "HmacSHA256")),
+                new KeyStore.PasswordProtection(PASSWORD.toCharArray()));
+        save(keyStore);
+    }
+
+    private void save(KeyStore keyStore) throws Exception {
+        try (OutputStream out = Files.newOutputStream(keystoreFile)) {
+            keyStore.store(out, PASSWORD.toCharArray());
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.airassist.backend.service;
+
+import com.airassist.backend.config.MailSendingConfig;
+import com.airassist.backend.model.OutboxEmail;
+import com.airassist.backend.model.enums.MailOutboxStatuses;
+import com.airassist.backend.model.enums.MailTemplates;
+import com.airassist.backend.repository.MailOutboxRepository;
+import com.airassist.backend.service.impl.MailOutboxServiceImpl;
+import com.airassist.backend.service.impl.MailSenderServiceImpl;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the outbox against H2 with real commits and a GreenMail SMTP server standing in for the mail provider.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class MailOutboxServiceTest {
+
+    private static final String ENCRYPTION_KEY = "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private GreenMail greenMail;
+    private TransactionTemplate transactionTemplate;
+    private MailSenderServiceImpl mailSenderService;
+
+    @BeforeEach
+    void setUp() {
+        greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.start();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        MailSendingConfig mailConfig = new MailSendingConfig();
+        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost("localhost");
+        javaMailSender.setPort(greenMail.getSmtp().getPort());
+        mailSenderService = new MailSenderServiceImpl();
+        ReflectionTestUtils.setField(mailSenderService, "templateEngine",
+                mailConfig.thymeleafTemplateEngine(mailConfig.thymeleafTemplateResolver()));
+        ReflectionTestUtils.setField(mailSenderService, "mailSender", javaMailSender);
+        ReflectionTestUtils.setField(mailSenderService, "emailMessageSource", mailConfig.emailMessageSource());
+        ReflectionTestUtils.invokeMethod(mailSenderService, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        greenMail.stop();
+        mailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void enqueue_ShouldSendTheEmailAfterTheTransactionCommits() throws Exception {
+        MailOutboxServiceImpl outbox = newOutbox(mailSenderService);
+
+        transactionTemplate.executeWithoutResult(status ->
+                outbox.enqueue("new@airassist.eu", MailTemplates.GENERATED_PASSWORD, Map.of("generatedPassword", "aB3$efGh1!jK")));
+
+        assertTrue(greenMail.waitForIncomingEmail(5000, 1));
+        MimeMessage message = greenMail.getReceivedMessages()[0];
+        assertEquals("Your Generated Password", message.getSubject());
+        assertEquals("new@airassist.eu", message.getAllRecipients()[0].toString());
+        assertTrue(GreenMailUtil.getBody(message).contains("aB3$efGh1!jK"));
+        awaitOutboxEmpty();
+        outbox.shutdown();
+    }
+
+    @Test
+    void enqueue_ShouldStoreTheVariablesEncrypted() throws Exception {
+        MailSenderService failingSender = mock(MailSenderService.class);
+        when(failingSender.createTemplatedMessage(anyString(), any(), anyMap())).thenThrow(new MessagingException("Connection refused"));
+        MailOutboxServiceImpl outbox = newOutbox(failingSender);
+
+        transactionTemplate.executeWithoutResult(status ->
+                outbox.enqueue("new@airassist.eu", MailTemplates.GENERATED_PASSWORD, Map.of("generatedPassword", "aB3$efGh1!jK")));
+
+        verify(failingSender, timeout(5000)).createTemplatedMessage("new@airassist.eu", MailTemplates.GENERATED_PASSWORD,
+                Map.of("generatedPassword", "aB3$efGh1!jK"));
+        OutboxEmail stored = mailOutboxRepository.findAll().getFirst();
+        assertTrue(stored.getVariables().startsWith("v1:"));
+        assertFalse(stored.getVariables().contains("aB3$efGh1!jK"));
+        outbox.shutdown();
+    }
+
+    @Test
+    void dispatchPending_WhenEncryptedVariablesAreMovedToAnotherRecipient_ShouldNotSendThem() throws Exception {
+        MailSenderService sender = mock(MailSenderService.class);
+        MailOutboxServiceImpl outbox = newOutbox(sender);
+        OutboxEmail email = saveDueEmail();
+        email.setVariables(ReflectionTestUtils.invokeMethod(outbox, "encrypt", "victim@airassist.eu",
+                MailTemplates.VALID_CASE, "{\"caseId\":7}"));
+        mailOutboxRepository.save(email);
+
+        assertEquals(0, outbox.dispatchPending());
+
+        verify(sender, never()).createTemplatedMessage(anyString(), any(), anyMap());
+        assertEquals(1, mailOutboxRepository.findById(email.getId()).orElseThrow().getAttempts());
+        outbox.shutdown();
+    }
+
+    @Test
+    void enqueue_WhenTheTransactionRollsBack_ShouldNotQueueTheEmail() {
+        MailOutboxServiceImpl outbox = newOutbox(mailSenderService);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            outbox.enqueue("rollback@airassist.eu", MailTemplates.CONTRACT_LINK, Map.of("contractLink", "https://airassist.eu/c/1"));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, mailOutboxRepository.count());
+        assertEquals(0, outbox.dispatchPending());
+        assertEquals(0, greenMail.getReceivedMessages().length);
+        outbox.shutdown();
+    }
+
+    @Test
+    void dispatchPending_ShouldSendEveryDueEmailInBatches() throws Exception {
+        MailOutboxServiceImpl outbox = newOutbox(mailSenderService);
+        ReflectionTestUtils.setField(outbox, "batchSize", 2);
+        for (int i = 0; i < 3; i++) {
+            saveDueEmail();
+        }
+
+        assertEquals(3, outbox.dispatchPending());
+
+        assertEquals(3, greenMail.getReceivedMessages().length);
+        assertEquals("Case Validated Successfully", greenMail.getReceivedMessages()[0].getSubject());
+        assertEquals(0, mailOutboxRepository.count());
+        outbox.shutdown();
+    }
+
+    @Test
+    void dispatchPending_WhenSendingFails_ShouldRetryWithBackoffAndGiveUpAfterMaxAttempts() throws Exception {
+        MailSenderService failingSender = mock(MailSenderService.class);
+        when(failingSender.createTemplatedMessage(anyString(), any(), anyMap())).thenAnswer(inv -> mock(MimeMessage.class));
+        when(failingSender.sendBatch(anyList())).thenAnswer(inv -> {
+            Map<MimeMessage, Exception> failures = new IdentityHashMap<>();
+            inv.<List<MimeMessage>>getArgument(0).forEach(message -> failures.put(message, new MessagingException("Connection refused")));
+            return failures;
+        });
+        MailOutboxServiceImpl outbox = newOutbox(failingSender);
+        ReflectionTestUtils.setField(outbox, "maxAttempts", 2);
+        OutboxEmail email = saveDueEmail();
+
+        assertEquals(0, outbox.dispatchPending());
+
+        OutboxEmail retried = mailOutboxRepository.findById(email.getId()).orElseThrow();
+        assertEquals(MailOutboxStatuses.PENDING, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+        assertEquals("Connection refused", retried.getLastError());
+        assertTrue(retried.getNextAttemptAt().isAfter(Instant.now().plusSeconds(20)));
+
+        retried.setNextAttemptAt(Instant.now());
+        mailOutboxRepository.save(retried);
+        assertEquals(0, outbox.dispatchPending());
+
+        OutboxEmail failed = mailOutboxRepository.findById(email.getId()).orElseThrow();
+        assertEquals(MailOutboxStatuses.FAILED, failed.getStatus());
+        assertEquals(2, failed.getAttempts());
+        assertNull(failed.getVariables());
+        assertEquals(0, outbox.dispatchPending());
+        verify(failingSender, times(2)).sendBatch(anyList());
+        outbox.shutdown();
+    }
+
+    @Test
+    void dispatchPending_WhenTheEmailIsClaimedElsewhere_ShouldSkipIt() throws Exception {
+        MailSenderService sender = mock(MailSenderService.class);
+        MailOutboxServiceImpl outbox = newOutbox(sender);
+        OutboxEmail email = saveDueEmail();
+
+        Instant now = Instant.now();
+        transactionTemplate.executeWithoutResult(status ->
+                assertEquals(1, mailOutboxRepository.claim(email.getId(), now, now.plus(Duration.ofMinutes(2)))));
+
+        assertEquals(0, outbox.dispatchPending());
+        verifyNoInteractions(sender);
+        outbox.shutdown();
+    }
+
+    @Test
+    void backoff_ShouldDoubleUpToTheMaximum() {
+        MailOutboxServiceImpl outbox = newOutbox(mailSenderService);
+
+        assertEquals(Duration.ofSeconds(30), ReflectionTestUtils.invokeMethod(outbox, "backoff", 1));
+        assertEquals(Duration.ofSeconds(60), ReflectionTestUtils.invokeMethod(outbox, "backoff", 2));
+        assertEquals(Duration.ofMinutes(8), ReflectionTestUtils.invokeMethod(outbox, "backoff", 5));
+        assertEquals(Duration.ofHours(1), ReflectionTestUtils.invokeMethod(outbox, "backoff", 50));
+        outbox.shutdown();
+    }
+
+    private MailOutboxServiceImpl newOutbox(MailSenderService sender) {
+        MailOutboxServiceImpl outbox = new MailOutboxServiceImpl(mailOutboxRepository, sender, transactionTemplate);
+        ReflectionTestUtils.setField(outbox, "batchSize", 50);
+        ReflectionTestUtils.setField(outbox, "maxAttempts", 8);
+        ReflectionTestUtils.setField(outbox, "initialBackoff", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(outbox, "maxBackoff", Duration.ofHours(1));
+        ReflectionTestUtils.setField(outbox, "sendLease", Duration.ofMinutes(2));
+        ReflectionTestUtils.setField(outbox, "encryptionKey", ENCRYPTION_KEY);
+        outbox.init();
+        return outbox;
+    }
+
+    private OutboxEmail saveDueEmail() {
+        Instant now = Instant.now();
+        return mailOutboxRepository.save(new OutboxEmail(null, "retry@airassist.eu", MailTemplates.VALID_CASE,
+                "{\"caseId\":7}", MailOutboxStatuses.PENDING, 0, now, null, now));
+    }
+
+    private void awaitOutboxEmpty() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (mailOutboxRepository.count() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, mailOutboxRepository.count());
+    }
+}
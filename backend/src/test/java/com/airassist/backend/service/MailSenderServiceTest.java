@@ -1,15 +1,24 @@
 package com.airassist.backend.service;
 
+import com.airassist.backend.model.enums.MailTemplates;
 import com.airassist.backend.service.impl.MailSenderServiceImpl;
+import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring6.SpringTemplateEngine;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -22,13 +31,18 @@ public class MailSenderServiceTest {
     private SpringTemplateEngine templateEngine;
     @Mock
     private MimeMessage mimeMessage;
+    @Mock
+    private MessageSource emailMessageSource;
 
     @InjectMocks
     private MailSenderServiceImpl mailSenderService;
 
     @BeforeEach
     void setUp() {
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
+        lenient().when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
+        when(emailMessageSource.getMessage(anyString(), isNull(), eq(Locale.ENGLISH)))
+                .thenAnswer(inv -> "Subject of " + inv.getArgument(0));
+        ReflectionTestUtils.invokeMethod(mailSenderService, "init");
     }
 
     @Test
@@ -129,4 +143,48 @@ public class MailSenderServiceTest {
                 mailSenderService.sendContractLink(recipient, link)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void sendBatch_ShouldReturnOnlyTheMessagesThatFailed() {
+        MimeMessage rejected = mock(MimeMessage.class);
+        MessagingException error = new MessagingException("Recipient rejected");
+        doThrow(new MailSendException(Map.of(rejected, error))).when(mailSender).send(any(MimeMessage[].class));
+
+        Map<MimeMessage, Exception> failures = mailSenderService.sendBatch(List.of(mimeMessage, rejected));
+
+        assertEquals(1, failures.size());
+        assertSame(error, failures.get(rejected));
+    }
+
+    @Test
+    void sendBatch_WhenTheConnectionFails_ShouldReturnEveryMessage() {
+        MimeMessage other = mock(MimeMessage.class);
+        doThrow(new MailAuthenticationException("Bad credentials")).when(mailSender).send(any(MimeMessage[].class));
+
+        Map<MimeMessage, Exception> failures = mailSenderService.sendBatch(List.of(mimeMessage, other));
+
+        assertEquals(2, failures.size());
+        assertInstanceOf(MailAuthenticationException.class, failures.get(other));
+    }
+
+    @Test
+    void createTemplatedMessage_ShouldUseTheSubjectFromTheMessageSource() throws Exception {
+        when(templateEngine.process(eq("contractLinkEmail.html"), any(Context.class))).thenReturn("html");
+
+        mailSenderService.createTemplatedMessage("user@example.com", MailTemplates.CONTRACT_LINK, Map.of("contractLink", "link"));
+
+        verify(mimeMessage).setSubject("Subject of mail.subject.contractLink", "UTF-8");
+    }
+
+    @Test
+    void renderTemplate_ShouldPassTheRecipientAndVariablesInAnEnglishContext() {
+        ArgumentCaptor<Context> context = ArgumentCaptor.forClass(Context.class);
+        when(templateEngine.process(eq("validCaseEmail.html"), context.capture())).thenReturn("html");
+
+        assertEquals("html", mailSenderService.renderTemplate("user@example.com", MailTemplates.VALID_CASE, Map.of("caseId", 7)));
+
+        assertEquals("user@example.com", context.getValue().getVariable("recipientName"));
+        assertEquals(7, context.getValue().getVariable("caseId"));
+        assertEquals(Locale.ENGLISH, context.getValue().getLocale());
+    }
+}
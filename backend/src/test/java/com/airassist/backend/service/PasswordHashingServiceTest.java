@@ -0,0 +1,83 @@
+package com.airassist.backend.service;
+
+import com.airassist.backend.exception.auth.PasswordHashingBusyException;
+import com.airassist.backend.service.impl.PasswordHashingServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingServiceImpl passwordHashingService;
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    void encodeAndMatches_ShouldHashOnTheWorkersAndRecordDurations() throws Exception {
+        passwordHashingService = new PasswordHashingServiceImpl(new BCryptPasswordEncoder(4), meterRegistry, 2, 4);
+
+        String encoded = passwordHashingService.encode("secret");
+
+        assertTrue(passwordHashingService.matches("secret", encoded));
+        assertFalse(passwordHashingService.matches("other", encoded));
+        assertEquals(1, meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("password.hashing.duration").tag("operation", "matches").timer().count());
+        assertNotNull(meterRegistry.find("executor.queued").tag("name", "password.hashing").gauge());
+    }
+
+    @Test
+    void encode_WhenWorkersAndQueueAreFull_ShouldRejectImmediately() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "encoded-" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals(encode(rawPassword));
+            }
+        };
+        passwordHashingService = new PasswordHashingServiceImpl(blockingEncoder, meterRegistry, 1, 1);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encodeUnchecked("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encodeUnchecked("second"));
+        while (meterRegistry.get("executor.queued").tag("name", "password.hashing").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(PasswordHashingBusyException.class, () -> passwordHashingService.encode("third"));
+        assertEquals(1, meterRegistry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("encoded-first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("encoded-second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private String encodeUnchecked(String rawPassword) {
+        try {
+            return passwordHashingService.encode(rawPassword);
+        } catch (PasswordHashingBusyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.airassist.backend.service;
+
+import com.airassist.backend.service.impl.PdfCacheServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfCacheServiceTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void keyOf_ShouldNotDependOnTheOrderOfTheData() throws Exception {
+        PdfCacheService cache = newCache(DataSize.ofMegabytes(1), "");
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("caseId", 7);
+        first.put("passenger", Map.of("firstName", "Ana", "lastName", "Pop"));
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("passenger", new LinkedHashMap<>(Map.of("lastName", "Pop", "firstName", "Ana")));
+        second.put("caseId", 7);
+
+        assertEquals(cache.keyOf("contract", first), cache.keyOf("contract", second));
+        assertTrue(cache.keyOf("contract", first).matches("[0-9a-f]{64}"));
+    }
+
+    @Test
+    void keyOf_ShouldDifferForADifferentTemplateOrData() throws Exception {
+        PdfCacheService cache = newCache(DataSize.ofMegabytes(1), "");
+        String key = cache.keyOf("contract", Map.of("caseId", 7));
+
+        assertNotEquals(key, cache.keyOf("invoice", Map.of("caseId", 7)));
+        assertNotEquals(key, cache.keyOf("contract", Map.of("caseId", 8)));
+        assertNotEquals(key, cache.keyOf("contract", Map.of("caseId", "7")));
+        assertNotEquals(cache.keyOf("contract", Map.of("tags", List.of("a", "b"))),
+                cache.keyOf("contract", Map.of("tags", List.of("b", "a"))));
+    }
+
+    @Test
+    void get_ShouldReturnWhatWasPutAndRecordHitsAndMisses() throws Exception {
+        PdfCacheService cache = newCache(DataSize.ofMegabytes(1), "");
+        byte[] pdf = {1, 2, 3};
+
+        assertNull(cache.get("key"));
+        cache.put("key", pdf);
+        assertSame(pdf, cache.get("key"));
+
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "pdf.contracts").tag("result", "hit").functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "pdf.contracts").tag("result", "miss").functionCounter().count());
+        assertEquals(3, meterRegistry.get("pdf.cache.weight").tag("tier", "memory").gauge().value());
+    }
+
+    @Test
+    void put_ShouldEvictDocumentsBeyondTheByteLimit() throws Exception {
+        PdfCacheService cache = newCache(DataSize.ofBytes(100), "");
+
+        cache.put("first", new byte[60]);
+        cache.put("second", new byte[60]);
+
+        int cached = (cache.get("first") != null ? 1 : 0) + (cache.get("second") != null ? 1 : 0);
+        assertEquals(1, cached);
+        assertTrue(meterRegistry.get("pdf.cache.weight").tag("tier", "memory").gauge().value() <= 100);
+    }
+
+    @Test
+    void put_WhenADocumentIsLargerThanAnEntryMayBe_ShouldNotCacheIt() throws Exception {
+        PdfCacheService cache = newCache(DataSize.ofMegabytes(4), "");
+        int maxEntrySize = (int) DataSize.ofMegabytes(1).toBytes();
+
+        cache.put("small", new byte[maxEntrySize]);
+        cache.put("large", new byte[maxEntrySize + 1]);
+
+        assertTrue(cache.accepts(maxEntrySize));
+        assertFalse(cache.accepts(maxEntrySize + 1));
+        assertNotNull(cache.get("small"));
+        assertNull(cache.get("large"));
+    }
+
+    @Test
+    void get_WhenADocumentWasEvicted_ShouldReadItBackFromTheSpillDirectory() throws Exception {
+        PdfCacheService cache = newCache(DataSize.ofBytes(100), spillDirectory.toString());
+        byte[] first = filled(60, 1);
+        byte[] second = filled(60, 2);
+
+        cache.put("first", first);
+        cache.put("second", second);
+        try (var files = Files.list(spillDirectory)) {
+            assertEquals(1, files.count());
+        }
+
+        assertArrayEquals(first, cache.get("first"));
+        assertArrayEquals(second, cache.get("second"));
+        assertTrue(meterRegistry.get("pdf.cache.spill.gets").tag("result", "hit").counter().count() >= 1);
+    }
+
+    @Test
+    void get_WhenASpilledDocumentIsPromoted_ShouldDeleteItsFile() throws Exception {
+        PdfCacheService cache = newCache(DataSize.ofBytes(100), spillDirectory.toString());
+        cache.put("a", filled(60, 1));
+        cache.put("b", filled(60, 2));
+        String spilledKey;
+        try (var files = Files.list(spillDirectory)) {
+            spilledKey = files.findFirst().orElseThrow().getFileName().toString().replace(".pdf", "");
+        }
+
+        assertNotNull(cache.get(spilledKey));
+
+        assertFalse(Files.exists(spillDirectory.resolve(spilledKey + ".pdf")));
+    }
+
+    @Test
+    void constructor_ShouldClearLeftoverSpillFiles() throws Exception {
+        Files.write(spillDirectory.resolve("stale.pdf"), new byte[]{1});
+
+        PdfCacheService cache = newCache(DataSize.ofBytes(100), spillDirectory.toString());
+
+        assertFalse(Files.exists(spillDirectory.resolve("stale.pdf")));
+        assertNull(cache.get("stale"));
+        assertEquals(1, meterRegistry.get("pdf.cache.spill.gets").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void put_WhenTheCacheIsDisabled_ShouldKeepNothing() throws Exception {
+        PdfCacheService cache = newCache(DataSize.ofBytes(0), spillDirectory.toString());
+
+        cache.put("key", new byte[]{1});
+
+        assertFalse(cache.isEnabled());
+        assertFalse(cache.accepts(1));
+        assertNull(cache.get("key"));
+    }
+
+    private PdfCacheService newCache(DataSize maxSize, String spillDirectory) throws Exception {
+        return new PdfCacheServiceImpl(meterRegistry, maxSize, DataSize.ofMegabytes(1), Duration.ofHours(1), spillDirectory, DataSize.ofMegabytes(1));
+    }
+
+    private static byte[] filled(int length, int value) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) value);
+        return bytes;
+    }
+}
@@ -1,30 +1,47 @@
 package com.airassist.backend.service;
 
+import com.airassist.backend.exception.document.PdfGenerationBusyException;
 import com.airassist.backend.service.impl.PdfServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring6.SpringTemplateEngine;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 public class PdfServiceTest {
 
-    @InjectMocks
     private PdfServiceImpl pdfService;
 
     @Mock
     private SpringTemplateEngine templateEngine;
 
+    @Mock
+    private PdfCacheService pdfCacheService;
+
     @BeforeEach
-    void setUp() {
+    void setUp() throws Exception {
         MockitoAnnotations.openMocks(this);
+        pdfService = new PdfServiceImpl(templateEngine, pdfCacheService, 1, Duration.ofMillis(50), true, true,
+                DataSize.ofMegabytes(1));
     }
 
     @Test
-    void generatePdf_ShouldReturnPdfBytes()  {
+    void generatePdf_ShouldReturnPdfBytes() throws Exception {
         String template = "testTemplate";
         Map<String, Object> model = new HashMap<>();
         String html = "<html>test</html>";
@@ -37,6 +54,157 @@ public class PdfServiceTest {
         assertNotNull(result);
     }
 
+    @Test
+    void generatePdf_ShouldEmbedTheBundledFontOnEveryRender() throws Exception {
+        String html = "<html><body style=\"font-family: 'DejaVuSans'\">Ștefan Ionescu</body></html>";
+        when(templateEngine.process(eq("contract"), any(Context.class))).thenReturn(html);
+
+        for (int i = 0; i < 2; i++) {
+            String pdf = new String(pdfService.generatePdf("contract", Map.of()), StandardCharsets.ISO_8859_1);
+            assertTrue(pdf.startsWith("%PDF"));
+            assertTrue(pdf.contains("DejaVuSans"));
+        }
+    }
+
+    @Test
+    void generatePdf_WhenFontHintingIsStripped_ShouldProduceASmallerDocument() throws Exception {
+        String html = "<html><body style=\"font-family: 'DejaVuSans'\">Ștefan Ionescu, AB12CD</body></html>";
+        when(templateEngine.process(eq("contract"), any(Context.class))).thenReturn(html);
+        PdfServiceImpl hintedPdfService = new PdfServiceImpl(templateEngine, pdfCacheService, 1, Duration.ofMillis(50), true, false,
+                DataSize.ofMegabytes(1));
+
+        byte[] stripped = pdfService.generatePdf("contract", Map.of());
+        byte[] hinted = hintedPdfService.generatePdf("contract", Map.of());
+
+        assertTrue(stripped.length < hinted.length);
+        assertTrue(new String(stripped, StandardCharsets.ISO_8859_1).contains("DejaVuSans"));
+    }
+
+    @Test
+    void writePdf_ShouldWriteTheDocumentToTheStreamWithoutClosingIt() throws Exception {
+        when(templateEngine.process(eq("contract"), any(Context.class))).thenReturn("<html>test</html>");
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        pdfService.writePdf("contract", Map.of(), outputStream);
+
+        String pdf = outputStream.toString(StandardCharsets.ISO_8859_1);
+        assertTrue(pdf.startsWith("%PDF"));
+        assertTrue(pdf.stripTrailing().endsWith("%%EOF"));
+        assertFalse(closed.get());
+    }
+
+    @Test
+    void writePdf_ShouldReleaseTheRenderSlotBeforeWritingToTheStream() throws Exception {
+        when(templateEngine.process(eq("contract"), any(Context.class))).thenReturn("<html>test</html>");
+        Semaphore renderPermits = (Semaphore) ReflectionTestUtils.getField(pdfService, "renderPermits");
+        AtomicInteger permitsWhileWriting = new AtomicInteger(-1);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void write(byte[] b, int off, int len) {
+                permitsWhileWriting.compareAndSet(-1, renderPermits.availablePermits());
+                super.write(b, off, len);
+            }
+        };
+
+        pdfService.writePdf("contract", Map.of(), outputStream);
+
+        assertEquals(1, permitsWhileWriting.get());
+        assertTrue(outputStream.toString(StandardCharsets.ISO_8859_1).startsWith("%PDF"));
+    }
+
+    @Test
+    void writePdf_WhenTheDocumentOutgrowsTheMemoryBuffer_ShouldBufferItInATemporaryFile() throws Exception {
+        when(templateEngine.process(eq("contract"), any(Context.class))).thenReturn("<html>test</html>");
+        PdfServiceImpl smallBufferPdfService = new PdfServiceImpl(templateEngine, pdfCacheService, 1, Duration.ofMillis(50), true, true,
+                DataSize.ofBytes(64));
+        Path tempDirectory = Path.of(System.getProperty("java.io.tmpdir"));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        smallBufferPdfService.writePdf("contract", Map.of(), outputStream);
+
+        String pdf = outputStream.toString(StandardCharsets.ISO_8859_1);
+        assertTrue(pdf.startsWith("%PDF"));
+        assertTrue(pdf.stripTrailing().endsWith("%%EOF"));
+        try (Stream<Path> renderBuffers = Files.list(tempDirectory)) {
+            assertTrue(renderBuffers.noneMatch(file -> file.getFileName().toString().startsWith("pdf-render-")));
+        }
+    }
+
+    @Test
+    void writePdf_WhenTemplateEngineFails_ShouldNotWriteAnything() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        when(templateEngine.process(eq("contract"), any(Context.class))).thenThrow(new RuntimeException("fail"));
+
+        assertThrows(RuntimeException.class, () -> pdfService.writePdf("contract", Map.of(), outputStream));
+        assertEquals(0, outputStream.size());
+    }
+
+    @Test
+    void writePdf_WhenTheDocumentIsCached_ShouldWriteItWithoutRendering() throws Exception {
+        Map<String, Object> data = Map.of("caseId", 7);
+        byte[] cached = "%PDF-cached".getBytes(StandardCharsets.ISO_8859_1);
+        when(pdfCacheService.isEnabled()).thenReturn(true);
+        when(pdfCacheService.keyOf("contract", data)).thenReturn("key");
+        when(pdfCacheService.get("key")).thenReturn(cached);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        pdfService.writePdf("contract", data, outputStream);
+
+        assertArrayEquals(cached, outputStream.toByteArray());
+        verifyNoInteractions(templateEngine);
+        verify(pdfCacheService, never()).put(anyString(), any());
+    }
+
+    @Test
+    void writePdf_WhenTheDocumentIsNotCached_ShouldCacheWhatWasWritten() throws Exception {
+        Map<String, Object> data = Map.of("caseId", 7);
+        when(pdfCacheService.isEnabled()).thenReturn(true);
+        when(pdfCacheService.keyOf("contract", data)).thenReturn("key");
+        when(pdfCacheService.accepts(anyLong())).thenReturn(true);
+        when(templateEngine.process(eq("contract"), any(Context.class))).thenReturn("<html>test</html>");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        pdfService.writePdf("contract", data, outputStream);
+
+        ArgumentCaptor<byte[]> cachedPdf = ArgumentCaptor.forClass(byte[].class);
+        verify(pdfCacheService).put(eq("key"), cachedPdf.capture());
+        assertArrayEquals(outputStream.toByteArray(), cachedPdf.getValue());
+        verify(pdfCacheService).accepts(outputStream.size());
+    }
+
+    @Test
+    void writePdf_WhenTheDocumentIsTooLargeToCache_ShouldNotCopyIt() throws Exception {
+        Map<String, Object> data = Map.of("caseId", 7);
+        when(pdfCacheService.isEnabled()).thenReturn(true);
+        when(pdfCacheService.keyOf("contract", data)).thenReturn("key");
+        when(pdfCacheService.accepts(anyLong())).thenReturn(false);
+        when(templateEngine.process(eq("contract"), any(Context.class))).thenReturn("<html>test</html>");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        pdfService.writePdf("contract", data, outputStream);
+
+        assertTrue(outputStream.toString(StandardCharsets.ISO_8859_1).startsWith("%PDF"));
+        verify(pdfCacheService, never()).put(anyString(), any());
+    }
+
+    @Test
+    void generatePdf_WhenEveryRenderSlotIsTaken_ShouldThrowBusyException() throws Exception {
+        when(templateEngine.process(eq("contract"), any(Context.class))).thenReturn("<html>test</html>");
+        Semaphore renderPermits = (Semaphore) ReflectionTestUtils.getField(pdfService, "renderPermits");
+        renderPermits.acquire();
+
+        assertThrows(PdfGenerationBusyException.class, () -> pdfService.generatePdf("contract", Map.of()));
+
+        renderPermits.release();
+        assertNotNull(pdfService.generatePdf("contract", Map.of()));
+    }
+
     @Test
     void generatePdf_WhenTemplateEngineFails_ShouldThrowException() {
         String template = "testTemplate";
@@ -46,4 +214,4 @@ public class PdfServiceTest {
 
         assertThrows(RuntimeException.class, () -> pdfService.generatePdf(template, model));
     }
-}
\ No newline at end of file
+}
@@ -10,6 +10,10 @@ import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -27,6 +31,9 @@ public class RandomPasswordGeneratorServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(service, "strategy", RandomPasswordGeneratorServiceImpl.Strategy.REMOTE);
+        ReflectionTestUtils.setField(service, "fallbackToLocal", false);
+        ReflectionTestUtils.setField(service, "defaultLength", 12);
         ReflectionTestUtils.setField(service, "apiUrl", "http://mock.api/{}");
         ReflectionTestUtils.setField(service, "restTemplate", restTemplate);
         ReflectionTestUtils.setField(service, "objectMapper", objectMapper);
@@ -100,4 +107,59 @@ public class RandomPasswordGeneratorServiceTest {
 
         assertEquals("mocked", result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void generateRandomPassword_WhenLocalStrategy_ShouldNotCallApi() throws Exception {
+        ReflectionTestUtils.setField(service, "strategy", RandomPasswordGeneratorServiceImpl.Strategy.LOCAL);
+
+        String result = service.generateRandomPassword(16);
+
+        assertEquals(16, result.length());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void generateRandomPassword_WhenApiFailsAndFallbackEnabled_ShouldGenerateLocally() throws Exception {
+        ReflectionTestUtils.setField(service, "fallbackToLocal", true);
+        when(restTemplate.getForObject(anyString(), eq(String.class))).thenThrow(new RuntimeException("fail"));
+
+        String result = service.generateRandomPassword(10);
+
+        assertEquals(10, result.length());
+    }
+
+    @Test
+    void generateRandomPassword_WhenLocalStrategy_ShouldContainEveryCharacterGroup() throws Exception {
+        ReflectionTestUtils.setField(service, "strategy", RandomPasswordGeneratorServiceImpl.Strategy.LOCAL);
+
+        for (int i = 0; i < 200; i++) {
+            String password = service.generateRandomPassword(4);
+
+            assertTrue(password.chars().anyMatch(c -> RandomPasswordGeneratorServiceImpl.UPPERCASE.indexOf(c) >= 0));
+            assertTrue(password.chars().anyMatch(c -> RandomPasswordGeneratorServiceImpl.LOWERCASE.indexOf(c) >= 0));
+            assertTrue(password.chars().anyMatch(c -> RandomPasswordGeneratorServiceImpl.DIGITS.indexOf(c) >= 0));
+            assertTrue(password.chars().anyMatch(c -> RandomPasswordGeneratorServiceImpl.SPECIAL.indexOf(c) >= 0));
+        }
+    }
+
+    @Test
+    void generateRandomPassword_WhenLocalStrategy_ShouldMatchChangePasswordPattern() throws Exception {
+        ReflectionTestUtils.setField(service, "strategy", RandomPasswordGeneratorServiceImpl.Strategy.LOCAL);
+
+        Set<String> passwords = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            String password = service.generateRandomPassword(12);
+            assertTrue(password.matches("^[a-zA-Z0-9!@#$%^&*()_+{}:\"'<>?|\\[\\];,./`~]{6,30}$"), password);
+            passwords.add(password);
+        }
+
+        assertEquals(100, passwords.size());
+    }
+
+    @Test
+    void generateRandomPassword_WhenLocalStrategyAndLengthTooShort_ShouldThrow() {
+        ReflectionTestUtils.setField(service, "strategy", RandomPasswordGeneratorServiceImpl.Strategy.LOCAL);
+
+        assertThrows(IllegalArgumentException.class, () -> service.generateRandomPassword(3));
+    }
+}
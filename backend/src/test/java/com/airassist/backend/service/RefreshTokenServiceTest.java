@@ -0,0 +1,148 @@
+package com.airassist.backend.service;
+
+import com.airassist.backend.exception.auth.InvalidTokenException;
+import com.airassist.backend.model.RefreshSession;
+import com.airassist.backend.model.RefreshToken;
+import com.airassist.backend.model.User;
+import com.airassist.backend.model.UserDetails;
+import com.airassist.backend.model.enums.Roles;
+import com.airassist.backend.repository.RefreshTokenRepository;
+import com.airassist.backend.service.impl.RefreshTokenServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+public class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private RefreshTokenServiceImpl refreshTokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = newService();
+        UserDetails details = new UserDetails(null, "+40700000001", "Street 1", "400000", LocalDate.of(1990, 1, 1));
+        user = new User(null, "session@airassist.eu", "secret", "First", "Last", Roles.USER, details, null, null, false);
+        entityManager.persist(user);
+    }
+
+    @Test
+    void createSession_ShouldStoreOnlyTheHashOfTheRefreshToken() {
+        RefreshSession session = refreshTokenService.createSession(user);
+
+        RefreshToken stored = refreshTokenRepository.findById(session.getSessionId()).orElseThrow();
+        assertEquals(64, stored.getTokenHash().length());
+        assertNotEquals(session.getRefreshToken(), stored.getTokenHash());
+        assertTrue(stored.getExpiresAt().isAfter(Instant.now().plus(Duration.ofDays(13))));
+        assertFalse(refreshTokenService.isSessionRevoked(session.getSessionId()));
+    }
+
+    @Test
+    void rotate_ShouldReplaceTheTokenAndKeepTheSession() throws Exception {
+        RefreshSession session = refreshTokenService.createSession(user);
+
+        RefreshSession rotated = refreshTokenService.rotate(session.getRefreshToken());
+
+        assertEquals(session.getSessionId(), rotated.getSessionId());
+        assertEquals(user.getId(), rotated.getUser().getId());
+        assertNotEquals(session.getRefreshToken(), rotated.getRefreshToken());
+        assertEquals(session.getSessionId(), refreshTokenService.rotate(rotated.getRefreshToken()).getSessionId());
+    }
+
+    @Test
+    void rotate_WhenAReplacedTokenIsReused_ShouldRevokeTheSession() throws Exception {
+        RefreshSession session = refreshTokenService.createSession(user);
+        RefreshSession rotated = refreshTokenService.rotate(session.getRefreshToken());
+        RefreshToken stored = refreshTokenRepository.findById(session.getSessionId()).orElseThrow();
+        stored.setRotatedAt(Instant.now().minus(Duration.ofMinutes(1)));
+        refreshTokenRepository.saveAndFlush(stored);
+
+        assertThrows(InvalidTokenException.class, () -> refreshTokenService.rotate(session.getRefreshToken()));
+
+        assertTrue(refreshTokenService.isSessionRevoked(session.getSessionId()));
+        assertThrows(InvalidTokenException.class, () -> refreshTokenService.rotate(rotated.getRefreshToken()));
+    }
+
+    @Test
+    void rotate_WhenAReplacedTokenIsReusedRightAfterTheRotation_ShouldRejectItWithoutRevokingTheSession() throws Exception {
+        RefreshSession session = refreshTokenService.createSession(user);
+        RefreshSession rotated = refreshTokenService.rotate(session.getRefreshToken());
+
+        assertThrows(InvalidTokenException.class, () -> refreshTokenService.rotate(session.getRefreshToken()));
+
+        assertFalse(refreshTokenService.isSessionRevoked(session.getSessionId()));
+        assertEquals(session.getSessionId(), refreshTokenService.rotate(rotated.getRefreshToken()).getSessionId());
+    }
+
+    @Test
+    void rotate_WhenTokenIsUnknownOrExpired_ShouldThrowInvalidTokenException() {
+        RefreshSession session = refreshTokenService.createSession(user);
+        RefreshToken stored = refreshTokenRepository.findById(session.getSessionId()).orElseThrow();
+        stored.setExpiresAt(Instant.now().minusSeconds(1));
+        refreshTokenRepository.saveAndFlush(stored);
+
+        assertThrows(InvalidTokenException.class, () -> refreshTokenService.rotate("unknown"));
+        assertThrows(InvalidTokenException.class, () -> refreshTokenService.rotate(session.getRefreshToken()));
+    }
+
+    @Test
+    void revoke_ShouldRejectTheSessionsTokens() {
+        RefreshSession session = refreshTokenService.createSession(user);
+
+        refreshTokenService.revoke(session.getRefreshToken());
+
+        assertTrue(refreshTokenService.isSessionRevoked(session.getSessionId()));
+        assertThrows(InvalidTokenException.class, () -> refreshTokenService.rotate(session.getRefreshToken()));
+    }
+
+    @Test
+    void revokeAllSessions_ShouldRevokeEverySessionOfTheUser() {
+        RefreshSession first = refreshTokenService.createSession(user);
+        RefreshSession second = refreshTokenService.createSession(user);
+
+        refreshTokenService.revokeAllSessions(user.getId());
+
+        assertTrue(refreshTokenService.isSessionRevoked(first.getSessionId()));
+        assertTrue(refreshTokenService.isSessionRevoked(second.getSessionId()));
+    }
+
+    @Test
+    void syncRevocationFilter_ShouldPickUpSessionsRevokedByAnotherInstance() {
+        RefreshSession session = refreshTokenService.createSession(user);
+        RefreshTokenServiceImpl otherInstance = newService();
+
+        otherInstance.revoke(session.getRefreshToken());
+        assertFalse(refreshTokenService.isSessionRevoked(session.getSessionId()));
+
+        refreshTokenService.syncRevocationFilter();
+
+        assertTrue(refreshTokenService.isSessionRevoked(session.getSessionId()));
+        assertFalse(refreshTokenService.isSessionRevoked(UUID.randomUUID()));
+    }
+
+    private RefreshTokenServiceImpl newService() {
+        RefreshTokenServiceImpl service = new RefreshTokenServiceImpl(refreshTokenRepository);
+        ReflectionTestUtils.setField(service, "refreshTokenTtl", Duration.ofDays(14));
+        ReflectionTestUtils.setField(service, "accessTokenTtl", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(service, "refreshReuseGrace", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(service, "revocationFilterCapacity", 1000);
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,63 @@
+package com.airassist.backend.service;
+
+import com.airassist.backend.service.impl.TrueTypeHintingStripper;
+import org.apache.fontbox.ttf.GlyphData;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import java.io.ByteArrayInputStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrueTypeHintingStripperTest {
+
+    private byte[] fontBytes;
+    private TrueTypeFont original;
+    private TrueTypeFont stripped;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fontBytes = new ClassPathResource("fonts/DejaVuSans.ttf").getContentAsByteArray();
+        original = new TTFParser().parse(new ByteArrayInputStream(fontBytes));
+        stripped = new TTFParser().parse(new ByteArrayInputStream(TrueTypeHintingStripper.strip(fontBytes)));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        original.close();
+        stripped.close();
+    }
+
+    @Test
+    void strip_ShouldRemoveTheHintingPrograms() {
+        assertNotNull(original.getTableMap().get("fpgm"));
+        assertNull(stripped.getTableMap().get("fpgm"));
+        assertNull(stripped.getTableMap().get("prep"));
+        assertNull(stripped.getTableMap().get("cvt "));
+        assertTrue(stripped.getTableMap().get("glyf").getLength() < original.getTableMap().get("glyf").getLength());
+    }
+
+    @Test
+    void strip_ShouldKeepGlyphsMetricsAndCharacterMaps() throws Exception {
+        assertEquals(original.getNumberOfGlyphs(), stripped.getNumberOfGlyphs());
+        for (int codePoint : "AaȘșȚțĂăÎîÂâ„”0123456789/(".codePoints().toArray()) {
+            int glyph = original.getUnicodeCmapLookup().getGlyphId(codePoint);
+            assertEquals(glyph, stripped.getUnicodeCmapLookup().getGlyphId(codePoint));
+            assertEquals(original.getAdvanceWidth(glyph), stripped.getAdvanceWidth(glyph));
+            GlyphData originalGlyph = original.getGlyph().getGlyph(glyph);
+            GlyphData strippedGlyph = stripped.getGlyph().getGlyph(glyph);
+            assertEquals(originalGlyph.getBoundingBox().toString(), strippedGlyph.getBoundingBox().toString());
+            assertEquals(originalGlyph.getPath().getBounds2D(), strippedGlyph.getPath().getBounds2D());
+            assertEquals(originalGlyph.getDescription().getPointCount(), strippedGlyph.getDescription().getPointCount());
+        }
+    }
+
+    @Test
+    void strip_WhenTheFileIsNotATrueTypeFont_ShouldThrowException() {
+        byte[] notAFont = new byte[12];
+
+        assertThrows(IllegalArgumentException.class, () -> TrueTypeHintingStripper.strip(notAFont));
+    }
+}
@@ -20,7 +20,6 @@ import { Card, CardModule } from 'primeng/card';
 import { Message } from 'primeng/message';
 import { Document } from '../../shared/types/document';
 import { Tag } from 'primeng/tag';
-import { MimeTypeMapper } from '../../shared/helper/mime-type-mappings';
 import { FileUpload } from 'primeng/fileupload';
 import { PrimeTemplate } from 'primeng/api';
 import { DisruptionReasons } from '../../shared/types/enums/disruption-reason';
@@ -227,33 +226,19 @@ export class CaseDetailsComponent {
     });
   }
 
-  public downloadDocument(documentId: string): void {
-    this._caseService.getDocument(documentId).subscribe({
-      next: (doc: Document) => {
-        const mimeType = MimeTypeMapper.mapDocumentTypeToMimeType(doc.type);
-        if (!mimeType) {
-          this._notificationService.showError('Unsupported document type');
-          return;
-        }
-        const base64Data = doc.contentBase64.replace(/^data:.+;base64,/, '');
-        const binaryContent = atob(base64Data);
-        const byteNumbers = new Uint8Array(binaryContent.length);
-        for (let i = 0; i < binaryContent.length; i++) {
-          byteNumbers[i] = binaryContent.charCodeAt(i);
-        }
-        const url = window.URL.createObjectURL(new Blob([byteNumbers], { type: doc.type }));
-        const a = document.createElement('a');
-        a.href = url;
-        a.download = doc.name; // Use the document name for the file
-        document.body.appendChild(a);
-        a.click();
-        document.body.removeChild(a);
-        window.URL.revokeObjectURL(url);
-      },
-      error: (error) => {
-        const apiError = error?.error;
-        this._notificationService.showError(this._translationService.instant(apiError.detail));
-      },
+  public downloadDocument(doc: Document): void {
+    this._caseService.getDocumentContent(doc.id!).subscribe((content: Blob | null) => {
+      if (!content) {
+        return;
+      }
+      const url = window.URL.createObjectURL(content);
+      const a = document.createElement('a');
+      a.href = url;
+      a.download = doc.name; // Use the document name for the file
+      document.body.appendChild(a);
+      a.click();
+      document.body.removeChild(a);
+      window.URL.revokeObjectURL(url);
     });
   }
 
@@ -170,9 +170,13 @@ export class CaseFormComponent {
 
   public search(event: AutoCompleteCompleteEvent): void {
     const query = event.query;
-    this.airportsSuggestion = [...this.airports()].filter(
-      (airport) => !!airport.name && airport.name.toLowerCase().includes(query.toLowerCase())
-    );
+    if (!query.trim()) {
+      this.airportsSuggestion = [...this.airports()];
+      return;
+    }
+    this._airportsService.searchAirports(query).subscribe((airports) => {
+      this.airportsSuggestion = airports;
+    });
   }
 
   // Getters
@@ -20,6 +20,7 @@ export class AirportsService {
   private _translationService = inject(TranslateService);
 
   private readonly URL = environment.API_URL + '/airports/fetch';
+  private readonly SEARCH_URL = environment.API_URL + '/airports/search';
 
   public airports$: Observable<AirportResponse[]> = of(true).pipe(
     switchMap(() => this._httpClient.get<AirportResponse[]>(this.URL)),
@@ -49,4 +50,18 @@ export class AirportsService {
     }),
     shareReplay({ bufferSize: 1, refCount: true })
   );
+
+  public searchAirports(query: string, limit: number = 20): Observable<AirportResponse[]> {
+    return this._httpClient
+      .get<AirportResponse[]>(this.SEARCH_URL, { params: { q: query, limit } })
+      .pipe(
+        map((ap) =>
+          ap.map((airport) => ({
+            ...airport,
+            name: `${airport.name} (${airport.code})`,
+          }))
+        ),
+        catchError(() => of([]))
+      );
+  }
 }
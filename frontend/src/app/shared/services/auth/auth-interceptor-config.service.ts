@@ -4,7 +4,12 @@ import { Injectable } from '@angular/core';
   providedIn: 'root',
 })
 export class AuthInterceptorConfigService {
-  private readonly excludedRoutes = ['/auth/sign-in', '/auth/register', '/auth/reset-password'];
+  private readonly excludedRoutes = [
+    '/auth/sign-in',
+    '/auth/register',
+    '/auth/reset-password',
+    '/refresh-token',
+  ];
 
   public isRouteExcluded(route: string): boolean {
     return this.excludedRoutes.some((excludedRoute) => route.includes(excludedRoute));
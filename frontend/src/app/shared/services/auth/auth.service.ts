@@ -34,6 +34,11 @@ const defaultUser: User = {
   isFirstLogin: false,
 };
 
+// Access tokens are renewed this long before they expire
+const TOKEN_REFRESH_MARGIN_MS = 60000;
+// Web Lock held by the tab that is refreshing the shared tokens
+const TOKEN_REFRESH_LOCK = 'airassist-token-refresh';
+
 const initialState: AuthState = {
   isAuthenticated: false,
   id: '',
@@ -54,6 +59,7 @@ export class AuthService {
   private readonly API_URL: string = environment.API_URL;
 
   private readonly _authState = signal<AuthState>(initialState);
+  private _isRefreshingToken = false;
   public isLoggedIn = computed(() => this._authState().isAuthenticated);
   public userId = computed(() => this._authState().id);
   public userEmail = computed(() => this._authState().email);
@@ -88,6 +94,7 @@ export class AuthService {
       next: (response) => {
         const token = response.token;
         this.saveTokenToLocalStorage(token);
+        this.saveRefreshTokenToLocalStorage(response.refreshToken);
         this.decodeTokenAndSetState(token);
         this.fetchFullUserDetails();
         if (response.firstTimeLogin) {
@@ -146,11 +153,17 @@ export class AuthService {
   }
 
   /**
-   * Logs out the user by clearing the token from local storage,
+   * Logs out the user by ending the session on the server, clearing the tokens from local storage,
    * resetting the auth state, and navigating to another route.
    * @param route - The route to navigate to after logging out. Sign in page by default.
    */
   public logOut(route: string = '/sign-in'): void {
+    const refreshToken = this.getRefreshTokenFromLocalStorage();
+    if (refreshToken) {
+      this._httpClient
+        .post<void>(`${this.API_URL}/refresh-token/revoke`, { refreshToken: refreshToken })
+        .subscribe({ error: () => {} });
+    }
     this.clearTokenFromLocalStorage();
     localStorage.removeItem('userDetails');
     this._userService.clearUserDetails();
@@ -307,12 +320,31 @@ export class AuthService {
   }
 
   /**
-   * Clears the JWT token from local storage.
+   * Saves the refresh token to local storage.
+   * @param refreshToken - The refresh token to save.
+   * @private
+   */
+  private saveRefreshTokenToLocalStorage(refreshToken: string): void {
+    localStorage.setItem(environment.refreshTokenLocalStorageKey, refreshToken);
+  }
+
+  /**
+   * Retrieves the refresh token from local storage.
+   * @returns The refresh token if it exists, otherwise null.
+   * @private
+   */
+  private getRefreshTokenFromLocalStorage(): string | null {
+    return localStorage.getItem(environment.refreshTokenLocalStorageKey);
+  }
+
+  /**
+   * Clears the JWT token and the refresh token from local storage.
    * This is typically called when the user logs out.
    * @private
    */
   private clearTokenFromLocalStorage(): void {
     localStorage.removeItem(environment.tokenLocalStorageKey);
+    localStorage.removeItem(environment.refreshTokenLocalStorageKey);
   }
 
   /**
@@ -351,31 +383,90 @@ export class AuthService {
   }
 
   /**
-   * Checks if the token is valid and refreshes it if necessary.
-   * This method is called periodically to ensure the user remains authenticated.
-   * If the token is invalid or expired, it logs the user out.
+   * Refreshes the access token when it is about to expire.
+   * This method is called periodically; it only contacts the server when the token
+   * expires within TOKEN_REFRESH_MARGIN_MS. Tabs share their tokens, so they take turns
+   * refreshing under a Web Lock, and a tab whose turn comes after another tab's refresh
+   * adopts the new tokens instead of sending the replaced ones.
    * @private
    */
   private checkAndRefreshToken(): void {
+    if (this._isRefreshingToken || !this.isTokenRefreshDue()) {
+      return;
+    }
+    this._isRefreshingToken = true;
+    const refresh = async (): Promise<void> => {
+      if (this.isTokenRefreshDue()) {
+        await this.refreshTokens();
+      } else {
+        this.restoreAuthState();
+      }
+    };
+    const refreshed = navigator.locks
+      ? navigator.locks.request(TOKEN_REFRESH_LOCK, refresh)
+      : refresh();
+    refreshed.finally(() => {
+      this._isRefreshingToken = false;
+    });
+  }
+
+  /**
+   * Checks whether the access token expires within TOKEN_REFRESH_MARGIN_MS.
+   * Logs the user out if the tokens are gone, e.g. after logging out in another tab.
+   * @private
+   */
+  private isTokenRefreshDue(): boolean {
     const token = this.getTokenFromLocalStorage();
-    if (token) {
-      this._httpClient.get<TokenResponse>(`${this.API_URL}/refresh-token`).subscribe({
-        next: (response) => {
-          if (response.renewed && this.isLoggedIn()) {
-            this.saveTokenToLocalStorage(response.newToken);
-            this.decodeTokenAndSetState(response.newToken);
-          }
-        },
-        error: (error: HttpErrorResponse) => {
-          if (error.status !== 0) {
+    const refreshToken = this.getRefreshTokenFromLocalStorage();
+    if (!token || !refreshToken) {
+      if (this.isLoggedIn()) {
+        this.logOut();
+      }
+      return false;
+    }
+
+    let expiresAt: number;
+    try {
+      expiresAt = jwtDecode<DecodedToken>(token).exp * 1000;
+    } catch (error) {
+      expiresAt = 0;
+    }
+    return expiresAt - Date.now() <= TOKEN_REFRESH_MARGIN_MS;
+  }
+
+  /**
+   * Exchanges the refresh token for new tokens. If the refresh fails, it logs the user out,
+   * unless another tab has already refreshed the tokens.
+   * @private
+   */
+  private refreshTokens(): Promise<void> {
+    const refreshToken = this.getRefreshTokenFromLocalStorage();
+    return new Promise((resolve) => {
+      this._httpClient
+        .post<TokenResponse>(`${this.API_URL}/refresh-token`, { refreshToken: refreshToken })
+        .subscribe({
+          next: (response) => {
+            if (this.isLoggedIn()) {
+              this.saveTokenToLocalStorage(response.token);
+              this.saveRefreshTokenToLocalStorage(response.refreshToken);
+              this.decodeTokenAndSetState(response.token);
+            }
+            resolve();
+          },
+          error: (error: HttpErrorResponse) => {
+            resolve();
+            if (error.status === 0) {
+              return;
+            }
+            if (this.getRefreshTokenFromLocalStorage() !== refreshToken) {
+              this.restoreAuthState();
+              return;
+            }
             const apiError: ApiError = error?.error;
             this._notificationService.showError(this._translationService.instant(apiError.detail));
-          }
-          this.logOut();
-        },
-      });
-    } else if (this.isLoggedIn()) {
-      this.logOut();
-    }
+            this.logOut();
+          },
+        });
+    });
   }
 }
@@ -1,8 +1,9 @@
 import { inject, Injectable } from '@angular/core';
 import { HttpClient, HttpErrorResponse } from '@angular/common/http';
-import { catchError, Observable, of, Subject } from 'rxjs';
+import { catchError, EMPTY, expand, Observable, of, reduce, Subject } from 'rxjs';
 import { environment } from '../../../environments/environment';
 import { Case } from '../types/case';
+import { CasePage } from '../types/case-page';
 import { CaseDTO } from '../dto/case.dto';
 import { NotificationService } from './toaster/notification.service';
 import { FlightManagementService } from './flight-management.service';
@@ -134,7 +135,9 @@ export class CaseService {
   }
 
   public getAllCases(): Observable<Case[]> {
-    return this._http.get<Case[]>(`${this._apiUrl}/cases`).pipe(
+    return this.getCasePage(null).pipe(
+      expand((page) => (page.nextCursor ? this.getCasePage(page.nextCursor) : EMPTY)),
+      reduce((cases: Case[], page: CasePage) => cases.concat(page.items), []),
       catchError((error: HttpErrorResponse) => {
         if (error.status === 0) {
           this._notificationService.showError(
@@ -149,6 +152,11 @@ export class CaseService {
     );
   }
 
+  public getCasePage(cursor: string | null, size = 200): Observable<CasePage> {
+    const params: Record<string, string | number> = cursor ? { cursor, size } : { size };
+    return this._http.get<CasePage>(`${this._apiUrl}/cases`, { params });
+  }
+
   public deleteCase(caseId: string): Observable<void> {
     return this._http.delete<void>(`${this._apiUrl}/cases/${caseId}`).pipe(
       catchError((error: HttpErrorResponse) => {
@@ -215,6 +223,29 @@ export class CaseService {
       );
   }
 
+  public getDocumentContent(documentId: string): Observable<Blob | null> {
+    return this._http
+      .get(`${this._apiUrl}/documents/${documentId}/content`, { responseType: 'blob' })
+      .pipe(
+        catchError((error: HttpErrorResponse) => {
+          if (error.status === 0) {
+            this._notificationService.showError(
+              this._translationService.instant('api-errors.network-error')
+            );
+          } else if (error.status === 404) {
+            this._notificationService.showError(
+              this._translationService.instant('api-errors.document-not-found')
+            );
+          } else {
+            this._notificationService.showError(
+              this._translationService.instant('api-errors.generic-server-error')
+            );
+          }
+          return of(null);
+        })
+      );
+  }
+
   public getDocument(documentId: string): Observable<Document> {
     return this._http.get<Document>(`${this._apiUrl}/documents/${documentId}`).pipe(
       catchError((error: HttpErrorResponse) => {
@@ -2,4 +2,5 @@ export type DecodedToken = {
   sub: string;
   email: string;
   role: string;
+  exp: number;
 };
@@ -1,4 +1,5 @@
 export type SignInResponse = {
   token: string;
   firstTimeLogin: boolean;
+  refreshToken: string;
 };
@@ -1,4 +1,4 @@
 export type TokenResponse = {
-  renewed: boolean;
-  newToken: string;
+  token: string;
+  refreshToken: string;
 };
@@ -0,0 +1,6 @@
+import { Case } from './case';
+
+export type CasePage = {
+  items: Case[];
+  nextCursor: string | null;
+};
@@ -3,4 +3,5 @@ export const environment = {
   API_URL: 'http://localhost:8080/api',
   userDetailsLocalStorageKey: 'userDetails',
   tokenLocalStorageKey: 'authToken',
+  refreshTokenLocalStorageKey: 'refreshToken',
 };